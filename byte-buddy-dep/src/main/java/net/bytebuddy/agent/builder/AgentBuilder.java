@@ -67,6 +67,9 @@ import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 import java.io.*;
 import java.lang.instrument.ClassDefinition;
 import java.lang.instrument.ClassFileTransformer;
@@ -84,7 +87,11 @@ import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 
 import static net.bytebuddy.matcher.ElementMatchers.*;
@@ -243,6 +250,15 @@ public interface AgentBuilder {
      */
     AgentBuilder with(ClassFileBufferStrategy classFileBufferStrategy);
 
+    /**
+     * Specifies a matching index that was recorded at build time. For types that are contained in the index, the recorded transformations
+     * are applied without evaluating this agent builder's matchers. All other types are matched as usual.
+     *
+     * @param matchingIndex The matching index to use.
+     * @return A new agent builder that applies the supplied matching index.
+     */
+    AgentBuilder with(MatchingIndex matchingIndex);
+
     /**
      * Adds an installation listener that is notified during installation events. Installation listeners are only invoked if
      * a class file transformer is installed using this agent builder's installation methods and uninstalled via the created
@@ -882,6 +898,20 @@ public interface AgentBuilder {
          */
         AgentBuilder withResubmission(RedefinitionStrategy.ResubmissionScheduler resubmissionScheduler, ElementMatcher<? super Throwable> matcher);
 
+        /**
+         * Enables resubmission of failed transformations by applying a retransformation of the loaded type. This can be meaningful if
+         * class files cannot be located from the class loader as a resource where the loaded type becomes available. If a resubmitted
+         * type cannot be retransformed, the resubmission is attempted again as determined by the supplied backoff.
+         *
+         * @param resubmissionScheduler A scheduler which is responsible for scheduling the resubmission job.
+         * @param matcher               A matcher that filters throwable instances where non-matched throwables are not triggering a resubmission.
+         * @param resubmissionBackoff   The backoff to apply for repeated resubmissions of the same type.
+         * @return A new instance of this agent builder that applies resubmission.
+         */
+        AgentBuilder withResubmission(RedefinitionStrategy.ResubmissionScheduler resubmissionScheduler,
+                                      ElementMatcher<? super Throwable> matcher,
+                                      RedefinitionStrategy.ResubmissionBackoff resubmissionBackoff);
+
         /**
          * An agent builder configuration strategy that allows the definition of a discovery strategy.
          */
@@ -1551,6 +1581,388 @@ public interface AgentBuilder {
             }
         }
 
+        /**
+         * <p>
+         * A listener that writes events to a {@link PrintStream} from a background thread. Other than {@link StreamWriting}, this listener
+         * never blocks a class loading thread: events are formatted by the publishing thread and published into a bounded, lock-free ring
+         * buffer which is drained by a daemon thread. Since events are formatted when they are published, the ring buffer does not retain
+         * any class loader or error. If the buffer is full, events are dropped and counted instead of blocking the publishing thread. The
+         * number of dropped events is reported when the listener is closed. All events that are published before the listener is closed
+         * are written.
+         * </p>
+         * <p>
+         * The draining thread is only started once the first event is published. Events can be limited to specific event types.
+         * Furthermore, events can be sampled by type name such that only every n-th type is reported. All events of a sampled type are
+         * reported, such that the life cycle of a reported type remains complete. Errors are always reported, independently of sampling.
+         * </p>
+         */
+        class AsynchronousStreamWriting implements Listener, Closeable {
+
+            /**
+             * The default capacity of the ring buffer.
+             */
+            private static final int DEFAULT_CAPACITY = 1 << 14;
+
+            /**
+             * A flag that is set on the sequence number of the next event to publish once this listener is closed.
+             */
+            private static final long CLOSED = Long.MIN_VALUE;
+
+            /**
+             * The print stream written to.
+             */
+            private final PrintStream printStream;
+
+            /**
+             * The event types to report.
+             */
+            private final Set<EventType> eventTypes;
+
+            /**
+             * The sampling rate where only types with a name hash that is dividable by this rate are reported.
+             */
+            private final int sampling;
+
+            /**
+             * The slots of the ring buffer, containing formatted events.
+             */
+            private final AtomicReferenceArray<String> slots;
+
+            /**
+             * A mask to resolve a slot's index from a sequence number.
+             */
+            private final int mask;
+
+            /**
+             * The sequence number of the next event to publish, combined with the {@link AsynchronousStreamWriting#CLOSED} flag.
+             */
+            private final AtomicLong tail;
+
+            /**
+             * The sequence number of the next event to drain.
+             */
+            private final AtomicLong head;
+
+            /**
+             * The number of dropped events.
+             */
+            private final AtomicLong dropped;
+
+            /**
+             * The thread that drains the ring buffer.
+             */
+            private final Thread thread;
+
+            /**
+             * {@code true} if the draining thread was started or if it must no longer be started as this listener is closed.
+             */
+            private volatile boolean started;
+
+            /**
+             * {@code true} if the draining thread is about to park or is parked until an event is published.
+             */
+            private volatile boolean waiting;
+
+            /**
+             * Creates a new asynchronous stream writing listener that reports all events with the default buffer capacity.
+             *
+             * @param printStream The print stream written to.
+             */
+            public AsynchronousStreamWriting(PrintStream printStream) {
+                this(printStream, DEFAULT_CAPACITY, 1, EnumSet.allOf(EventType.class));
+            }
+
+            /**
+             * Creates a new asynchronous stream writing listener.
+             *
+             * @param printStream The print stream written to.
+             * @param capacity    The minimal capacity of the ring buffer which is rounded up to the next power of two.
+             * @param sampling    The sampling rate where only every n-th type is reported, determined by the type name's hash code.
+             * @param eventTypes  The event types to report.
+             */
+            public AsynchronousStreamWriting(PrintStream printStream, int capacity, int sampling, Set<EventType> eventTypes) {
+                if (capacity < 1 || capacity > 1 << 30) {
+                    throw new IllegalArgumentException("Illegal ring buffer capacity: " + capacity);
+                } else if (sampling < 1) {
+                    throw new IllegalArgumentException("Sampling rate must be positive: " + sampling);
+                }
+                this.printStream = printStream;
+                this.sampling = sampling;
+                this.eventTypes = eventTypes.isEmpty()
+                        ? EnumSet.noneOf(EventType.class)
+                        : EnumSet.copyOf(eventTypes);
+                int size = Integer.highestOneBit(capacity);
+                if (size < capacity) {
+                    size = size << 1;
+                }
+                slots = new AtomicReferenceArray<String>(size);
+                mask = size - 1;
+                tail = new AtomicLong();
+                head = new AtomicLong();
+                dropped = new AtomicLong();
+                thread = new Thread(new Drain(), "byte-buddy-listener");
+                thread.setDaemon(true);
+            }
+
+            /**
+             * Creates a new asynchronous stream writing listener that writes all events to the supplied file.
+             *
+             * @param file The file to write to.
+             * @return A listener writing events to the supplied file.
+             * @throws IOException If the file cannot be opened.
+             */
+            public static AsynchronousStreamWriting toFile(File file) throws IOException {
+                return new AsynchronousStreamWriting(new PrintStream(new BufferedOutputStream(new FileOutputStream(file))));
+            }
+
+            /**
+             * Returns the number of events that were dropped because the ring buffer was full.
+             *
+             * @return The number of dropped events.
+             */
+            public long getDropped() {
+                return dropped.get();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void onDiscovery(String typeName, ClassLoader classLoader, JavaModule module, boolean loaded) {
+                if (eventTypes.contains(EventType.DISCOVERY) && isSampled(typeName)) {
+                    publish(format(EventType.DISCOVERY, typeName, classLoader, module, loaded, null));
+                }
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void onTransformation(TypeDescription typeDescription, ClassLoader classLoader, JavaModule module, boolean loaded, DynamicType dynamicType) {
+                if (eventTypes.contains(EventType.TRANSFORMATION) && isSampled(typeDescription.getName())) {
+                    publish(format(EventType.TRANSFORMATION, typeDescription.getName(), classLoader, module, loaded, null));
+                }
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void onIgnored(TypeDescription typeDescription, ClassLoader classLoader, JavaModule module, boolean loaded) {
+                if (eventTypes.contains(EventType.IGNORED) && isSampled(typeDescription.getName())) {
+                    publish(format(EventType.IGNORED, typeDescription.getName(), classLoader, module, loaded, null));
+                }
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void onError(String typeName, ClassLoader classLoader, JavaModule module, boolean loaded, Throwable throwable) {
+                if (eventTypes.contains(EventType.ERROR)) {
+                    publish(format(EventType.ERROR, typeName, classLoader, module, loaded, throwable));
+                }
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void onComplete(String typeName, ClassLoader classLoader, JavaModule module, boolean loaded) {
+                if (eventTypes.contains(EventType.COMPLETE) && isSampled(typeName)) {
+                    publish(format(EventType.COMPLETE, typeName, classLoader, module, loaded, null));
+                }
+            }
+
+            /**
+             * Checks if a type is sampled.
+             *
+             * @param typeName The name of the type.
+             * @return {@code true} if the type should be reported.
+             */
+            private boolean isSampled(String typeName) {
+                return sampling == 1 || (typeName.hashCode() & Integer.MAX_VALUE) % sampling == 0;
+            }
+
+            /**
+             * Formats an event such that the ring buffer does not reference any of the event's arguments.
+             *
+             * @param eventType   The event's type.
+             * @param typeName    The binary name of the instrumented type.
+             * @param classLoader The class loader which is loading the type.
+             * @param module      The instrumented type's module or {@code null} if the current VM does not support modules.
+             * @param loaded      {@code true} if the type is already loaded.
+             * @param throwable   The occurred error or {@code null} if the event does not represent an error.
+             * @return The formatted event.
+             */
+            private static String format(EventType eventType, String typeName, ClassLoader classLoader, JavaModule module, boolean loaded, Throwable throwable) {
+                StringWriter stringWriter = new StringWriter();
+                PrintWriter printWriter = new PrintWriter(stringWriter);
+                printWriter.printf(StreamWriting.PREFIX + " %s %s [%s, %s, loaded=%b]%n", eventType.label, typeName, classLoader, module, loaded);
+                if (throwable != null) {
+                    throwable.printStackTrace(printWriter);
+                }
+                printWriter.flush();
+                return stringWriter.toString();
+            }
+
+            /**
+             * Publishes an event into the ring buffer or drops the event if the ring buffer is full or if this listener is closed. The
+             * draining thread is started if it was not yet started.
+             *
+             * @param event The formatted event to publish.
+             */
+            private void publish(String event) {
+                long sequence;
+                do {
+                    sequence = tail.get();
+                    if ((sequence & CLOSED) != 0L || sequence - head.get() > mask) {
+                        dropped.incrementAndGet();
+                        return;
+                    }
+                } while (!tail.compareAndSet(sequence, sequence + 1));
+                slots.set((int) (sequence & mask), event);
+                if (!started) {
+                    synchronized (this) {
+                        if (!started) {
+                            thread.start();
+                            started = true;
+                        }
+                    }
+                } else if (waiting) {
+                    LockSupport.unpark(thread);
+                }
+            }
+
+            /**
+             * Writes the events that are published to the print stream. This method must only be invoked by a single thread at a time.
+             *
+             * @param complete {@code true} if this listener is closed and all events must be written, including events of slots that are
+             *                 reserved by a publishing thread but that are not yet set.
+             * @return {@code true} if at least one event was written.
+             */
+            private boolean drain(boolean complete) {
+                boolean drained = false;
+                long sequence = head.get(), limit = tail.get() & ~CLOSED;
+                while (sequence < limit) {
+                    int index = (int) (sequence & mask);
+                    String event = slots.get(index);
+                    if (event == null) {
+                        if (complete) {
+                            Thread.yield();
+                            continue;
+                        }
+                        break;
+                    }
+                    slots.set(index, null);
+                    head.set(++sequence);
+                    printStream.print(event);
+                    drained = true;
+                }
+                if (drained) {
+                    printStream.flush();
+                }
+                return drained;
+            }
+
+            /**
+             * Closes this listener, writes all events that were published before and closes the underlying print stream. Closing
+             * a listener that is already closed does not have any effect.
+             */
+            public void close() {
+                long sequence;
+                do {
+                    sequence = tail.get();
+                    if ((sequence & CLOSED) != 0L) {
+                        return;
+                    }
+                } while (!tail.compareAndSet(sequence, sequence | CLOSED));
+                boolean started;
+                synchronized (this) {
+                    started = this.started;
+                    this.started = true;
+                }
+                if (started) {
+                    LockSupport.unpark(thread);
+                    try {
+                        thread.join();
+                    } catch (InterruptedException ignored) {
+                        Thread.currentThread().interrupt();
+                    }
+                } else {
+                    drain(true);
+                }
+                long dropped = this.dropped.get();
+                if (dropped > 0) {
+                    printStream.printf(StreamWriting.PREFIX + " DROPPED %d events%n", dropped);
+                }
+                printStream.close();
+            }
+
+            /**
+             * A type of event that is reported by a listener.
+             */
+            public enum EventType {
+
+                /**
+                 * Represents {@link Listener#onDiscovery(String, ClassLoader, JavaModule, boolean)}.
+                 */
+                DISCOVERY("DISCOVERY"),
+
+                /**
+                 * Represents {@link Listener#onTransformation(TypeDescription, ClassLoader, JavaModule, boolean, DynamicType)}.
+                 */
+                TRANSFORMATION("TRANSFORM"),
+
+                /**
+                 * Represents {@link Listener#onIgnored(TypeDescription, ClassLoader, JavaModule, boolean)}.
+                 */
+                IGNORED("IGNORE"),
+
+                /**
+                 * Represents {@link Listener#onError(String, ClassLoader, JavaModule, boolean, Throwable)}.
+                 */
+                ERROR("ERROR"),
+
+                /**
+                 * Represents {@link Listener#onComplete(String, ClassLoader, JavaModule, boolean)}.
+                 */
+                COMPLETE("COMPLETE");
+
+                /**
+                 * The label that is written for this event type.
+                 */
+                private final String label;
+
+                /**
+                 * Creates a new event type.
+                 *
+                 * @param label The label that is written for this event type.
+                 */
+                EventType(String label) {
+                    this.label = label;
+                }
+            }
+
+            /**
+             * A job that drains the ring buffer until the listener is closed. If no events are available, the draining thread
+             * is parked until an event is published or until the listener is closed.
+             */
+            protected class Drain implements Runnable {
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void run() {
+                    while ((tail.get() & CLOSED) == 0L) {
+                        if (!drain(false)) {
+                            waiting = true;
+                            if ((tail.get() & CLOSED) == 0L && slots.get((int) (head.get() & mask)) == null) {
+                                LockSupport.park();
+                            }
+                            waiting = false;
+                        }
+                    }
+                    drain(true);
+                }
+            }
+        }
+
         /**
          * A listener that filters types with a given name from being logged.
          */
@@ -1765,6 +2177,1236 @@ public interface AgentBuilder {
             }
         }
 
+        /**
+         * <p>
+         * A listener that measures the time from discovering a type until it is ignored, transformed, failed or completed as well as
+         * the time that is spent on applying redefinition batches. Measurements are recorded into histograms of a fixed size. Additionally,
+         * a fixed number of types with the longest time from discovery to completion is retained. Once a thread has recorded its first
+         * measurement, recording does not allocate memory unless discoveries are nested deeper or more transformations are applied to a
+         * type than before on this thread. This listener can be registered both as an {@link AgentBuilder.Listener} and as a
+         * {@link RedefinitionStrategy.Listener}.
+         * </p>
+         * <p>
+         * Listeners are not notified when a type description is resolved, when it is matched or when a class file is written. To break down
+         * the recorded time by these phases, the agent builder's description strategy can be wrapped by {@link Profiling#wrap(DescriptionStrategy)}
+         * while the matcher and the transformers of a transformation can be wrapped by {@link Profiling#wrap(int, RawMatcher)} and
+         * {@link Profiling#wrap(int, Transformer)}, using an index that identifies the transformation. For each transformation, this listener
+         * then records the time of matching a type, of applying the transformation's transformers, of writing the transformed class file and
+         * of applying the redefinition batches that contain a transformed type. Writing a class file and applying a batch is attributed to
+         * every transformation that was applied to a type. If a description strategy resolves type descriptions lazily, resolving a type's
+         * properties is measured as part of matching.
+         * </p>
+         * <p>
+         * All histograms can be exported as MBeans via {@link Profiling#register(MBeanServer, String)}.
+         * </p>
+         */
+        class Profiling implements Listener, RedefinitionStrategy.Listener {
+
+            /**
+             * The default number of types with the longest time from discovery to completion that are retained.
+             */
+            private static final int DEFAULT_TYPE_LIMIT = 20;
+
+            /**
+             * The time from discovering a type until it is ignored.
+             */
+            private final Histogram ignored;
+
+            /**
+             * The time from discovering a type until it is transformed.
+             */
+            private final Histogram transformed;
+
+            /**
+             * The time from discovering a type until its transformation fails.
+             */
+            private final Histogram failed;
+
+            /**
+             * The time from discovering a type until its treatment is completed.
+             */
+            private final Histogram completed;
+
+            /**
+             * The time that is spent on applying a redefinition batch.
+             */
+            private final Histogram batches;
+
+            /**
+             * The size in bytes of transformed types, including any auxiliary types.
+             */
+            private final Histogram sizes;
+
+            /**
+             * The time that is spent on resolving a type description.
+             */
+            private final Histogram resolved;
+
+            /**
+             * The phases of all wrapped transformations by their index.
+             */
+            private final ConcurrentMap<Integer, Phases> phases;
+
+            /**
+             * The types with the longest time from discovery to completion.
+             */
+            private final Ranking types;
+
+            /**
+             * The start times of currently active measurements of the current thread.
+             */
+            private final ThreadLocal<Timings> timings;
+
+            /**
+             * Creates a new profiling listener that retains the {@code 20} types with the longest time from discovery to completion.
+             */
+            public Profiling() {
+                this(DEFAULT_TYPE_LIMIT);
+            }
+
+            /**
+             * Creates a new profiling listener.
+             *
+             * @param limit The number of types with the longest time from discovery to completion to retain.
+             */
+            public Profiling(int limit) {
+                if (limit < 0) {
+                    throw new IllegalArgumentException("Type limit must not be negative: " + limit);
+                }
+                ignored = new Histogram();
+                transformed = new Histogram();
+                failed = new Histogram();
+                completed = new Histogram();
+                batches = new Histogram();
+                sizes = new Histogram();
+                resolved = new Histogram();
+                phases = new ConcurrentHashMap<Integer, Phases>();
+                types = new Ranking(limit);
+                timings = new ThreadLocal<Timings>() {
+                    @Override
+                    protected Timings initialValue() {
+                        return new Timings();
+                    }
+                };
+            }
+
+            /**
+             * Returns the histogram of the time from discovering a type until it is ignored.
+             *
+             * @return The histogram of the time from discovering a type until it is ignored.
+             */
+            public Histogram getIgnored() {
+                return ignored;
+            }
+
+            /**
+             * Returns the histogram of the time from discovering a type until it is transformed.
+             *
+             * @return The histogram of the time from discovering a type until it is transformed.
+             */
+            public Histogram getTransformed() {
+                return transformed;
+            }
+
+            /**
+             * Returns the histogram of the time from discovering a type until its transformation fails.
+             *
+             * @return The histogram of the time from discovering a type until its transformation fails.
+             */
+            public Histogram getFailed() {
+                return failed;
+            }
+
+            /**
+             * Returns the histogram of the time from discovering a type until its treatment is completed.
+             *
+             * @return The histogram of the time from discovering a type until its treatment is completed.
+             */
+            public Histogram getCompleted() {
+                return completed;
+            }
+
+            /**
+             * Returns the histogram of the time that is spent on applying a redefinition batch.
+             *
+             * @return The histogram of the time that is spent on applying a redefinition batch.
+             */
+            public Histogram getBatches() {
+                return batches;
+            }
+
+            /**
+             * Returns the histogram of the size in bytes of transformed types, including any auxiliary types.
+             *
+             * @return The histogram of the size in bytes of transformed types, including any auxiliary types.
+             */
+            public Histogram getSizes() {
+                return sizes;
+            }
+
+            /**
+             * Returns the histogram of the time that is spent on resolving a type description by a description strategy that was wrapped
+             * by this listener.
+             *
+             * @return The histogram of the time that is spent on resolving a type description.
+             */
+            public Histogram getResolved() {
+                return resolved;
+            }
+
+            /**
+             * Returns the phases of all transformations of which a matcher or transformer was wrapped by this listener.
+             *
+             * @return A mapping of transformation indices to their phases, ordered by ascending index.
+             */
+            public Map<Integer, Phases> getPhases() {
+                return new TreeMap<Integer, Phases>(phases);
+            }
+
+            /**
+             * Wraps a description strategy such that the time of resolving a type description is recorded.
+             *
+             * @param descriptionStrategy The description strategy to wrap.
+             * @return A description strategy that records the time of resolving a type description.
+             */
+            public DescriptionStrategy wrap(DescriptionStrategy descriptionStrategy) {
+                return new Resolving(descriptionStrategy);
+            }
+
+            /**
+             * Wraps the matcher of a transformation such that the time of matching a type is recorded for this transformation.
+             *
+             * @param index   The index of the transformation.
+             * @param matcher The matcher to wrap.
+             * @return A matcher that records the time of matching a type.
+             */
+            public RawMatcher wrap(int index, RawMatcher matcher) {
+                return new Matching(matcher, phases(index));
+            }
+
+            /**
+             * Wraps a transformer of a transformation such that the time of applying the transformer, of writing the transformed class file
+             * and of applying the redefinition batch of the transformed type is recorded for this transformation.
+             *
+             * @param index       The index of the transformation.
+             * @param transformer The transformer to wrap.
+             * @return A transformer that records the time of applying the transformation.
+             */
+            public Transformer wrap(int index, Transformer transformer) {
+                return new Transforming(transformer, phases(index));
+            }
+
+            /**
+             * Resolves the phases of a transformation.
+             *
+             * @param index The index of the transformation.
+             * @return The phases of the transformation.
+             */
+            private Phases phases(int index) {
+                if (index < 0) {
+                    throw new IllegalArgumentException("Transformation index must not be negative: " + index);
+                }
+                Phases phases = this.phases.get(index);
+                if (phases == null) {
+                    phases = new Phases();
+                    Phases previous = this.phases.putIfAbsent(index, phases);
+                    if (previous != null) {
+                        phases = previous;
+                    }
+                }
+                return phases;
+            }
+
+            /**
+             * Registers all histograms of this listener as MBeans. The histograms are registered with the domain {@code net.bytebuddy}
+             * and with a {@code type} property of {@code Profiling} and a {@code name} property of the supplied name. Histograms of
+             * transformations are only registered if the transformation's matcher or transformer was wrapped prior to this registration.
+             *
+             * @param mBeanServer The MBean server to register the histograms with.
+             * @param name        The name that distinguishes this listener from other profiling listeners.
+             * @return The names of the registered MBeans.
+             * @throws JMException If an MBean cannot be registered.
+             */
+            public List<ObjectName> register(MBeanServer mBeanServer, String name) throws JMException {
+                Map<String, Histogram> histograms = new LinkedHashMap<String, Histogram>();
+                histograms.put("event=ignored", ignored);
+                histograms.put("event=transformed", transformed);
+                histograms.put("event=failed", failed);
+                histograms.put("event=completed", completed);
+                histograms.put("event=batch", batches);
+                histograms.put("event=size", sizes);
+                histograms.put("event=resolved", resolved);
+                for (Map.Entry<Integer, Phases> entry : getPhases().entrySet()) {
+                    histograms.put("transformation=" + entry.getKey() + ",phase=matching", entry.getValue().getMatching());
+                    histograms.put("transformation=" + entry.getKey() + ",phase=transforming", entry.getValue().getTransforming());
+                    histograms.put("transformation=" + entry.getKey() + ",phase=writing", entry.getValue().getWriting());
+                    histograms.put("transformation=" + entry.getKey() + ",phase=batch", entry.getValue().getBatches());
+                }
+                List<ObjectName> objectNames = new ArrayList<ObjectName>(histograms.size());
+                try {
+                    for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+                        objectNames.add(mBeanServer.registerMBean(entry.getValue(),
+                                new ObjectName("net.bytebuddy:type=Profiling,name=" + ObjectName.quote(name) + "," + entry.getKey())).getObjectName());
+                    }
+                } catch (JMException exception) {
+                    for (ObjectName objectName : objectNames) {
+                        try {
+                            mBeanServer.unregisterMBean(objectName);
+                        } catch (JMException ignored) {
+                            /* do nothing */
+                        }
+                    }
+                    throw exception;
+                }
+                return objectNames;
+            }
+
+            /**
+             * Returns the retained types with the longest time from discovery to completion. If a type was discovered multiple times,
+             * its longest time is considered.
+             *
+             * @return A mapping of type names to their longest time from discovery to completion in nanoseconds, ordered by descending time.
+             */
+            public Map<String, Long> getTypes() {
+                return types.toMap();
+            }
+
+            /**
+             * Writes a report of all recorded measurements to the supplied print stream, including the retained types with the longest
+             * time from discovery to completion.
+             *
+             * @param printStream The print stream to write to.
+             */
+            public void report(PrintStream printStream) {
+                Map<String, Long> types = getTypes();
+                Map<Integer, Phases> phases = getPhases();
+                synchronized (printStream) {
+                    ignored.report(printStream, "IGNORED", "ns");
+                    transformed.report(printStream, "TRANSFORMED", "ns");
+                    failed.report(printStream, "FAILED", "ns");
+                    completed.report(printStream, "COMPLETED", "ns");
+                    batches.report(printStream, "BATCH", "ns");
+                    sizes.report(printStream, "SIZE", "B");
+                    resolved.report(printStream, "RESOLVED", "ns");
+                    for (Map.Entry<Integer, Phases> entry : phases.entrySet()) {
+                        entry.getValue().report(printStream, entry.getKey());
+                    }
+                    for (Map.Entry<String, Long> entry : types.entrySet()) {
+                        printStream.printf(AgentBuilder.Listener.StreamWriting.PREFIX + " TYPE %s [time=%dns]%n", entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+
+            /**
+             * Writes a report of all recorded measurements to the supplied file, including the retained types with the longest time from
+             * discovery to completion.
+             *
+             * @param file The file to write the report to.
+             * @throws IOException If an I/O exception occurs.
+             */
+            public void report(File file) throws IOException {
+                PrintStream printStream = new PrintStream(new FileOutputStream(file));
+                try {
+                    report(printStream);
+                } finally {
+                    printStream.close();
+                }
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void onDiscovery(String typeName, ClassLoader classLoader, JavaModule module, boolean loaded) {
+                timings.get().push(System.nanoTime());
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void onTransformation(TypeDescription typeDescription, ClassLoader classLoader, JavaModule module, boolean loaded, DynamicType dynamicType) {
+                Timings timings = this.timings.get();
+                if (timings.isActive()) {
+                    long time = System.nanoTime();
+                    transformed.record(time - timings.peek());
+                    timings.write(time);
+                }
+                long size = dynamicType.getBytes().length;
+                Map<TypeDescription, byte[]> auxiliaryTypes = dynamicType.getAuxiliaryTypes();
+                if (!auxiliaryTypes.isEmpty()) {
+                    for (byte[] binaryRepresentation : auxiliaryTypes.values()) {
+                        size += binaryRepresentation.length;
+                    }
+                }
+                sizes.record(size);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void onIgnored(TypeDescription typeDescription, ClassLoader classLoader, JavaModule module, boolean loaded) {
+                Timings timings = this.timings.get();
+                if (timings.isActive()) {
+                    ignored.record(System.nanoTime() - timings.peek());
+                }
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void onError(String typeName, ClassLoader classLoader, JavaModule module, boolean loaded, Throwable throwable) {
+                Timings timings = this.timings.get();
+                if (timings.isActive()) {
+                    failed.record(System.nanoTime() - timings.peek());
+                }
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void onComplete(String typeName, ClassLoader classLoader, JavaModule module, boolean loaded) {
+                Timings timings = this.timings.get();
+                if (timings.isActive()) {
+                    long time = Math.max(0L, System.nanoTime() - timings.pop());
+                    completed.record(time);
+                    types.record(typeName, time);
+                }
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
+                Timings timings = this.timings.get();
+                long time = System.nanoTime();
+                if (timings.isBatched()) {
+                    batches.record(time - timings.getBatch());
+                    timings.complete(time);
+                }
+                timings.setBatch(time);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
+                Timings timings = this.timings.get();
+                if (timings.isBatched()) {
+                    long time = System.nanoTime();
+                    batches.record(time - timings.getBatch());
+                    timings.complete(time);
+                    timings.resetBatch();
+                }
+                return Collections.emptyList();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
+                Timings timings = this.timings.get();
+                if (timings.isBatched()) {
+                    long time = System.nanoTime();
+                    batches.record(time - timings.getBatch());
+                    timings.complete(time);
+                    timings.resetBatch();
+                }
+            }
+
+            /**
+             * A histogram of non-negative values, typically time measurements in nanoseconds. Values are recorded into buckets
+             * where each power of two is divided into eight linear sub-buckets, resulting in a relative error of at most
+             * 12.5 percent. Recording a value never allocates memory and does not require locking. A histogram can be registered
+             * as a standard MBean.
+             */
+            public static class Histogram implements HistogramMBean {
+
+                /**
+                 * The number of bits that are used to divide a power of two into linear sub-buckets.
+                 */
+                private static final int PRECISION = 3;
+
+                /**
+                 * The number of linear sub-buckets per power of two.
+                 */
+                private static final int SUB_BUCKETS = 1 << PRECISION;
+
+                /**
+                 * The total number of buckets.
+                 */
+                private static final int BUCKETS = SUB_BUCKETS + (Long.SIZE - 1 - PRECISION) * SUB_BUCKETS;
+
+                /**
+                 * The counts of all buckets.
+                 */
+                private final AtomicLongArray counts;
+
+                /**
+                 * The number of recorded values.
+                 */
+                private final AtomicLong count;
+
+                /**
+                 * The sum of all recorded values.
+                 */
+                private final AtomicLong total;
+
+                /**
+                 * The maximum recorded value.
+                 */
+                private final AtomicLong maximum;
+
+                /**
+                 * Creates a new empty histogram.
+                 */
+                public Histogram() {
+                    counts = new AtomicLongArray(BUCKETS);
+                    count = new AtomicLong();
+                    total = new AtomicLong();
+                    maximum = new AtomicLong();
+                }
+
+                /**
+                 * Resolves the bucket of a non-negative value.
+                 *
+                 * @param value The value to resolve the bucket for.
+                 * @return The index of the bucket of the supplied value.
+                 */
+                protected static int toBucket(long value) {
+                    if (value < SUB_BUCKETS) {
+                        return (int) value;
+                    }
+                    int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+                    return SUB_BUCKETS + (exponent - PRECISION) * SUB_BUCKETS + (int) ((value >>> (exponent - PRECISION)) & (SUB_BUCKETS - 1));
+                }
+
+                /**
+                 * Resolves the largest value that is represented by a bucket. Buckets beyond the last bucket are considered to
+                 * represent {@link Long#MAX_VALUE}.
+                 *
+                 * @param bucket The index of the bucket.
+                 * @return The largest value that is represented by the bucket.
+                 */
+                protected static long toValue(int bucket) {
+                    if (bucket < SUB_BUCKETS) {
+                        return bucket;
+                    } else if (bucket >= BUCKETS - 1) {
+                        return Long.MAX_VALUE;
+                    }
+                    int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+                    long lowest = ((long) (SUB_BUCKETS + (bucket - SUB_BUCKETS) % SUB_BUCKETS)) << shift;
+                    return lowest + ((1L << shift) - 1);
+                }
+
+                /**
+                 * Records a value. Negative values are recorded as {@code 0}.
+                 *
+                 * @param value The value to record.
+                 */
+                public void record(long value) {
+                    if (value < 0) {
+                        value = 0;
+                    }
+                    counts.incrementAndGet(toBucket(value));
+                    count.incrementAndGet();
+                    total.addAndGet(value);
+                    long maximum;
+                    do {
+                        maximum = this.maximum.get();
+                    } while (value > maximum && !this.maximum.compareAndSet(maximum, value));
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public long getCount() {
+                    return count.get();
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public long getTotal() {
+                    return total.get();
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public long getMaximum() {
+                    return maximum.get();
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public long getMean() {
+                    long count = getCount();
+                    return count == 0 ? 0 : getTotal() / count;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public long getP50() {
+                    return getPercentile(50);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public long getP90() {
+                    return getPercentile(90);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public long getP99() {
+                    return getPercentile(99);
+                }
+
+                /**
+                 * Returns an upper bound of the value at the given percentile.
+                 *
+                 * @param percentile The percentile to resolve, between {@code 0} and {@code 100}.
+                 * @return An upper bound of the value at the given percentile or {@code 0} if no value was recorded.
+                 */
+                public long getPercentile(double percentile) {
+                    if (percentile < 0 || percentile > 100) {
+                        throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+                    }
+                    long[] counts = new long[BUCKETS];
+                    long count = 0;
+                    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                        counts[bucket] = this.counts.get(bucket);
+                        count += counts[bucket];
+                    }
+                    long threshold = Math.max(1, (long) Math.ceil(count * percentile / 100d)), current = 0;
+                    for (int bucket = 0; bucket < BUCKETS && count > 0; bucket++) {
+                        current += counts[bucket];
+                        if (current >= threshold) {
+                            return Math.min(toValue(bucket), getMaximum());
+                        }
+                    }
+                    return 0;
+                }
+
+                /**
+                 * Writes a summary of this histogram to the supplied print stream.
+                 *
+                 * @param printStream The print stream to write to.
+                 * @param name        The name of the event that is represented by this histogram.
+                 * @param unit        The unit of the recorded values.
+                 */
+                protected void report(PrintStream printStream, String name, String unit) {
+                    printStream.printf(AgentBuilder.Listener.StreamWriting.PREFIX + " %1$s [count=%2$d, mean=%3$d%8$s, p50=%4$d%8$s, p90=%5$d%8$s, p99=%6$d%8$s, max=%7$d%8$s]%n",
+                            name,
+                            getCount(),
+                            getMean(),
+                            getP50(),
+                            getP90(),
+                            getP99(),
+                            getMaximum(),
+                            unit);
+                }
+            }
+
+            /**
+             * The management interface of a {@link Histogram}.
+             */
+            public interface HistogramMBean {
+
+                /**
+                 * Returns the number of recorded values.
+                 *
+                 * @return The number of recorded values.
+                 */
+                long getCount();
+
+                /**
+                 * Returns the sum of all recorded values.
+                 *
+                 * @return The sum of all recorded values.
+                 */
+                long getTotal();
+
+                /**
+                 * Returns the maximum recorded value.
+                 *
+                 * @return The maximum recorded value or {@code 0} if no value was recorded.
+                 */
+                long getMaximum();
+
+                /**
+                 * Returns the mean of all recorded values.
+                 *
+                 * @return The mean of all recorded values or {@code 0} if no value was recorded.
+                 */
+                long getMean();
+
+                /**
+                 * Returns an upper bound of the median of all recorded values.
+                 *
+                 * @return An upper bound of the median of all recorded values or {@code 0} if no value was recorded.
+                 */
+                long getP50();
+
+                /**
+                 * Returns an upper bound of the 90th percentile of all recorded values.
+                 *
+                 * @return An upper bound of the 90th percentile of all recorded values or {@code 0} if no value was recorded.
+                 */
+                long getP90();
+
+                /**
+                 * Returns an upper bound of the 99th percentile of all recorded values.
+                 *
+                 * @return An upper bound of the 99th percentile of all recorded values or {@code 0} if no value was recorded.
+                 */
+                long getP99();
+            }
+
+            /**
+             * The time that is spent on the phases of a single transformation.
+             */
+            public static class Phases {
+
+                /**
+                 * The time that is spent on matching a type.
+                 */
+                private final Histogram matching;
+
+                /**
+                 * The time that is spent on applying the transformation's transformers.
+                 */
+                private final Histogram transforming;
+
+                /**
+                 * The time that is spent on writing a class file that the transformation was applied to.
+                 */
+                private final Histogram writing;
+
+                /**
+                 * The time that is spent on applying a redefinition batch that contains a type that the transformation was applied to.
+                 */
+                private final Histogram batches;
+
+                /**
+                 * Creates new phases without any recorded measurement.
+                 */
+                public Phases() {
+                    matching = new Histogram();
+                    transforming = new Histogram();
+                    writing = new Histogram();
+                    batches = new Histogram();
+                }
+
+                /**
+                 * Returns the histogram of the time that is spent on matching a type.
+                 *
+                 * @return The histogram of the time that is spent on matching a type.
+                 */
+                public Histogram getMatching() {
+                    return matching;
+                }
+
+                /**
+                 * Returns the histogram of the time that is spent on applying the transformation's transformers.
+                 *
+                 * @return The histogram of the time that is spent on applying the transformation's transformers.
+                 */
+                public Histogram getTransforming() {
+                    return transforming;
+                }
+
+                /**
+                 * Returns the histogram of the time that is spent on writing a class file that the transformation was applied to.
+                 *
+                 * @return The histogram of the time that is spent on writing a class file that the transformation was applied to.
+                 */
+                public Histogram getWriting() {
+                    return writing;
+                }
+
+                /**
+                 * Returns the histogram of the time that is spent on applying a redefinition batch that contains a type that the
+                 * transformation was applied to.
+                 *
+                 * @return The histogram of the time that is spent on applying a redefinition batch that contains a type that the
+                 * transformation was applied to.
+                 */
+                public Histogram getBatches() {
+                    return batches;
+                }
+
+                /**
+                 * Writes a summary of all phases to the supplied print stream.
+                 *
+                 * @param printStream The print stream to write to.
+                 * @param index       The index of the transformation.
+                 */
+                protected void report(PrintStream printStream, int index) {
+                    matching.report(printStream, "TRANSFORMATION " + index + " MATCHING", "ns");
+                    transforming.report(printStream, "TRANSFORMATION " + index + " TRANSFORMING", "ns");
+                    writing.report(printStream, "TRANSFORMATION " + index + " WRITING", "ns");
+                    batches.report(printStream, "TRANSFORMATION " + index + " BATCH", "ns");
+                }
+            }
+
+            /**
+             * A description strategy that records the time of resolving a type description.
+             */
+            protected class Resolving implements DescriptionStrategy {
+
+                /**
+                 * The description strategy to delegate to.
+                 */
+                private final DescriptionStrategy delegate;
+
+                /**
+                 * Creates a new resolving description strategy.
+                 *
+                 * @param delegate The description strategy to delegate to.
+                 */
+                protected Resolving(DescriptionStrategy delegate) {
+                    this.delegate = delegate;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public boolean isLoadedFirst() {
+                    return delegate.isLoadedFirst();
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public TypeDescription apply(String typeName,
+                                             Class<?> type,
+                                             TypePool typePool,
+                                             CircularityLock circularityLock,
+                                             ClassLoader classLoader,
+                                             JavaModule module) {
+                    long time = System.nanoTime();
+                    try {
+                        return delegate.apply(typeName, type, typePool, circularityLock, classLoader, module);
+                    } finally {
+                        resolved.record(System.nanoTime() - time);
+                    }
+                }
+            }
+
+            /**
+             * A matcher that records the time of matching a type for a transformation.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            protected static class Matching implements RawMatcher {
+
+                /**
+                 * The matcher to delegate to.
+                 */
+                private final RawMatcher delegate;
+
+                /**
+                 * The phases of the transformation.
+                 */
+                private final Phases phases;
+
+                /**
+                 * Creates a new matching matcher.
+                 *
+                 * @param delegate The matcher to delegate to.
+                 * @param phases   The phases of the transformation.
+                 */
+                protected Matching(RawMatcher delegate, Phases phases) {
+                    this.delegate = delegate;
+                    this.phases = phases;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public boolean matches(TypeDescription typeDescription,
+                                       ClassLoader classLoader,
+                                       JavaModule module,
+                                       Class<?> classBeingRedefined,
+                                       ProtectionDomain protectionDomain) {
+                    long time = System.nanoTime();
+                    try {
+                        return delegate.matches(typeDescription, classLoader, module, classBeingRedefined, protectionDomain);
+                    } finally {
+                        phases.getMatching().record(System.nanoTime() - time);
+                    }
+                }
+            }
+
+            /**
+             * A transformer that records the time of applying a transformation and registers the transformation with the current
+             * thread's timings such that writing the class file and applying the redefinition batch can be attributed to it.
+             */
+            protected class Transforming implements Transformer {
+
+                /**
+                 * The transformer to delegate to.
+                 */
+                private final Transformer delegate;
+
+                /**
+                 * The phases of the transformation.
+                 */
+                private final Phases phases;
+
+                /**
+                 * Creates a new transforming transformer.
+                 *
+                 * @param delegate The transformer to delegate to.
+                 * @param phases   The phases of the transformation.
+                 */
+                protected Transforming(Transformer delegate, Phases phases) {
+                    this.delegate = delegate;
+                    this.phases = phases;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public DynamicType.Builder<?> transform(DynamicType.Builder<?> builder,
+                                                        TypeDescription typeDescription,
+                                                        ClassLoader classLoader,
+                                                        JavaModule module) {
+                    long time = System.nanoTime();
+                    try {
+                        return delegate.transform(builder, typeDescription, classLoader, module);
+                    } finally {
+                        long end = System.nanoTime();
+                        phases.getTransforming().record(end - time);
+                        timings.get().apply(phases, end);
+                    }
+                }
+            }
+
+            /**
+             * A ranking of a fixed number of types with the longest time. Recording a time that does not enter the ranking requires
+             * neither locking nor allocating memory.
+             */
+            protected static class Ranking {
+
+                /**
+                 * The names of the ranked types, ordered by descending time.
+                 */
+                private final String[] names;
+
+                /**
+                 * The times of the ranked types, in the order of {@link Ranking#names}.
+                 */
+                private final long[] times;
+
+                /**
+                 * The number of ranked types.
+                 */
+                private int size;
+
+                /**
+                 * The time that a type must exceed to enter the ranking.
+                 */
+                private volatile long threshold;
+
+                /**
+                 * Creates a new empty ranking.
+                 *
+                 * @param capacity The maximum number of ranked types.
+                 */
+                protected Ranking(int capacity) {
+                    names = new String[capacity];
+                    times = new long[capacity];
+                    threshold = capacity == 0 ? Long.MAX_VALUE : -1L;
+                }
+
+                /**
+                 * Records the time of a type. If the type is already ranked, the longer time is retained.
+                 *
+                 * @param name The name of the type.
+                 * @param time The non-negative time of the type.
+                 */
+                protected void record(String name, long time) {
+                    if (time <= threshold) {
+                        return;
+                    }
+                    synchronized (this) {
+                        int index = 0;
+                        while (index < size && !names[index].equals(name)) {
+                            index++;
+                        }
+                        if (index == size) {
+                            if (size < names.length) {
+                                size++;
+                            } else {
+                                index = size - 1;
+                            }
+                        }
+                        if (names[index] != null && times[index] >= time) {
+                            return;
+                        }
+                        while (index > 0 && times[index - 1] < time) {
+                            names[index] = names[index - 1];
+                            times[index] = times[index - 1];
+                            index--;
+                        }
+                        names[index] = name;
+                        times[index] = time;
+                        if (size == names.length) {
+                            threshold = times[size - 1];
+                        }
+                    }
+                }
+
+                /**
+                 * Returns a mapping of all ranked types to their time, ordered by descending time.
+                 *
+                 * @return A mapping of all ranked types to their time.
+                 */
+                protected synchronized Map<String, Long> toMap() {
+                    Map<String, Long> types = new LinkedHashMap<String, Long>();
+                    for (int index = 0; index < size; index++) {
+                        types.put(names[index], times[index]);
+                    }
+                    return types;
+                }
+            }
+
+            /**
+             * The currently active measurements of a single thread. Discoveries can be nested if a class is loaded during a transformation.
+             */
+            protected static class Timings {
+
+                /**
+                 * The start times of all currently measured discoveries.
+                 */
+                private long[] starts;
+
+                /**
+                 * The times at which a transformer was last applied for all currently measured discoveries.
+                 */
+                private long[] ends;
+
+                /**
+                 * The number of applied transformations prior to each currently measured discovery.
+                 */
+                private int[] marks;
+
+                /**
+                 * The number of currently measured discoveries.
+                 */
+                private int depth;
+
+                /**
+                 * The transformations that were applied for all currently measured discoveries.
+                 */
+                private Phases[] applied;
+
+                /**
+                 * The number of transformations that were applied for all currently measured discoveries.
+                 */
+                private int size;
+
+                /**
+                 * The transformations that were applied to a type of the currently measured batch.
+                 */
+                private Phases[] affected;
+
+                /**
+                 * The number of transformations that were applied to a type of the currently measured batch.
+                 */
+                private int affectedSize;
+
+                /**
+                 * {@code true} if a batch is currently measured.
+                 */
+                private boolean batched;
+
+                /**
+                 * The start time of the currently measured batch.
+                 */
+                private long batch;
+
+                /**
+                 * Creates a new timings instance without any active measurement.
+                 */
+                protected Timings() {
+                    starts = new long[4];
+                    ends = new long[4];
+                    marks = new int[4];
+                    applied = new Phases[4];
+                    affected = new Phases[4];
+                }
+
+                /**
+                 * Registers the start time of a discovery.
+                 *
+                 * @param time The start time of the discovery.
+                 */
+                protected void push(long time) {
+                    if (depth == starts.length) {
+                        long[] starts = new long[depth * 2], ends = new long[depth * 2];
+                        int[] marks = new int[depth * 2];
+                        System.arraycopy(this.starts, 0, starts, 0, depth);
+                        System.arraycopy(this.ends, 0, ends, 0, depth);
+                        System.arraycopy(this.marks, 0, marks, 0, depth);
+                        this.starts = starts;
+                        this.ends = ends;
+                        this.marks = marks;
+                    }
+                    starts[depth] = time;
+                    ends[depth] = time;
+                    marks[depth++] = size;
+                }
+
+                /**
+                 * Checks if a discovery is currently measured.
+                 *
+                 * @return {@code true} if a discovery is currently measured.
+                 */
+                protected boolean isActive() {
+                    return depth > 0;
+                }
+
+                /**
+                 * Returns the start time of the current discovery.
+                 *
+                 * @return The start time of the current discovery.
+                 */
+                protected long peek() {
+                    return starts[depth - 1];
+                }
+
+                /**
+                 * Completes the current discovery.
+                 *
+                 * @return The start time of the current discovery.
+                 */
+                protected long pop() {
+                    size = marks[--depth];
+                    return starts[depth];
+                }
+
+                /**
+                 * Registers a transformation that was applied for the current discovery.
+                 *
+                 * @param phases The phases of the applied transformation.
+                 * @param time   The time at which the transformation's transformer was applied.
+                 */
+                protected void apply(Phases phases, long time) {
+                    if (depth == 0) {
+                        return;
+                    }
+                    ends[depth - 1] = time;
+                    if (!contains(applied, marks[depth - 1], size, phases)) {
+                        applied = ensure(applied, size);
+                        applied[size++] = phases;
+                    }
+                }
+
+                /**
+                 * Records the time of writing a class file for all transformations that were applied for the current discovery. If
+                 * a batch is currently measured, these transformations are registered as affected by this batch.
+                 *
+                 * @param time The time at which the class file was written.
+                 */
+                protected void write(long time) {
+                    for (int index = marks[depth - 1]; index < size; index++) {
+                        applied[index].getWriting().record(time - ends[depth - 1]);
+                        if (batched && !contains(affected, 0, affectedSize, applied[index])) {
+                            affected = ensure(affected, affectedSize);
+                            affected[affectedSize++] = applied[index];
+                        }
+                    }
+                }
+
+                /**
+                 * Records the time of the current batch for all transformations that were applied to a type of this batch.
+                 *
+                 * @param time The time at which the batch was completed.
+                 */
+                protected void complete(long time) {
+                    for (int index = 0; index < affectedSize; index++) {
+                        affected[index].getBatches().record(time - batch);
+                        affected[index] = null;
+                    }
+                    affectedSize = 0;
+                }
+
+                /**
+                 * Checks if a range of an array contains a transformation's phases.
+                 *
+                 * @param array  The array to check.
+                 * @param from   The inclusive start of the range.
+                 * @param to     The exclusive end of the range.
+                 * @param phases The phases to find.
+                 * @return {@code true} if the range contains the supplied phases.
+                 */
+                private static boolean contains(Phases[] array, int from, int to, Phases phases) {
+                    for (int index = from; index < to; index++) {
+                        if (array[index] == phases) {
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+
+                /**
+                 * Ensures that an array can hold an element at the given index.
+                 *
+                 * @param array The array to check.
+                 * @param index The index of the element.
+                 * @return The supplied array or a copy of double its length if the supplied array is too small.
+                 */
+                private static Phases[] ensure(Phases[] array, int index) {
+                    if (index < array.length) {
+                        return array;
+                    }
+                    Phases[] resized = new Phases[array.length * 2];
+                    System.arraycopy(array, 0, resized, 0, array.length);
+                    return resized;
+                }
+
+                /**
+                 * Checks if a batch is currently measured.
+                 *
+                 * @return {@code true} if a batch is currently measured.
+                 */
+                protected boolean isBatched() {
+                    return batched;
+                }
+
+                /**
+                 * Returns the start time of the current batch.
+                 *
+                 * @return The start time of the current batch.
+                 */
+                protected long getBatch() {
+                    return batch;
+                }
+
+                /**
+                 * Registers the start time of a batch.
+                 *
+                 * @param batch The start time of the batch.
+                 */
+                protected void setBatch(long batch) {
+                    this.batch = batch;
+                    batched = true;
+                }
+
+                /**
+                 * Resets the currently measured batch.
+                 */
+                protected void resetBatch() {
+                    batched = false;
+                }
+            }
+        }
+
         /**
          * A compound listener that allows to group several listeners in one instance.
          */
@@ -4541,75 +6183,508 @@ public interface AgentBuilder {
     interface TransformerDecorator {
 
         /**
-         * Decorates the applied class file transformer.
-         *
-         * @param classFileTransformer The original transformer created by the agent builder.
-         * @return The class file transformer that is actually being registered.
+         * Decorates the applied class file transformer.
+         *
+         * @param classFileTransformer The original transformer created by the agent builder.
+         * @return The class file transformer that is actually being registered.
+         */
+        ResettableClassFileTransformer decorate(ResettableClassFileTransformer classFileTransformer);
+
+        /**
+         * A transformer decorator that retains the original transformer.
+         */
+        enum NoOp implements TransformerDecorator {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            /**
+             * {@inheritDoc}
+             */
+            public ResettableClassFileTransformer decorate(ResettableClassFileTransformer classFileTransformer) {
+                return classFileTransformer;
+            }
+        }
+
+        /**
+         * A compound transformer decorator.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class Compound implements TransformerDecorator {
+
+            /**
+             * The listeners to invoke.
+             */
+            private final List<TransformerDecorator> transformerDecorators;
+
+            /**
+             * Creates a new compound transformer decorator.
+             *
+             * @param transformerDecorator The transformer decorators to add.
+             */
+            public Compound(TransformerDecorator... transformerDecorator) {
+                this(Arrays.asList(transformerDecorator));
+            }
+
+            /**
+             * Creates a new compound listener.
+             *
+             * @param transformerDecorators The transformerDecorators to invoke.
+             */
+            public Compound(List<? extends TransformerDecorator> transformerDecorators) {
+                this.transformerDecorators = new ArrayList<TransformerDecorator>();
+                for (TransformerDecorator transformerDecorator : transformerDecorators) {
+                    if (transformerDecorator instanceof Compound) {
+                        this.transformerDecorators.addAll(((Compound) transformerDecorator).transformerDecorators);
+                    } else if (!(transformerDecorator instanceof NoOp)) {
+                        this.transformerDecorators.add(transformerDecorator);
+                    }
+                }
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public ResettableClassFileTransformer decorate(ResettableClassFileTransformer classFileTransformer) {
+                for (TransformerDecorator transformerDecorator : transformerDecorators) {
+                    classFileTransformer = transformerDecorator.decorate(classFileTransformer);
+                }
+                return classFileTransformer;
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * A matching index records which of an agent builder's transformations apply to the types of a class path. An index is recorded at build
+     * time, for example by applying a {@link MatchingIndex.Recording} plugin using a {@link Plugin.Engine}. When an index is registered with an
+     * agent builder, the recorded transformations of an indexed type are applied without evaluating the agent builder's matchers and indexed
+     * types without any matching transformation are not processed at all. Types that are not contained in an index are matched as usual.
+     * </p>
+     * <p>
+     * Alternatively, an agent builder's transformations can be applied ahead of time by a {@link MatchingIndex.AheadOfTime} plugin. Such a
+     * plugin records an index that excludes all processed types from being transformed again such that an agent only transforms those types
+     * at runtime that were not processed at build time.
+     * </p>
+     * <p>
+     * <b>Important</b>: A transformation is identified by the order in which it was registered with an agent builder. An index is therefore
+     * only valid for the agent builder configuration it was recorded from and must be recorded anew if the agent builder's matchers or the
+     * indexed class files change. Types that are excluded by an index are not reported to an agent builder's {@link Listener}.
+     * </p>
+     */
+    interface MatchingIndex {
+
+        /**
+         * Indicates that a type is not indexed.
+         */
+        int[] UNKNOWN = null;
+
+        /**
+         * Resolves the transformations that apply to a type that is about to be loaded.
+         *
+         * @param typeName            The binary name of the type.
+         * @param classLoader         The type's class loader or {@code null} if the type is loaded by the bootstrap loader.
+         * @param classBeingRedefined The class being redefined or {@code null} if the type is not yet loaded.
+         * @param transformations     The number of transformations that are registered with the agent builder.
+         * @return The indices of the transformations to apply in their order of application, or {@link MatchingIndex#UNKNOWN} if the
+         * type is not indexed and must be matched.
+         */
+        int[] resolve(String typeName, ClassLoader classLoader, Class<?> classBeingRedefined, int transformations);
+
+        /**
+         * A matching index that does not contain any type.
+         */
+        enum NoOp implements MatchingIndex {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            /**
+             * {@inheritDoc}
+             */
+            public int[] resolve(String typeName, ClassLoader classLoader, Class<?> classBeingRedefined, int transformations) {
+                return UNKNOWN;
+            }
+        }
+
+        /**
+         * A matching index that is represented by a mapping of type names to the indices of the transformations that apply to them. This index
+         * is only consulted for types that are loaded by a class loader that is matched by this index's class loader matcher. Unless specified
+         * otherwise, the index is only consulted for types that are not yet loaded.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class Simple implements MatchingIndex {
+
+            /**
+             * A value that identifies the binary format of a matching index.
+             */
+            private static final int MAGIC = 0x42424D49;
+
+            /**
+             * The version of the binary format of a matching index that is written and that can be read by this class.
+             */
+            private static final int VERSION = 1;
+
+            /**
+             * A matcher for class loaders whose types are resolved from this index.
+             */
+            private final ElementMatcher<? super ClassLoader> classLoaderMatcher;
+
+            /**
+             * The number of transformations that were registered with the agent builder that this index was recorded for.
+             */
+            private final int transformations;
+
+            /**
+             * A mapping of type names to the indices of the transformations that apply to them.
+             */
+            private final Map<String, int[]> entries;
+
+            /**
+             * {@code true} if this index is also consulted for types that are already loaded.
+             */
+            private final boolean loadedTypes;
+
+            /**
+             * Creates a new simple matching index that is only consulted for types that are not yet loaded.
+             *
+             * @param classLoaderMatcher A matcher for class loaders whose types are resolved from this index.
+             * @param transformations    The number of transformations that were registered with the agent builder that this index was recorded for.
+             * @param entries            A mapping of type names to the indices of the transformations that apply to them.
+             */
+            public Simple(ElementMatcher<? super ClassLoader> classLoaderMatcher, int transformations, Map<String, int[]> entries) {
+                this(classLoaderMatcher, transformations, entries, false);
+            }
+
+            /**
+             * Creates a new simple matching index.
+             *
+             * @param classLoaderMatcher A matcher for class loaders whose types are resolved from this index.
+             * @param transformations    The number of transformations that were registered with the agent builder that this index was recorded for.
+             * @param entries            A mapping of type names to the indices of the transformations that apply to them.
+             * @param loadedTypes        {@code true} if this index is also consulted for types that are already loaded.
+             */
+            public Simple(ElementMatcher<? super ClassLoader> classLoaderMatcher, int transformations, Map<String, int[]> entries, boolean loadedTypes) {
+                this.classLoaderMatcher = classLoaderMatcher;
+                this.transformations = transformations;
+                this.entries = entries;
+                this.loadedTypes = loadedTypes;
+            }
+
+            /**
+             * Reads a matching index that was written by {@link Simple#write(OutputStream)}. An index that was written in another
+             * version of the binary format is rejected.
+             *
+             * @param inputStream        The input stream to read the index from. The stream is not closed.
+             * @param classLoaderMatcher A matcher for class loaders whose types are resolved from the read index.
+             * @return The read matching index.
+             * @throws IOException If an I/O exception occurs.
+             */
+            public static Simple of(InputStream inputStream, ElementMatcher<? super ClassLoader> classLoaderMatcher) throws IOException {
+                DataInputStream dataInputStream = new DataInputStream(inputStream);
+                if (dataInputStream.readInt() != MAGIC) {
+                    throw new IOException("Not a matching index");
+                }
+                int version = dataInputStream.readInt();
+                if (version != VERSION) {
+                    throw new IOException("Unsupported matching index version: " + version);
+                }
+                boolean loadedTypes = dataInputStream.readBoolean();
+                int transformations = dataInputStream.readInt(), size = dataInputStream.readInt();
+                Map<String, int[]> entries = new HashMap<String, int[]>();
+                for (int entry = 0; entry < size; entry++) {
+                    String name = dataInputStream.readUTF();
+                    int[] index = new int[dataInputStream.readUnsignedShort()];
+                    for (int position = 0; position < index.length; position++) {
+                        index[position] = dataInputStream.readUnsignedShort();
+                        if (index[position] >= transformations) {
+                            throw new IOException("Illegal transformation index for " + name + ": " + index[position]);
+                        }
+                    }
+                    entries.put(name, index);
+                }
+                return new Simple(classLoaderMatcher, transformations, entries, loadedTypes);
+            }
+
+            /**
+             * Writes this matching index. Types are written in the order of their names such that an index is written identically for identical entries.
+             *
+             * @param outputStream The output stream to write this index to. The stream is not closed.
+             * @throws IOException If an I/O exception occurs.
+             */
+            public void write(OutputStream outputStream) throws IOException {
+                DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+                dataOutputStream.writeInt(MAGIC);
+                dataOutputStream.writeInt(VERSION);
+                dataOutputStream.writeBoolean(loadedTypes);
+                dataOutputStream.writeInt(transformations);
+                dataOutputStream.writeInt(entries.size());
+                for (Map.Entry<String, int[]> entry : new TreeMap<String, int[]>(entries).entrySet()) {
+                    dataOutputStream.writeUTF(entry.getKey());
+                    dataOutputStream.writeShort(entry.getValue().length);
+                    for (int index : entry.getValue()) {
+                        dataOutputStream.writeShort(index);
+                    }
+                }
+                dataOutputStream.flush();
+            }
+
+            /**
+             * Returns the number of indexed types.
+             *
+             * @return The number of indexed types.
+             */
+            public int size() {
+                return entries.size();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public int[] resolve(String typeName, ClassLoader classLoader, Class<?> classBeingRedefined, int transformations) {
+                return classBeingRedefined != null && !loadedTypes || this.transformations != transformations || !classLoaderMatcher.matches(classLoader)
+                        ? UNKNOWN
+                        : entries.get(typeName);
+            }
+        }
+
+        /**
+         * <p>
+         * An abstract base implementation of a plugin that evaluates an agent builder's matchers for every type that is processed by a
+         * {@link Plugin.Engine} and that writes a {@link MatchingIndex.Simple} of the evaluated types when the plugin is closed, what happens
+         * once a plugin engine completed its transformation.
+         * </p>
+         * <p>
+         * As types are not loaded at build time, the agent builder's matchers are evaluated for a type that is about to be loaded by the supplied
+         * class loader, without a module and without a protection domain. Matchers that depend on other properties than the type description
+         * and its class loader should not be evaluated at build time. Types for which a matcher raises an exception are not indexed.
+         * </p>
+         * <p>
+         * A type is only recorded when the plugin engine matches it against this plugin. As a plugin engine does not match types that it
+         * ignores or whose previous output it reuses, such types would be missing from an index. Such an index would be incomplete and
+         * an ahead of time transformation would be applied a second time at runtime to a type whose previous output was reused. A
+         * plugin engine therefore refuses to apply this plugin if it uses an incremental strategy or if it ignores types.
+         * </p>
+         */
+        abstract class AbstractBase implements Plugin.WithCompleteMatching {
+
+            /**
+             * Indicates that a type is not yet loaded.
+             */
+            private static final Class<?> NO_LOADED_TYPE = null;
+
+            /**
+             * Indicates that a type's protection domain is not known.
+             */
+            private static final ProtectionDomain NO_PROTECTION_DOMAIN = null;
+
+            /**
+             * Identifies types that should not be instrumented.
+             */
+            private final RawMatcher ignoreMatcher;
+
+            /**
+             * The agent builder's transformations in their order of registration.
+             */
+            protected final List<Default.Transformation> transformations;
+
+            /**
+             * The class loader that is assumed to load the indexed types.
+             */
+            protected final ClassLoader classLoader;
+
+            /**
+             * The file to write the recorded index to.
+             */
+            private final File file;
+
+            /**
+             * A mapping of type names to the indices of the transformations that apply to them.
+             */
+            protected final ConcurrentMap<String, int[]> entries;
+
+            /**
+             * Creates a new abstract base for a plugin that records a matching index.
+             *
+             * @param agentBuilder The agent builder whose matchers are recorded. The agent builder must be created by {@link AgentBuilder.Default}.
+             * @param classLoader  The class loader that is assumed to load the indexed types.
+             * @param file         The file to write the recorded index to.
+             */
+            protected AbstractBase(AgentBuilder agentBuilder, ClassLoader classLoader, File file) {
+                while (agentBuilder instanceof Default.Delegator<?>) {
+                    agentBuilder = ((Default.Delegator<?>) agentBuilder).materialize();
+                }
+                if (!(agentBuilder instanceof Default)) {
+                    throw new IllegalArgumentException("Cannot record matchers of " + agentBuilder);
+                }
+                ignoreMatcher = ((Default) agentBuilder).ignoreMatcher;
+                transformations = ((Default) agentBuilder).transformations;
+                this.classLoader = classLoader;
+                this.file = file;
+                entries = new ConcurrentHashMap<String, int[]>();
+            }
+
+            /**
+             * Evaluates the agent builder's matchers for a type and records the result.
+             *
+             * @param typeDescription The type to evaluate.
+             * @return The indices of the transformations that apply to the supplied type or {@link MatchingIndex#UNKNOWN} if a matcher raised an exception.
+             */
+            protected int[] record(TypeDescription typeDescription) {
+                try {
+                    List<Integer> indices = new ArrayList<Integer>();
+                    if (!ignoreMatcher.matches(typeDescription, classLoader, JavaModule.UNSUPPORTED, NO_LOADED_TYPE, NO_PROTECTION_DOMAIN)) {
+                        for (int index = 0; index < transformations.size(); index++) {
+                            if (transformations.get(index).getMatcher().matches(typeDescription, classLoader, JavaModule.UNSUPPORTED, NO_LOADED_TYPE, NO_PROTECTION_DOMAIN)) {
+                                indices.add(index);
+                                if (transformations.get(index).isTerminal()) {
+                                    break;
+                                }
+                            }
+                        }
+                    }
+                    int[] index = new int[indices.size()];
+                    for (int position = 0; position < index.length; position++) {
+                        index[position] = indices.get(position);
+                    }
+                    entries.put(typeDescription.getName(), index);
+                    return index;
+                } catch (Throwable ignored) {
+                    return UNKNOWN;
+                }
+            }
+
+            /**
+             * Returns a matching index of all types that were recorded so far.
+             *
+             * @param classLoaderMatcher A matcher for class loaders whose types are resolved from the returned index.
+             * @return A matching index of all types that were recorded so far.
+             */
+            public abstract Simple toIndex(ElementMatcher<? super ClassLoader> classLoaderMatcher);
+
+            /**
+             * Writes the recorded index to this plugin's file.
+             *
+             * @throws IOException If an I/O exception occurs.
+             */
+            public void close() throws IOException {
+                OutputStream outputStream = new FileOutputStream(file);
+                try {
+                    toIndex(any()).write(outputStream);
+                } finally {
+                    outputStream.close();
+                }
+            }
+        }
+
+        /**
+         * A plugin that records a {@link MatchingIndex.Simple} by evaluating an agent builder's matchers for every type that is processed by
+         * a {@link Plugin.Engine}. This plugin does not transform any type.
          */
-        ResettableClassFileTransformer decorate(ResettableClassFileTransformer classFileTransformer);
+        class Recording extends AbstractBase {
 
-        /**
-         * A transformer decorator that retains the original transformer.
-         */
-        enum NoOp implements TransformerDecorator {
+            /**
+             * Creates a new recording plugin.
+             *
+             * @param agentBuilder The agent builder whose matchers are recorded. The agent builder must be created by {@link AgentBuilder.Default}.
+             * @param classLoader  The class loader that is assumed to load the indexed types.
+             * @param file         The file to write the recorded index to.
+             */
+            public Recording(AgentBuilder agentBuilder, ClassLoader classLoader, File file) {
+                super(agentBuilder, classLoader, file);
+            }
 
             /**
-             * The singleton instance.
+             * {@inheritDoc}
              */
-            INSTANCE;
+            public boolean matches(TypeDescription target) {
+                record(target);
+                return false;
+            }
 
             /**
              * {@inheritDoc}
              */
-            public ResettableClassFileTransformer decorate(ResettableClassFileTransformer classFileTransformer) {
-                return classFileTransformer;
+            public DynamicType.Builder<?> apply(DynamicType.Builder<?> builder, TypeDescription typeDescription, ClassFileLocator classFileLocator) {
+                return builder;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Simple toIndex(ElementMatcher<? super ClassLoader> classLoaderMatcher) {
+                return new Simple(classLoaderMatcher, transformations.size(), new HashMap<String, int[]>(entries));
             }
         }
 
         /**
-         * A compound transformer decorator.
+         * <p>
+         * A plugin that applies an agent builder's transformations ahead of time to every type that is processed by a {@link Plugin.Engine}.
+         * Any processed type is recorded in a {@link MatchingIndex.Simple} without any transformation such that an agent builder that registers
+         * this index does not transform a processed type again, neither when it is loaded nor when it is retransformed. Types that were not
+         * processed are matched and transformed by the agent builder at runtime.
+         * </p>
+         * <p>
+         * <b>Important</b>: The agent builder's transformers are applied with the supplied class loader and without a module. Transformers
+         * that require a {@link LoadedTypeInitializer}, for example to inject helper classes or to set static fields, cannot be applied
+         * ahead of time as they are not executed by a plugin engine. Such transformers should only be applied at runtime.
+         * </p>
          */
-        @HashCodeAndEqualsPlugin.Enhance
-        class Compound implements TransformerDecorator {
+        class AheadOfTime extends AbstractBase {
 
             /**
-             * The listeners to invoke.
+             * Indicates that no transformation is applied to a type.
              */
-            private final List<TransformerDecorator> transformerDecorators;
+            private static final int[] NO_TRANSFORMATION = new int[0];
 
             /**
-             * Creates a new compound transformer decorator.
+             * Creates a new plugin for applying an agent builder's transformations ahead of time.
              *
-             * @param transformerDecorator The transformer decorators to add.
+             * @param agentBuilder The agent builder whose transformations are applied. The agent builder must be created by {@link AgentBuilder.Default}.
+             * @param classLoader  The class loader that is assumed to load the transformed types.
+             * @param file         The file to write the recorded index to.
              */
-            public Compound(TransformerDecorator... transformerDecorator) {
-                this(Arrays.asList(transformerDecorator));
+            public AheadOfTime(AgentBuilder agentBuilder, ClassLoader classLoader, File file) {
+                super(agentBuilder, classLoader, file);
             }
 
             /**
-             * Creates a new compound listener.
-             *
-             * @param transformerDecorators The transformerDecorators to invoke.
+             * {@inheritDoc}
              */
-            public Compound(List<? extends TransformerDecorator> transformerDecorators) {
-                this.transformerDecorators = new ArrayList<TransformerDecorator>();
-                for (TransformerDecorator transformerDecorator : transformerDecorators) {
-                    if (transformerDecorator instanceof Compound) {
-                        this.transformerDecorators.addAll(((Compound) transformerDecorator).transformerDecorators);
-                    } else if (!(transformerDecorator instanceof NoOp)) {
-                        this.transformerDecorators.add(transformerDecorator);
+            public boolean matches(TypeDescription target) {
+                int[] index = record(target);
+                return index != UNKNOWN && index.length > 0;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public DynamicType.Builder<?> apply(DynamicType.Builder<?> builder, TypeDescription typeDescription, ClassFileLocator classFileLocator) {
+                int[] index = entries.get(typeDescription.getName());
+                if (index == UNKNOWN) {
+                    index = record(typeDescription);
+                    if (index == UNKNOWN) {
+                        return builder;
+                    }
+                }
+                for (int transformation : index) {
+                    for (Transformer transformer : transformations.get(transformation).getTransformers()) {
+                        builder = transformer.transform(builder, typeDescription, classLoader, JavaModule.UNSUPPORTED);
                     }
                 }
+                entries.put(typeDescription.getName(), NO_TRANSFORMATION);
+                return builder;
             }
 
             /**
              * {@inheritDoc}
              */
-            public ResettableClassFileTransformer decorate(ResettableClassFileTransformer classFileTransformer) {
-                for (TransformerDecorator transformerDecorator : transformerDecorators) {
-                    classFileTransformer = transformerDecorator.decorate(classFileTransformer);
-                }
-                return classFileTransformer;
+            public Simple toIndex(ElementMatcher<? super ClassLoader> classLoaderMatcher) {
+                return new Simple(classLoaderMatcher, transformations.size(), new HashMap<String, int[]>(entries), true);
             }
         }
     }
@@ -6180,6 +8255,109 @@ public interface AgentBuilder {
             }
         }
 
+        /**
+         * A resubmission backoff determines if and when a type is resubmitted again after a previous resubmission did not succeed.
+         * Resubmissions are only attempted when the {@link ResubmissionScheduler} triggers its job such that the scheduler's interval
+         * defines the resolution of any backoff.
+         */
+        public interface ResubmissionBackoff {
+
+            /**
+             * Indicates that no further resubmission should be attempted.
+             */
+            long NO_RETRY = -1L;
+
+            /**
+             * Resolves the minimal delay in milliseconds before a type is resubmitted.
+             *
+             * @param attempts The number of resubmission attempts that were already made for the type in question.
+             * @return The minimal delay in milliseconds before the next attempt or {@link ResubmissionBackoff#NO_RETRY} if no
+             * further attempt should be made.
+             */
+            long delay(int attempts);
+
+            /**
+             * A backoff that only attempts a single resubmission upon the next execution of the resubmission job.
+             */
+            enum Disabled implements ResubmissionBackoff {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public long delay(int attempts) {
+                    return attempts == 0
+                            ? 0L
+                            : NO_RETRY;
+                }
+            }
+
+            /**
+             * A backoff that doubles the delay between two resubmission attempts of the same type up to a maximum delay and
+             * that discontinues resubmission after a maximum number of attempts.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class Exponential implements ResubmissionBackoff {
+
+                /**
+                 * The delay in milliseconds after the first unsuccessful resubmission.
+                 */
+                private final long initialDelay;
+
+                /**
+                 * The maximum delay in milliseconds between two resubmission attempts.
+                 */
+                private final long maximumDelay;
+
+                /**
+                 * The maximum number of resubmission attempts per type.
+                 */
+                private final int maximumAttempts;
+
+                /**
+                 * Creates a new exponential resubmission backoff. Both delays must represent at least one millisecond.
+                 *
+                 * @param initialDelay    The delay after the first unsuccessful resubmission.
+                 * @param maximumDelay    The maximum delay between two resubmission attempts.
+                 * @param timeUnit        The time unit of the supplied delays.
+                 * @param maximumAttempts The maximum number of resubmission attempts per type.
+                 */
+                public Exponential(long initialDelay, long maximumDelay, TimeUnit timeUnit, int maximumAttempts) {
+                    this.initialDelay = timeUnit.toMillis(initialDelay);
+                    this.maximumDelay = timeUnit.toMillis(maximumDelay);
+                    if (this.initialDelay <= 0L || this.maximumDelay < this.initialDelay) {
+                        throw new IllegalArgumentException("Illegal delays in milliseconds: " + this.initialDelay + " and " + this.maximumDelay);
+                    } else if (maximumAttempts < 1) {
+                        throw new IllegalArgumentException("Maximum number of attempts must be positive: " + maximumAttempts);
+                    }
+                    this.maximumAttempts = maximumAttempts;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public long delay(int attempts) {
+                    if (attempts >= maximumAttempts) {
+                        return NO_RETRY;
+                    } else if (attempts == 0) {
+                        return 0L;
+                    }
+                    long delay = initialDelay;
+                    for (int attempt = 1; attempt < attempts; attempt++) {
+                        if (delay > maximumDelay / 2) {
+                            return maximumDelay;
+                        }
+                        delay = delay << 1;
+                    }
+                    return delay;
+                }
+            }
+        }
+
         /**
          * A resubmission strategy is responsible for enabling resubmission of types that failed to resubmit.
          */
@@ -6251,6 +8429,11 @@ public interface AgentBuilder {
                  */
                 private final ElementMatcher<? super Throwable> matcher;
 
+                /**
+                 * The backoff to apply for repeated resubmissions of a type.
+                 */
+                private final ResubmissionBackoff resubmissionBackoff;
+
                 /**
                  * Creates a new enabled resubmission strategy.
                  *
@@ -6258,8 +8441,22 @@ public interface AgentBuilder {
                  * @param matcher               The matcher for filtering error causes.
                  */
                 protected Enabled(ResubmissionScheduler resubmissionScheduler, ElementMatcher<? super Throwable> matcher) {
+                    this(resubmissionScheduler, matcher, ResubmissionBackoff.Disabled.INSTANCE);
+                }
+
+                /**
+                 * Creates a new enabled resubmission strategy.
+                 *
+                 * @param resubmissionScheduler A scheduler that is responsible for resubmission of types.
+                 * @param matcher               The matcher for filtering error causes.
+                 * @param resubmissionBackoff   The backoff to apply for repeated resubmissions of a type.
+                 */
+                protected Enabled(ResubmissionScheduler resubmissionScheduler,
+                                  ElementMatcher<? super Throwable> matcher,
+                                  ResubmissionBackoff resubmissionBackoff) {
                     this.resubmissionScheduler = resubmissionScheduler;
                     this.matcher = matcher;
+                    this.resubmissionBackoff = resubmissionBackoff;
                 }
 
                 /**
@@ -6275,7 +8472,7 @@ public interface AgentBuilder {
                                           RedefinitionStrategy.BatchAllocator redefinitionBatchAllocator,
                                           RedefinitionStrategy.Listener redefinitionBatchListener) {
                     if (redefinitionStrategy.isEnabled() && resubmissionScheduler.isAlive()) {
-                        ConcurrentMap<StorageKey, Set<String>> types = new ConcurrentHashMap<StorageKey, Set<String>>();
+                        ConcurrentMap<StorageKey, ConcurrentMap<String, Resubmission>> types = new ConcurrentHashMap<StorageKey, ConcurrentMap<String, Resubmission>>();
                         return new Installation(new AgentBuilder.Listener.Compound(new ResubmissionListener(this.matcher, types), listener),
                                 new InstallationListener.Compound(new ResubmissionInstallationListener(resubmissionScheduler,
                                         instrumentation,
@@ -6286,6 +8483,7 @@ public interface AgentBuilder {
                                         redefinitionStrategy,
                                         redefinitionBatchAllocator,
                                         redefinitionBatchListener,
+                                        resubmissionBackoff,
                                         types), installationListener));
                     } else {
                         return new Installation(listener, installationListener);
@@ -6305,13 +8503,13 @@ public interface AgentBuilder {
                     /**
                      * A map of class loaders to their types to resubmit.
                      */
-                    private final ConcurrentMap<StorageKey, Set<String>> types;
+                    private final ConcurrentMap<StorageKey, ConcurrentMap<String, Resubmission>> types;
 
                     /**
                      * @param matcher The matcher for filtering error causes.
                      * @param types   A map of class loaders to their types to resubmit.
                      */
-                    protected ResubmissionListener(ElementMatcher<? super Throwable> matcher, ConcurrentMap<StorageKey, Set<String>> types) {
+                    protected ResubmissionListener(ElementMatcher<? super Throwable> matcher, ConcurrentMap<StorageKey, ConcurrentMap<String, Resubmission>> types) {
                         this.matcher = matcher;
                         this.types = types;
                     }
@@ -6322,60 +8520,110 @@ public interface AgentBuilder {
                     @SuppressFBWarnings(value = "GC_UNRELATED_TYPES", justification = "Use of unrelated key is intended for avoiding unnecessary weak reference")
                     public void onError(String typeName, ClassLoader classLoader, JavaModule module, boolean loaded, Throwable throwable) {
                         if (!loaded && matcher.matches(throwable)) {
-                            Set<String> types = this.types.get(new LookupKey(classLoader));
-                            if (types == null) {
-                                types = new ConcurrentHashSet<String>();
-                                Set<String> previous = this.types.putIfAbsent(new StorageKey(classLoader), types);
-                                if (previous != null) {
-                                    types = previous;
+                            ConcurrentMap<String, Resubmission> types;
+                            do {
+                                types = this.types.get(new LookupKey(classLoader));
+                                if (types == null) {
+                                    types = new ConcurrentHashMap<String, Resubmission>();
+                                    ConcurrentMap<String, Resubmission> previous = this.types.putIfAbsent(new StorageKey(classLoader), types);
+                                    if (previous != null) {
+                                        types = previous;
+                                    }
                                 }
+                                types.putIfAbsent(typeName, Resubmission.INITIAL);
+                            } while (this.types.get(new LookupKey(classLoader)) != types); // Retry if the map was concurrently removed after draining.
+                        } else if (loaded) {
+                            ConcurrentMap<String, Resubmission> types = this.types.get(new LookupKey(classLoader));
+                            if (types != null && types.containsKey(typeName) && !matcher.matches(throwable)) {
+                                types.remove(typeName);
                             }
-                            types.add(typeName);
+                        }
+                    }
+
+                    @Override
+                    public void onTransformation(TypeDescription typeDescription, ClassLoader classLoader, JavaModule module, boolean loaded, DynamicType dynamicType) {
+                        if (loaded) {
+                            discard(typeDescription.getName(), classLoader);
+                        }
+                    }
+
+                    @Override
+                    public void onIgnored(TypeDescription typeDescription, ClassLoader classLoader, JavaModule module, boolean loaded) {
+                        if (loaded) {
+                            discard(typeDescription.getName(), classLoader);
                         }
                     }
 
                     /**
-                     * A set projection for a {@link ConcurrentHashMap}.
+                     * Discards a type from resubmission after it was retransformed successfully or if it is no longer matched.
                      *
-                     * @param <T> The element type of the set projection.
+                     * @param typeName    The name of the type to discard.
+                     * @param classLoader The type's class loader.
                      */
-                    protected static class ConcurrentHashSet<T> extends AbstractSet<T> {
+                    @SuppressFBWarnings(value = "GC_UNRELATED_TYPES", justification = "Use of unrelated key is intended for avoiding unnecessary weak reference")
+                    private void discard(String typeName, ClassLoader classLoader) {
+                        ConcurrentMap<String, Resubmission> types = this.types.get(new LookupKey(classLoader));
+                        if (types != null) {
+                            types.remove(typeName);
+                        }
+                    }
+                }
 
-                        /**
-                         * The delegate map.
-                         */
-                        private final ConcurrentMap<T, Boolean> delegate;
+                /**
+                 * Represents the resubmission state of a single type.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                protected static class Resubmission {
 
-                        /**
-                         * Creates a concurrent hash set.
-                         */
-                        protected ConcurrentHashSet() {
-                            delegate = new ConcurrentHashMap<T, Boolean>();
-                        }
+                    /**
+                     * A resubmission that was not yet attempted and that is due immediately.
+                     */
+                    protected static final Resubmission INITIAL = new Resubmission(0, 0L);
 
-                        @Override
-                        public boolean add(T value) {
-                            return delegate.put(value, Boolean.TRUE) == null;
-                        }
+                    /**
+                     * The number of resubmissions that were already attempted.
+                     */
+                    private final int attempts;
 
-                        @Override
-                        public boolean remove(Object value) {
-                            return delegate.remove(value) != null;
-                        }
+                    /**
+                     * The time in nanoseconds, as provided by {@link System#nanoTime()}, until which no resubmission
+                     * should be attempted. This value is ignored for a resubmission that was not yet attempted.
+                     */
+                    private final long due;
 
-                        /**
-                         * {@inheritDoc}
-                         */
-                        public Iterator<T> iterator() {
-                            return delegate.keySet().iterator();
-                        }
+                    /**
+                     * Creates a new resubmission state.
+                     *
+                     * @param attempts The number of resubmissions that were already attempted.
+                     * @param due      The time in nanoseconds until which no resubmission should be attempted.
+                     */
+                    protected Resubmission(int attempts, long due) {
+                        this.attempts = attempts;
+                        this.due = due;
+                    }
 
-                        /**
-                         * {@inheritDoc}
-                         */
-                        public int size() {
-                            return delegate.size();
-                        }
+                    /**
+                     * Checks if this resubmission is due.
+                     *
+                     * @param time The current time in nanoseconds, as provided by {@link System#nanoTime()}.
+                     * @return {@code true} if this resubmission should be attempted.
+                     */
+                    protected boolean isDue(long time) {
+                        return attempts == 0 || time - due >= 0L;
+                    }
+
+                    /**
+                     * Resolves the resubmission state after the represented resubmission was attempted.
+                     *
+                     * @param resubmissionBackoff The resubmission backoff to apply.
+                     * @param time                The current time in nanoseconds, as provided by {@link System#nanoTime()}.
+                     * @return The next resubmission state or {@code null} if no further resubmission should be attempted.
+                     */
+                    protected Resubmission next(ResubmissionBackoff resubmissionBackoff, long time) {
+                        long delay = resubmissionBackoff.delay(attempts + 1);
+                        return delay == ResubmissionBackoff.NO_RETRY
+                                ? null
+                                : new Resubmission(attempts + 1, time + TimeUnit.MILLISECONDS.toNanos(delay));
                     }
                 }
 
@@ -6429,10 +8677,15 @@ public interface AgentBuilder {
                      */
                     private final Listener redefinitionBatchListener;
 
+                    /**
+                     * The backoff to apply for repeated resubmissions of a type.
+                     */
+                    private final ResubmissionBackoff resubmissionBackoff;
+
                     /**
                      * A map of class loaders to their types to resubmit.
                      */
-                    private final ConcurrentMap<StorageKey, Set<String>> types;
+                    private final ConcurrentMap<StorageKey, ConcurrentMap<String, Resubmission>> types;
 
                     /**
                      * This scheduler's cancelable or {@code null} if no cancelable was registered.
@@ -6451,6 +8704,7 @@ public interface AgentBuilder {
                      * @param redefinitionStrategy       The redefinition strategy to use.
                      * @param redefinitionBatchAllocator The batch allocator to use.
                      * @param redefinitionBatchListener  The batch listener to notify.
+                     * @param resubmissionBackoff        The backoff to apply for repeated resubmissions of a type.
                      * @param types                      A map of class loaders to their types to resubmit.
                      */
                     protected ResubmissionInstallationListener(ResubmissionScheduler resubmissionScheduler,
@@ -6462,7 +8716,8 @@ public interface AgentBuilder {
                                                                RedefinitionStrategy redefinitionStrategy,
                                                                BatchAllocator redefinitionBatchAllocator,
                                                                Listener redefinitionBatchListener,
-                                                               ConcurrentMap<StorageKey, Set<String>> types) {
+                                                               ResubmissionBackoff resubmissionBackoff,
+                                                               ConcurrentMap<StorageKey, ConcurrentMap<String, Resubmission>> types) {
                         this.resubmissionScheduler = resubmissionScheduler;
                         this.instrumentation = instrumentation;
                         this.locationStrategy = locationStrategy;
@@ -6472,6 +8727,7 @@ public interface AgentBuilder {
                         this.redefinitionStrategy = redefinitionStrategy;
                         this.redefinitionBatchAllocator = redefinitionBatchAllocator;
                         this.redefinitionBatchListener = redefinitionBatchListener;
+                        this.resubmissionBackoff = resubmissionBackoff;
                         this.types = types;
                     }
 
@@ -6495,22 +8751,31 @@ public interface AgentBuilder {
                     public void run() {
                         boolean release = circularityLock.acquire();
                         try {
-                            Iterator<Map.Entry<StorageKey, Set<String>>> entries = types.entrySet().iterator();
+                            Iterator<Map.Entry<StorageKey, ConcurrentMap<String, Resubmission>>> entries = types.entrySet().iterator();
                             List<Class<?>> types = new ArrayList<Class<?>>();
+                            long time = System.nanoTime();
                             while (entries.hasNext()) {
                                 if (Thread.interrupted()) {
                                     return;
                                 }
-                                Map.Entry<StorageKey, Set<String>> entry = entries.next();
+                                Map.Entry<StorageKey, ConcurrentMap<String, Resubmission>> entry = entries.next();
                                 ClassLoader classLoader = entry.getKey().get();
                                 if (classLoader != null || entry.getKey().isBootstrapLoader()) {
-                                    Iterator<String> iterator = entry.getValue().iterator();
-                                    while (iterator.hasNext()) {
+                                    ConcurrentMap<String, Resubmission> resubmissions = entry.getValue();
+                                    for (Map.Entry<String, Resubmission> resubmission : resubmissions.entrySet()) {
                                         if (Thread.interrupted()) {
                                             return;
+                                        } else if (!resubmission.getValue().isDue(time)) {
+                                            continue;
+                                        }
+                                        Resubmission next = resubmission.getValue().next(resubmissionBackoff, time);
+                                        if (next == null) {
+                                            resubmissions.remove(resubmission.getKey(), resubmission.getValue());
+                                        } else {
+                                            resubmissions.replace(resubmission.getKey(), resubmission.getValue(), next);
                                         }
                                         try {
-                                            Class<?> type = Class.forName(iterator.next(), false, classLoader);
+                                            Class<?> type = Class.forName(resubmission.getKey(), false, classLoader);
                                             try {
                                                 if (DISPATCHER.isModifiableClass(instrumentation, type) && matcher.matches(TypeDescription.ForLoadedType.of(type),
                                                         type.getClassLoader(),
@@ -6518,8 +8783,11 @@ public interface AgentBuilder {
                                                         type,
                                                         type.getProtectionDomain())) {
                                                     types.add(type);
+                                                } else {
+                                                    resubmissions.remove(resubmission.getKey());
                                                 }
                                             } catch (Throwable throwable) {
+                                                resubmissions.remove(resubmission.getKey());
                                                 try {
                                                     listener.onDiscovery(TypeDescription.ForLoadedType.getName(type),
                                                             type.getClassLoader(),
@@ -6542,8 +8810,14 @@ public interface AgentBuilder {
                                             }
                                         } catch (Throwable ignored) {
                                             /* do nothing */
-                                        } finally {
-                                            iterator.remove();
+                                        }
+                                    }
+                                    if (resubmissions.isEmpty() && this.types.remove(entry.getKey(), resubmissions) && !resubmissions.isEmpty()) {
+                                        ConcurrentMap<String, Resubmission> previous = this.types.putIfAbsent(entry.getKey(), resubmissions);
+                                        if (previous != null) {
+                                            for (Map.Entry<String, Resubmission> resubmission : resubmissions.entrySet()) {
+                                                previous.putIfAbsent(resubmission.getKey(), resubmission.getValue());
+                                            }
                                         }
                                     }
                                 } else {
@@ -8521,6 +10795,11 @@ public interface AgentBuilder {
          */
         protected final List<Transformation> transformations;
 
+        /**
+         * The matching index to consult before matching a type.
+         */
+        protected final MatchingIndex matchingIndex;
+
         /**
          * Creates a new default agent builder that uses a default {@link net.bytebuddy.ByteBuddy} instance for creating classes.
          */
@@ -8560,7 +10839,8 @@ public interface AgentBuilder {
                     new RawMatcher.Disjunction(
                             new RawMatcher.ForElementMatchers(any(), isBootstrapClassLoader().or(isExtensionClassLoader())),
                             new RawMatcher.ForElementMatchers(nameStartsWith("net.bytebuddy.").or(nameStartsWith("sun.reflect.")).<TypeDescription>or(isSynthetic()))),
-                    Collections.<Transformation>emptyList());
+                    Collections.<Transformation>emptyList(),
+                    MatchingIndex.NoOp.INSTANCE);
         }
 
         /**
@@ -8589,6 +10869,7 @@ public interface AgentBuilder {
          * @param installationListener             The installation listener to notify.
          * @param ignoreMatcher                    Identifies types that should not be instrumented.
          * @param transformations                  The transformations to apply for any non-ignored type.
+         * @param matchingIndex                    The matching index to consult before matching a type.
          */
         protected Default(ByteBuddy byteBuddy,
                           Listener listener,
@@ -8611,7 +10892,8 @@ public interface AgentBuilder {
                           ClassFileBufferStrategy classFileBufferStrategy,
                           InstallationListener installationListener,
                           RawMatcher ignoreMatcher,
-                          List<Transformation> transformations) {
+                          List<Transformation> transformations,
+                          MatchingIndex matchingIndex) {
             this.byteBuddy = byteBuddy;
             this.listener = listener;
             this.circularityLock = circularityLock;
@@ -8634,6 +10916,7 @@ public interface AgentBuilder {
             this.installationListener = installationListener;
             this.ignoreMatcher = ignoreMatcher;
             this.transformations = transformations;
+            this.matchingIndex = matchingIndex;
         }
 
         /**
@@ -8753,7 +11036,8 @@ public interface AgentBuilder {
                     classFileBufferStrategy,
                     installationListener,
                     ignoreMatcher,
-                    transformations);
+                    transformations,
+                    matchingIndex);
         }
 
         /**
@@ -8781,7 +11065,8 @@ public interface AgentBuilder {
                     classFileBufferStrategy,
                     installationListener,
                     ignoreMatcher,
-                    transformations);
+                    transformations,
+                    matchingIndex);
         }
 
         /**
@@ -8809,7 +11094,8 @@ public interface AgentBuilder {
                     classFileBufferStrategy,
                     installationListener,
                     ignoreMatcher,
-                    transformations);
+                    transformations,
+                    matchingIndex);
         }
 
         /**
@@ -8837,7 +11123,8 @@ public interface AgentBuilder {
                     classFileBufferStrategy,
                     installationListener,
                     ignoreMatcher,
-                    transformations);
+                    transformations,
+                    matchingIndex);
         }
 
         /**
@@ -8865,7 +11152,8 @@ public interface AgentBuilder {
                     classFileBufferStrategy,
                     installationListener,
                     ignoreMatcher,
-                    transformations);
+                    transformations,
+                    matchingIndex);
         }
 
         /**
@@ -8893,7 +11181,8 @@ public interface AgentBuilder {
                     classFileBufferStrategy,
                     installationListener,
                     ignoreMatcher,
-                    transformations);
+                    transformations,
+                    matchingIndex);
         }
 
         /**
@@ -8921,7 +11210,8 @@ public interface AgentBuilder {
                     classFileBufferStrategy,
                     installationListener,
                     ignoreMatcher,
-                    transformations);
+                    transformations,
+                    matchingIndex);
         }
 
         /**
@@ -8949,7 +11239,8 @@ public interface AgentBuilder {
                     classFileBufferStrategy,
                     installationListener,
                     ignoreMatcher,
-                    transformations);
+                    transformations,
+                    matchingIndex);
         }
 
         /**
@@ -8977,7 +11268,8 @@ public interface AgentBuilder {
                     classFileBufferStrategy,
                     installationListener,
                     ignoreMatcher,
-                    transformations);
+                    transformations,
+                    matchingIndex);
         }
 
         /**
@@ -9005,7 +11297,8 @@ public interface AgentBuilder {
                     classFileBufferStrategy,
                     installationListener,
                     ignoreMatcher,
-                    transformations);
+                    transformations,
+                    matchingIndex);
         }
 
         /**
@@ -9033,7 +11326,8 @@ public interface AgentBuilder {
                     classFileBufferStrategy,
                     installationListener,
                     ignoreMatcher,
-                    transformations);
+                    transformations,
+                    matchingIndex);
         }
 
         /**
@@ -9061,7 +11355,8 @@ public interface AgentBuilder {
                     classFileBufferStrategy,
                     installationListener,
                     ignoreMatcher,
-                    transformations);
+                    transformations,
+                    matchingIndex);
         }
 
         /**
@@ -9089,7 +11384,8 @@ public interface AgentBuilder {
                     classFileBufferStrategy,
                     installationListener,
                     ignoreMatcher,
-                    transformations);
+                    transformations,
+                    matchingIndex);
         }
 
         /**
@@ -9117,7 +11413,8 @@ public interface AgentBuilder {
                     classFileBufferStrategy,
                     installationListener,
                     ignoreMatcher,
-                    transformations);
+                    transformations,
+                    matchingIndex);
         }
 
         /**
@@ -9145,7 +11442,37 @@ public interface AgentBuilder {
                     classFileBufferStrategy,
                     installationListener,
                     ignoreMatcher,
-                    transformations);
+                    transformations,
+                    matchingIndex);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public AgentBuilder with(MatchingIndex matchingIndex) {
+            return new Default(byteBuddy,
+                    listener,
+                    circularityLock,
+                    poolStrategy,
+                    typeStrategy,
+                    locationStrategy,
+                    nativeMethodStrategy,
+                    transformerDecorator,
+                    initializationStrategy,
+                    redefinitionStrategy,
+                    redefinitionDiscoveryStrategy,
+                    redefinitionBatchAllocator,
+                    redefinitionListener,
+                    redefinitionResubmissionStrategy,
+                    injectionStrategy,
+                    lambdaInstrumentationStrategy,
+                    descriptionStrategy,
+                    fallbackStrategy,
+                    classFileBufferStrategy,
+                    installationListener,
+                    ignoreMatcher,
+                    transformations,
+                    matchingIndex);
         }
 
         /**
@@ -9173,7 +11500,8 @@ public interface AgentBuilder {
                     classFileBufferStrategy,
                     new InstallationListener.Compound(this.installationListener, installationListener),
                     ignoreMatcher,
-                    transformations);
+                    transformations,
+                    matchingIndex);
         }
 
         /**
@@ -9201,7 +11529,8 @@ public interface AgentBuilder {
                     classFileBufferStrategy,
                     installationListener,
                     ignoreMatcher,
-                    transformations);
+                    transformations,
+                    matchingIndex);
         }
 
         /**
@@ -9231,7 +11560,8 @@ public interface AgentBuilder {
                     classFileBufferStrategy,
                     installationListener,
                     ignoreMatcher,
-                    transformations);
+                    transformations,
+                    matchingIndex);
         }
 
         /**
@@ -9370,7 +11700,8 @@ public interface AgentBuilder {
                     installationListener,
                     ignoreMatcher,
                     transformations,
-                    circularityLock);
+                    circularityLock,
+                    matchingIndex);
         }
 
         /**
@@ -10113,6 +12444,11 @@ public interface AgentBuilder {
              */
             private final CircularityLock circularityLock;
 
+            /**
+             * The matching index to consult before matching a type.
+             */
+            private final MatchingIndex matchingIndex;
+
             /**
              * The access control context to use for loading classes.
              */
@@ -10137,6 +12473,7 @@ public interface AgentBuilder {
              * @param ignoreMatcher                 Identifies types that should not be instrumented.
              * @param transformations               The transformations to apply on non-ignored types.
              * @param circularityLock               The circularity lock to use.
+             * @param matchingIndex                 The matching index to consult before matching a type.
              */
             public ExecutingTransformer(ByteBuddy byteBuddy,
                                         Listener listener,
@@ -10153,7 +12490,8 @@ public interface AgentBuilder {
                                         InstallationListener installationListener,
                                         RawMatcher ignoreMatcher,
                                         List<Transformation> transformations,
-                                        CircularityLock circularityLock) {
+                                        CircularityLock circularityLock,
+                                        MatchingIndex matchingIndex) {
                 this.byteBuddy = byteBuddy;
                 this.typeStrategy = typeStrategy;
                 this.poolStrategy = poolStrategy;
@@ -10170,6 +12508,7 @@ public interface AgentBuilder {
                 this.ignoreMatcher = ignoreMatcher;
                 this.transformations = transformations;
                 this.circularityLock = circularityLock;
+                this.matchingIndex = matchingIndex;
                 accessControlContext = AccessController.getContext();
             }
 
@@ -10251,6 +12590,10 @@ public interface AgentBuilder {
                     return NO_TRANSFORMATION;
                 }
                 String typeName = internalTypeName.replace('/', '.');
+                int[] index = matchingIndex.resolve(typeName, classLoader, classBeingRedefined, transformations.size());
+                if (index != MatchingIndex.UNKNOWN && index.length == 0) {
+                    return NO_TRANSFORMATION;
+                }
                 try {
                     listener.onDiscovery(typeName, classLoader, module, classBeingRedefined != null);
                     ClassFileLocator classFileLocator = new ClassFileLocator.Compound(classFileBufferStrategy.resolve(typeName,
@@ -10260,10 +12603,10 @@ public interface AgentBuilder {
                             protectionDomain), locationStrategy.classFileLocator(classLoader, module));
                     TypePool typePool = poolStrategy.typePool(classFileLocator, classLoader);
                     try {
-                        return doTransform(module, classLoader, typeName, classBeingRedefined, classBeingRedefined != null, protectionDomain, typePool, classFileLocator);
+                        return doTransform(module, classLoader, typeName, classBeingRedefined, classBeingRedefined != null, protectionDomain, typePool, classFileLocator, index);
                     } catch (Throwable throwable) {
                         if (classBeingRedefined != null && descriptionStrategy.isLoadedFirst() && fallbackStrategy.isFallback(classBeingRedefined, throwable)) {
-                            return doTransform(module, classLoader, typeName, NO_LOADED_TYPE, Listener.LOADED, protectionDomain, typePool, classFileLocator);
+                            return doTransform(module, classLoader, typeName, NO_LOADED_TYPE, Listener.LOADED, protectionDomain, typePool, classFileLocator, index);
                         } else {
                             throw throwable;
                         }
@@ -10287,6 +12630,8 @@ public interface AgentBuilder {
              * @param protectionDomain    The instrumented type's protection domain.
              * @param typePool            The type pool to use.
              * @param classFileLocator    The class file locator to use.
+             * @param index               The indices of the transformations to apply as resolved from the matching index or
+             *                            {@link MatchingIndex#UNKNOWN} if the transformations are resolved by matching the type.
              * @return The transformed class file or an empty byte array if this transformer does not apply an instrumentation.
              */
             private byte[] doTransform(JavaModule module,
@@ -10296,10 +12641,15 @@ public interface AgentBuilder {
                                        boolean loaded,
                                        ProtectionDomain protectionDomain,
                                        TypePool typePool,
-                                       ClassFileLocator classFileLocator) {
+                                       ClassFileLocator classFileLocator,
+                                       int[] index) {
                 TypeDescription typeDescription = descriptionStrategy.apply(typeName, classBeingRedefined, typePool, circularityLock, classLoader, module);
                 List<Transformer> transformers = new ArrayList<Transformer>();
-                if (!ignoreMatcher.matches(typeDescription, classLoader, module, classBeingRedefined, protectionDomain)) {
+                if (index != MatchingIndex.UNKNOWN) {
+                    for (int transformation : index) {
+                        transformers.addAll(transformations.get(transformation).getTransformers());
+                    }
+                } else if (!ignoreMatcher.matches(typeDescription, classLoader, module, classBeingRedefined, protectionDomain)) {
                     for (Transformation transformation : transformations) {
                         if (transformation.getMatcher().matches(typeDescription, classLoader, module, classBeingRedefined, protectionDomain)) {
                             transformers.addAll(transformation.getTransformers());
@@ -10398,6 +12748,7 @@ public interface AgentBuilder {
                  * @param ignoreMatcher                 Identifies types that should not be instrumented.
                  * @param transformations               The transformations to apply on non-ignored types.
                  * @param circularityLock               The circularity lock to use.
+                 * @param matchingIndex                 The matching index to consult before matching a type.
                  * @return A class file transformer for the current VM that supports the API of the current VM.
                  */
                 ResettableClassFileTransformer make(ByteBuddy byteBuddy,
@@ -10415,7 +12766,8 @@ public interface AgentBuilder {
                                                     InstallationListener installationListener,
                                                     RawMatcher ignoreMatcher,
                                                     List<Transformation> transformations,
-                                                    CircularityLock circularityLock);
+                                                    CircularityLock circularityLock,
+                                                    MatchingIndex matchingIndex);
 
                 /**
                  * An action to create an implementation of {@link ExecutingTransformer} that support Java 9 modules.
@@ -10464,7 +12816,8 @@ public interface AgentBuilder {
                                             InstallationListener.class,
                                             RawMatcher.class,
                                             List.class,
-                                            CircularityLock.class));
+                                            CircularityLock.class,
+                                            MatchingIndex.class));
                         } catch (Exception ignored) {
                             return Factory.ForLegacyVm.INSTANCE;
                         }
@@ -10512,7 +12865,8 @@ public interface AgentBuilder {
                                                                InstallationListener installationListener,
                                                                RawMatcher ignoreMatcher,
                                                                List<Transformation> transformations,
-                                                               CircularityLock circularityLock) {
+                                                               CircularityLock circularityLock,
+                                                               MatchingIndex matchingIndex) {
                         try {
                             return executingTransformer.newInstance(byteBuddy,
                                     listener,
@@ -10529,7 +12883,8 @@ public interface AgentBuilder {
                                     installationListener,
                                     ignoreMatcher,
                                     transformations,
-                                    circularityLock);
+                                    circularityLock,
+                                    matchingIndex);
                         } catch (IllegalAccessException exception) {
                             throw new IllegalStateException("Cannot access " + executingTransformer, exception);
                         } catch (InstantiationException exception) {
@@ -10568,7 +12923,8 @@ public interface AgentBuilder {
                                                                InstallationListener installationListener,
                                                                RawMatcher ignoreMatcher,
                                                                List<Transformation> transformations,
-                                                               CircularityLock circularityLock) {
+                                                               CircularityLock circularityLock,
+                                                               MatchingIndex matchingIndex) {
                         return new ExecutingTransformer(byteBuddy,
                                 listener,
                                 poolStrategy,
@@ -10584,7 +12940,8 @@ public interface AgentBuilder {
                                 installationListener,
                                 ignoreMatcher,
                                 transformations,
-                                circularityLock);
+                                circularityLock,
+                                matchingIndex);
                     }
                 }
             }
@@ -10827,6 +13184,13 @@ public interface AgentBuilder {
                 return materialize().with(classFileBufferStrategy);
             }
 
+            /**
+             * {@inheritDoc}
+             */
+            public AgentBuilder with(MatchingIndex matchingIndex) {
+                return materialize().with(matchingIndex);
+            }
+
             /**
              * {@inheritDoc}
              */
@@ -11051,7 +13415,8 @@ public interface AgentBuilder {
                         classFileBufferStrategy,
                         installationListener,
                         rawMatcher,
-                        transformations);
+                        transformations,
+                        matchingIndex);
             }
 
             /**
@@ -11100,6 +13465,7 @@ public interface AgentBuilder {
              * @param installationListener             The installation listener to notify.
              * @param ignoreMatcher                    Identifies types that should not be instrumented.
              * @param transformations                  The transformations to apply on non-ignored types.
+             * @param matchingIndex                    The matching index to consult before matching a type.
              */
             protected Redefining(ByteBuddy byteBuddy,
                                  Listener listener,
@@ -11122,7 +13488,8 @@ public interface AgentBuilder {
                                  ClassFileBufferStrategy classFileBufferStrategy,
                                  InstallationListener installationListener,
                                  RawMatcher ignoreMatcher,
-                                 List<Transformation> transformations) {
+                                 List<Transformation> transformations,
+                                 MatchingIndex matchingIndex) {
                 super(byteBuddy,
                         listener,
                         circularityLock,
@@ -11144,7 +13511,8 @@ public interface AgentBuilder {
                         classFileBufferStrategy,
                         installationListener,
                         ignoreMatcher,
-                        transformations);
+                        transformations,
+                        matchingIndex);
             }
 
             /**
@@ -11175,7 +13543,8 @@ public interface AgentBuilder {
                         classFileBufferStrategy,
                         installationListener,
                         ignoreMatcher,
-                        transformations);
+                        transformations,
+                        matchingIndex);
             }
 
             /**
@@ -11213,7 +13582,8 @@ public interface AgentBuilder {
                         classFileBufferStrategy,
                         installationListener,
                         ignoreMatcher,
-                        transformations);
+                        transformations,
+                        matchingIndex);
             }
 
             /**
@@ -11244,7 +13614,8 @@ public interface AgentBuilder {
                         classFileBufferStrategy,
                         installationListener,
                         ignoreMatcher,
-                        transformations);
+                        transformations,
+                        matchingIndex);
             }
 
             /**
@@ -11258,6 +13629,15 @@ public interface AgentBuilder {
              * {@inheritDoc}
              */
             public AgentBuilder withResubmission(RedefinitionStrategy.ResubmissionScheduler resubmissionScheduler, ElementMatcher<? super Throwable> matcher) {
+                return withResubmission(resubmissionScheduler, matcher, RedefinitionStrategy.ResubmissionBackoff.Disabled.INSTANCE);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public AgentBuilder withResubmission(RedefinitionStrategy.ResubmissionScheduler resubmissionScheduler,
+                                                 ElementMatcher<? super Throwable> matcher,
+                                                 RedefinitionStrategy.ResubmissionBackoff resubmissionBackoff) {
                 if (!redefinitionStrategy.isEnabled()) {
                     throw new IllegalStateException("Cannot enable redefinition resubmission when redefinition is disabled");
                 }
@@ -11274,7 +13654,7 @@ public interface AgentBuilder {
                         redefinitionDiscoveryStrategy,
                         redefinitionBatchAllocator,
                         redefinitionListener,
-                        new RedefinitionStrategy.ResubmissionStrategy.Enabled(resubmissionScheduler, matcher),
+                        new RedefinitionStrategy.ResubmissionStrategy.Enabled(resubmissionScheduler, matcher, resubmissionBackoff),
                         injectionStrategy,
                         lambdaInstrumentationStrategy,
                         descriptionStrategy,
@@ -11282,7 +13662,8 @@ public interface AgentBuilder {
                         classFileBufferStrategy,
                         installationListener,
                         ignoreMatcher,
-                        transformations);
+                        transformations,
+                        matchingIndex);
             }
         }
 
@@ -11345,7 +13726,8 @@ public interface AgentBuilder {
                         classFileBufferStrategy,
                         installationListener,
                         ignoreMatcher,
-                        CompoundList.of(transformations, new Transformation(rawMatcher, transformers, terminal)));
+                        CompoundList.of(transformations, new Transformation(rawMatcher, transformers, terminal)),
+                        matchingIndex);
             }
 
             /**
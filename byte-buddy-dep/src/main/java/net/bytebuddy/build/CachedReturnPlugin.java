@@ -43,7 +43,7 @@ import static net.bytebuddy.matcher.ElementMatchers.*;
  * not work. This plugin does not need to be closed.
  */
 @HashCodeAndEqualsPlugin.Enhance
-public class CachedReturnPlugin extends Plugin.ForElementMatcher implements Plugin.Factory {
+public class CachedReturnPlugin extends Plugin.ForElementMatcher implements Plugin.WithHint, Plugin.Factory {
 
     /**
      * An infix between a field and the random suffix if no field name is chosen.
@@ -109,6 +109,13 @@ public class CachedReturnPlugin extends Plugin.ForElementMatcher implements Plug
         return this;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public Hint getHint() {
+        return Hint.ofAnnotations(Enhance.class);
+    }
+
     /**
      * {@inheritDoc}
      */
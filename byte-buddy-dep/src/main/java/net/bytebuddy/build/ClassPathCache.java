@@ -0,0 +1,429 @@
+/*
+ * Copyright 2014 - 2020 Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.build;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.pool.TypePool;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ * A cache of class path jar files, of type pools that describe the types of a class path of jar files and of class loaders for
+ * class paths. The cache is meant to be shared by all applications of a build tool's plugin engine that are executed by the
+ * same class loader such that a build process that is retained between builds or modules does not open and parse the same jar
+ * files and does not load the same plugin classes repeatedly.
+ * </p>
+ * <p>
+ * Jar files are identified by their location, their last modification time and their size such that a jar file that is replaced
+ * is opened anew. A cached jar file is closed once the class file locator that represents it was collected and the cache is
+ * accessed the next time, or when the cache is cleared. Type pools are
+ * identified by the ordered list of jar files they describe and by the pool strategy that created them. The parsed type descriptions
+ * of a type pool are only reused for an identical class path since type descriptions resolve their references within the class
+ * path they were parsed from. Class loaders are identified by their class path and an optional, additional identity and are only
+ * closed when the cache is cleared, if the current VM supports closing class loaders. All entries are softly referenced and are
+ * discarded if the JVM runs low on memory.
+ * </p>
+ */
+public class ClassPathCache {
+
+    /**
+     * The cache instance that is shared by all users of the current class loader.
+     */
+    private static final ClassPathCache INSTANCE = new ClassPathCache();
+
+    /**
+     * A mapping of jar file identities to their softly referenced class file locators.
+     */
+    private final ConcurrentMap<Key, CachedJarFile> classFileLocators;
+
+    /**
+     * A mapping of class path identities to their softly referenced type pools.
+     */
+    private final ConcurrentMap<List<Object>, SoftReference<TypePool>> typePools;
+
+    /**
+     * A mapping of class path identities to their softly referenced class loaders.
+     */
+    private final ConcurrentMap<List<Object>, SoftReference<ClassLoader>> classLoaders;
+
+    /**
+     * Creates a new, empty class path cache.
+     */
+    public ClassPathCache() {
+        classFileLocators = new ConcurrentHashMap<Key, CachedJarFile>();
+        typePools = new ConcurrentHashMap<List<Object>, SoftReference<TypePool>>();
+        classLoaders = new ConcurrentHashMap<List<Object>, SoftReference<ClassLoader>>();
+    }
+
+    /**
+     * Returns the class path cache that is shared by all users of the current class loader.
+     *
+     * @return The shared class path cache.
+     */
+    public static ClassPathCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns a class file locator for a jar file. The returned locator is shared and closing it does not have any effect.
+     *
+     * @param jar The jar file to locate class files in.
+     * @return A class file locator for the supplied jar file.
+     * @throws IOException If an I/O exception occurs.
+     */
+    public ClassFileLocator locate(File jar) throws IOException {
+        Key key = new Key(jar);
+        CachedJarFile reference = classFileLocators.get(key);
+        ClassFileLocator classFileLocator = reference == null
+                ? null
+                : reference.get();
+        if (classFileLocator == null) {
+            synchronized (classFileLocators) {
+                reference = classFileLocators.get(key);
+                classFileLocator = reference == null
+                        ? null
+                        : reference.get();
+                if (classFileLocator == null) {
+                    expungeJarFiles();
+                    ClassFileLocator jarFile = ClassFileLocator.ForJarFile.of(jar);
+                    classFileLocator = new NonClosing(jarFile);
+                    classFileLocators.put(key, new CachedJarFile(classFileLocator, jarFile));
+                }
+            }
+        }
+        return classFileLocator;
+    }
+
+    /**
+     * Returns a type pool that describes the types of the supplied jar files. If a type pool for the same jar files in the same order
+     * was created by the same pool strategy before, this type pool is reused including all of its previously parsed type descriptions.
+     *
+     * @param jars         The jar files to describe in the order of their appearance on the class path.
+     * @param poolStrategy The pool strategy to use for creating the type pool.
+     * @return A type pool that describes the types of the supplied jar files.
+     * @throws IOException If an I/O exception occurs.
+     */
+    public TypePool typePool(List<File> jars, Plugin.Engine.PoolStrategy poolStrategy) throws IOException {
+        List<Object> key = new ArrayList<Object>(jars.size() + 1);
+        key.add(poolStrategy);
+        for (File jar : jars) {
+            key.add(new Key(jar));
+        }
+        SoftReference<TypePool> reference = typePools.get(key);
+        TypePool typePool = reference == null
+                ? null
+                : reference.get();
+        if (typePool == null) {
+            synchronized (typePools) {
+                reference = typePools.get(key);
+                typePool = reference == null
+                        ? null
+                        : reference.get();
+                if (typePool == null) {
+                    expunge(typePools);
+                    List<ClassFileLocator> classFileLocators = new ArrayList<ClassFileLocator>(jars.size());
+                    for (File jar : jars) {
+                        classFileLocators.add(locate(jar));
+                    }
+                    typePool = poolStrategy.typePool(new ClassFileLocator.Compound(classFileLocators));
+                    typePools.put(key, new SoftReference<TypePool>(typePool));
+                }
+            }
+        }
+        return typePool;
+    }
+
+    /**
+     * Returns a class loader for a class path that is a child of the class loader that loaded Byte Buddy. If a class loader for
+     * the same, unchanged class path was created before, this class loader is reused. The returned class loader must not be closed.
+     *
+     * @param classPath The class path of the class loader.
+     * @return A class loader for the supplied class path.
+     * @throws MalformedURLException If a class path element cannot be represented as a URL.
+     */
+    public ClassLoader classLoader(List<? extends File> classPath) throws MalformedURLException {
+        return classLoader(null, classPath);
+    }
+
+    /**
+     * Returns a class loader for a class path that is a child of the class loader that loaded Byte Buddy. If a class loader for
+     * the same identity and the same, unchanged class path was created before, this class loader is reused. The returned class
+     * loader must not be closed. A class path element's change is only detected if it is a file.
+     *
+     * @param identity  An additional identity of the class loader, such as the coordinate that the class path was resolved from,
+     *                  or {@code null} if the class loader is only identified by its class path.
+     * @param classPath The class path of the class loader.
+     * @return A class loader for the supplied class path.
+     * @throws MalformedURLException If a class path element cannot be represented as a URL.
+     */
+    public ClassLoader classLoader(Object identity, List<? extends File> classPath) throws MalformedURLException {
+        List<Object> key = new ArrayList<Object>(classPath.size() + 1);
+        key.add(identity);
+        for (File file : classPath) {
+            key.add(new Key(file));
+        }
+        SoftReference<ClassLoader> reference = classLoaders.get(key);
+        ClassLoader classLoader = reference == null
+                ? null
+                : reference.get();
+        if (classLoader == null) {
+            synchronized (classLoaders) {
+                reference = classLoaders.get(key);
+                classLoader = reference == null
+                        ? null
+                        : reference.get();
+                if (classLoader == null) {
+                    expunge(classLoaders);
+                    URL[] url = new URL[classPath.size()];
+                    for (int index = 0; index < classPath.size(); index++) {
+                        url[index] = classPath.get(index).toURI().toURL();
+                    }
+                    classLoader = new URLClassLoader(url, ByteBuddy.class.getClassLoader());
+                    classLoaders.put(key, new SoftReference<ClassLoader>(classLoader));
+                }
+            }
+        }
+        return classLoader;
+    }
+
+    /**
+     * Removes all entries of a map whose soft reference was cleared.
+     *
+     * @param map The map to expunge.
+     */
+    private static void expunge(ConcurrentMap<?, ? extends SoftReference<?>> map) {
+        Iterator<? extends SoftReference<?>> iterator = map.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().get() == null) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes all cached jar files whose soft reference was cleared and closes them.
+     */
+    private void expungeJarFiles() {
+        Iterator<CachedJarFile> iterator = classFileLocators.values().iterator();
+        while (iterator.hasNext()) {
+            CachedJarFile cachedJarFile = iterator.next();
+            if (cachedJarFile.get() == null) {
+                iterator.remove();
+                try {
+                    cachedJarFile.close();
+                } catch (IOException ignored) {
+                    /* do nothing */
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all entries from this cache and closes all cached jar files and class loaders. Any class file locator, type pool
+     * or class loader that was previously returned by this cache must no longer be used after the cache was cleared.
+     *
+     * @throws IOException If a jar file or class loader cannot be closed. All entries are removed and closed nevertheless.
+     */
+    public void clear() throws IOException {
+        IOException exception = null;
+        synchronized (classFileLocators) {
+            for (CachedJarFile cachedJarFile : classFileLocators.values()) {
+                try {
+                    cachedJarFile.close();
+                } catch (IOException suppressed) {
+                    exception = exception == null
+                            ? suppressed
+                            : exception;
+                }
+            }
+            classFileLocators.clear();
+        }
+        synchronized (typePools) {
+            typePools.clear();
+        }
+        synchronized (classLoaders) {
+            for (SoftReference<ClassLoader> reference : classLoaders.values()) {
+                ClassLoader classLoader = reference.get();
+                if (classLoader instanceof Closeable) {
+                    try {
+                        ((Closeable) classLoader).close();
+                    } catch (IOException suppressed) {
+                        exception = exception == null
+                                ? suppressed
+                                : exception;
+                    }
+                }
+            }
+            classLoaders.clear();
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    /**
+     * An identity of a jar file that is represented by its location, its last modification time and its size.
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    protected static class Key {
+
+        /**
+         * The jar file's absolute path.
+         */
+        private final String path;
+
+        /**
+         * The jar file's last modification time.
+         */
+        private final long lastModified;
+
+        /**
+         * The jar file's size.
+         */
+        private final long length;
+
+        /**
+         * Creates a new key for a jar file.
+         *
+         * @param file The jar file to represent.
+         */
+        protected Key(File file) {
+            path = file.getAbsolutePath();
+            lastModified = file.lastModified();
+            length = file.length();
+        }
+    }
+
+    /**
+     * A soft reference to a shared class file locator of a jar file that retains the jar file such that it can be closed after the
+     * shared class file locator was collected.
+     */
+    protected static class CachedJarFile extends SoftReference<ClassFileLocator> implements Closeable {
+
+        /**
+         * The class file locator that represents the jar file.
+         */
+        private final ClassFileLocator jarFile;
+
+        /**
+         * Creates a new soft reference to a shared class file locator of a jar file.
+         *
+         * @param classFileLocator The shared class file locator.
+         * @param jarFile          The class file locator that represents the jar file.
+         */
+        protected CachedJarFile(ClassFileLocator classFileLocator, ClassFileLocator jarFile) {
+            super(classFileLocator);
+            this.jarFile = jarFile;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void close() throws IOException {
+            jarFile.close();
+        }
+    }
+
+    /**
+     * A class file locator that is shared and that does not close its delegate.
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    protected static class NonClosing implements ClassFileLocator {
+
+        /**
+         * The class file locator to delegate to.
+         */
+        private final ClassFileLocator delegate;
+
+        /**
+         * Creates a new non-closing class file locator.
+         *
+         * @param delegate The class file locator to delegate to.
+         */
+        protected NonClosing(ClassFileLocator delegate) {
+            this.delegate = delegate;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Resolution locate(String name) throws IOException {
+            return delegate.locate(name);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void close() {
+            /* do nothing */
+        }
+    }
+
+    /**
+     * A pool strategy that resolves types from a cached type pool of a class path's jar files before resolving them itself.
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    public static class WithParent implements Plugin.Engine.PoolStrategy.Hierarchical {
+
+        /**
+         * The pool strategy to delegate to.
+         */
+        private final Plugin.Engine.PoolStrategy.Hierarchical delegate;
+
+        /**
+         * The cached type pool of the class path's jar files.
+         */
+        private final TypePool parent;
+
+        /**
+         * Creates a new pool strategy with a cached parent.
+         *
+         * @param delegate The pool strategy to delegate to.
+         * @param parent   The cached type pool of the class path's jar files.
+         */
+        public WithParent(Plugin.Engine.PoolStrategy.Hierarchical delegate, TypePool parent) {
+            this.delegate = delegate;
+            this.parent = parent;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public TypePool typePool(ClassFileLocator classFileLocator) {
+            return delegate.typePool(classFileLocator, parent);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public TypePool typePool(ClassFileLocator classFileLocator, TypePool parent) {
+            return delegate.typePool(classFileLocator, parent);
+        }
+    }
+}
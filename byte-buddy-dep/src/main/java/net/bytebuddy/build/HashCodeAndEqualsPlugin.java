@@ -37,7 +37,7 @@ import static net.bytebuddy.matcher.ElementMatchers.*;
  * {@link Enhance} annotation is present and no explicit method declaration was added. This plugin does not need to be closed.
  */
 @HashCodeAndEqualsPlugin.Enhance
-public class HashCodeAndEqualsPlugin implements Plugin, Plugin.Factory {
+public class HashCodeAndEqualsPlugin implements Plugin.WithHint, Plugin.Factory {
 
     /**
      * {@inheritDoc}
@@ -53,6 +53,13 @@ public class HashCodeAndEqualsPlugin implements Plugin, Plugin.Factory {
         return target.getDeclaredAnnotations().isAnnotationPresent(Enhance.class);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public Hint getHint() {
+        return Hint.ofAnnotations(Enhance.class);
+    }
+
     /**
      * {@inheritDoc}
      */
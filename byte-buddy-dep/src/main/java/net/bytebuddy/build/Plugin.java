@@ -27,18 +27,34 @@ import net.bytebuddy.implementation.LoadedTypeInitializer;
 import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.pool.TypePool;
 import net.bytebuddy.utility.CompoundList;
+import net.bytebuddy.utility.OpenedClassReader;
+import net.bytebuddy.utility.StreamDrainer;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
 
 import java.io.*;
 import java.lang.annotation.*;
 import java.lang.reflect.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.security.AccessController;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.PrivilegedAction;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.JarOutputStream;
 import java.util.jar.Manifest;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
 
 import static net.bytebuddy.matcher.ElementMatchers.none;
 
@@ -88,6 +104,151 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
         void onPreprocess(TypeDescription typeDescription, ClassFileLocator classFileLocator);
     }
 
+    /**
+     * A plugin that must be matched against every type that a {@link Plugin.Engine} discovers, for example because it records an index of
+     * all discovered types. A plugin engine refuses to apply such a plugin if it can skip a type without matching it against its plugins,
+     * i.e. if it uses an {@link Engine.IncrementalStrategy} that reuses previous output or if it ignores types.
+     */
+    interface WithCompleteMatching extends Plugin {
+        /* empty */
+    }
+
+    /**
+     * <p>
+     * A plugin that declares a hint that describes a necessary condition for a type to be matched by the plugin. If all plugins
+     * of a {@link Plugin.Engine} declare a hint and no plugin applies a preprocessor, the engine inspects the raw class file of
+     * a type before describing it and skips any type that none of the plugins' hints considers a candidate.
+     * </p>
+     * <p>
+     * <b>Important</b>: A hint must never exclude a type that the plugin would match. As annotations are referenced from the
+     * class file that declares them, a hint can only consider annotations that are declared on a type itself or on its members
+     * and not annotations that are inherited.
+     * </p>
+     */
+    interface WithHint extends Plugin {
+
+        /**
+         * Returns a hint that describes a necessary condition for a type to be matched by this plugin.
+         *
+         * @return A hint that describes a necessary condition for a type to be matched by this plugin.
+         */
+        Hint getHint();
+
+        /**
+         * A hint that describes a necessary condition for a type to be matched. A type is considered a candidate if its name
+         * matches any of the hint's name patterns and if its class file references any of the hint's annotation descriptors.
+         * An empty set of patterns or descriptors does not constrain a type.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class Hint {
+
+            /**
+             * The descriptors of annotations of which at least one must be referenced by a candidate's class file.
+             */
+            private final Set<String> annotationDescriptors;
+
+            /**
+             * The regular expressions of which at least one must match the binary name of a candidate.
+             */
+            private final Set<String> namePatterns;
+
+            /**
+             * The compiled representations of the name patterns.
+             */
+            @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+            private final List<Pattern> patterns;
+
+            /**
+             * Creates a new hint.
+             *
+             * @param annotationDescriptors The descriptors of annotations of which at least one must be referenced by a candidate's class file.
+             * @param namePatterns          The regular expressions of which at least one must match the binary name of a candidate.
+             */
+            public Hint(Collection<String> annotationDescriptors, Collection<String> namePatterns) {
+                this.annotationDescriptors = new LinkedHashSet<String>(annotationDescriptors);
+                this.namePatterns = new LinkedHashSet<String>(namePatterns);
+                patterns = new ArrayList<Pattern>(namePatterns.size());
+                for (String namePattern : namePatterns) {
+                    patterns.add(Pattern.compile(namePattern));
+                }
+            }
+
+            /**
+             * Creates a hint for types whose class files reference at least one of the supplied annotation types.
+             *
+             * @param type The annotation types of which at least one must be referenced.
+             * @return An appropriate hint.
+             */
+            public static Hint ofAnnotations(Class<?>... type) {
+                List<String> annotationDescriptors = new ArrayList<String>(type.length);
+                for (Class<?> aType : type) {
+                    annotationDescriptors.add(TypeDescription.ForLoadedType.of(aType).getDescriptor());
+                }
+                return new Hint(annotationDescriptors, Collections.<String>emptyList());
+            }
+
+            /**
+             * Creates a hint for types whose binary name matches at least one of the supplied regular expressions.
+             *
+             * @param pattern The regular expressions of which at least one must match.
+             * @return An appropriate hint.
+             */
+            public static Hint ofNames(String... pattern) {
+                return new Hint(Collections.<String>emptyList(), Arrays.asList(pattern));
+            }
+
+            /**
+             * Returns the descriptors of annotations of which at least one must be referenced by a candidate's class file.
+             *
+             * @return The descriptors of annotations of which at least one must be referenced by a candidate's class file.
+             */
+            public Set<String> getAnnotationDescriptors() {
+                return annotationDescriptors;
+            }
+
+            /**
+             * Returns the regular expressions of which at least one must match the binary name of a candidate.
+             *
+             * @return The regular expressions of which at least one must match the binary name of a candidate.
+             */
+            public Set<String> getNamePatterns() {
+                return namePatterns;
+            }
+
+            /**
+             * Determines if a type is a candidate for this hint.
+             *
+             * @param typeName              The binary name of the type.
+             * @param annotationDescriptors The annotation descriptors that are referenced by the type's class file, at least
+             *                              those of this hint that are referenced.
+             * @return {@code true} if the type is a candidate for this hint.
+             */
+            public boolean isCandidate(String typeName, Set<String> annotationDescriptors) {
+                if (!patterns.isEmpty()) {
+                    boolean matched = false;
+                    for (Pattern pattern : patterns) {
+                        if (pattern.matcher(typeName).matches()) {
+                            matched = true;
+                            break;
+                        }
+                    }
+                    if (!matched) {
+                        return false;
+                    }
+                }
+                if (this.annotationDescriptors.isEmpty()) {
+                    return true;
+                }
+                for (String annotationDescriptor : this.annotationDescriptors) {
+                    if (annotationDescriptors.contains(annotationDescriptor)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        }
+    }
+
     /**
      * A factory for providing a build plugin.
      */
@@ -132,7 +293,7 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
          * A plugin factory that uses reflection for instantiating a plugin.
          */
         @HashCodeAndEqualsPlugin.Enhance
-        class UsingReflection implements Factory {
+        class UsingReflection implements Factory, Engine.IncrementalStrategy.Fingerprinted {
 
             /**
              * The plugin type.
@@ -187,8 +348,24 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
             /**
              * {@inheritDoc}
              */
-            @SuppressWarnings("unchecked")
             public Plugin make() {
+                return resolve().instantiate();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public String getFingerprint() {
+                return resolve().getFingerprint();
+            }
+
+            /**
+             * Resolves the constructor and the arguments that are used for instantiating the plugin.
+             *
+             * @return An instantiator for the plugin.
+             */
+            @SuppressWarnings("unchecked")
+            private Instantiator resolve() {
                 Instantiator instantiator = new Instantiator.Unresolved(type);
                 candidates:
                 for (Constructor<?> constructor : type.getConstructors()) {
@@ -214,7 +391,7 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                         instantiator = instantiator.replaceBy(new Instantiator.Resolved((Constructor<? extends Plugin>) constructor, arguments));
                     }
                 }
-                return instantiator.instantiate();
+                return instantiator;
             }
 
             /**
@@ -237,6 +414,13 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                  */
                 Plugin instantiate();
 
+                /**
+                 * Returns a stable description of the represented constructor and its arguments.
+                 *
+                 * @return A stable description of the represented constructor and its arguments.
+                 */
+                String getFingerprint();
+
                 /**
                  * An instantiator that is not resolved for creating an instance.
                  */
@@ -270,6 +454,13 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                     public Plugin instantiate() {
                         throw new IllegalStateException("No constructor available for " + type);
                     }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public String getFingerprint() {
+                        return type.getName();
+                    }
                 }
 
                 /**
@@ -328,6 +519,13 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                             throw new IllegalStateException("Error during construction of" + constructor, exception.getCause());
                         }
                     }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public String getFingerprint() {
+                        return constructor + Engine.IncrementalStrategy.ForManifest.describe(arguments);
+                    }
                 }
             }
 
@@ -678,6 +876,14 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
          */
         Engine with(PoolStrategy poolStrategy);
 
+        /**
+         * Defines a new incremental strategy that determines if a type's transformation can be skipped by reusing a previous output.
+         *
+         * @param incrementalStrategy The incremental strategy to use.
+         * @return A new plugin engine that is equal to this engine but uses the supplied incremental strategy.
+         */
+        Engine with(IncrementalStrategy incrementalStrategy);
+
         /**
          * Appends the supplied class file locator to be queried for class files additionally to any previously registered
          * class file locators.
@@ -726,6 +932,25 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
          */
         Engine withParallelTransformation(int threads);
 
+        /**
+         * Replaces the dispatcher factory of this plugin engine with a streaming dispatcher factory that uses the given amount of threads
+         * and that writes transformed types as soon as they are available while retaining a bounded amount of work in memory.
+         *
+         * @param threads The amount of threads to use.
+         * @return A new plugin engine that is equal to this engine but with a streaming dispatcher factory using the specified amount of threads.
+         */
+        Engine withStreamingTransformation(int threads);
+
+        /**
+         * Replaces the dispatcher factory of this plugin engine with a parallel dispatcher factory that uses a work-stealing
+         * fork join pool of the given parallelism, if available. For reducing contention on the type pool, this dispatcher
+         * should be combined with a {@link PoolStrategy.Concurrent} pool strategy.
+         *
+         * @param parallelism The parallelism of the fork join pool.
+         * @return A new plugin engine that is equal to this engine but with a work-stealing dispatcher factory.
+         */
+        Engine withWorkStealingTransformation(int parallelism);
+
         /**
          * Replaces the dispatcher factory of this plugin engine with the supplied dispatcher factory.
          *
@@ -734,6 +959,13 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
          */
         Engine with(Dispatcher.Factory dispatcherFactory);
 
+        /**
+         * Enables the recording of {@link Statistics} per type and per plugin which are exposed by the {@link Summary} of an application.
+         *
+         * @return A new plugin engine that is equal to this engine but which records statistics.
+         */
+        Engine withStatistics();
+
         /**
          * Ignores all types that are matched by this matcher or any previously registered ignore matcher.
          *
@@ -786,6 +1018,36 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
          */
         Summary apply(Source source, Target target, List<? extends Plugin.Factory> factories) throws IOException;
 
+        /**
+         * Applies this plugin engine onto several modules, each represented by a source and a target, within a single application.
+         * All plugins are only instantiated once and are applied to all modules. The types that are located by this engine's
+         * class file locator are resolved by a single type pool that is shared by all modules such that common dependencies are
+         * only parsed once. Modules that depend on another module must be able to locate this module's types via this engine's
+         * class file locator. The incremental strategy is applied per module and must therefore not be bound to a single location.
+         *
+         * @param modules     The modules to apply this engine to.
+         * @param parallelism The maximum number of modules that are processed concurrently.
+         * @param factory     A list of plugin factories to a apply.
+         * @return A summary of the applied transformation for each module in the order of the supplied modules.
+         * @throws IOException If an I/O error occurs.
+         */
+        List<Summary> apply(List<? extends Module> modules, int parallelism, Plugin.Factory... factory) throws IOException;
+
+        /**
+         * Applies this plugin engine onto several modules, each represented by a source and a target, within a single application.
+         * All plugins are only instantiated once and are applied to all modules. The types that are located by this engine's
+         * class file locator are resolved by a single type pool that is shared by all modules such that common dependencies are
+         * only parsed once. Modules that depend on another module must be able to locate this module's types via this engine's
+         * class file locator. The incremental strategy is applied per module and must therefore not be bound to a single location.
+         *
+         * @param modules     The modules to apply this engine to.
+         * @param parallelism The maximum number of modules that are processed concurrently.
+         * @param factories   A list of plugin factories to a apply.
+         * @return A summary of the applied transformation for each module in the order of the supplied modules.
+         * @throws IOException If an I/O error occurs.
+         */
+        List<Summary> apply(List<? extends Module> modules, int parallelism, List<? extends Plugin.Factory> factories) throws IOException;
+
         /**
          * A type strategy determines the transformation that is applied to a type description.
          */
@@ -847,7 +1109,7 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
              * A type strategy that represents a given {@link EntryPoint} for a build tool.
              */
             @HashCodeAndEqualsPlugin.Enhance
-            class ForEntryPoint implements TypeStrategy {
+            class ForEntryPoint implements TypeStrategy, IncrementalStrategy.Fingerprinted {
 
                 /**
                  * The represented entry point.
@@ -876,6 +1138,13 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                 public DynamicType.Builder<?> builder(ByteBuddy byteBuddy, TypeDescription typeDescription, ClassFileLocator classFileLocator) {
                     return entryPoint.transform(typeDescription, byteBuddy, classFileLocator, methodNameTransformer);
                 }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public String getFingerprint() {
+                    return IncrementalStrategy.ForManifest.describe(entryPoint) + "," + IncrementalStrategy.ForManifest.describe(methodNameTransformer);
+                }
             }
         }
 
@@ -888,14 +1157,33 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
              * Creates a type pool.
              *
              * @param classFileLocator The class file locator to use.
-             * @return An approptiate type pool.
+             * @return An appropriate type pool.
              */
             TypePool typePool(ClassFileLocator classFileLocator);
 
+            /**
+             * A pool strategy that is able to create type pools with a parent type pool. If a plugin engine applies several
+             * modules in a batch, such a strategy allows the modules to share a type pool for the types of the engine's class
+             * file locator. Other pool strategies resolve all types of each module independently.
+             */
+            interface Hierarchical extends PoolStrategy {
+
+                /**
+                 * Creates a type pool that attempts to resolve types from a parent type pool before resolving them itself.
+                 * When invoked by a plugin engine, the parent never resolves a type that is contained in the module that
+                 * is represented by the supplied class file locator.
+                 *
+                 * @param classFileLocator The class file locator to use.
+                 * @param parent           The parent type pool.
+                 * @return An appropriate type pool.
+                 */
+                TypePool typePool(ClassFileLocator classFileLocator, TypePool parent);
+            }
+
             /**
              * A default implementation of a pool strategy where type descriptions are resolved lazily.
              */
-            enum Default implements PoolStrategy {
+            enum Default implements Hierarchical {
 
                 /**
                  * Enables faster class file parsing that does not process debug information of a class file.
@@ -930,13 +1218,23 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                             readerMode,
                             TypePool.ClassLoading.ofPlatformLoader());
                 }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public TypePool typePool(ClassFileLocator classFileLocator, TypePool parent) {
+                    return new TypePool.Default.WithLazyResolution(new TypePool.CacheProvider.Simple(),
+                            classFileLocator,
+                            readerMode,
+                            parent);
+                }
             }
 
             /**
              * A pool strategy that resolves type descriptions eagerly. This can avoid additional overhead if the
              * majority of types is assumed to be resolved eventually.
              */
-            enum Eager implements PoolStrategy {
+            enum Eager implements Hierarchical {
 
                 /**
                  * Enables faster class file parsing that does not process debug information of a class file.
@@ -971,1578 +1269,5216 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                             readerMode,
                             TypePool.ClassLoading.ofPlatformLoader());
                 }
-            }
-        }
 
-        /**
-         * An error handler that is used during a plugin engine application.
-         */
-        interface ErrorHandler {
+                /**
+                 * {@inheritDoc}
+                 */
+                public TypePool typePool(ClassFileLocator classFileLocator, TypePool parent) {
+                    return new TypePool.Default(new TypePool.CacheProvider.Simple(),
+                            classFileLocator,
+                            readerMode,
+                            parent);
+                }
+            }
 
             /**
-             * Invoked if an error occured during a plugin's application on a given type.
-             *
-             * @param typeDescription The type being matched or transformed.
-             * @param plugin          The plugin being applied.
-             * @param throwable       The throwable that caused the error.
+             * A pool strategy for parallel transformations where type descriptions are resolved lazily. Resolutions are cached
+             * in a thread-local cache in front of a shared cache and each type is only parsed by a single thread, even if it is
+             * requested concurrently by multiple threads. This strategy is meant to be used in combination with a parallel
+             * dispatcher, such as {@link Engine#withWorkStealingTransformation(int)}.
              */
-            void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable);
+            enum Concurrent implements Hierarchical {
 
-            /**
-             * Invoked after the application of all plugins was attempted if at least one error occured during handling a given type.
-             *
-             * @param typeDescription The type being transformed.
-             * @param throwables      The throwables that caused errors during the application.
-             */
-            void onError(TypeDescription typeDescription, List<Throwable> throwables);
+                /**
+                 * Enables faster class file parsing that does not process debug information of a class file.
+                 */
+                FAST(TypePool.Default.ReaderMode.FAST),
 
-            /**
-             * Invoked at the end of the build if at least one type transformation failed.
-             *
-             * @param throwables A mapping of types that failed during transformation to the errors that were caught.
-             */
-            void onError(Map<TypeDescription, List<Throwable>> throwables);
+                /**
+                 * Enables extended class file parsing that extracts parameter names from debug information, if available.
+                 */
+                EXTENDED(TypePool.Default.ReaderMode.EXTENDED);
 
-            /**
-             * Invoked at the end of the build if a plugin could not be closed.
-             *
-             * @param plugin    The plugin that could not be closed.
-             * @param throwable The error that was caused when the plugin was attempted to be closed.
-             */
-            void onError(Plugin plugin, Throwable throwable);
+                /**
+                 * This strategy's reader mode.
+                 */
+                private final TypePool.Default.ReaderMode readerMode;
 
-            /**
-             * Invoked if a type transformation implied a live initializer.
-             *
-             * @param typeDescription The type that was transformed.
-             * @param definingType    The type that implies the initializer which might be the type itself or an auxiliary type.
-             */
-            void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType);
+                /**
+                 * Creates a concurrent pool strategy.
+                 *
+                 * @param readerMode This strategy's reader mode.
+                 */
+                Concurrent(TypePool.Default.ReaderMode readerMode) {
+                    this.readerMode = readerMode;
+                }
 
-            /**
-             * Invoked if a type could not be resolved.
-             *
-             * @param typeName The name of the unresolved type.
-             */
-            void onUnresolved(String typeName);
+                /**
+                 * {@inheritDoc}
+                 */
+                public TypePool typePool(ClassFileLocator classFileLocator) {
+                    return new TypePool.Default.WithLazyResolution(new TypePool.CacheProvider.Tiered(),
+                            classFileLocator,
+                            readerMode,
+                            TypePool.ClassLoading.ofPlatformLoader(),
+                            true);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public TypePool typePool(ClassFileLocator classFileLocator, TypePool parent) {
+                    return new TypePool.Default.WithLazyResolution(new TypePool.CacheProvider.Tiered(),
+                            classFileLocator,
+                            readerMode,
+                            parent,
+                            true);
+                }
+            }
+        }
+
+        /**
+         * An incremental strategy determines if the transformation of a type can be skipped by reusing the output of a previous
+         * application of a plugin engine.
+         */
+        interface IncrementalStrategy {
 
             /**
-             * Invoked when a manifest was found or found missing.
+             * Opens a session for a single application of a plugin engine.
              *
-             * @param manifest The located manifest or {@code null} if no manifest was found.
+             * @param fingerprint      A fingerprint of the plugin engine's configuration, of the version of Byte Buddy and of the applied plugins.
+             *                         Previous output must only be reused if it was created by an application with an equal fingerprint.
+             * @param classFileLocator The class file locator of the application.
+             * @return A session for the application.
+             * @throws IOException If an I/O error occurs.
              */
-            void onManifest(Manifest manifest);
+            Session open(String fingerprint, ClassFileLocator classFileLocator) throws IOException;
 
             /**
-             * Invoked if a resource that is not a class file is discovered.
-             *
-             * @param name The name of the discovered resource.
+             * A component of a plugin engine application, such as a plugin, a plugin factory or a type strategy, that contributes a
+             * description of its configuration to the fingerprint that is supplied to an incremental strategy. If the description of
+             * a component changes, the previous output of an application is not reused.
              */
-            void onResource(String name);
+            interface Fingerprinted {
+
+                /**
+                 * Returns a stable description of this component's configuration that does not change between applications of a plugin
+                 * engine, as long as the configuration does not change.
+                 *
+                 * @return A stable description of this component's configuration.
+                 */
+                String getFingerprint();
+            }
 
             /**
-             * An implementation of an error handler that fails the plugin engine application.
+             * A session of an incremental strategy that is used for a single application of a plugin engine. With the exception of
+             * {@link Session#commit()} and {@link Session#close()}, a session's methods might be invoked concurrently.
              */
-            enum Failing implements ErrorHandler {
+            interface Session extends Closeable {
 
                 /**
-                 * An error handler that fails the build immediatly on the first error.
+                 * Indicates that no previous output is available for a type such that the type needs to be processed.
                  */
-                FAIL_FAST {
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
-                        throw new IllegalStateException("Failed to transform " + typeDescription + " using " + plugin, throwable);
-                    }
-
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
-                        throw new UnsupportedOperationException("onError");
-                    }
-
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void onError(Map<TypeDescription, List<Throwable>> throwables) {
-                        throw new UnsupportedOperationException("onError");
-                    }
-                },
+                List<Source.Element> NO_OUTPUT = null;
 
                 /**
-                 * An error handler that fails the build after applying all plugins if at least one plugin failed.
+                 * Resolves the output of a previous application for a type if neither its class file, nor the class files of its
+                 * super types nor the applied plugins have changed since the last application.
+                 *
+                 * @param typeName The name of the type.
+                 * @param element  The element that represents the type's class file.
+                 * @return The elements that were previously written for the type or {@code null} if the type needs to be processed.
+                 * @throws IOException If an I/O error occurs.
                  */
-                FAIL_AFTER_TYPE {
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
-                        /* do nothing */
-                    }
-
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
-                        throw new IllegalStateException("Failed to transform " + typeDescription + ": " + throwables);
-                    }
-
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void onError(Map<TypeDescription, List<Throwable>> throwables) {
-                        throw new UnsupportedOperationException("onError");
-                    }
-                },
+                List<Source.Element> getOutput(String typeName, Source.Element element) throws IOException;
 
                 /**
-                 * An error handler that fails the build after transforming all types if at least one plugin failed.
+                 * Returns {@code true} if the previous output of a type, as returned by {@link Session#getOutput(String, Source.Element)},
+                 * represents a transformed type.
+                 *
+                 * @param typeName The name of the type.
+                 * @return {@code true} if the previous output of the supplied type represents a transformed type.
                  */
-                FAIL_LAST {
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
-                        /* do nothing */
-                    }
-
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
-                        /* do nothing */
-                    }
-
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void onError(Map<TypeDescription, List<Throwable>> throwables) {
-                        throw new IllegalStateException("Failed to transform at least one type: " + throwables);
-                    }
-                };
+                boolean isTransformed(String typeName);
 
                 /**
-                 * {@inheritDoc}
+                 * Returns the names of all types of the previous output of a type, as returned by {@link Session#getOutput(String, Source.Element)},
+                 * that were defined with a live {@link LoadedTypeInitializer}.
+                 *
+                 * @param typeName The name of the type.
+                 * @return The names of all types of the previous output with a live initializer.
                  */
-                public void onError(Plugin plugin, Throwable throwable) {
-                    throw new IllegalStateException("Failed to close plugin " + plugin, throwable);
-                }
+                List<String> getLiveInitializers(String typeName);
 
                 /**
-                 * {@inheritDoc}
+                 * Invoked after a type was transformed.
+                 *
+                 * @param typeName    The name of the transformed type.
+                 * @param dynamicType The dynamic type that represents the transformed type and its auxiliary types.
                  */
-                public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
-                    /* do nothing */
-                }
+                void onTransformed(String typeName, DynamicType dynamicType);
 
                 /**
-                 * {@inheritDoc}
+                 * Invoked after a type was retained in its original form.
+                 *
+                 * @param typeName The name of the retained type.
+                 * @param name     The name of the retained element.
                  */
-                public void onUnresolved(String typeName) {
-                    /* do nothing */
-                }
+                void onRetained(String typeName, String name);
 
                 /**
-                 * {@inheritDoc}
+                 * Invoked if the previous output of a type, as returned by {@link Session#getOutput(String, Source.Element)}, is not
+                 * reused because the type cannot be resolved. The type is then processed as if it was changed.
+                 *
+                 * @param typeName The name of the type whose previous output is discarded.
                  */
-                public void onManifest(Manifest manifest) {
-                    /* do nothing */
-                }
+                void onDiscarded(String typeName);
 
                 /**
-                 * {@inheritDoc}
+                 * Persists the results of this session after an application was completed successfully.
+                 *
+                 * @throws IOException If an I/O error occurs.
                  */
-                public void onResource(String name) {
-                    /* do nothing */
-                }
+                void commit() throws IOException;
             }
 
             /**
-             * An error handler that enforces certain properties of the transformation.
+             * A disabled incremental strategy where all types are processed on each application.
              */
-            enum Enforcing implements ErrorHandler {
-
-                /**
-                 * Enforces that all types could be resolved.
-                 */
-                ALL_TYPES_RESOLVED {
-                    @Override
-                    public void onUnresolved(String typeName) {
-                        throw new IllegalStateException("Failed to resolve type description for " + typeName);
-                    }
-                },
-
-                /**
-                 * Enforces that no type has a live initializer.
-                 */
-                NO_LIVE_INITIALIZERS {
-                    @Override
-                    public void onLiveInitializer(TypeDescription typeDescription, TypeDescription initializedType) {
-                        throw new IllegalStateException("Failed to instrument " + typeDescription + " due to live initializer for " + initializedType);
-                    }
-                },
+            enum Disabled implements IncrementalStrategy, Session {
 
                 /**
-                 * Enforces that a source only produces class files.
+                 * The singleton instance.
                  */
-                CLASS_FILES_ONLY {
-                    @Override
-                    public void onResource(String name) {
-                        throw new IllegalStateException("Discovered a resource when only class files were allowed: " + name);
-                    }
-                },
+                INSTANCE;
 
                 /**
-                 * Enforces that a manifest is written to a target.
+                 * {@inheritDoc}
                  */
-                MANIFEST_REQUIRED {
-                    @Override
-                    public void onManifest(Manifest manifest) {
-                        if (manifest == null) {
-                            throw new IllegalStateException("Required a manifest but no manifest was found");
-                        }
-                    }
-                };
+                public Session open(String fingerprint, ClassFileLocator classFileLocator) {
+                    return this;
+                }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
-                    /* do nothing */
+                public List<Source.Element> getOutput(String typeName, Source.Element element) {
+                    return NO_OUTPUT;
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
-                    /* do nothing */
+                public boolean isTransformed(String typeName) {
+                    return false;
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
-                    /* do nothing */
+                public List<String> getLiveInitializers(String typeName) {
+                    return Collections.emptyList();
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onError(Plugin plugin, Throwable throwable) {
+                public void onTransformed(String typeName, DynamicType dynamicType) {
                     /* do nothing */
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
+                public void onRetained(String typeName, String name) {
                     /* do nothing */
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onUnresolved(String typeName) {
+                public void onDiscarded(String typeName) {
                     /* do nothing */
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onManifest(Manifest manifest) {
+                public void commit() {
                     /* do nothing */
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onResource(String name) {
+                public void close() {
                     /* do nothing */
                 }
             }
 
             /**
-             * A compound error handler.
+             * An incremental strategy that persists a manifest of the digests of each type's class file and of the class files of its
+             * super types, together with the fingerprint of the plugin engine application. Types that are unchanged compared to the
+             * manifest are not processed but copied from the output of the previous application. If the fingerprint changes, for
+             * example because the applied plugins, their configuration, the type strategy, the class file version or the version of
+             * Byte Buddy change, all types are processed.
+             * <p>
+             * The previous output must remain readable while the target is written. A target folder can therefore represent the previous
+             * output of its own application, also if it is used as the source of an in-place transformation. A target jar file is
+             * overwritten by an application such that a copy of the previous jar file must be supplied as previous output.
+             * </p>
              */
-            class Compound implements ErrorHandler {
+            @HashCodeAndEqualsPlugin.Enhance
+            class ForManifest implements IncrementalStrategy {
 
                 /**
-                 * The error handlers that are represented by this instance.
+                 * The key of the application's fingerprint within a manifest.
                  */
-                private final List<ErrorHandler> errorHandlers;
+                protected static final String FINGERPRINT = "/fingerprint";
 
                 /**
-                 * Creates a new compound error handler.
-                 *
-                 * @param errorHandler The error handlers that are represented by this instance.
+                 * The version of the manifest entry format which is prepended to the fingerprint.
                  */
-                public Compound(ErrorHandler... errorHandler) {
-                    this(Arrays.asList(errorHandler));
-                }
+                protected static final int FORMAT = 1;
 
                 /**
-                 * Creates a new compound error handler.
-                 *
-                 * @param errorHandlers The error handlers that are represented by this instance.
+                 * The algorithm that is used for computing digests.
                  */
-                public Compound(List<? extends ErrorHandler> errorHandlers) {
-                    this.errorHandlers = new ArrayList<ErrorHandler>();
-                    for (ErrorHandler errorHandler : errorHandlers) {
-                        if (errorHandler instanceof Compound) {
-                            this.errorHandlers.addAll(((Compound) errorHandler).errorHandlers);
-                        } else if (!(errorHandler instanceof Listener.NoOp)) {
-                            this.errorHandlers.add(errorHandler);
-                        }
-                    }
-                }
+                protected static final String ALGORITHM = "SHA-256";
 
                 /**
-                 * {@inheritDoc}
+                 * The manifest file.
                  */
-                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
-                    for (ErrorHandler errorHandler : errorHandlers) {
-                        errorHandler.onError(typeDescription, plugin, throwable);
-                    }
-                }
+                private final File manifest;
 
                 /**
-                 * {@inheritDoc}
+                 * The output of the previous application.
                  */
-                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
-                    for (ErrorHandler errorHandler : errorHandlers) {
-                        errorHandler.onError(typeDescription, throwables);
-                    }
-                }
+                private final Source previous;
 
                 /**
-                 * {@inheritDoc}
+                 * Creates a new incremental strategy for a manifest.
+                 *
+                 * @param manifest The manifest file.
+                 * @param previous The output of the previous application.
                  */
-                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
-                    for (ErrorHandler errorHandler : errorHandlers) {
-                        errorHandler.onError(throwables);
-                    }
-
+                public ForManifest(File manifest, Source previous) {
+                    this.manifest = manifest;
+                    this.previous = previous;
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onError(Plugin plugin, Throwable throwable) {
-                    for (ErrorHandler errorHandler : errorHandlers) {
-                        errorHandler.onError(plugin, throwable);
+                public Session open(String fingerprint, ClassFileLocator classFileLocator) throws IOException {
+                    fingerprint = FORMAT + String.valueOf(Entry.SEPARATOR) + fingerprint;
+                    Map<String, Entry> entries = new HashMap<String, Entry>();
+                    if (manifest.isFile()) {
+                        Properties properties = new Properties();
+                        InputStream inputStream = new FileInputStream(manifest);
+                        try {
+                            properties.load(inputStream);
+                        } finally {
+                            inputStream.close();
+                        }
+                        if (fingerprint.equals(properties.getProperty(FINGERPRINT))) {
+                            Enumeration<?> names = properties.propertyNames();
+                            while (names.hasMoreElements()) {
+                                String name = (String) names.nextElement();
+                                if (!name.equals(FINGERPRINT)) {
+                                    Entry entry = Entry.of(properties.getProperty(name));
+                                    if (entry != null) {
+                                        entries.put(name, entry);
+                                    }
+                                }
+                            }
+                        }
                     }
+                    return new ActiveSession(manifest,
+                            fingerprint,
+                            classFileLocator,
+                            entries,
+                            entries.isEmpty()
+                                    ? Source.Empty.INSTANCE.read()
+                                    : previous.read());
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * Returns a representation of the version of Byte Buddy. If no implementation version is available, the digest of
+                 * Byte Buddy's plugin engine class file is returned instead.
+                 *
+                 * @return A representation of the version of Byte Buddy.
                  */
-                public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
-                    for (ErrorHandler errorHandler : errorHandlers) {
-                        errorHandler.onLiveInitializer(typeDescription, definingType);
-                    }
+                protected static String version() {
+                    Package location = ByteBuddy.class.getPackage();
+                    String version = location == null
+                            ? null
+                            : location.getImplementationVersion();
+                    return version == null
+                            ? digest(ClassFileLocator.ForClassLoader.read(Default.class))
+                            : version;
                 }
 
                 /**
-                 * {@inheritDoc}
-                 */
-                public void onUnresolved(String typeName) {
-                    for (ErrorHandler errorHandler : errorHandlers) {
-                        errorHandler.onUnresolved(typeName);
+                 * Returns a stable description of a value for a fingerprint. A value that implements {@link Fingerprinted} contributes its
+                 * own description. Strings, primitive wrappers, enumerations, types and files are described by their value, collections and
+                 * arrays by the descriptions of their elements. Any other value is only described by its type as its string representation
+                 * might not be stable.
+                 *
+                 * @param value The value to describe or {@code null}.
+                 * @return A stable description of the supplied value.
+                 */
+                protected static String describe(Object value) {
+                    if (value == null) {
+                        return "null";
+                    } else if (value instanceof Fingerprinted) {
+                        return value.getClass().getName() + "(" + ((Fingerprinted) value).getFingerprint() + ")";
+                    } else if (value instanceof Enum<?>) {
+                        return ((Enum<?>) value).getDeclaringClass().getName() + "." + ((Enum<?>) value).name();
+                    } else if (value instanceof Class<?>) {
+                        return ((Class<?>) value).getName();
+                    } else if (value instanceof String
+                            || value instanceof Number
+                            || value instanceof Boolean
+                            || value instanceof Character
+                            || value instanceof File) {
+                        return value.toString();
+                    } else if (value instanceof Collection<?>) {
+                        StringBuilder stringBuilder = new StringBuilder().append('[');
+                        boolean first = true;
+                        for (Object element : (Collection<?>) value) {
+                            if (first) {
+                                first = false;
+                            } else {
+                                stringBuilder.append(',');
+                            }
+                            stringBuilder.append(describe(element));
+                        }
+                        return stringBuilder.append(']').toString();
+                    } else if (value.getClass().isArray()) {
+                        StringBuilder stringBuilder = new StringBuilder().append('[');
+                        for (int index = 0; index < Array.getLength(value); index++) {
+                            if (index > 0) {
+                                stringBuilder.append(',');
+                            }
+                            stringBuilder.append(describe(Array.get(value, index)));
+                        }
+                        return stringBuilder.append(']').toString();
+                    } else {
+                        return value.getClass().getName();
                     }
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * Computes a digest of the supplied binary data.
+                 *
+                 * @param binaryRepresentation The binary data to digest.
+                 * @return A hexadecimal representation of the data's digest.
                  */
-                public void onManifest(Manifest manifest) {
-                    for (ErrorHandler errorHandler : errorHandlers) {
-                        errorHandler.onManifest(manifest);
+                protected static String digest(byte[] binaryRepresentation) {
+                    MessageDigest messageDigest;
+                    try {
+                        messageDigest = MessageDigest.getInstance(ALGORITHM);
+                    } catch (NoSuchAlgorithmException exception) {
+                        throw new IllegalStateException("Cannot resolve message digest " + ALGORITHM, exception);
+                    }
+                    byte[] digest = messageDigest.digest(binaryRepresentation);
+                    StringBuilder stringBuilder = new StringBuilder(digest.length * 2);
+                    for (byte value : digest) {
+                        stringBuilder.append(Character.forDigit((value >> 4) & 0xF, 16)).append(Character.forDigit(value & 0xF, 16));
                     }
+                    return stringBuilder.toString();
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * Normalizes the name of an element by removing any leading slashes.
+                 *
+                 * @param name The name of the element.
+                 * @return The normalized name.
                  */
-                public void onResource(String name) {
-                    for (ErrorHandler errorHandler : errorHandlers) {
-                        errorHandler.onResource(name);
+                protected static String normalize(String name) {
+                    while (name.startsWith("/")) {
+                        name = name.substring(1);
                     }
+                    return name;
                 }
-            }
-        }
 
-        /**
-         * A listener that is invoked upon any event during a plugin engine application.
-         */
-        interface Listener extends ErrorHandler {
+                /**
+                 * An entry of a manifest that describes the processing of a single type.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                protected static class Entry {
 
-            /**
-             * Invoked upon discovering a type but prior to its resolution.
-             *
-             * @param typeName The name of the discovered type.
-             */
-            void onDiscovery(String typeName);
+                    /**
+                     * The separator of the properties of an entry.
+                     */
+                    protected static final char SEPARATOR = ';';
 
-            /**
-             * Invoked after a type was transformed using a specific plugin.
-             *
-             * @param typeDescription The type being transformed.
-             * @param plugin          The plugin that was applied.
-             */
-            void onTransformation(TypeDescription typeDescription, Plugin plugin);
+                    /**
+                     * The separator of the names of types with a live initializer.
+                     */
+                    protected static final char LIVE_SEPARATOR = ',';
 
-            /**
-             * Invoked after a type was transformed using at least one plugin.
-             *
-             * @param typeDescription The type being transformed.
-             * @param plugins         A list of plugins that were applied.
-             */
-            void onTransformation(TypeDescription typeDescription, List<Plugin> plugins);
+                    /**
+                     * The digest of the type's original class file.
+                     */
+                    private final String input;
 
-            /**
-             * Invoked if a type description is ignored by a given plugin. This callback is not invoked,
-             * if the ignore type matcher excluded a type from transformation.
-             *
-             * @param typeDescription The type being transformed.
-             * @param plugin          The plugin that ignored the given type.
-             */
-            void onIgnored(TypeDescription typeDescription, Plugin plugin);
+                    /**
+                     * The digest of the type's written class file.
+                     */
+                    private final String output;
 
-            /**
-             * Invoked if one or more plugins did not transform a type. This callback is also invoked if an
-             * ignore matcher excluded a type from transformation.
-             *
-             * @param typeDescription The type being transformed.
-             * @param plugins         the plugins that ignored the type.
-             */
-            void onIgnored(TypeDescription typeDescription, List<Plugin> plugins);
+                    /**
+                     * The digest of the type's super types' class files.
+                     */
+                    private final String dependencies;
 
-            /**
-             * Invoked upon completing handling a type that was either transformed or ignored.
-             *
-             * @param typeDescription The type that was transformed.
-             */
-            void onComplete(TypeDescription typeDescription);
+                    /**
+                     * The names of all written types with a live initializer.
+                     */
+                    private final List<String> live;
 
-            /**
-             * A non-operational listener.
-             */
-            enum NoOp implements Listener {
+                    /**
+                     * The names of all elements that were written for this type.
+                     */
+                    private final List<String> outputs;
 
-                /**
-                 * The singleton instance.
-                 */
-                INSTANCE;
+                    /**
+                     * Creates a new entry.
+                     *
+                     * @param input        The digest of the type's original class file.
+                     * @param output       The digest of the type's written class file.
+                     * @param dependencies The digest of the type's super types' class files.
+                     * @param live         The names of all written types with a live initializer.
+                     * @param outputs      The names of all elements that were written for this type.
+                     */
+                    protected Entry(String input, String output, String dependencies, List<String> live, List<String> outputs) {
+                        this.input = input;
+                        this.output = output;
+                        this.dependencies = dependencies;
+                        this.live = live;
+                        this.outputs = outputs;
+                    }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onDiscovery(String typeName) {
-                    /* do nothing */
+                    /**
+                     * Parses an entry from its string representation.
+                     *
+                     * @param value The entry's string representation.
+                     * @return The parsed entry or {@code null} if the value is malformed.
+                     */
+                    protected static Entry of(String value) {
+                        String[] token = value.split(String.valueOf(SEPARATOR), -1);
+                        return token.length < 5
+                                ? null
+                                : new Entry(token[0],
+                                token[1],
+                                token[2],
+                                token[3].length() == 0
+                                        ? Collections.<String>emptyList()
+                                        : Arrays.asList(token[3].split(String.valueOf(LIVE_SEPARATOR))),
+                                Arrays.asList(token).subList(4, token.length));
+                    }
+
+                    /**
+                     * Returns {@code true} if this entry describes a type that was transformed.
+                     *
+                     * @return {@code true} if this entry describes a type that was transformed.
+                     */
+                    protected boolean isTransformed() {
+                        return !input.equals(output);
+                    }
+
+                    /**
+                     * Returns {@code true} if this entry is applicable to a class file with the supplied digests. A class file
+                     * might either be an original class file or the output of a previous in-place application.
+                     *
+                     * @param digest       The digest of the class file.
+                     * @param dependencies The digest of the class files of the type's super types.
+                     * @return {@code true} if this entry is applicable.
+                     */
+                    protected boolean matches(String digest, String dependencies) {
+                        return (input.equals(digest) || output.equals(digest)) && this.dependencies.equals(dependencies);
+                    }
+
+                    @Override
+                    public String toString() {
+                        StringBuilder stringBuilder = new StringBuilder()
+                                .append(input).append(SEPARATOR)
+                                .append(output).append(SEPARATOR)
+                                .append(dependencies).append(SEPARATOR);
+                        boolean first = true;
+                        for (String name : live) {
+                            if (first) {
+                                first = false;
+                            } else {
+                                stringBuilder.append(LIVE_SEPARATOR);
+                            }
+                            stringBuilder.append(name);
+                        }
+                        for (String name : outputs) {
+                            stringBuilder.append(SEPARATOR).append(name);
+                        }
+                        return stringBuilder.toString();
+                    }
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * An active session of an incremental strategy for a manifest.
                  */
-                public void onTransformation(TypeDescription typeDescription, Plugin plugin) {
-                    /* do nothing */
+                protected static class ActiveSession implements Session {
+
+                    /**
+                     * A placeholder digest for a type that cannot be located.
+                     */
+                    private static final String UNRESOLVED = "-";
+
+                    /**
+                     * The manifest file.
+                     */
+                    private final File manifest;
+
+                    /**
+                     * The fingerprint of the plugin engine application.
+                     */
+                    private final String fingerprint;
+
+                    /**
+                     * The class file locator to use for locating super types.
+                     */
+                    private final ClassFileLocator classFileLocator;
+
+                    /**
+                     * The entries of the previous manifest.
+                     */
+                    private final Map<String, Entry> entries;
+
+                    /**
+                     * The origin of the previous output.
+                     */
+                    private final Source.Origin origin;
+
+                    /**
+                     * The elements of the previous output by their normalized name.
+                     */
+                    private final Map<String, Source.Element> elements;
+
+                    /**
+                     * The digests of types that are currently processed, represented as entries without output.
+                     */
+                    private final ConcurrentMap<String, Entry> pending;
+
+                    /**
+                     * The entries of the current manifest.
+                     */
+                    private final ConcurrentMap<String, Entry> current;
+
+                    /**
+                     * A cache of digests of type hierarchies by type name.
+                     */
+                    private final ConcurrentMap<String, String> hierarchies;
+
+                    /**
+                     * Creates a new active session.
+                     *
+                     * @param manifest         The manifest file.
+                     * @param fingerprint      The fingerprint of the plugin engine application.
+                     * @param classFileLocator The class file locator to use for locating super types.
+                     * @param entries          The entries of the previous manifest.
+                     * @param origin           The origin of the previous output.
+                     */
+                    protected ActiveSession(File manifest,
+                                            String fingerprint,
+                                            ClassFileLocator classFileLocator,
+                                            Map<String, Entry> entries,
+                                            Source.Origin origin) {
+                        this.manifest = manifest;
+                        this.fingerprint = fingerprint;
+                        this.classFileLocator = classFileLocator;
+                        this.entries = entries;
+                        this.origin = origin;
+                        elements = new HashMap<String, Source.Element>();
+                        for (Source.Element element : origin) {
+                            elements.put(normalize(element.getName()), element);
+                        }
+                        pending = new ConcurrentHashMap<String, Entry>();
+                        current = new ConcurrentHashMap<String, Entry>();
+                        hierarchies = new ConcurrentHashMap<String, String>();
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public List<Source.Element> getOutput(String typeName, Source.Element element) throws IOException {
+                        byte[] binaryRepresentation;
+                        InputStream inputStream = element.getInputStream();
+                        try {
+                            binaryRepresentation = StreamDrainer.DEFAULT.drain(inputStream);
+                        } finally {
+                            inputStream.close();
+                        }
+                        String digest = digest(binaryRepresentation), dependencies = dependencies(binaryRepresentation);
+                        Entry entry = entries.get(typeName);
+                        if (entry != null && entry.matches(digest, dependencies)) {
+                            List<Source.Element> elements = new ArrayList<Source.Element>(entry.outputs.size());
+                            for (String name : entry.outputs) {
+                                Source.Element output = this.elements.get(name);
+                                if (output == null) {
+                                    pending.put(typeName, new Entry(digest, digest, dependencies, Collections.<String>emptyList(), Collections.<String>emptyList()));
+                                    return NO_OUTPUT;
+                                }
+                                elements.add(output);
+                            }
+                            current.put(typeName, entry);
+                            return elements;
+                        }
+                        pending.put(typeName, new Entry(digest, digest, dependencies, Collections.<String>emptyList(), Collections.<String>emptyList()));
+                        return NO_OUTPUT;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public boolean isTransformed(String typeName) {
+                        Entry entry = current.get(typeName);
+                        return entry != null && entry.isTransformed();
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public List<String> getLiveInitializers(String typeName) {
+                        Entry entry = current.get(typeName);
+                        return entry == null
+                                ? Collections.<String>emptyList()
+                                : entry.live;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void onTransformed(String typeName, DynamicType dynamicType) {
+                        Entry entry = pending.remove(typeName);
+                        if (entry != null) {
+                            List<String> outputs = new ArrayList<String>();
+                            for (TypeDescription typeDescription : dynamicType.getAllTypes().keySet()) {
+                                outputs.add(typeDescription.getInternalName() + CLASS_FILE_EXTENSION);
+                            }
+                            List<String> live = new ArrayList<String>();
+                            for (Map.Entry<TypeDescription, LoadedTypeInitializer> initializer : dynamicType.getLoadedTypeInitializers().entrySet()) {
+                                if (initializer.getValue().isAlive()) {
+                                    live.add(initializer.getKey().getName());
+                                }
+                            }
+                            current.put(typeName, new Entry(entry.input, digest(dynamicType.getBytes()), entry.dependencies, live, outputs));
+                        }
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void onRetained(String typeName, String name) {
+                        Entry entry = pending.remove(typeName);
+                        if (entry != null) {
+                            current.put(typeName, new Entry(entry.input, entry.input, entry.dependencies, Collections.<String>emptyList(), Collections.singletonList(normalize(name))));
+                        }
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void onDiscarded(String typeName) {
+                        Entry entry = current.remove(typeName);
+                        if (entry != null) {
+                            pending.put(typeName, new Entry(entry.input, entry.input, entry.dependencies, Collections.<String>emptyList(), Collections.<String>emptyList()));
+                        }
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void commit() throws IOException {
+                        Properties properties = new Properties();
+                        properties.setProperty(FINGERPRINT, fingerprint);
+                        for (Map.Entry<String, Entry> entry : current.entrySet()) {
+                            properties.setProperty(entry.getKey(), entry.getValue().toString());
+                        }
+                        File folder = manifest.getAbsoluteFile().getParentFile();
+                        if (folder != null && !folder.isDirectory() && !folder.mkdirs()) {
+                            throw new IOException("Could not create directory: " + folder);
+                        }
+                        OutputStream outputStream = new FileOutputStream(manifest);
+                        try {
+                            properties.store(outputStream, null);
+                        } finally {
+                            outputStream.close();
+                        }
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void close() throws IOException {
+                        origin.close();
+                    }
+
+                    /**
+                     * Computes a digest of the class files of the super types of the supplied class file.
+                     *
+                     * @param binaryRepresentation The class file to compute the super types' digest for.
+                     * @return A digest of the super types' class files.
+                     * @throws IOException If an I/O error occurs.
+                     */
+                    private String dependencies(byte[] binaryRepresentation) throws IOException {
+                        ClassReader classReader = OpenedClassReader.of(binaryRepresentation);
+                        StringBuilder stringBuilder = new StringBuilder();
+                        if (classReader.getSuperName() != null) {
+                            stringBuilder.append(hierarchy(classReader.getSuperName().replace('/', '.')));
+                        }
+                        for (String interfaceName : classReader.getInterfaces()) {
+                            stringBuilder.append(Entry.SEPARATOR).append(hierarchy(interfaceName.replace('/', '.')));
+                        }
+                        return digest(stringBuilder.toString().getBytes("UTF-8"));
+                    }
+
+                    /**
+                     * Computes a digest of the class file of the supplied type and of the class files of all its super types. If a type's class
+                     * file represents a previously written output, the digest of its original class file is used instead.
+                     *
+                     * @param typeName The name of the type.
+                     * @return A digest of the type's hierarchy.
+                     * @throws IOException If an I/O error occurs.
+                     */
+                    private String hierarchy(String typeName) throws IOException {
+                        String hierarchy = hierarchies.get(typeName);
+                        if (hierarchy == null) {
+                            ClassFileLocator.Resolution resolution = classFileLocator.locate(typeName);
+                            if (resolution.isResolved()) {
+                                byte[] binaryRepresentation = resolution.resolve();
+                                String digest = digest(binaryRepresentation);
+                                Entry entry = entries.get(typeName);
+                                if (entry != null && entry.output.equals(digest)) {
+                                    digest = entry.input;
+                                }
+                                hierarchy = digest + Entry.SEPARATOR + dependencies(binaryRepresentation);
+                            } else {
+                                hierarchy = UNRESOLVED;
+                            }
+                            hierarchies.putIfAbsent(typeName, hierarchy);
+                        }
+                        return hierarchy;
+                    }
                 }
+            }
+
+            /**
+             * An incremental strategy that consults a content-addressed cache within a local folder. Each type is cached by a key that is
+             * computed from the digest of its class file, of the class files of its super types and of the fingerprint of the plugin engine
+             * application which covers the applied plugins and their configuration, the type strategy, the class file version and the version
+             * of Byte Buddy. If a cache entry exists for a type, the cached output is reused without applying the type strategy or any plugin.
+             * As the key does not depend on the location of a type, a cache can be shared between builds and projects.
+             * <p>
+             * The cache is maintained on a best-effort basis: an entry that cannot be written is logged and skipped such that the type is
+             * processed again by a later application. Entries are written to a temporary file which is then renamed. When a session is
+             * committed, entries that were not used for longer than a maximum age are evicted, and the least recently used entries are
+             * evicted until the cache does not exceed a maximum size.
+             * </p>
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class ForCache implements IncrementalStrategy {
 
                 /**
-                 * {@inheritDoc}
+                 * The version of the cache entry format.
                  */
-                public void onTransformation(TypeDescription typeDescription, List<Plugin> plugins) {
-                    /* do nothing */
-                }
+                protected static final int FORMAT = 1;
 
                 /**
-                 * {@inheritDoc}
+                 * The default maximum size of a cache in bytes.
                  */
-                public void onIgnored(TypeDescription typeDescription, Plugin plugin) {
-                    /* do nothing */
-                }
+                protected static final long DEFAULT_MAXIMUM_SIZE = 256L * 1024 * 1024;
 
                 /**
-                 * {@inheritDoc}
+                 * The default maximum age of an unused cache entry in seconds, equal to thirty days.
                  */
-                public void onIgnored(TypeDescription typeDescription, List<Plugin> plugins) {
-                    /* do nothing */
-                }
+                protected static final long DEFAULT_MAXIMUM_AGE = 30L * 24 * 60 * 60;
 
                 /**
-                 * {@inheritDoc}
+                 * The cache folder.
                  */
-                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
-                    /* do nothing */
-                }
+                private final File folder;
 
                 /**
-                 * {@inheritDoc}
+                 * The build logger to log failures to.
                  */
-                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
-                    /* do nothing */
-                }
+                private final BuildLogger buildLogger;
 
                 /**
-                 * {@inheritDoc}
+                 * The maximum size of the cache in bytes.
                  */
-                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
-                    /* do nothing */
-                }
+                private final long maximumSize;
 
                 /**
-                 * {@inheritDoc}
+                 * The maximum age in milliseconds of a cache entry since it was last used or {@code 0} if entries do not expire.
                  */
-                public void onError(Plugin plugin, Throwable throwable) {
-                    /* do nothing */
-                }
+                private final long maximumAge;
 
                 /**
-                 * {@inheritDoc}
+                 * Creates a new incremental strategy for a content-addressed cache with a default size and age bound that does not
+                 * log failures.
+                 *
+                 * @param folder The cache folder.
                  */
-                public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
-                    /* do nothing */
+                public ForCache(File folder) {
+                    this(folder, BuildLogger.NoOp.INSTANCE);
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * Creates a new incremental strategy for a content-addressed cache with a default size and age bound.
+                 *
+                 * @param folder      The cache folder.
+                 * @param buildLogger The build logger to log failures to.
                  */
-                public void onComplete(TypeDescription typeDescription) {
-                    /* do nothing */
+                public ForCache(File folder, BuildLogger buildLogger) {
+                    this(folder, buildLogger, DEFAULT_MAXIMUM_SIZE, DEFAULT_MAXIMUM_AGE, TimeUnit.SECONDS);
                 }
 
                 /**
-                 * {@inheritDoc}
-                 */
-                public void onUnresolved(String typeName) {
-                    /* do nothing */
+                 * Creates a new incremental strategy for a content-addressed cache.
+                 *
+                 * @param folder      The cache folder.
+                 * @param buildLogger The build logger to log failures to.
+                 * @param maximumSize The maximum size of the cache in bytes.
+                 * @param maximumAge  The maximum age of a cache entry since it was last used or {@code 0} if entries do not expire.
+                 * @param timeUnit    The time unit of the maximum age.
+                 */
+                public ForCache(File folder, BuildLogger buildLogger, long maximumSize, long maximumAge, TimeUnit timeUnit) {
+                    if (maximumSize < 0) {
+                        throw new IllegalArgumentException("Maximum size must not be negative: " + maximumSize);
+                    } else if (maximumAge < 0) {
+                        throw new IllegalArgumentException("Maximum age must not be negative: " + maximumAge);
+                    }
+                    this.folder = folder;
+                    this.buildLogger = buildLogger;
+                    this.maximumSize = maximumSize;
+                    this.maximumAge = timeUnit.toMillis(maximumAge);
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onManifest(Manifest manifest) {
-                    /* do nothing */
+                public Session open(String fingerprint, ClassFileLocator classFileLocator) throws IOException {
+                    return new ActiveSession(folder, buildLogger, maximumSize, maximumAge, fingerprint, classFileLocator);
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * A cache entry that describes the output of a single type.
                  */
-                public void onResource(String name) {
-                    /* do nothing */
-                }
-            }
+                protected static class Entry {
 
-            /**
-             * An adapter that implements all methods non-operational.
-             */
-            abstract class Adapter implements Listener {
+                    /**
+                     * {@code true} if the cached type was transformed.
+                     */
+                    private final boolean transformed;
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onDiscovery(String typeName) {
-                    /* do nothing */
-                }
+                    /**
+                     * The class files of the transformed type and its auxiliary types by their internal names.
+                     */
+                    private final Map<String, byte[]> types;
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onTransformation(TypeDescription typeDescription, Plugin plugin) {
-                    /* do nothing */
-                }
+                    /**
+                     * The names of all types with a live initializer.
+                     */
+                    private final List<String> live;
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onTransformation(TypeDescription typeDescription, List<Plugin> plugins) {
-                    /* do nothing */
-                }
+                    /**
+                     * Creates a new cache entry.
+                     *
+                     * @param transformed {@code true} if the cached type was transformed.
+                     * @param types       The class files of the transformed type and its auxiliary types by their internal names.
+                     * @param live        The names of all types with a live initializer.
+                     */
+                    protected Entry(boolean transformed, Map<String, byte[]> types, List<String> live) {
+                        this.transformed = transformed;
+                        this.types = types;
+                        this.live = live;
+                    }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onIgnored(TypeDescription typeDescription, Plugin plugin) {
-                    /* do nothing */
-                }
+                    /**
+                     * Reads a cache entry from a file.
+                     *
+                     * @param file The file to read.
+                     * @return The cache entry or {@code null} if the file does not represent a cache entry of the current format.
+                     * @throws IOException If an I/O error occurs.
+                     */
+                    protected static Entry read(File file) throws IOException {
+                        DataInputStream inputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+                        try {
+                            if (inputStream.readInt() != FORMAT) {
+                                return null;
+                            }
+                            boolean transformed = inputStream.readBoolean();
+                            int size = inputStream.readInt();
+                            Map<String, byte[]> types = new LinkedHashMap<String, byte[]>();
+                            List<String> live = new ArrayList<String>();
+                            for (int index = 0; index < size; index++) {
+                                String name = inputStream.readUTF();
+                                if (inputStream.readBoolean()) {
+                                    live.add(name.replace('/', '.'));
+                                }
+                                byte[] binaryRepresentation = new byte[inputStream.readInt()];
+                                inputStream.readFully(binaryRepresentation);
+                                types.put(name, binaryRepresentation);
+                            }
+                            return new Entry(transformed, types, live);
+                        } finally {
+                            inputStream.close();
+                        }
+                    }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onIgnored(TypeDescription typeDescription, List<Plugin> plugins) {
-                    /* do nothing */
-                }
+                    /**
+                     * Writes this cache entry to a file. The entry is first written to a temporary file which is then renamed such that
+                     * concurrent readers never observe a partially written entry.
+                     *
+                     * @param file The file to write.
+                     * @throws IOException If an I/O error occurs.
+                     */
+                    protected void write(File file) throws IOException {
+                        File folder = file.getParentFile();
+                        if (!folder.isDirectory() && !folder.mkdirs() && !folder.isDirectory()) {
+                            throw new IOException("Could not create directory: " + folder);
+                        }
+                        File temporary = File.createTempFile(file.getName(), ".tmp", folder);
+                        try {
+                            DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)));
+                            try {
+                                outputStream.writeInt(FORMAT);
+                                outputStream.writeBoolean(transformed);
+                                outputStream.writeInt(types.size());
+                                for (Map.Entry<String, byte[]> entry : types.entrySet()) {
+                                    outputStream.writeUTF(entry.getKey());
+                                    outputStream.writeBoolean(live.contains(entry.getKey().replace('/', '.')));
+                                    outputStream.writeInt(entry.getValue().length);
+                                    outputStream.write(entry.getValue());
+                                }
+                            } finally {
+                                outputStream.close();
+                            }
+                            if (!temporary.renameTo(file) && !file.isFile()) {
+                                throw new IOException("Could not write cache entry: " + file);
+                            }
+                        } finally {
+                            if (temporary.exists() && !temporary.delete()) {
+                                temporary.deleteOnExit();
+                            }
+                        }
+                    }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
-                    /* do nothing */
-                }
+                    /**
+                     * Returns {@code true} if the cached type was transformed.
+                     *
+                     * @return {@code true} if the cached type was transformed.
+                     */
+                    protected boolean isTransformed() {
+                        return transformed;
+                    }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
-                    /* do nothing */
-                }
+                    /**
+                     * Returns the elements that represent the cached output.
+                     *
+                     * @return The elements that represent the cached output.
+                     */
+                    protected List<Source.Element> getElements() {
+                        List<Source.Element> elements = new ArrayList<Source.Element>(types.size());
+                        for (Map.Entry<String, byte[]> entry : types.entrySet()) {
+                            elements.add(new Source.Element.ForByteArray(entry.getKey() + CLASS_FILE_EXTENSION, entry.getValue()));
+                        }
+                        return elements;
+                    }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
-                    /* do nothing */
+                    /**
+                     * Returns the names of all types with a live initializer.
+                     *
+                     * @return The names of all types with a live initializer.
+                     */
+                    protected List<String> getLive() {
+                        return live;
+                    }
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * An active session of an incremental strategy for a content-addressed cache.
                  */
-                public void onError(Plugin plugin, Throwable throwable) {
-                    /* do nothing */
-                }
+                protected static class ActiveSession implements Session {
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
-                    /* do nothing */
-                }
+                    /**
+                     * A placeholder digest for a type that cannot be located.
+                     */
+                    private static final String UNRESOLVED = "-";
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onComplete(TypeDescription typeDescription) {
-                    /* do nothing */
-                }
+                    /**
+                     * The cache folder.
+                     */
+                    private final File folder;
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onUnresolved(String typeName) {
-                    /* do nothing */
-                }
+                    /**
+                     * The build logger to log failures to.
+                     */
+                    private final BuildLogger buildLogger;
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onManifest(Manifest manifest) {
-                    /* do nothing */
-                }
+                    /**
+                     * The maximum size of the cache in bytes.
+                     */
+                    private final long maximumSize;
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onResource(String name) {
-                    /* do nothing */
-                }
-            }
+                    /**
+                     * The maximum age in milliseconds of a cache entry since it was last used or {@code 0} if entries do not expire.
+                     */
+                    private final long maximumAge;
 
-            /**
-             * A listener that forwards significant events of a plugin engine application to a {@link PrintStream}.
-             */
-            @HashCodeAndEqualsPlugin.Enhance
-            class StreamWriting extends Adapter {
+                    /**
+                     * The fingerprint of the plugin engine application.
+                     */
+                    private final String fingerprint;
 
-                /**
-                 * The prefix that is appended to all written messages.
-                 */
-                protected static final String PREFIX = "[Byte Buddy]";
+                    /**
+                     * The class file locator to use for locating super types.
+                     */
+                    private final ClassFileLocator classFileLocator;
 
-                /**
-                 * The print stream to delegate to.
-                 */
-                private final PrintStream printStream;
+                    /**
+                     * The keys of types that are currently processed.
+                     */
+                    private final ConcurrentMap<String, String> keys;
 
-                /**
-                 * Creates a new stream writing listener.
-                 *
-                 * @param printStream The print stream to delegate to.
-                 */
-                public StreamWriting(PrintStream printStream) {
-                    this.printStream = printStream;
-                }
+                    /**
+                     * The cache entries that were reused by type name.
+                     */
+                    private final ConcurrentMap<String, Entry> entries;
 
-                /**
-                 * Creates a stream writing listener that prints all events on {@link System#out}.
-                 *
-                 * @return A listener that writes events to the system output stream.
-                 */
-                public static StreamWriting toSystemOut() {
-                    return new StreamWriting(System.out);
-                }
+                    /**
+                     * A cache of digests of type hierarchies by type name.
+                     */
+                    private final ConcurrentMap<String, String> hierarchies;
 
-                /**
-                 * Creates a stream writing listener that prints all events on {@link System#err}.
-                 *
-                 * @return A listener that writes events to the system error stream.
-                 */
-                public static StreamWriting toSystemError() {
-                    return new StreamWriting(System.err);
-                }
+                    /**
+                     * Creates a new active session.
+                     *
+                     * @param folder           The cache folder.
+                     * @param buildLogger      The build logger to log failures to.
+                     * @param maximumSize      The maximum size of the cache in bytes.
+                     * @param maximumAge       The maximum age in milliseconds of a cache entry since it was last used or {@code 0} if entries do not expire.
+                     * @param fingerprint      The fingerprint of the plugin engine application.
+                     * @param classFileLocator The class file locator to use for locating super types.
+                     */
+                    protected ActiveSession(File folder,
+                                            BuildLogger buildLogger,
+                                            long maximumSize,
+                                            long maximumAge,
+                                            String fingerprint,
+                                            ClassFileLocator classFileLocator) {
+                        this.folder = folder;
+                        this.buildLogger = buildLogger;
+                        this.maximumSize = maximumSize;
+                        this.maximumAge = maximumAge;
+                        this.fingerprint = fingerprint;
+                        this.classFileLocator = classFileLocator;
+                        keys = new ConcurrentHashMap<String, String>();
+                        entries = new ConcurrentHashMap<String, Entry>();
+                        hierarchies = new ConcurrentHashMap<String, String>();
+                    }
 
-                /**
-                 * Returns a new listener that only prints transformation and error events.
-                 *
-                 * @return A new listener that only prints transformation and error events.
-                 */
-                public Listener withTransformationsOnly() {
-                    return new WithTransformationsOnly(this);
-                }
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public List<Source.Element> getOutput(String typeName, Source.Element element) throws IOException {
+                        byte[] binaryRepresentation;
+                        InputStream inputStream = element.getInputStream();
+                        try {
+                            binaryRepresentation = StreamDrainer.DEFAULT.drain(inputStream);
+                        } finally {
+                            inputStream.close();
+                        }
+                        String key = ForManifest.digest((fingerprint
+                                + ForManifest.Entry.SEPARATOR + ForManifest.digest(binaryRepresentation)
+                                + ForManifest.Entry.SEPARATOR + dependencies(binaryRepresentation)).getBytes("UTF-8"));
+                        File file = file(key);
+                        if (file.isFile()) {
+                            Entry entry;
+                            try {
+                                entry = Entry.read(file);
+                            } catch (IOException exception) {
+                                buildLogger.debug("Ignoring unreadable cache entry " + file, exception);
+                                entry = null;
+                            }
+                            if (entry != null) {
+                                if (!file.setLastModified(System.currentTimeMillis())) {
+                                    buildLogger.debug("Could not mark cache entry as used: " + file);
+                                }
+                                entries.put(typeName, entry);
+                                return entry.isTransformed()
+                                        ? entry.getElements()
+                                        : Collections.singletonList(element);
+                            }
+                        }
+                        keys.put(typeName, key);
+                        return NO_OUTPUT;
+                    }
 
-                /**
-                 * Returns a new listener that only prints error events.
-                 *
-                 * @return A new listener that only prints error events.
-                 */
-                public Listener withErrorsOnly() {
-                    return new WithErrorsOnly(this);
-                }
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public boolean isTransformed(String typeName) {
+                        Entry entry = entries.get(typeName);
+                        return entry != null && entry.isTransformed();
+                    }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onDiscovery(String typeName) {
-                    printStream.printf(PREFIX + " DISCOVERY %s", typeName);
-                }
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public List<String> getLiveInitializers(String typeName) {
+                        Entry entry = entries.get(typeName);
+                        return entry == null
+                                ? Collections.<String>emptyList()
+                                : entry.getLive();
+                    }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onTransformation(TypeDescription typeDescription, Plugin plugin) {
-                    printStream.printf(PREFIX + " TRANSFORM %s for %s", typeDescription, plugin);
-                }
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void onTransformed(String typeName, DynamicType dynamicType) {
+                        String key = keys.remove(typeName);
+                        if (key != null) {
+                            Map<String, byte[]> types = new LinkedHashMap<String, byte[]>();
+                            for (Map.Entry<TypeDescription, byte[]> entry : dynamicType.getAllTypes().entrySet()) {
+                                types.put(entry.getKey().getInternalName(), entry.getValue());
+                            }
+                            List<String> live = new ArrayList<String>();
+                            for (Map.Entry<TypeDescription, LoadedTypeInitializer> entry : dynamicType.getLoadedTypeInitializers().entrySet()) {
+                                if (entry.getValue().isAlive()) {
+                                    live.add(entry.getKey().getName());
+                                }
+                            }
+                            store(key, new Entry(true, types, live));
+                        }
+                    }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onIgnored(TypeDescription typeDescription, Plugin plugin) {
-                    printStream.printf(PREFIX + " IGNORE %s for %s", typeDescription, plugin);
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void onRetained(String typeName, String name) {
+                        String key = keys.remove(typeName);
+                        if (key != null) {
+                            store(key, new Entry(false, Collections.<String, byte[]>emptyMap(), Collections.<String>emptyList()));
+                        }
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void onDiscarded(String typeName) {
+                        entries.remove(typeName);
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void commit() {
+                        File[] buckets = folder.listFiles();
+                        if (buckets == null) {
+                            return;
+                        }
+                        long now = System.currentTimeMillis(), size = 0L;
+                        List<Candidate> candidates = new ArrayList<Candidate>();
+                        for (File bucket : buckets) {
+                            File[] files = bucket.listFiles();
+                            if (files != null) {
+                                for (File file : files) {
+                                    long lastModified = file.lastModified(), length = file.length();
+                                    if (maximumAge > 0L && now - lastModified > maximumAge) {
+                                        evict(file);
+                                    } else {
+                                        candidates.add(new Candidate(file, lastModified, length));
+                                        size += length;
+                                    }
+                                }
+                            }
+                        }
+                        if (size > maximumSize) {
+                            Collections.sort(candidates);
+                            for (Candidate candidate : candidates) {
+                                if (size <= maximumSize) {
+                                    break;
+                                } else if (evict(candidate.file)) {
+                                    size -= candidate.length;
+                                }
+                            }
+                        }
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void close() {
+                        /* do nothing */
+                    }
+
+                    /**
+                     * Stores a cache entry.
+                     *
+                     * @param key   The entry's key.
+                     * @param entry The entry to store.
+                     */
+                    private void store(String key, Entry entry) {
+                        try {
+                            entry.write(file(key));
+                        } catch (IOException exception) {
+                            buildLogger.warn("Could not write cache entry " + key, exception);
+                        }
+                    }
+
+                    /**
+                     * Evicts a cache entry.
+                     *
+                     * @param file The file of the cache entry.
+                     * @return {@code true} if the entry was evicted.
+                     */
+                    private boolean evict(File file) {
+                        if (file.delete() || !file.exists()) {
+                            return true;
+                        }
+                        buildLogger.debug("Could not evict cache entry " + file);
+                        return false;
+                    }
+
+                    /**
+                     * Returns the file of a cache entry.
+                     *
+                     * @param key The entry's key.
+                     * @return The file of the cache entry.
+                     */
+                    private File file(String key) {
+                        return new File(new File(folder, key.substring(0, 2)), key);
+                    }
+
+                    /**
+                     * Computes a digest of the class files of the super types of the supplied class file.
+                     *
+                     * @param binaryRepresentation The class file to compute the super types' digest for.
+                     * @return A digest of the super types' class files.
+                     * @throws IOException If an I/O error occurs.
+                     */
+                    private String dependencies(byte[] binaryRepresentation) throws IOException {
+                        ClassReader classReader = OpenedClassReader.of(binaryRepresentation);
+                        StringBuilder stringBuilder = new StringBuilder();
+                        if (classReader.getSuperName() != null) {
+                            stringBuilder.append(hierarchy(classReader.getSuperName().replace('/', '.')));
+                        }
+                        for (String interfaceName : classReader.getInterfaces()) {
+                            stringBuilder.append(ForManifest.Entry.SEPARATOR).append(hierarchy(interfaceName.replace('/', '.')));
+                        }
+                        return ForManifest.digest(stringBuilder.toString().getBytes("UTF-8"));
+                    }
+
+                    /**
+                     * Computes a digest of the class file of the supplied type and of the class files of all its super types.
+                     *
+                     * @param typeName The name of the type.
+                     * @return A digest of the type's hierarchy.
+                     * @throws IOException If an I/O error occurs.
+                     */
+                    private String hierarchy(String typeName) throws IOException {
+                        String hierarchy = hierarchies.get(typeName);
+                        if (hierarchy == null) {
+                            ClassFileLocator.Resolution resolution = classFileLocator.locate(typeName);
+                            if (resolution.isResolved()) {
+                                byte[] binaryRepresentation = resolution.resolve();
+                                hierarchy = ForManifest.digest(binaryRepresentation) + ForManifest.Entry.SEPARATOR + dependencies(binaryRepresentation);
+                            } else {
+                                hierarchy = UNRESOLVED;
+                            }
+                            hierarchies.putIfAbsent(typeName, hierarchy);
+                        }
+                        return hierarchy;
+                    }
+
+                    /**
+                     * A cache entry that is a candidate for eviction, ordered by the time it was last used.
+                     */
+                    @HashCodeAndEqualsPlugin.Enhance
+                    protected static class Candidate implements Comparable<Candidate> {
+
+                        /**
+                         * The file of the cache entry.
+                         */
+                        private final File file;
+
+                        /**
+                         * The time in milliseconds when the cache entry was last used.
+                         */
+                        private final long lastModified;
+
+                        /**
+                         * The size of the cache entry in bytes.
+                         */
+                        private final long length;
+
+                        /**
+                         * Creates a new candidate for eviction.
+                         *
+                         * @param file         The file of the cache entry.
+                         * @param lastModified The time in milliseconds when the cache entry was last used.
+                         * @param length       The size of the cache entry in bytes.
+                         */
+                        protected Candidate(File file, long lastModified, long length) {
+                            this.file = file;
+                            this.lastModified = lastModified;
+                            this.length = length;
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public int compareTo(Candidate other) {
+                            return lastModified < other.lastModified
+                                    ? -1
+                                    : (lastModified == other.lastModified ? 0 : 1);
+                        }
+                    }
                 }
+            }
+        }
+
+        /**
+         * An error handler that is used during a plugin engine application.
+         */
+        interface ErrorHandler {
+
+            /**
+             * Invoked if an error occured during a plugin's application on a given type.
+             *
+             * @param typeDescription The type being matched or transformed.
+             * @param plugin          The plugin being applied.
+             * @param throwable       The throwable that caused the error.
+             */
+            void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable);
+
+            /**
+             * Invoked after the application of all plugins was attempted if at least one error occured during handling a given type.
+             *
+             * @param typeDescription The type being transformed.
+             * @param throwables      The throwables that caused errors during the application.
+             */
+            void onError(TypeDescription typeDescription, List<Throwable> throwables);
+
+            /**
+             * Invoked at the end of the build if at least one type transformation failed.
+             *
+             * @param throwables A mapping of types that failed during transformation to the errors that were caught.
+             */
+            void onError(Map<TypeDescription, List<Throwable>> throwables);
+
+            /**
+             * Invoked at the end of the build if a plugin could not be closed.
+             *
+             * @param plugin    The plugin that could not be closed.
+             * @param throwable The error that was caused when the plugin was attempted to be closed.
+             */
+            void onError(Plugin plugin, Throwable throwable);
+
+            /**
+             * Invoked if a type transformation implied a live initializer.
+             *
+             * @param typeDescription The type that was transformed.
+             * @param definingType    The type that implies the initializer which might be the type itself or an auxiliary type.
+             */
+            void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType);
+
+            /**
+             * Invoked if a type could not be resolved.
+             *
+             * @param typeName The name of the unresolved type.
+             */
+            void onUnresolved(String typeName);
+
+            /**
+             * Invoked when a manifest was found or found missing.
+             *
+             * @param manifest The located manifest or {@code null} if no manifest was found.
+             */
+            void onManifest(Manifest manifest);
+
+            /**
+             * Invoked if a resource that is not a class file is discovered.
+             *
+             * @param name The name of the discovered resource.
+             */
+            void onResource(String name);
+
+            /**
+             * An implementation of an error handler that fails the plugin engine application.
+             */
+            enum Failing implements ErrorHandler {
 
                 /**
-                 * {@inheritDoc}
+                 * An error handler that fails the build immediatly on the first error.
                  */
-                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
-                    synchronized (printStream) {
-                        printStream.printf(PREFIX + " ERROR %s for %s", typeDescription, plugin);
-                        throwable.printStackTrace(printStream);
+                FAIL_FAST {
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
+                        throw new IllegalStateException("Failed to transform " + typeDescription + " using " + plugin, throwable);
                     }
-                }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
+                        throw new UnsupportedOperationException("onError");
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void onError(Map<TypeDescription, List<Throwable>> throwables) {
+                        throw new UnsupportedOperationException("onError");
+                    }
+                },
 
                 /**
-                 * {@inheritDoc}
+                 * An error handler that fails the build after applying all plugins if at least one plugin failed.
                  */
-                public void onError(Plugin plugin, Throwable throwable) {
-                    synchronized (printStream) {
-                        printStream.printf(PREFIX + " ERROR %s", plugin);
-                        throwable.printStackTrace(printStream);
+                FAIL_AFTER_TYPE {
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
+                        /* do nothing */
                     }
-                }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
+                        throw new IllegalStateException("Failed to transform " + typeDescription + ": " + throwables);
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void onError(Map<TypeDescription, List<Throwable>> throwables) {
+                        throw new UnsupportedOperationException("onError");
+                    }
+                },
+
+                /**
+                 * An error handler that fails the build after transforming all types if at least one plugin failed.
+                 */
+                FAIL_LAST {
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
+                        /* do nothing */
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
+                        /* do nothing */
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void onError(Map<TypeDescription, List<Throwable>> throwables) {
+                        throw new IllegalStateException("Failed to transform at least one type: " + throwables);
+                    }
+                };
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onUnresolved(String typeName) {
-                    printStream.printf(PREFIX + " UNRESOLVED %s", typeName);
+                public void onError(Plugin plugin, Throwable throwable) {
+                    throw new IllegalStateException("Failed to close plugin " + plugin, throwable);
                 }
 
                 /**
                  * {@inheritDoc}
                  */
                 public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
-                    printStream.printf(PREFIX + " LIVE %s on %s", typeDescription, definingType);
+                    /* do nothing */
                 }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onComplete(TypeDescription typeDescription) {
-                    printStream.printf(PREFIX + " COMPLETE %s", typeDescription);
-                }
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onUnresolved(String typeName) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onManifest(Manifest manifest) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onResource(String name) {
+                    /* do nothing */
+                }
+            }
+
+            /**
+             * An error handler that enforces certain properties of the transformation.
+             */
+            enum Enforcing implements ErrorHandler {
+
+                /**
+                 * Enforces that all types could be resolved.
+                 */
+                ALL_TYPES_RESOLVED {
+                    @Override
+                    public void onUnresolved(String typeName) {
+                        throw new IllegalStateException("Failed to resolve type description for " + typeName);
+                    }
+                },
+
+                /**
+                 * Enforces that no type has a live initializer.
+                 */
+                NO_LIVE_INITIALIZERS {
+                    @Override
+                    public void onLiveInitializer(TypeDescription typeDescription, TypeDescription initializedType) {
+                        throw new IllegalStateException("Failed to instrument " + typeDescription + " due to live initializer for " + initializedType);
+                    }
+                },
+
+                /**
+                 * Enforces that a source only produces class files.
+                 */
+                CLASS_FILES_ONLY {
+                    @Override
+                    public void onResource(String name) {
+                        throw new IllegalStateException("Discovered a resource when only class files were allowed: " + name);
+                    }
+                },
+
+                /**
+                 * Enforces that a manifest is written to a target.
+                 */
+                MANIFEST_REQUIRED {
+                    @Override
+                    public void onManifest(Manifest manifest) {
+                        if (manifest == null) {
+                            throw new IllegalStateException("Required a manifest but no manifest was found");
+                        }
+                    }
+                };
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(Plugin plugin, Throwable throwable) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onUnresolved(String typeName) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onManifest(Manifest manifest) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onResource(String name) {
+                    /* do nothing */
+                }
+            }
+
+            /**
+             * A compound error handler.
+             */
+            class Compound implements ErrorHandler {
+
+                /**
+                 * The error handlers that are represented by this instance.
+                 */
+                private final List<ErrorHandler> errorHandlers;
+
+                /**
+                 * Creates a new compound error handler.
+                 *
+                 * @param errorHandler The error handlers that are represented by this instance.
+                 */
+                public Compound(ErrorHandler... errorHandler) {
+                    this(Arrays.asList(errorHandler));
+                }
+
+                /**
+                 * Creates a new compound error handler.
+                 *
+                 * @param errorHandlers The error handlers that are represented by this instance.
+                 */
+                public Compound(List<? extends ErrorHandler> errorHandlers) {
+                    this.errorHandlers = new ArrayList<ErrorHandler>();
+                    for (ErrorHandler errorHandler : errorHandlers) {
+                        if (errorHandler instanceof Compound) {
+                            this.errorHandlers.addAll(((Compound) errorHandler).errorHandlers);
+                        } else if (!(errorHandler instanceof Listener.NoOp)) {
+                            this.errorHandlers.add(errorHandler);
+                        }
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
+                    for (ErrorHandler errorHandler : errorHandlers) {
+                        errorHandler.onError(typeDescription, plugin, throwable);
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
+                    for (ErrorHandler errorHandler : errorHandlers) {
+                        errorHandler.onError(typeDescription, throwables);
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
+                    for (ErrorHandler errorHandler : errorHandlers) {
+                        errorHandler.onError(throwables);
+                    }
+
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(Plugin plugin, Throwable throwable) {
+                    for (ErrorHandler errorHandler : errorHandlers) {
+                        errorHandler.onError(plugin, throwable);
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
+                    for (ErrorHandler errorHandler : errorHandlers) {
+                        errorHandler.onLiveInitializer(typeDescription, definingType);
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onUnresolved(String typeName) {
+                    for (ErrorHandler errorHandler : errorHandlers) {
+                        errorHandler.onUnresolved(typeName);
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onManifest(Manifest manifest) {
+                    for (ErrorHandler errorHandler : errorHandlers) {
+                        errorHandler.onManifest(manifest);
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onResource(String name) {
+                    for (ErrorHandler errorHandler : errorHandlers) {
+                        errorHandler.onResource(name);
+                    }
+                }
+            }
+        }
+
+        /**
+         * A listener that is invoked upon any event during a plugin engine application.
+         */
+        interface Listener extends ErrorHandler {
+
+            /**
+             * Invoked upon discovering a type but prior to its resolution.
+             *
+             * @param typeName The name of the discovered type.
+             */
+            void onDiscovery(String typeName);
+
+            /**
+             * Invoked after a type was transformed using a specific plugin.
+             *
+             * @param typeDescription The type being transformed.
+             * @param plugin          The plugin that was applied.
+             */
+            void onTransformation(TypeDescription typeDescription, Plugin plugin);
+
+            /**
+             * Invoked after a type was transformed using at least one plugin.
+             *
+             * @param typeDescription The type being transformed.
+             * @param plugins         A list of plugins that were applied.
+             */
+            void onTransformation(TypeDescription typeDescription, List<Plugin> plugins);
+
+            /**
+             * Invoked if a type description is ignored by a given plugin. This callback is not invoked,
+             * if the ignore type matcher excluded a type from transformation.
+             *
+             * @param typeDescription The type being transformed.
+             * @param plugin          The plugin that ignored the given type.
+             */
+            void onIgnored(TypeDescription typeDescription, Plugin plugin);
+
+            /**
+             * Invoked if one or more plugins did not transform a type. This callback is also invoked if an
+             * ignore matcher excluded a type from transformation.
+             *
+             * @param typeDescription The type being transformed.
+             * @param plugins         the plugins that ignored the type.
+             */
+            void onIgnored(TypeDescription typeDescription, List<Plugin> plugins);
+
+            /**
+             * Invoked upon completing handling a type that was either transformed or ignored.
+             *
+             * @param typeDescription The type that was transformed.
+             */
+            void onComplete(TypeDescription typeDescription);
+
+            /**
+             * A non-operational listener.
+             */
+            enum NoOp implements Listener {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onDiscovery(String typeName) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onTransformation(TypeDescription typeDescription, Plugin plugin) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onTransformation(TypeDescription typeDescription, List<Plugin> plugins) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onIgnored(TypeDescription typeDescription, Plugin plugin) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onIgnored(TypeDescription typeDescription, List<Plugin> plugins) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(Plugin plugin, Throwable throwable) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onComplete(TypeDescription typeDescription) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onUnresolved(String typeName) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onManifest(Manifest manifest) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onResource(String name) {
+                    /* do nothing */
+                }
+            }
+
+            /**
+             * An adapter that implements all methods non-operational.
+             */
+            abstract class Adapter implements Listener {
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onDiscovery(String typeName) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onTransformation(TypeDescription typeDescription, Plugin plugin) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onTransformation(TypeDescription typeDescription, List<Plugin> plugins) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onIgnored(TypeDescription typeDescription, Plugin plugin) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onIgnored(TypeDescription typeDescription, List<Plugin> plugins) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(Plugin plugin, Throwable throwable) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onComplete(TypeDescription typeDescription) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onUnresolved(String typeName) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onManifest(Manifest manifest) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onResource(String name) {
+                    /* do nothing */
+                }
+            }
+
+            /**
+             * A listener that forwards significant events of a plugin engine application to a {@link PrintStream}.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class StreamWriting extends Adapter {
+
+                /**
+                 * The prefix that is appended to all written messages.
+                 */
+                protected static final String PREFIX = "[Byte Buddy]";
+
+                /**
+                 * The print stream to delegate to.
+                 */
+                private final PrintStream printStream;
+
+                /**
+                 * Creates a new stream writing listener.
+                 *
+                 * @param printStream The print stream to delegate to.
+                 */
+                public StreamWriting(PrintStream printStream) {
+                    this.printStream = printStream;
+                }
+
+                /**
+                 * Creates a stream writing listener that prints all events on {@link System#out}.
+                 *
+                 * @return A listener that writes events to the system output stream.
+                 */
+                public static StreamWriting toSystemOut() {
+                    return new StreamWriting(System.out);
+                }
+
+                /**
+                 * Creates a stream writing listener that prints all events on {@link System#err}.
+                 *
+                 * @return A listener that writes events to the system error stream.
+                 */
+                public static StreamWriting toSystemError() {
+                    return new StreamWriting(System.err);
+                }
+
+                /**
+                 * Returns a new listener that only prints transformation and error events.
+                 *
+                 * @return A new listener that only prints transformation and error events.
+                 */
+                public Listener withTransformationsOnly() {
+                    return new WithTransformationsOnly(this);
+                }
+
+                /**
+                 * Returns a new listener that only prints error events.
+                 *
+                 * @return A new listener that only prints error events.
+                 */
+                public Listener withErrorsOnly() {
+                    return new WithErrorsOnly(this);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onDiscovery(String typeName) {
+                    printStream.printf(PREFIX + " DISCOVERY %s", typeName);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onTransformation(TypeDescription typeDescription, Plugin plugin) {
+                    printStream.printf(PREFIX + " TRANSFORM %s for %s", typeDescription, plugin);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onIgnored(TypeDescription typeDescription, Plugin plugin) {
+                    printStream.printf(PREFIX + " IGNORE %s for %s", typeDescription, plugin);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
+                    synchronized (printStream) {
+                        printStream.printf(PREFIX + " ERROR %s for %s", typeDescription, plugin);
+                        throwable.printStackTrace(printStream);
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(Plugin plugin, Throwable throwable) {
+                    synchronized (printStream) {
+                        printStream.printf(PREFIX + " ERROR %s", plugin);
+                        throwable.printStackTrace(printStream);
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onUnresolved(String typeName) {
+                    printStream.printf(PREFIX + " UNRESOLVED %s", typeName);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
+                    printStream.printf(PREFIX + " LIVE %s on %s", typeDescription, definingType);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onComplete(TypeDescription typeDescription) {
+                    printStream.printf(PREFIX + " COMPLETE %s", typeDescription);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onManifest(Manifest manifest) {
+                    printStream.printf(PREFIX + " MANIFEST %b", manifest != null);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onResource(String name) {
+                    printStream.printf(PREFIX + " RESOURCE %s", name);
+                }
+            }
+
+            /**
+             * A decorator for another listener to only print transformation and error events.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class WithTransformationsOnly extends Adapter {
+
+                /**
+                 * The delegate to forward events to.
+                 */
+                private final Listener delegate;
+
+                /**
+                 * Creates a new listener decorator that filter any event that is not related to transformation or errors.
+                 *
+                 * @param delegate The delegate to forward events to.
+                 */
+                public WithTransformationsOnly(Listener delegate) {
+                    this.delegate = delegate;
+                }
+
+                @Override
+                public void onTransformation(TypeDescription typeDescription, Plugin plugin) {
+                    delegate.onTransformation(typeDescription, plugin);
+                }
+
+                @Override
+                public void onTransformation(TypeDescription typeDescription, List<Plugin> plugins) {
+                    delegate.onTransformation(typeDescription, plugins);
+                }
+
+                @Override
+                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
+                    delegate.onError(typeDescription, plugin, throwable);
+                }
+
+                @Override
+                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
+                    delegate.onError(typeDescription, throwables);
+                }
+
+                @Override
+                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
+                    delegate.onError(throwables);
+                }
+
+                @Override
+                public void onError(Plugin plugin, Throwable throwable) {
+                    delegate.onError(plugin, throwable);
+                }
+            }
+
+            /**
+             * A decorator for another listener to only print error events.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class WithErrorsOnly extends Adapter {
+
+                /**
+                 * The delegate to forward events to.
+                 */
+                private final Listener delegate;
+
+                /**
+                 * Creates a new listener decorator that filter any event that is not related to errors.
+                 *
+                 * @param delegate The delegate to forward events to.
+                 */
+                public WithErrorsOnly(Listener delegate) {
+                    this.delegate = delegate;
+                }
+
+                @Override
+                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
+                    delegate.onError(typeDescription, plugin, throwable);
+                }
+
+                @Override
+                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
+                    delegate.onError(typeDescription, throwables);
+                }
+
+                @Override
+                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
+                    delegate.onError(throwables);
+                }
+
+                @Override
+                public void onError(Plugin plugin, Throwable throwable) {
+                    delegate.onError(plugin, throwable);
+                }
+            }
+
+            /**
+             * A listener decorator that forwards events to an error handler if they are applicable.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class ForErrorHandler extends Adapter {
+
+                /**
+                 * The error handler to delegate to.
+                 */
+                private final ErrorHandler errorHandler;
+
+                /**
+                 * Creates a new listener representation for an error handler.
+                 *
+                 * @param errorHandler The error handler to delegate to.
+                 */
+                public ForErrorHandler(ErrorHandler errorHandler) {
+                    this.errorHandler = errorHandler;
+                }
+
+                @Override
+                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
+                    errorHandler.onError(typeDescription, plugin, throwable);
+                }
+
+                @Override
+                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
+                    errorHandler.onError(typeDescription, throwables);
+                }
+
+                @Override
+                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
+                    errorHandler.onError(throwables);
+                }
+
+                @Override
+                public void onError(Plugin plugin, Throwable throwable) {
+                    errorHandler.onError(plugin, throwable);
+                }
+
+                @Override
+                public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
+                    errorHandler.onLiveInitializer(typeDescription, definingType);
+                }
+
+                @Override
+                public void onUnresolved(String typeName) {
+                    errorHandler.onUnresolved(typeName);
+                }
+
+                @Override
+                public void onManifest(Manifest manifest) {
+                    errorHandler.onManifest(manifest);
+                }
+
+                @Override
+                public void onResource(String name) {
+                    errorHandler.onResource(name);
+                }
+            }
+
+            /**
+             * A compound listener.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class Compound implements Listener {
+
+                /**
+                 * A list of listeners that are represented by this compound instance.
+                 */
+                private final List<Listener> listeners;
+
+                /**
+                 * Creates a new compound listener.
+                 *
+                 * @param listener A list of listeners that are represented by this compound instance.
+                 */
+                public Compound(Listener... listener) {
+                    this(Arrays.asList(listener));
+                }
+
+                /**
+                 * Creates a new compound listener.
+                 *
+                 * @param listeners A list of listeners that are represented by this compound instance.
+                 */
+                public Compound(List<? extends Listener> listeners) {
+                    this.listeners = new ArrayList<Listener>();
+                    for (Listener listener : listeners) {
+                        if (listener instanceof Listener.Compound) {
+                            this.listeners.addAll(((Listener.Compound) listener).listeners);
+                        } else if (!(listener instanceof NoOp)) {
+                            this.listeners.add(listener);
+                        }
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onDiscovery(String typeName) {
+                    for (Listener listener : listeners) {
+                        listener.onDiscovery(typeName);
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onTransformation(TypeDescription typeDescription, Plugin plugin) {
+                    for (Listener listener : listeners) {
+                        listener.onTransformation(typeDescription, plugin);
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onTransformation(TypeDescription typeDescription, List<Plugin> plugins) {
+                    for (Listener listener : listeners) {
+                        listener.onTransformation(typeDescription, plugins);
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onIgnored(TypeDescription typeDescription, Plugin plugin) {
+                    for (Listener listener : listeners) {
+                        listener.onIgnored(typeDescription, plugin);
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onIgnored(TypeDescription typeDescription, List<Plugin> plugins) {
+                    for (Listener listener : listeners) {
+                        listener.onIgnored(typeDescription, plugins);
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
+                    for (Listener listener : listeners) {
+                        listener.onError(typeDescription, plugin, throwable);
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
+                    for (Listener listener : listeners) {
+                        listener.onError(typeDescription, throwables);
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
+                    for (Listener listener : listeners) {
+                        listener.onError(throwables);
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(Plugin plugin, Throwable throwable) {
+                    for (Listener listener : listeners) {
+                        listener.onError(plugin, throwable);
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
+                    for (Listener listener : listeners) {
+                        listener.onLiveInitializer(typeDescription, definingType);
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onComplete(TypeDescription typeDescription) {
+                    for (Listener listener : listeners) {
+                        listener.onComplete(typeDescription);
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onUnresolved(String typeName) {
+                    for (Listener listener : listeners) {
+                        listener.onUnresolved(typeName);
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onManifest(Manifest manifest) {
+                    for (Listener listener : listeners) {
+                        listener.onManifest(manifest);
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onResource(String name) {
+                    for (Listener listener : listeners) {
+                        listener.onResource(name);
+                    }
+                }
+            }
+        }
+
+        /**
+         * A source for a plugin engine provides binary elements to consider for transformation.
+         */
+        interface Source {
+
+            /**
+             * Initiates reading from a source.
+             *
+             * @return The origin to read from.
+             * @throws IOException If an I/O error occurs.
+             */
+            Origin read() throws IOException;
+
+            /**
+             * An origin for elements.
+             */
+            interface Origin extends Iterable<Element>, Closeable {
+
+                /**
+                 * Indicates that no manifest exists.
+                 */
+                Manifest NO_MANIFEST = null;
+
+                /**
+                 * Returns the manifest file of the source location or {@code null} if no manifest exists.
+                 *
+                 * @return This source's manifest or {@code null}.
+                 * @throws IOException If an I/O error occurs.
+                 */
+                Manifest getManifest() throws IOException;
+
+                /**
+                 * Returns a class file locator for the represented source. If the class file locator needs to be closed, it is the responsibility
+                 * of this origin to close the locator or its underlying resources.
+                 *
+                 * @return A class file locator for locating class files of this instance..
+                 */
+                ClassFileLocator getClassFileLocator();
+
+                /**
+                 * An origin implementation for a jar file.
+                 */
+                class ForJarFile implements Origin {
+
+                    /**
+                     * The represented file.
+                     */
+                    private final JarFile file;
+
+                    /**
+                     * Creates a new origin for a jar file.
+                     *
+                     * @param file The represented file.
+                     */
+                    public ForJarFile(JarFile file) {
+                        this.file = file;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Manifest getManifest() throws IOException {
+                        return file.getManifest();
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public ClassFileLocator getClassFileLocator() {
+                        return new ClassFileLocator.ForJarFile(file);
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void close() throws IOException {
+                        file.close();
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Iterator<Element> iterator() {
+                        return new JarFileIterator(file.entries());
+                    }
+
+                    /**
+                     * An iterator for jar file entries.
+                     */
+                    protected class JarFileIterator implements Iterator<Element> {
+
+                        /**
+                         * The represented enumeration.
+                         */
+                        private final Enumeration<JarEntry> enumeration;
+
+                        /**
+                         * Creates a new jar file iterator.
+                         *
+                         * @param enumeration The represented enumeration.
+                         */
+                        protected JarFileIterator(Enumeration<JarEntry> enumeration) {
+                            this.enumeration = enumeration;
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public boolean hasNext() {
+                            return enumeration.hasMoreElements();
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public Element next() {
+                            return new Element.ForJarEntry(file, enumeration.nextElement());
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public void remove() {
+                            throw new UnsupportedOperationException("remove");
+                        }
+                    }
+                }
+
+                /**
+                 * An origin implementation for a jar file that is mapped into memory. The jar file's central directory is read once
+                 * when the origin is created and each entry is decoded directly from the mapped buffer by the thread that requests
+                 * it. Unlike a {@link JarFile}, which synchronizes access to its entries, the elements and the class file locator of
+                 * this origin can be read concurrently such that a parallel dispatcher can inflate entries concurrently.
+                 */
+                class ForMappedJarFile implements Origin {
+
+                    /**
+                     * The signature of a local file header.
+                     */
+                    protected static final int LOCAL_FILE_HEADER = 0x04034b50;
+
+                    /**
+                     * The signature of a central directory file header.
+                     */
+                    protected static final int CENTRAL_DIRECTORY = 0x02014b50;
+
+                    /**
+                     * The signature of the end of central directory record.
+                     */
+                    protected static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+
+                    /**
+                     * The signature of the ZIP64 end of central directory record.
+                     */
+                    protected static final int ZIP64_END_OF_CENTRAL_DIRECTORY = 0x06064b50;
+
+                    /**
+                     * The signature of the ZIP64 end of central directory locator.
+                     */
+                    protected static final int ZIP64_LOCATOR = 0x07064b50;
+
+                    /**
+                     * The header id of the ZIP64 extended information extra field.
+                     */
+                    private static final int ZIP64_EXTRA = 0x0001;
+
+                    /**
+                     * A marker for a value that is stored in the ZIP64 extended information extra field.
+                     */
+                    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+                    /**
+                     * The entries of the mapped jar file by their names in the order of the central directory.
+                     */
+                    private final Map<String, Element.ForMappedJarEntry> entries;
+
+                    /**
+                     * Creates a new origin for a jar file that is mapped into memory.
+                     *
+                     * @param buffer A buffer that contains the jar file.
+                     * @throws IOException If the buffer does not contain a valid jar file.
+                     */
+                    public ForMappedJarFile(ByteBuffer buffer) throws IOException {
+                        entries = entries(buffer);
+                    }
+
+                    /**
+                     * Reads the central directory of a jar file.
+                     *
+                     * @param buffer A buffer that contains the jar file.
+                     * @return The entries of the central directory by their names.
+                     * @throws IOException If the buffer does not contain a valid jar file.
+                     */
+                    protected static Map<String, Element.ForMappedJarEntry> entries(ByteBuffer buffer) throws IOException {
+                        int end = buffer.limit() - 22, minimum = Math.max(0, end - 0xFFFF);
+                        while (end >= minimum && u32(buffer, end) != END_OF_CENTRAL_DIRECTORY) {
+                            end--;
+                        }
+                        if (end < minimum) {
+                            throw new ZipException("Cannot locate end of central directory");
+                        }
+                        long count = u16(buffer, end + 10), offset = u32(buffer, end + 16);
+                        if ((count == 0xFFFF || offset == ZIP64_MAGIC) && end >= 20 && u32(buffer, end - 20) == ZIP64_LOCATOR) {
+                            int position = checked(buffer, u64(buffer, end - 12), 56);
+                            if (u32(buffer, position) != ZIP64_END_OF_CENTRAL_DIRECTORY) {
+                                throw new ZipException("Malformed ZIP64 end of central directory");
+                            }
+                            count = u64(buffer, position + 32);
+                            offset = u64(buffer, position + 48);
+                        }
+                        Map<String, Element.ForMappedJarEntry> entries = new LinkedHashMap<String, Element.ForMappedJarEntry>();
+                        int position = checked(buffer, offset, 0);
+                        for (long index = 0; index < count; index++) {
+                            if (position > buffer.limit() - 46 || u32(buffer, position) != CENTRAL_DIRECTORY) {
+                                throw new ZipException("Malformed central directory entry at " + position);
+                            }
+                            int nameLength = u16(buffer, position + 28), extraLength = u16(buffer, position + 30);
+                            long compressedSize = u32(buffer, position + 20), size = u32(buffer, position + 24), header = u32(buffer, position + 42);
+                            String name = new String(bytes(buffer, checked(buffer, position + 46, nameLength), nameLength), "UTF-8");
+                            if (compressedSize == ZIP64_MAGIC || size == ZIP64_MAGIC || header == ZIP64_MAGIC) {
+                                int extra = checked(buffer, position + 46 + nameLength, extraLength), limit = extra + extraLength;
+                                while (extra + 4 <= limit) {
+                                    int length = u16(buffer, extra + 2);
+                                    if (u16(buffer, extra) == ZIP64_EXTRA) {
+                                        int field = extra + 4;
+                                        if (size == ZIP64_MAGIC && field + 8 <= limit) {
+                                            size = u64(buffer, field);
+                                            field += 8;
+                                        }
+                                        if (compressedSize == ZIP64_MAGIC && field + 8 <= limit) {
+                                            compressedSize = u64(buffer, field);
+                                            field += 8;
+                                        }
+                                        if (header == ZIP64_MAGIC && field + 8 <= limit) {
+                                            header = u64(buffer, field);
+                                        }
+                                        break;
+                                    }
+                                    extra += 4 + length;
+                                }
+                            }
+                            if (!entries.containsKey(name)) {
+                                entries.put(name, new Element.ForMappedJarEntry(buffer,
+                                        name,
+                                        u16(buffer, position + 8),
+                                        u16(buffer, position + 10),
+                                        (int) u32(buffer, position + 12),
+                                        u32(buffer, position + 16),
+                                        checked(buffer, header, 30),
+                                        checked(buffer, compressedSize, 0),
+                                        checked(size)));
+                            }
+                            position += 46 + nameLength + extraLength + u16(buffer, position + 32);
+                        }
+                        return entries;
+                    }
+
+                    /**
+                     * Reads an unsigned little-endian 16 bit value.
+                     *
+                     * @param buffer The buffer to read from.
+                     * @param index  The index of the value.
+                     * @return The read value.
+                     */
+                    protected static int u16(ByteBuffer buffer, int index) {
+                        return (buffer.get(index) & 0xFF) | (buffer.get(index + 1) & 0xFF) << 8;
+                    }
+
+                    /**
+                     * Reads an unsigned little-endian 32 bit value.
+                     *
+                     * @param buffer The buffer to read from.
+                     * @param index  The index of the value.
+                     * @return The read value.
+                     */
+                    protected static long u32(ByteBuffer buffer, int index) {
+                        return u16(buffer, index) | (long) u16(buffer, index + 2) << 16;
+                    }
+
+                    /**
+                     * Reads a little-endian 64 bit value.
+                     *
+                     * @param buffer The buffer to read from.
+                     * @param index  The index of the value.
+                     * @return The read value.
+                     */
+                    protected static long u64(ByteBuffer buffer, int index) {
+                        return u32(buffer, index) | u32(buffer, index + 4) << 32;
+                    }
+
+                    /**
+                     * Reads a range of bytes from a buffer without altering the buffer's position such that the buffer can be
+                     * read concurrently.
+                     *
+                     * @param buffer The buffer to read from.
+                     * @param index  The index of the first byte.
+                     * @param length The number of bytes to read.
+                     * @return An array containing the read bytes.
+                     */
+                    protected static byte[] bytes(ByteBuffer buffer, int index, int length) {
+                        byte[] bytes = new byte[length];
+                        ByteBuffer duplicate = buffer.duplicate();
+                        duplicate.position(index);
+                        duplicate.get(bytes);
+                        return bytes;
+                    }
+
+                    /**
+                     * Validates that a range is contained within a buffer.
+                     *
+                     * @param buffer The buffer that should contain the range.
+                     * @param index  The index of the range.
+                     * @param length The length of the range.
+                     * @return The index as an integer.
+                     * @throws ZipException If the range is not contained within the buffer.
+                     */
+                    private static int checked(ByteBuffer buffer, long index, long length) throws ZipException {
+                        if (index < 0 || length < 0 || index + length > buffer.limit()) {
+                            throw new ZipException("Malformed jar file: range exceeds file size");
+                        }
+                        return (int) index;
+                    }
+
+                    /**
+                     * Validates that an uncompressed size can be represented as a byte array.
+                     *
+                     * @param size The uncompressed size.
+                     * @return The size as an integer.
+                     * @throws ZipException If the size cannot be represented as an array.
+                     */
+                    private static int checked(long size) throws ZipException {
+                        if (size < 0 || size > Integer.MAX_VALUE - 8) {
+                            throw new ZipException("Entry is too large to be processed: " + size);
+                        }
+                        return (int) size;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Manifest getManifest() throws IOException {
+                        Element element = entries.get(JarFile.MANIFEST_NAME);
+                        if (element == null) {
+                            return NO_MANIFEST;
+                        }
+                        InputStream inputStream = element.getInputStream();
+                        try {
+                            return new Manifest(inputStream);
+                        } finally {
+                            inputStream.close();
+                        }
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public ClassFileLocator getClassFileLocator() {
+                        return new MappedClassFileLocator();
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Iterator<Element> iterator() {
+                        return Collections.<Element>unmodifiableCollection(entries.values()).iterator();
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void close() {
+                        /* do nothing, the mapping is released once the buffer is garbage collected */
+                    }
+
+                    /**
+                     * A class file locator that reads class files from the mapped jar file.
+                     */
+                    protected class MappedClassFileLocator implements ClassFileLocator {
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public Resolution locate(String name) throws IOException {
+                            Element element = entries.get(name.replace('.', '/') + CLASS_FILE_EXTENSION);
+                            if (element == null) {
+                                return new Resolution.Illegal(name);
+                            }
+                            InputStream inputStream = element.getInputStream();
+                            try {
+                                return new Resolution.Explicit(StreamDrainer.DEFAULT.drain(inputStream));
+                            } finally {
+                                inputStream.close();
+                            }
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public void close() {
+                            /* do nothing */
+                        }
+                    }
+                }
+            }
+
+            /**
+             * Represents a binary element found in a source location.
+             */
+            interface Element {
+
+                /**
+                 * Returns the element's relative path and name.
+                 *
+                 * @return The element's path and name.
+                 */
+                String getName();
+
+                /**
+                 * Returns an input stream to read this element's binary information.
+                 *
+                 * @return An input stream that represents this element's binary information.
+                 * @throws IOException If an I/O error occurs.
+                 */
+                InputStream getInputStream() throws IOException;
+
+                /**
+                 * Resolves this element to a more specialized form if possible. Doing so allows for performance
+                 * optimizations if more specialized formats are available.
+                 *
+                 * @param type The requested spezialized type.
+                 * @param <T>  The requested spezialized type.
+                 * @return The resolved element or {@code null} if a transformation is impossible.
+                 */
+                <T> T resolveAs(Class<T> type);
+
+                /**
+                 * An element representation for a byte array.
+                 */
+                @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "Not mutating the byte array is part of the class contract.")
+                @HashCodeAndEqualsPlugin.Enhance
+                class ForByteArray implements Element {
+
+                    /**
+                     * The element's name.
+                     */
+                    private final String name;
+
+                    /**
+                     * The element's binary representation.
+                     */
+                    private final byte[] binaryRepresentation;
+
+                    /**
+                     * Creates an element that is represented by a byte array.
+                     *
+                     * @param name                 The element's name.
+                     * @param binaryRepresentation The element's binary representation.
+                     */
+                    public ForByteArray(String name, byte[] binaryRepresentation) {
+                        this.name = name;
+                        this.binaryRepresentation = binaryRepresentation;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public String getName() {
+                        return name;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public InputStream getInputStream() {
+                        return new ByteArrayInputStream(binaryRepresentation);
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public <T> T resolveAs(Class<T> type) {
+                        return null;
+                    }
+                }
+
+                /**
+                 * An element representation for a file.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                class ForFile implements Element {
+
+                    /**
+                     * The root folder of the represented source.
+                     */
+                    private final File root;
+
+                    /**
+                     * The file location of the represented file that is located within the root directory.
+                     */
+                    private final File file;
+
+                    /**
+                     * Creates an element representation for a file.
+                     *
+                     * @param root The root folder of the represented source.
+                     * @param file The file location of the represented file that is located within the root directory.
+                     */
+                    public ForFile(File root, File file) {
+                        this.root = root;
+                        this.file = file;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public String getName() {
+                        return root.getAbsoluteFile().toURI().relativize(file.getAbsoluteFile().toURI()).getPath();
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public InputStream getInputStream() throws IOException {
+                        return new FileInputStream(file);
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    @SuppressWarnings("unchecked")
+                    public <T> T resolveAs(Class<T> type) {
+                        return File.class.isAssignableFrom(type)
+                                ? (T) file
+                                : null;
+                    }
+                }
+
+                /**
+                 * Represents a jar file entry as an element.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                class ForJarEntry implements Element {
+
+                    /**
+                     * The source's underlying jar file.
+                     */
+                    private final JarFile file;
+
+                    /**
+                     * The entry that is represented by this element.
+                     */
+                    private final JarEntry entry;
+
+                    /**
+                     * Creates a new element representation for a jar file entry.
+                     *
+                     * @param file  The source's underlying jar file.
+                     * @param entry The entry that is represented by this element.
+                     */
+                    public ForJarEntry(JarFile file, JarEntry entry) {
+                        this.file = file;
+                        this.entry = entry;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public String getName() {
+                        return entry.getName();
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public InputStream getInputStream() throws IOException {
+                        return file.getInputStream(entry);
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    @SuppressWarnings("unchecked")
+                    public <T> T resolveAs(Class<T> type) {
+                        return JarEntry.class.isAssignableFrom(type)
+                                ? (T) entry
+                                : null;
+                    }
+                }
+
+                /**
+                 * Represents an entry of a jar file that is mapped into memory. The entry is decoded from the mapped buffer by the
+                 * thread that requests its input stream. An entry resolves itself as a {@link ForMappedJarEntry} such that a
+                 * {@link Target.Sink} can transfer its compressed data without inflating and deflating it again.
+                 */
+                class ForMappedJarEntry implements Element {
+
+                    /**
+                     * The general purpose flag that indicates an encrypted entry.
+                     */
+                    private static final int ENCRYPTED = 1;
+
+                    /**
+                     * The buffer that contains the jar file.
+                     */
+                    private final ByteBuffer buffer;
+
+                    /**
+                     * The entry's name.
+                     */
+                    private final String name;
+
+                    /**
+                     * The entry's general purpose flags.
+                     */
+                    private final int flags;
+
+                    /**
+                     * The entry's compression method.
+                     */
+                    private final int method;
+
+                    /**
+                     * The entry's modification time in MS-DOS format where the date is stored in the upper two bytes.
+                     */
+                    private final int time;
+
+                    /**
+                     * The CRC-32 checksum of the entry's uncompressed data.
+                     */
+                    private final long crc;
+
+                    /**
+                     * The offset of the entry's local file header.
+                     */
+                    private final int offset;
+
+                    /**
+                     * The entry's compressed size.
+                     */
+                    private final int compressedSize;
+
+                    /**
+                     * The entry's uncompressed size.
+                     */
+                    private final int size;
+
+                    /**
+                     * Creates a new element for an entry of a mapped jar file.
+                     *
+                     * @param buffer         The buffer that contains the jar file.
+                     * @param name           The entry's name.
+                     * @param flags          The entry's general purpose flags.
+                     * @param method         The entry's compression method.
+                     * @param time           The entry's modification time in MS-DOS format where the date is stored in the upper two bytes.
+                     * @param crc            The CRC-32 checksum of the entry's uncompressed data.
+                     * @param offset         The offset of the entry's local file header.
+                     * @param compressedSize The entry's compressed size.
+                     * @param size           The entry's uncompressed size.
+                     */
+                    protected ForMappedJarEntry(ByteBuffer buffer,
+                                                String name,
+                                                int flags,
+                                                int method,
+                                                int time,
+                                                long crc,
+                                                int offset,
+                                                int compressedSize,
+                                                int size) {
+                        this.buffer = buffer;
+                        this.name = name;
+                        this.flags = flags;
+                        this.method = method;
+                        this.time = time;
+                        this.crc = crc;
+                        this.offset = offset;
+                        this.compressedSize = compressedSize;
+                        this.size = size;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public String getName() {
+                        return name;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public InputStream getInputStream() throws IOException {
+                        int start = start();
+                        switch (method) {
+                            case ZipEntry.STORED:
+                                return new ByteArrayInputStream(Origin.ForMappedJarFile.bytes(buffer, start, compressedSize));
+                            case ZipEntry.DEFLATED:
+                                byte[] compressed = new byte[compressedSize + 1];
+                                ByteBuffer duplicate = buffer.duplicate();
+                                duplicate.position(start);
+                                duplicate.get(compressed, 0, compressedSize);
+                                Inflater inflater = new Inflater(true);
+                                try {
+                                    inflater.setInput(compressed);
+                                    byte[] binaryRepresentation = new byte[size];
+                                    int length = 0;
+                                    while (length < size && !inflater.finished()) {
+                                        int inflated = inflater.inflate(binaryRepresentation, length, size - length);
+                                        if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                                            break;
+                                        }
+                                        length += inflated;
+                                    }
+                                    if (length != size) {
+                                        throw new ZipException("Unexpected size of inflated entry: " + name);
+                                    }
+                                    return new ByteArrayInputStream(binaryRepresentation);
+                                } catch (DataFormatException exception) {
+                                    throw new ZipException("Cannot inflate " + name + ": " + exception.getMessage());
+                                } finally {
+                                    inflater.end();
+                                }
+                            default:
+                                throw new ZipException("Unsupported compression method " + method + ": " + name);
+                        }
+                    }
+
+                    /**
+                     * Returns the entry's data in its compressed form.
+                     *
+                     * @return The entry's compressed data.
+                     * @throws IOException If an I/O error occurs.
+                     */
+                    public byte[] getCompressedData() throws IOException {
+                        return Origin.ForMappedJarFile.bytes(buffer, start(), compressedSize);
+                    }
+
+                    /**
+                     * Resolves the index of the entry's data.
+                     *
+                     * @return The index of the entry's data.
+                     * @throws IOException If the entry's data cannot be located.
+                     */
+                    private int start() throws IOException {
+                        if (isEncrypted()) {
+                            throw new ZipException("Encrypted entries are not supported: " + name);
+                        } else if (offset > buffer.limit() - 30 || Origin.ForMappedJarFile.u32(buffer, offset) != Origin.ForMappedJarFile.LOCAL_FILE_HEADER) {
+                            throw new ZipException("Malformed local file header: " + name);
+                        }
+                        int start = offset + 30 + Origin.ForMappedJarFile.u16(buffer, offset + 26) + Origin.ForMappedJarFile.u16(buffer, offset + 28);
+                        if (start > buffer.limit() - compressedSize) {
+                            throw new ZipException("Entry exceeds file size: " + name);
+                        }
+                        return start;
+                    }
+
+                    /**
+                     * Returns {@code true} if the entry is encrypted.
+                     *
+                     * @return {@code true} if the entry is encrypted.
+                     */
+                    public boolean isEncrypted() {
+                        return (flags & ENCRYPTED) != 0;
+                    }
+
+                    /**
+                     * Returns the entry's compression method.
+                     *
+                     * @return The entry's compression method.
+                     */
+                    public int getMethod() {
+                        return method;
+                    }
+
+                    /**
+                     * Returns the entry's modification time in MS-DOS format where the date is stored in the upper two bytes.
+                     *
+                     * @return The entry's modification time in MS-DOS format.
+                     */
+                    public int getTime() {
+                        return time;
+                    }
+
+                    /**
+                     * Returns the CRC-32 checksum of the entry's uncompressed data.
+                     *
+                     * @return The CRC-32 checksum of the entry's uncompressed data.
+                     */
+                    public long getCrc() {
+                        return crc;
+                    }
+
+                    /**
+                     * Returns the entry's compressed size.
+                     *
+                     * @return The entry's compressed size.
+                     */
+                    public int getCompressedSize() {
+                        return compressedSize;
+                    }
+
+                    /**
+                     * Returns the entry's uncompressed size.
+                     *
+                     * @return The entry's uncompressed size.
+                     */
+                    public int getSize() {
+                        return size;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    @SuppressWarnings("unchecked")
+                    public <T> T resolveAs(Class<T> type) {
+                        return ForMappedJarEntry.class.isAssignableFrom(type)
+                                ? (T) this
+                                : null;
+                    }
+                }
+            }
+
+            /**
+             * An empty source that does not contain any elements or a manifest.
+             */
+            enum Empty implements Source, Origin {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Origin read() {
+                    return this;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public ClassFileLocator getClassFileLocator() {
+                    return ClassFileLocator.NoOp.INSTANCE;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Manifest getManifest() {
+                    return NO_MANIFEST;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Iterator<Element> iterator() {
+                    return Collections.<Element>emptySet().iterator();
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void close() {
+                    /* do nothing */
+                }
+            }
+
+            /**
+             * A source that represents a collection of in-memory resources that are represented as byte arrays.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class InMemory implements Source, Origin {
+
+                /**
+                 * A mapping of resource names to their binary representation.
+                 */
+                private final Map<String, byte[]> storage;
+
+                /**
+                 * Creates a new in-memory source.
+                 *
+                 * @param storage A mapping of resource names to their binary representation.
+                 */
+                public InMemory(Map<String, byte[]> storage) {
+                    this.storage = storage;
+                }
+
+                /**
+                 * Represents a collection of types as a in-memory source.
+                 *
+                 * @param type The types to represent.
+                 * @return A source representing the supplied types.
+                 */
+                public static Source ofTypes(Class<?>... type) {
+                    return ofTypes(Arrays.asList(type));
+                }
+
+                /**
+                 * Represents a collection of types as a in-memory source.
+                 *
+                 * @param types The types to represent.
+                 * @return A source representing the supplied types.
+                 */
+                public static Source ofTypes(Collection<? extends Class<?>> types) {
+                    Map<TypeDescription, byte[]> binaryRepresentations = new HashMap<TypeDescription, byte[]>();
+                    for (Class<?> type : types) {
+                        binaryRepresentations.put(TypeDescription.ForLoadedType.of(type), ClassFileLocator.ForClassLoader.read(type));
+                    }
+                    return ofTypes(binaryRepresentations);
+                }
+
+                /**
+                 * Represents a map of type names to their binary representation as an in-memory source.
+                 *
+                 * @param binaryRepresentations A mapping of type names to their binary representation.
+                 * @return A source representing the supplied types.
+                 */
+                public static Source ofTypes(Map<TypeDescription, byte[]> binaryRepresentations) {
+                    Map<String, byte[]> storage = new HashMap<String, byte[]>();
+                    for (Map.Entry<TypeDescription, byte[]> entry : binaryRepresentations.entrySet()) {
+                        storage.put(entry.getKey().getInternalName() + CLASS_FILE_EXTENSION, entry.getValue());
+                    }
+                    return new InMemory(storage);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Origin read() {
+                    return this;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public ClassFileLocator getClassFileLocator() {
+                    return ClassFileLocator.Simple.ofResources(storage);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Manifest getManifest() throws IOException {
+                    byte[] binaryRepresentation = storage.get(JarFile.MANIFEST_NAME);
+                    if (binaryRepresentation == null) {
+                        return NO_MANIFEST;
+                    } else {
+                        return new Manifest(new ByteArrayInputStream(binaryRepresentation));
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Iterator<Element> iterator() {
+                    return new MapEntryIterator(storage.entrySet().iterator());
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void close() {
+                    /* do nothing */
+                }
+
+                /**
+                 * An iterator that represents map entries as sources.
+                 */
+                protected static class MapEntryIterator implements Iterator<Element> {
+
+                    /**
+                     * The represented iterator.
+                     */
+                    private final Iterator<Map.Entry<String, byte[]>> iterator;
+
+                    /**
+                     * Creates a new map entry iterator.
+                     *
+                     * @param iterator The represented iterator.
+                     */
+                    protected MapEntryIterator(Iterator<Map.Entry<String, byte[]>> iterator) {
+                        this.iterator = iterator;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Element next() {
+                        Map.Entry<String, byte[]> entry = iterator.next();
+                        return new Element.ForByteArray(entry.getKey(), entry.getValue());
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void remove() {
+                        throw new UnsupportedOperationException("remove");
+                    }
+                }
+            }
+
+            /**
+             * Represents the contents of a folder as class files.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class ForFolder implements Source, Origin {
+
+                /**
+                 * The folder to represent.
+                 */
+                private final File folder;
+
+                /**
+                 * Creates a new source representation for a given folder.
+                 *
+                 * @param folder The folder to represent.
+                 */
+                public ForFolder(File folder) {
+                    this.folder = folder;
+                }
+
+                /**
+                 * Initializes a reading from this source.
+                 *
+                 * @return A source that represents the resource of this origin.
+                 */
+                public Origin read() {
+                    return this;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public ClassFileLocator getClassFileLocator() {
+                    return new ClassFileLocator.ForFolder(folder);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Manifest getManifest() throws IOException {
+                    File file = new File(folder, JarFile.MANIFEST_NAME);
+                    if (file.exists()) {
+                        InputStream inputStream = new FileInputStream(file);
+                        try {
+                            return new Manifest(inputStream);
+                        } finally {
+                            inputStream.close();
+                        }
+                    } else {
+                        return NO_MANIFEST;
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Iterator<Element> iterator() {
+                    return new FolderIterator(folder);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void close() {
+                    /* do nothing */
+                }
+
+                /**
+                 * An iterator that exposes all files within a folder structure as elements.
+                 */
+                protected class FolderIterator implements Iterator<Element> {
+
+                    /**
+                     * A list of files and folders to process.
+                     */
+                    private final LinkedList<File> files;
+
+                    /**
+                     * Creates a new iterator representation for all files within a folder.
+                     *
+                     * @param folder The root folder.
+                     */
+                    protected FolderIterator(File folder) {
+                        files = new LinkedList<File>(Collections.singleton(folder));
+                        File candidate;
+                        do {
+                            candidate = files.removeFirst();
+                            File[] file = candidate.listFiles();
+                            if (file != null) {
+                                files.addAll(0, Arrays.asList(file));
+                            }
+                        } while (!files.isEmpty() && (files.peek().isDirectory() || files.peek().equals(new File(folder, JarFile.MANIFEST_NAME))));
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public boolean hasNext() {
+                        return !files.isEmpty();
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    @SuppressFBWarnings(value = "IT_NO_SUCH_ELEMENT", justification = "Exception is thrown by invoking removeFirst on an empty list.")
+                    public Element next() {
+                        try {
+                            return new Element.ForFile(folder, files.removeFirst());
+                        } finally {
+                            while (!files.isEmpty() && (files.peek().isDirectory() || files.peek().equals(new File(folder, JarFile.MANIFEST_NAME)))) {
+                                File folder = files.removeFirst();
+                                File[] file = folder.listFiles();
+                                if (file != null) {
+                                    files.addAll(0, Arrays.asList(file));
+                                }
+                            }
+                        }
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void remove() {
+                        throw new UnsupportedOperationException("remove");
+                    }
+                }
+            }
+
+            /**
+             * Represents a jar file as a source.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class ForJarFile implements Source {
+
+                /**
+                 * The jar file being represented by this source.
+                 */
+                private final File file;
+
+                /**
+                 * Creates a new source for a jar file.
+                 *
+                 * @param file The jar file being represented by this source.
+                 */
+                public ForJarFile(File file) {
+                    this.file = file;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Origin read() throws IOException {
+                    return new Origin.ForJarFile(new JarFile(file));
+                }
+            }
+
+            /**
+             * Represents a jar file as a source that is mapped into memory. The jar file's central directory is read once and
+             * entries are decoded by the threads that process them such that reading input is not serialized ahead of a parallel
+             * transformation. Jar files that are too large to be mapped into a single buffer are read as a {@link JarFile}. The
+             * mapping is only released when it is garbage collected what can prevent the deletion of the file on some platforms.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class ForMappedJarFile implements Source {
+
+                /**
+                 * The jar file being represented by this source.
+                 */
+                private final File file;
+
+                /**
+                 * Creates a new source for a jar file that is mapped into memory.
+                 *
+                 * @param file The jar file being represented by this source.
+                 */
+                public ForMappedJarFile(File file) {
+                    this.file = file;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Origin read() throws IOException {
+                    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+                    try {
+                        long length = randomAccessFile.length();
+                        return length > Integer.MAX_VALUE
+                                ? new Origin.ForJarFile(new JarFile(file))
+                                : new Origin.ForMappedJarFile(randomAccessFile.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, length));
+                    } finally {
+                        randomAccessFile.close();
+                    }
+                }
+            }
+        }
+
+        /**
+         * A target for a plugin engine represents a sink container for all elements that are supplied by a {@link Source}.
+         */
+        interface Target {
+
+            /**
+             * Initializes this target prior to writing.
+             *
+             * @param manifest The manifest for the target or {@code null} if no manifest was found.
+             * @return The sink to write to.
+             * @throws IOException If an I/O error occurs.
+             */
+            Sink write(Manifest manifest) throws IOException;
+
+            /**
+             * A sink represents an active writing process.
+             */
+            interface Sink extends Closeable {
+
+                /**
+                 * Stores the supplied binary representation of types in this sink.
+                 *
+                 * @param binaryRepresentations The binary representations to store.
+                 * @throws IOException If an I/O error occurs.
+                 */
+                void store(Map<TypeDescription, byte[]> binaryRepresentations) throws IOException;
+
+                /**
+                 * Retains the supplied element in its original form.
+                 *
+                 * @param element The element to retain.
+                 * @throws IOException If an I/O error occurs.
+                 */
+                void retain(Source.Element element) throws IOException;
+
+                /**
+                 * Implements a sink for a jar file.
+                 */
+                class ForJarOutputStream implements Sink {
+
+                    /**
+                     * The output stream to write to.
+                     */
+                    private final JarOutputStream outputStream;
+
+                    /**
+                     * Creates a new sink for a jar file.
+                     *
+                     * @param outputStream The output stream to write to.
+                     */
+                    public ForJarOutputStream(JarOutputStream outputStream) {
+                        this.outputStream = outputStream;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void store(Map<TypeDescription, byte[]> binaryRepresentations) throws IOException {
+                        for (Map.Entry<TypeDescription, byte[]> entry : binaryRepresentations.entrySet()) {
+                            outputStream.putNextEntry(new JarEntry(entry.getKey().getInternalName() + CLASS_FILE_EXTENSION));
+                            outputStream.write(entry.getValue());
+                            outputStream.closeEntry();
+                        }
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void retain(Source.Element element) throws IOException {
+                        JarEntry entry = element.resolveAs(JarEntry.class);
+                        outputStream.putNextEntry(entry == null
+                                ? new JarEntry(element.getName())
+                                : entry);
+                        InputStream inputStream = element.getInputStream();
+                        try {
+                            byte[] buffer = new byte[1024];
+                            int length;
+                            while ((length = inputStream.read(buffer)) != -1) {
+                                outputStream.write(buffer, 0, length);
+                            }
+                        } finally {
+                            inputStream.close();
+                        }
+                        outputStream.closeEntry();
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void close() throws IOException {
+                        outputStream.close();
+                    }
+                }
+
+                /**
+                 * A sink that writes a jar file where entries are compressed in parallel but written in the order of their submission. Entries
+                 * are compressed on the threads of an executor service that is shut down when this sink is closed. Alternatively, entries might be
+                 * stored uncompressed what is typically preferable for intermediate build artifacts. Retained entries of a
+                 * {@link Source.ForMappedJarFile} are transferred in their compressed form, retaining their checksum, sizes and
+                 * modification time, such that resources and untransformed classes are neither inflated nor deflated.
+                 */
+                class ForParallelCompression implements Sink {
+
+                    /**
+                     * The signature of a local file header.
+                     */
+                    private static final int LOCAL_FILE_HEADER = 0x04034b50;
+
+                    /**
+                     * The signature of a central directory file header.
+                     */
+                    private static final int CENTRAL_DIRECTORY_HEADER = 0x02014b50;
+
+                    /**
+                     * The signature of the end of central directory record.
+                     */
+                    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+
+                    /**
+                     * The signature of the ZIP64 end of central directory record.
+                     */
+                    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY = 0x06064b50;
+
+                    /**
+                     * The signature of the ZIP64 end of central directory locator.
+                     */
+                    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR = 0x07064b50;
+
+                    /**
+                     * The header id of the ZIP64 extended information extra field.
+                     */
+                    private static final int ZIP64_EXTRA = 0x0001;
+
+                    /**
+                     * The minimum version that is required for extracting a regular entry.
+                     */
+                    private static final int VERSION = 20;
+
+                    /**
+                     * The minimum version that is required for extracting an entry with ZIP64 extensions.
+                     */
+                    private static final int ZIP64_VERSION = 45;
+
+                    /**
+                     * The general purpose flag that indicates UTF-8 encoded names.
+                     */
+                    private static final int UTF_8_FLAG = 0x0800;
+
+                    /**
+                     * The maximum value of an unsigned short.
+                     */
+                    private static final int MAXIMUM_SHORT = 0xFFFF;
+
+                    /**
+                     * The maximum value of an unsigned integer.
+                     */
+                    private static final long MAXIMUM_INTEGER = 0xFFFFFFFFL;
+
+                    /**
+                     * The output stream to write to.
+                     */
+                    private final OutputStream outputStream;
+
+                    /**
+                     * The executor service to compress entries with.
+                     */
+                    private final ExecutorService executorService;
+
+                    /**
+                     * {@code true} if entries are compressed.
+                     */
+                    private final boolean compressed;
+
+                    /**
+                     * The maximum amount of entries that are compressed or awaiting to be written.
+                     */
+                    private final int window;
+
+                    /**
+                     * The entries that are compressed or awaiting to be written in their order of submission.
+                     */
+                    private final LinkedList<Future<Record>> pending;
+
+                    /**
+                     * All records that were written.
+                     */
+                    private final List<Record> records;
+
+                    /**
+                     * The names of all submitted entries.
+                     */
+                    private final Set<String> names;
+
+                    /**
+                     * The amount of bytes that were written.
+                     */
+                    private long offset;
+
+                    /**
+                     * Creates a new sink that compresses entries in parallel.
+                     *
+                     * @param outputStream    The output stream to write to.
+                     * @param executorService The executor service to compress entries with which is shut down when this sink is closed.
+                     * @param compressed      {@code true} if entries are compressed.
+                     * @param window          The maximum amount of entries that are compressed or awaiting to be written.
+                     */
+                    public ForParallelCompression(OutputStream outputStream, ExecutorService executorService, boolean compressed, int window) {
+                        if (window < 1) {
+                            throw new IllegalArgumentException("Window must be positive: " + window);
+                        }
+                        this.outputStream = outputStream;
+                        this.executorService = executorService;
+                        this.compressed = compressed;
+                        this.window = window;
+                        pending = new LinkedList<Future<Record>>();
+                        records = new ArrayList<Record>();
+                        names = new HashSet<String>();
+                    }
+
+                    /**
+                     * Writes the supplied manifest as the first entry of this sink.
+                     *
+                     * @param manifest The manifest to write.
+                     * @throws IOException If an I/O error occurs.
+                     */
+                    public void write(Manifest manifest) throws IOException {
+                        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                        try {
+                            manifest.write(outputStream);
+                        } finally {
+                            outputStream.close();
+                        }
+                        submit(JarFile.MANIFEST_NAME, outputStream.toByteArray(), System.currentTimeMillis());
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void store(Map<TypeDescription, byte[]> binaryRepresentations) throws IOException {
+                        for (Map.Entry<TypeDescription, byte[]> entry : binaryRepresentations.entrySet()) {
+                            submit(entry.getKey().getInternalName() + CLASS_FILE_EXTENSION, entry.getValue(), System.currentTimeMillis());
+                        }
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void retain(Source.Element element) throws IOException {
+                        Source.Element.ForMappedJarEntry mappedEntry = element.resolveAs(Source.Element.ForMappedJarEntry.class);
+                        if (mappedEntry != null
+                                && !mappedEntry.isEncrypted()
+                                && (mappedEntry.getMethod() == ZipEntry.STORED || compressed && mappedEntry.getMethod() == ZipEntry.DEFLATED)) {
+                            if (!names.add(element.getName())) {
+                                throw new ZipException("duplicate entry: " + element.getName());
+                            }
+                            pending.add(executorService.submit(new Transfer(element.getName(), mappedEntry)));
+                            drain(false);
+                            return;
+                        }
+                        JarEntry entry = element.resolveAs(JarEntry.class);
+                        long time = entry == null || entry.getTime() == -1
+                                ? System.currentTimeMillis()
+                                : entry.getTime();
+                        if (element.getName().endsWith("/")) {
+                            submit(element.getName(), new byte[0], time);
+                        } else {
+                            InputStream inputStream = element.getInputStream();
+                            try {
+                                submit(element.getName(), StreamDrainer.DEFAULT.drain(inputStream), time);
+                            } finally {
+                                inputStream.close();
+                            }
+                        }
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void close() throws IOException {
+                        try {
+                            drain(true);
+                            long start = offset;
+                            for (Record record : records) {
+                                offset += record.writeCentralDirectoryHeader(outputStream);
+                            }
+                            long size = offset - start;
+                            if (records.size() >= MAXIMUM_SHORT || start >= MAXIMUM_INTEGER || size >= MAXIMUM_INTEGER) {
+                                writeInteger(outputStream, ZIP64_END_OF_CENTRAL_DIRECTORY);
+                                writeLong(outputStream, 44);
+                                writeShort(outputStream, ZIP64_VERSION);
+                                writeShort(outputStream, ZIP64_VERSION);
+                                writeInteger(outputStream, 0);
+                                writeInteger(outputStream, 0);
+                                writeLong(outputStream, records.size());
+                                writeLong(outputStream, records.size());
+                                writeLong(outputStream, size);
+                                writeLong(outputStream, start);
+                                writeInteger(outputStream, ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR);
+                                writeInteger(outputStream, 0);
+                                writeLong(outputStream, offset);
+                                writeInteger(outputStream, 1);
+                            }
+                            writeInteger(outputStream, END_OF_CENTRAL_DIRECTORY);
+                            writeShort(outputStream, 0);
+                            writeShort(outputStream, 0);
+                            writeShort(outputStream, Math.min(records.size(), MAXIMUM_SHORT));
+                            writeShort(outputStream, Math.min(records.size(), MAXIMUM_SHORT));
+                            writeInteger(outputStream, Math.min(size, MAXIMUM_INTEGER));
+                            writeInteger(outputStream, Math.min(start, MAXIMUM_INTEGER));
+                            writeShort(outputStream, 0);
+                        } finally {
+                            try {
+                                for (Future<Record> future : pending) {
+                                    future.cancel(true);
+                                }
+                                outputStream.close();
+                            } finally {
+                                executorService.shutdown();
+                            }
+                        }
+                    }
+
+                    /**
+                     * Submits an entry for compression.
+                     *
+                     * @param name                 The entry's name.
+                     * @param binaryRepresentation The entry's binary representation.
+                     * @param time                 The entry's modification time.
+                     * @throws IOException If an I/O error occurs.
+                     */
+                    private void submit(String name, byte[] binaryRepresentation, long time) throws IOException {
+                        if (!names.add(name)) {
+                            throw new ZipException("duplicate entry: " + name);
+                        }
+                        pending.add(executorService.submit(new Compression(name, binaryRepresentation, time, compressed)));
+                        drain(false);
+                    }
+
+                    /**
+                     * Writes all entries at the beginning of the submission queue that are already compressed or until the amount of pending
+                     * entries does no longer exceed the window.
+                     *
+                     * @param all {@code true} if all pending entries should be written.
+                     * @throws IOException If an I/O error occurs.
+                     */
+                    private void drain(boolean all) throws IOException {
+                        while (!pending.isEmpty() && (all || pending.size() > window || pending.getFirst().isDone())) {
+                            Record record;
+                            try {
+                                record = pending.removeFirst().get();
+                            } catch (InterruptedException exception) {
+                                Thread.currentThread().interrupt();
+                                throw new IllegalStateException(exception);
+                            } catch (ExecutionException exception) {
+                                Throwable cause = exception.getCause();
+                                if (cause instanceof IOException) {
+                                    throw (IOException) cause;
+                                } else if (cause instanceof RuntimeException) {
+                                    throw (RuntimeException) cause;
+                                } else if (cause instanceof Error) {
+                                    throw (Error) cause;
+                                } else {
+                                    throw new IllegalStateException(cause);
+                                }
+                            }
+                            offset += record.writeLocalFileHeader(outputStream, offset);
+                            records.add(record);
+                        }
+                    }
+
+                    /**
+                     * Writes an unsigned short value in little endian byte order.
+                     *
+                     * @param outputStream The output stream to write to.
+                     * @param value        The value to write.
+                     * @throws IOException If an I/O error occurs.
+                     */
+                    private static void writeShort(OutputStream outputStream, int value) throws IOException {
+                        outputStream.write(value & 0xFF);
+                        outputStream.write((value >>> 8) & 0xFF);
+                    }
+
+                    /**
+                     * Writes an unsigned integer value in little endian byte order.
+                     *
+                     * @param outputStream The output stream to write to.
+                     * @param value        The value to write.
+                     * @throws IOException If an I/O error occurs.
+                     */
+                    private static void writeInteger(OutputStream outputStream, long value) throws IOException {
+                        writeShort(outputStream, (int) (value & 0xFFFF));
+                        writeShort(outputStream, (int) ((value >>> 16) & 0xFFFF));
+                    }
+
+                    /**
+                     * Writes a long value in little endian byte order.
+                     *
+                     * @param outputStream The output stream to write to.
+                     * @param value        The value to write.
+                     * @throws IOException If an I/O error occurs.
+                     */
+                    private static void writeLong(OutputStream outputStream, long value) throws IOException {
+                        writeInteger(outputStream, value & MAXIMUM_INTEGER);
+                        writeInteger(outputStream, (value >>> 32) & MAXIMUM_INTEGER);
+                    }
+
+                    /**
+                     * A compression of a single entry.
+                     */
+                    protected static class Compression implements Callable<Record> {
+
+                        /**
+                         * The entry's name.
+                         */
+                        private final String name;
+
+                        /**
+                         * The entry's binary representation.
+                         */
+                        private final byte[] binaryRepresentation;
+
+                        /**
+                         * The entry's modification time.
+                         */
+                        private final long time;
+
+                        /**
+                         * {@code true} if the entry should be compressed.
+                         */
+                        private final boolean compressed;
+
+                        /**
+                         * Creates a new compression.
+                         *
+                         * @param name                 The entry's name.
+                         * @param binaryRepresentation The entry's binary representation.
+                         * @param time                 The entry's modification time.
+                         * @param compressed           {@code true} if the entry should be compressed.
+                         */
+                        protected Compression(String name, byte[] binaryRepresentation, long time, boolean compressed) {
+                            this.name = name;
+                            this.binaryRepresentation = binaryRepresentation;
+                            this.time = time;
+                            this.compressed = compressed;
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public Record call() throws IOException {
+                            CRC32 crc32 = new CRC32();
+                            crc32.update(binaryRepresentation);
+                            byte[] data = binaryRepresentation;
+                            int method = ZipEntry.STORED;
+                            if (compressed && binaryRepresentation.length > 0) {
+                                Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+                                try {
+                                    deflater.setInput(binaryRepresentation);
+                                    deflater.finish();
+                                    ByteArrayOutputStream outputStream = new ByteArrayOutputStream(binaryRepresentation.length);
+                                    byte[] buffer = new byte[1024];
+                                    while (!deflater.finished()) {
+                                        outputStream.write(buffer, 0, deflater.deflate(buffer));
+                                    }
+                                    if (outputStream.size() < binaryRepresentation.length) {
+                                        data = outputStream.toByteArray();
+                                        method = ZipEntry.DEFLATED;
+                                    }
+                                } finally {
+                                    deflater.end();
+                                }
+                            }
+                            return new Record(name.getBytes("UTF-8"), method, toDosTime(time), crc32.getValue(), binaryRepresentation.length, data);
+                        }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onManifest(Manifest manifest) {
-                    printStream.printf(PREFIX + " MANIFEST %b", manifest != null);
-                }
+                        /**
+                         * Converts a time stamp to the MS-DOS date and time format.
+                         *
+                         * @param time The time stamp to convert.
+                         * @return The time stamp in MS-DOS format where the date is stored in the upper two bytes.
+                         */
+                        protected static int toDosTime(long time) {
+                            Calendar calendar = Calendar.getInstance();
+                            calendar.setTimeInMillis(time);
+                            int year = calendar.get(Calendar.YEAR);
+                            if (year < 1980) {
+                                return (1 << 21) | (1 << 16);
+                            }
+                            return (year - 1980) << 25
+                                    | (calendar.get(Calendar.MONTH) + 1) << 21
+                                    | calendar.get(Calendar.DAY_OF_MONTH) << 16
+                                    | calendar.get(Calendar.HOUR_OF_DAY) << 11
+                                    | calendar.get(Calendar.MINUTE) << 5
+                                    | calendar.get(Calendar.SECOND) >> 1;
+                        }
+                    }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void onResource(String name) {
-                    printStream.printf(PREFIX + " RESOURCE %s", name);
-                }
-            }
+                    /**
+                     * A transfer of an entry of a mapped jar file whose compressed data is copied verbatim, retaining the entry's
+                     * checksum, sizes and modification time.
+                     */
+                    protected static class Transfer implements Callable<Record> {
 
-            /**
-             * A decorator for another listener to only print transformation and error events.
-             */
-            @HashCodeAndEqualsPlugin.Enhance
-            class WithTransformationsOnly extends Adapter {
+                        /**
+                         * The entry's name.
+                         */
+                        private final String name;
 
-                /**
-                 * The delegate to forward events to.
-                 */
-                private final Listener delegate;
+                        /**
+                         * The transferred entry.
+                         */
+                        private final Source.Element.ForMappedJarEntry entry;
 
-                /**
-                 * Creates a new listener decorator that filter any event that is not related to transformation or errors.
-                 *
-                 * @param delegate The delegate to forward events to.
-                 */
-                public WithTransformationsOnly(Listener delegate) {
-                    this.delegate = delegate;
-                }
+                        /**
+                         * Creates a new transfer.
+                         *
+                         * @param name  The entry's name.
+                         * @param entry The transferred entry.
+                         */
+                        protected Transfer(String name, Source.Element.ForMappedJarEntry entry) {
+                            this.name = name;
+                            this.entry = entry;
+                        }
 
-                @Override
-                public void onTransformation(TypeDescription typeDescription, Plugin plugin) {
-                    delegate.onTransformation(typeDescription, plugin);
-                }
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public Record call() throws IOException {
+                            return new Record(name.getBytes("UTF-8"), entry.getMethod(), entry.getTime(), entry.getCrc(), entry.getSize(), entry.getCompressedData());
+                        }
+                    }
 
-                @Override
-                public void onTransformation(TypeDescription typeDescription, List<Plugin> plugins) {
-                    delegate.onTransformation(typeDescription, plugins);
-                }
+                    /**
+                     * A record of a compressed entry.
+                     */
+                    protected static class Record {
 
-                @Override
-                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
-                    delegate.onError(typeDescription, plugin, throwable);
-                }
+                        /**
+                         * The entry's UTF-8 encoded name.
+                         */
+                        private final byte[] name;
 
-                @Override
-                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
-                    delegate.onError(typeDescription, throwables);
-                }
+                        /**
+                         * The entry's compression method.
+                         */
+                        private final int method;
 
-                @Override
-                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
-                    delegate.onError(throwables);
-                }
+                        /**
+                         * The entry's modification time in MS-DOS format.
+                         */
+                        private final int time;
 
-                @Override
-                public void onError(Plugin plugin, Throwable throwable) {
-                    delegate.onError(plugin, throwable);
-                }
-            }
+                        /**
+                         * The CRC-32 checksum of the uncompressed data.
+                         */
+                        private final long crc;
 
-            /**
-             * A decorator for another listener to only print error events.
-             */
-            @HashCodeAndEqualsPlugin.Enhance
-            class WithErrorsOnly extends Adapter {
+                        /**
+                         * The size of the uncompressed data.
+                         */
+                        private final long size;
 
-                /**
-                 * The delegate to forward events to.
-                 */
-                private final Listener delegate;
+                        /**
+                         * The entry's data or {@code null} if the data was already written.
+                         */
+                        private byte[] data;
 
-                /**
-                 * Creates a new listener decorator that filter any event that is not related to errors.
-                 *
-                 * @param delegate The delegate to forward events to.
-                 */
-                public WithErrorsOnly(Listener delegate) {
-                    this.delegate = delegate;
-                }
+                        /**
+                         * The size of the compressed data.
+                         */
+                        private final long compressedSize;
 
-                @Override
-                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
-                    delegate.onError(typeDescription, plugin, throwable);
-                }
+                        /**
+                         * The offset of the entry's local file header.
+                         */
+                        private long offset;
 
-                @Override
-                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
-                    delegate.onError(typeDescription, throwables);
-                }
+                        /**
+                         * Creates a new record.
+                         *
+                         * @param name   The entry's UTF-8 encoded name.
+                         * @param method The entry's compression method.
+                         * @param time   The entry's modification time in MS-DOS format.
+                         * @param crc    The CRC-32 checksum of the uncompressed data.
+                         * @param size   The size of the uncompressed data.
+                         * @param data   The entry's data.
+                         */
+                        protected Record(byte[] name, int method, int time, long crc, long size, byte[] data) {
+                            this.name = name;
+                            this.method = method;
+                            this.time = time;
+                            this.crc = crc;
+                            this.size = size;
+                            this.data = data;
+                            compressedSize = data.length;
+                        }
 
-                @Override
-                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
-                    delegate.onError(throwables);
-                }
+                        /**
+                         * Writes this record's local file header and data. The data is released afterwards.
+                         *
+                         * @param outputStream The output stream to write to.
+                         * @param offset       The offset of the local file header.
+                         * @return The amount of written bytes.
+                         * @throws IOException If an I/O error occurs.
+                         */
+                        protected long writeLocalFileHeader(OutputStream outputStream, long offset) throws IOException {
+                            this.offset = offset;
+                            writeInteger(outputStream, LOCAL_FILE_HEADER);
+                            writeShort(outputStream, VERSION);
+                            writeShort(outputStream, UTF_8_FLAG);
+                            writeShort(outputStream, method);
+                            writeInteger(outputStream, time);
+                            writeInteger(outputStream, crc);
+                            writeInteger(outputStream, compressedSize);
+                            writeInteger(outputStream, size);
+                            writeShort(outputStream, name.length);
+                            writeShort(outputStream, 0);
+                            outputStream.write(name);
+                            outputStream.write(data);
+                            data = null;
+                            return 30 + name.length + compressedSize;
+                        }
 
-                @Override
-                public void onError(Plugin plugin, Throwable throwable) {
-                    delegate.onError(plugin, throwable);
+                        /**
+                         * Writes this record's central directory header.
+                         *
+                         * @param outputStream The output stream to write to.
+                         * @return The amount of written bytes.
+                         * @throws IOException If an I/O error occurs.
+                         */
+                        protected long writeCentralDirectoryHeader(OutputStream outputStream) throws IOException {
+                            boolean zip64 = offset >= MAXIMUM_INTEGER;
+                            writeInteger(outputStream, CENTRAL_DIRECTORY_HEADER);
+                            writeShort(outputStream, zip64 ? ZIP64_VERSION : VERSION);
+                            writeShort(outputStream, zip64 ? ZIP64_VERSION : VERSION);
+                            writeShort(outputStream, UTF_8_FLAG);
+                            writeShort(outputStream, method);
+                            writeInteger(outputStream, time);
+                            writeInteger(outputStream, crc);
+                            writeInteger(outputStream, compressedSize);
+                            writeInteger(outputStream, size);
+                            writeShort(outputStream, name.length);
+                            writeShort(outputStream, zip64 ? 12 : 0);
+                            writeShort(outputStream, 0);
+                            writeShort(outputStream, 0);
+                            writeShort(outputStream, 0);
+                            writeInteger(outputStream, 0);
+                            writeInteger(outputStream, zip64 ? MAXIMUM_INTEGER : offset);
+                            outputStream.write(name);
+                            if (zip64) {
+                                writeShort(outputStream, ZIP64_EXTRA);
+                                writeShort(outputStream, 8);
+                                writeLong(outputStream, offset);
+                            }
+                            return 46 + name.length + (zip64 ? 12 : 0);
+                        }
+                    }
                 }
             }
 
             /**
-             * A listener decorator that forwards events to an error handler if they are applicable.
+             * A sink that discards any entry.
              */
-            @HashCodeAndEqualsPlugin.Enhance
-            class ForErrorHandler extends Adapter {
+            enum Discarding implements Target, Sink {
 
                 /**
-                 * The error handler to delegate to.
+                 * The singleton instance.
                  */
-                private final ErrorHandler errorHandler;
+                INSTANCE;
 
                 /**
-                 * Creates a new listener representation for an error handler.
-                 *
-                 * @param errorHandler The error handler to delegate to.
+                 * {@inheritDoc}
                  */
-                public ForErrorHandler(ErrorHandler errorHandler) {
-                    this.errorHandler = errorHandler;
-                }
-
-                @Override
-                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
-                    errorHandler.onError(typeDescription, plugin, throwable);
-                }
-
-                @Override
-                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
-                    errorHandler.onError(typeDescription, throwables);
-                }
-
-                @Override
-                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
-                    errorHandler.onError(throwables);
-                }
-
-                @Override
-                public void onError(Plugin plugin, Throwable throwable) {
-                    errorHandler.onError(plugin, throwable);
-                }
-
-                @Override
-                public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
-                    errorHandler.onLiveInitializer(typeDescription, definingType);
+                public Sink write(Manifest manifest) {
+                    return this;
                 }
 
-                @Override
-                public void onUnresolved(String typeName) {
-                    errorHandler.onUnresolved(typeName);
+                /**
+                 * {@inheritDoc}
+                 */
+                public void store(Map<TypeDescription, byte[]> binaryRepresentations) {
+                    /* do nothing */
                 }
 
-                @Override
-                public void onManifest(Manifest manifest) {
-                    errorHandler.onManifest(manifest);
+                /**
+                 * {@inheritDoc}
+                 */
+                public void retain(Source.Element element) {
+                    /* do nothing */
                 }
 
-                @Override
-                public void onResource(String name) {
-                    errorHandler.onResource(name);
+                /**
+                 * {@inheritDoc}
+                 */
+                public void close() {
+                    /* do nothing */
                 }
             }
 
             /**
-             * A compound listener.
+             * A sink that stores all elements in a memory map.
              */
             @HashCodeAndEqualsPlugin.Enhance
-            class Compound implements Listener {
-
-                /**
-                 * A list of listeners that are represented by this compound instance.
-                 */
-                private final List<Listener> listeners;
+            class InMemory implements Target, Sink {
 
                 /**
-                 * Creates a new compound listener.
-                 *
-                 * @param listener A list of listeners that are represented by this compound instance.
+                 * The map for storing all elements being received.
                  */
-                public Compound(Listener... listener) {
-                    this(Arrays.asList(listener));
-                }
+                private final Map<String, byte[]> storage;
 
                 /**
-                 * Creates a new compound listener.
-                 *
-                 * @param listeners A list of listeners that are represented by this compound instance.
+                 * Creates a new in-memory storage.
                  */
-                public Compound(List<? extends Listener> listeners) {
-                    this.listeners = new ArrayList<Listener>();
-                    for (Listener listener : listeners) {
-                        if (listener instanceof Listener.Compound) {
-                            this.listeners.addAll(((Listener.Compound) listener).listeners);
-                        } else if (!(listener instanceof NoOp)) {
-                            this.listeners.add(listener);
-                        }
-                    }
+                public InMemory() {
+                    this(new HashMap<String, byte[]>());
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * Creates a new in-memory storage.
+                 *
+                 * @param storage The map for storing all elements being received.
                  */
-                public void onDiscovery(String typeName) {
-                    for (Listener listener : listeners) {
-                        listener.onDiscovery(typeName);
-                    }
+                public InMemory(Map<String, byte[]> storage) {
+                    this.storage = storage;
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onTransformation(TypeDescription typeDescription, Plugin plugin) {
-                    for (Listener listener : listeners) {
-                        listener.onTransformation(typeDescription, plugin);
+                public Sink write(Manifest manifest) throws IOException {
+                    if (manifest != null) {
+                        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                        try {
+                            manifest.write(outputStream);
+                        } finally {
+                            outputStream.close();
+                        }
+                        storage.put(JarFile.MANIFEST_NAME, outputStream.toByteArray());
                     }
+                    return this;
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onTransformation(TypeDescription typeDescription, List<Plugin> plugins) {
-                    for (Listener listener : listeners) {
-                        listener.onTransformation(typeDescription, plugins);
+                public void store(Map<TypeDescription, byte[]> binaryRepresentations) {
+                    for (Map.Entry<TypeDescription, byte[]> entry : binaryRepresentations.entrySet()) {
+                        storage.put(entry.getKey().getInternalName() + CLASS_FILE_EXTENSION, entry.getValue());
                     }
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onIgnored(TypeDescription typeDescription, Plugin plugin) {
-                    for (Listener listener : listeners) {
-                        listener.onIgnored(typeDescription, plugin);
+                public void retain(Source.Element element) throws IOException {
+                    String name = element.getName();
+                    if (!name.endsWith("/")) {
+                        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                        try {
+                            InputStream inputStream = element.getInputStream();
+                            try {
+                                byte[] buffer = new byte[1024];
+                                int length;
+                                while ((length = inputStream.read(buffer)) != -1) {
+                                    outputStream.write(buffer, 0, length);
+                                }
+                            } finally {
+                                inputStream.close();
+                            }
+                        } finally {
+                            outputStream.close();
+                        }
+                        storage.put(element.getName(), outputStream.toByteArray());
                     }
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onIgnored(TypeDescription typeDescription, List<Plugin> plugins) {
-                    for (Listener listener : listeners) {
-                        listener.onIgnored(typeDescription, plugins);
-                    }
+                public void close() {
+                    /* do nothing */
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * Returns the in-memory storage.
+                 *
+                 * @return The in-memory storage.
                  */
-                public void onError(TypeDescription typeDescription, Plugin plugin, Throwable throwable) {
-                    for (Listener listener : listeners) {
-                        listener.onError(typeDescription, plugin, throwable);
-                    }
+                public Map<String, byte[]> getStorage() {
+                    return storage;
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * Returns the in-memory storage as a type-map where all non-class files are discarded.
+                 *
+                 * @return The in-memory storage as a type map.
                  */
-                public void onError(TypeDescription typeDescription, List<Throwable> throwables) {
-                    for (Listener listener : listeners) {
-                        listener.onError(typeDescription, throwables);
+                public Map<String, byte[]> toTypeMap() {
+                    Map<String, byte[]> binaryRepresentations = new HashMap<String, byte[]>();
+                    for (Map.Entry<String, byte[]> entry : storage.entrySet()) {
+                        if (entry.getKey().endsWith(CLASS_FILE_EXTENSION)) {
+                            binaryRepresentations.put(entry.getKey()
+                                    .substring(0, entry.getKey().length() - CLASS_FILE_EXTENSION.length())
+                                    .replace('/', '.'), entry.getValue());
+                        }
                     }
+                    return binaryRepresentations;
                 }
+            }
+
+            /**
+             * Represents a folder as the target for a plugin engine's application.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class ForFolder implements Target, Sink {
 
                 /**
-                 * {@inheritDoc}
+                 * A dispatcher for using NIO2 if the current VM supports it.
                  */
-                public void onError(Map<TypeDescription, List<Throwable>> throwables) {
-                    for (Listener listener : listeners) {
-                        listener.onError(throwables);
-                    }
-                }
+                protected static final Dispatcher DISPATCHER = AccessController.doPrivileged(Dispatcher.CreationAction.INSTANCE);
 
                 /**
-                 * {@inheritDoc}
+                 * The folder that is represented by this instance.
                  */
-                public void onError(Plugin plugin, Throwable throwable) {
-                    for (Listener listener : listeners) {
-                        listener.onError(plugin, throwable);
-                    }
-                }
+                private final File folder;
 
                 /**
-                 * {@inheritDoc}
+                 * Creates a new target for a folder.
+                 *
+                 * @param folder The folder that is represented by this instance.
                  */
-                public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
-                    for (Listener listener : listeners) {
-                        listener.onLiveInitializer(typeDescription, definingType);
-                    }
+                public ForFolder(File folder) {
+                    this.folder = folder;
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onComplete(TypeDescription typeDescription) {
-                    for (Listener listener : listeners) {
-                        listener.onComplete(typeDescription);
+                public Sink write(Manifest manifest) throws IOException {
+                    if (manifest != null) {
+                        File target = new File(folder, JarFile.MANIFEST_NAME);
+                        if (!target.getParentFile().isDirectory() && !target.getParentFile().mkdirs()) {
+                            throw new IOException("Could not create directory: " + target.getParent());
+                        }
+                        OutputStream outputStream = new FileOutputStream(target);
+                        try {
+                            manifest.write(outputStream);
+                        } finally {
+                            outputStream.close();
+                        }
                     }
+                    return this;
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onUnresolved(String typeName) {
-                    for (Listener listener : listeners) {
-                        listener.onUnresolved(typeName);
+                public void store(Map<TypeDescription, byte[]> binaryRepresentations) throws IOException {
+                    for (Map.Entry<TypeDescription, byte[]> entry : binaryRepresentations.entrySet()) {
+                        File target = new File(folder, entry.getKey().getInternalName() + CLASS_FILE_EXTENSION);
+                        if (!target.getParentFile().isDirectory() && !target.getParentFile().mkdirs()) {
+                            throw new IOException("Could not create directory: " + target.getParent());
+                        }
+                        OutputStream outputStream = new FileOutputStream(target);
+                        try {
+                            outputStream.write(entry.getValue());
+                        } finally {
+                            outputStream.close();
+                        }
                     }
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onManifest(Manifest manifest) {
-                    for (Listener listener : listeners) {
-                        listener.onManifest(manifest);
+                public void retain(Source.Element element) throws IOException {
+                    String name = element.getName();
+                    if (!name.endsWith("/")) {
+                        File target = new File(folder, name), resolved = element.resolveAs(File.class);
+                        if (!target.getCanonicalPath().startsWith(folder.getCanonicalPath())) {
+                            throw new IllegalArgumentException(target + " is not a subdirectory of " + folder);
+                        } else if (!target.getParentFile().isDirectory() && !target.getParentFile().mkdirs()) {
+                            throw new IOException("Could not create directory: " + target.getParent());
+                        } else if (DISPATCHER.isAlive() && resolved != null && !resolved.equals(target)) {
+                            DISPATCHER.copy(resolved, target);
+                        } else if (!target.equals(resolved)) {
+                            InputStream inputStream = element.getInputStream();
+                            try {
+                                OutputStream outputStream = new FileOutputStream(target);
+                                try {
+                                    byte[] buffer = new byte[1024];
+                                    int length;
+                                    while ((length = inputStream.read(buffer)) != -1) {
+                                        outputStream.write(buffer, 0, length);
+                                    }
+                                } finally {
+                                    outputStream.close();
+                                }
+                            } finally {
+                                inputStream.close();
+                            }
+                        }
                     }
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void onResource(String name) {
-                    for (Listener listener : listeners) {
-                        listener.onResource(name);
-                    }
+                public void close() {
+                    /* do nothing */
                 }
-            }
-        }
-
-        /**
-         * A source for a plugin engine provides binary elements to consider for transformation.
-         */
-        interface Source {
-
-            /**
-             * Initiates reading from a source.
-             *
-             * @return The origin to read from.
-             * @throws IOException If an I/O error occurs.
-             */
-            Origin read() throws IOException;
-
-            /**
-             * An origin for elements.
-             */
-            interface Origin extends Iterable<Element>, Closeable {
-
-                /**
-                 * Indicates that no manifest exists.
-                 */
-                Manifest NO_MANIFEST = null;
-
-                /**
-                 * Returns the manifest file of the source location or {@code null} if no manifest exists.
-                 *
-                 * @return This source's manifest or {@code null}.
-                 * @throws IOException If an I/O error occurs.
-                 */
-                Manifest getManifest() throws IOException;
-
-                /**
-                 * Returns a class file locator for the represented source. If the class file locator needs to be closed, it is the responsibility
-                 * of this origin to close the locator or its underlying resources.
-                 *
-                 * @return A class file locator for locating class files of this instance..
-                 */
-                ClassFileLocator getClassFileLocator();
 
                 /**
-                 * An origin implementation for a jar file.
+                 * A dispatcher that allows for file copy operations based on NIO2 if available.
                  */
-                class ForJarFile implements Origin {
-
-                    /**
-                     * The represented file.
-                     */
-                    private final JarFile file;
+                protected interface Dispatcher {
 
                     /**
-                     * Creates a new origin for a jar file.
+                     * Returns {@code true} if this dispatcher is alive.
                      *
-                     * @param file The represented file.
-                     */
-                    public ForJarFile(JarFile file) {
-                        this.file = file;
-                    }
-
-                    /**
-                     * {@inheritDoc}
+                     * @return {@code true} if this dispatcher is alive.
                      */
-                    public Manifest getManifest() throws IOException {
-                        return file.getManifest();
-                    }
+                    boolean isAlive();
 
                     /**
-                     * {@inheritDoc}
+                     * Copies the source file to the target location.
+                     *
+                     * @param source The source file.
+                     * @param target The target file.
+                     * @throws IOException If an I/O error occurs.
                      */
-                    public ClassFileLocator getClassFileLocator() {
-                        return new ClassFileLocator.ForJarFile(file);
-                    }
+                    void copy(File source, File target) throws IOException;
 
                     /**
-                     * {@inheritDoc}
+                     * An action for creating a dispatcher.
                      */
-                    public void close() throws IOException {
-                        file.close();
+                    enum CreationAction implements PrivilegedAction<Dispatcher> {
+
+                        /**
+                         * The singleton instance.
+                         */
+                        INSTANCE;
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        @SuppressWarnings("unchecked")
+                        public Dispatcher run() {
+                            try {
+                                Class<?> path = Class.forName("java.nio.file.Path");
+                                Object[] arguments = (Object[]) Array.newInstance(Class.forName("java.nio.file.CopyOption"), 1);
+                                arguments[0] = Enum.valueOf((Class) Class.forName("java.nio.file.StandardCopyOption"), "REPLACE_EXISTING");
+                                return new ForJava7CapableVm(File.class.getMethod("toPath"),
+                                        Class.forName("java.nio.file.Files").getMethod("copy", path, path, arguments.getClass()),
+                                        arguments);
+                            } catch (Throwable ignored) {
+                                return ForLegacyVm.INSTANCE;
+                            }
+                        }
                     }
 
                     /**
-                     * {@inheritDoc}
+                     * A legacy dispatcher that is not capable of NIO.
                      */
-                    public Iterator<Element> iterator() {
-                        return new JarFileIterator(file.entries());
+                    enum ForLegacyVm implements Dispatcher {
+
+                        /**
+                         * The singleton instance.
+                         */
+                        INSTANCE;
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public boolean isAlive() {
+                            return false;
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public void copy(File source, File target) {
+                            throw new UnsupportedOperationException("Cannot use NIO2 copy on current VM");
+                        }
                     }
 
                     /**
-                     * An iterator for jar file entries.
+                     * A dispatcher for VMs that are capable of NIO2.
                      */
-                    protected class JarFileIterator implements Iterator<Element> {
+                    @HashCodeAndEqualsPlugin.Enhance
+                    class ForJava7CapableVm implements Dispatcher {
 
                         /**
-                         * The represented enumeration.
+                         * The {@code java.io.File#toPath()} method.
                          */
-                        private final Enumeration<JarEntry> enumeration;
+                        private final Method toPath;
 
                         /**
-                         * Creates a new jar file iterator.
-                         *
-                         * @param enumeration The represented enumeration.
+                         * The {@code java.nio.Files#copy(Path,Path,CopyOption[])} method.
                          */
-                        protected JarFileIterator(Enumeration<JarEntry> enumeration) {
-                            this.enumeration = enumeration;
-                        }
+                        private final Method copy;
 
                         /**
-                         * {@inheritDoc}
+                         * The copy options to apply.
                          */
-                        public boolean hasNext() {
-                            return enumeration.hasMoreElements();
+                        private final Object[] copyOptions;
+
+                        /**
+                         * Creates a new NIO2 capable dispatcher.
+                         *
+                         * @param toPath      The {@code java.io.File#toPath()} method.
+                         * @param copy        The {@code java.nio.Files#copy(Path,Path,CopyOption[])} method.
+                         * @param copyOptions The copy options to apply.
+                         */
+                        protected ForJava7CapableVm(Method toPath, Method copy, Object[] copyOptions) {
+                            this.toPath = toPath;
+                            this.copy = copy;
+                            this.copyOptions = copyOptions;
                         }
 
                         /**
                          * {@inheritDoc}
                          */
-                        public Element next() {
-                            return new Element.ForJarEntry(file, enumeration.nextElement());
+                        public boolean isAlive() {
+                            return true;
                         }
 
                         /**
                          * {@inheritDoc}
                          */
-                        public void remove() {
-                            throw new UnsupportedOperationException("remove");
+                        public void copy(File source, File target) throws IOException {
+                            try {
+                                copy.invoke(null, toPath.invoke(source), toPath.invoke(target), copyOptions);
+                            } catch (IllegalAccessException exception) {
+                                throw new IllegalStateException("Cannot access NIO file copy", exception);
+                            } catch (InvocationTargetException exception) {
+                                Throwable cause = exception.getCause();
+                                if (cause instanceof IOException) {
+                                    throw (IOException) cause;
+                                } else {
+                                    throw new IllegalStateException("Cannot execute NIO file copy", cause);
+                                }
+                            }
                         }
                     }
                 }
             }
 
             /**
-             * Represents a binary element found in a source location.
+             * Represents a jar file as a target.
              */
-            interface Element {
+            @HashCodeAndEqualsPlugin.Enhance
+            class ForJarFile implements Target {
 
                 /**
-                 * Returns the element's relative path and name.
+                 * The jar file that is represented by this target.
+                 */
+                private final File file;
+
+                /**
+                 * Creates a new target for a jar file.
                  *
-                 * @return The element's path and name.
+                 * @param file The jar file that is represented by this target.
                  */
-                String getName();
+                public ForJarFile(File file) {
+                    this.file = file;
+                }
 
                 /**
-                 * Returns an input stream to read this element's binary information.
+                 * {@inheritDoc}
+                 */
+                public Sink write(Manifest manifest) throws IOException {
+                    return manifest == null
+                            ? new Sink.ForJarOutputStream(new JarOutputStream(new FileOutputStream(file)))
+                            : new Sink.ForJarOutputStream(new JarOutputStream(new FileOutputStream(file), manifest));
+                }
+            }
+
+            /**
+             * Represents a jar file as a target where entries are compressed in parallel. The entries are written in the order in which
+             * they are supplied such that the resulting jar file is deterministic. If combined with a {@link Source.ForMappedJarFile},
+             * retained entries are copied without being inflated and deflated again.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class ForParallelJarFile implements Target {
+
+                /**
+                 * The default amount of entries per thread that are compressed or awaiting to be written.
+                 */
+                protected static final int WINDOW_PER_THREAD = 64;
+
+                /**
+                 * The jar file that is represented by this target.
+                 */
+                private final File file;
+
+                /**
+                 * The amount of threads to use for compression.
+                 */
+                private final int threads;
+
+                /**
+                 * {@code true} if entries are compressed.
+                 */
+                private final boolean compressed;
+
+                /**
+                 * Creates a new target for a jar file that compresses entries in parallel.
                  *
-                 * @return An input stream that represents this element's binary information.
-                 * @throws IOException If an I/O error occurs.
+                 * @param file    The jar file that is represented by this target.
+                 * @param threads The amount of threads to use for compression.
                  */
-                InputStream getInputStream() throws IOException;
+                public ForParallelJarFile(File file, int threads) {
+                    this(file, threads, true);
+                }
 
                 /**
-                 * Resolves this element to a more specialized form if possible. Doing so allows for performance
-                 * optimizations if more specialized formats are available.
+                 * Creates a new target for a jar file that compresses entries in parallel.
                  *
-                 * @param type The requested spezialized type.
-                 * @param <T>  The requested spezialized type.
-                 * @return The resolved element or {@code null} if a transformation is impossible.
+                 * @param file       The jar file that is represented by this target.
+                 * @param threads    The amount of threads to use for compression.
+                 * @param compressed {@code true} if entries are compressed or {@code false} if entries are stored uncompressed.
                  */
-                <T> T resolveAs(Class<T> type);
+                public ForParallelJarFile(File file, int threads, boolean compressed) {
+                    if (threads < 1) {
+                        throw new IllegalArgumentException("Number of threads must be positive: " + threads);
+                    }
+                    this.file = file;
+                    this.threads = threads;
+                    this.compressed = compressed;
+                }
 
                 /**
-                 * An element representation for a byte array.
+                 * {@inheritDoc}
                  */
-                @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "Not mutating the byte array is part of the class contract.")
-                @HashCodeAndEqualsPlugin.Enhance
-                class ForByteArray implements Element {
+                public Sink write(Manifest manifest) throws IOException {
+                    Sink.ForParallelCompression sink = new Sink.ForParallelCompression(new BufferedOutputStream(new FileOutputStream(file)),
+                            Executors.newFixedThreadPool(threads),
+                            compressed,
+                            threads * WINDOW_PER_THREAD);
+                    if (manifest != null) {
+                        try {
+                            sink.write(manifest);
+                        } catch (IOException exception) {
+                            sink.close();
+                            throw exception;
+                        }
+                    }
+                    return sink;
+                }
+            }
+        }
+
+        /**
+         * A dispatcher to execute a plugin engine transformation. A dispatcher will receive all work assignments prior to the invocation
+         * of complete. After registering and eventually completing the supplied work, the close method will always be called. Any dispatcher
+         * will only be used once and from a single thread.
+         */
+        interface Dispatcher extends Closeable {
+
+            /**
+             * Accepts a new work assignment.
+             *
+             * @param work The work to handle prefixed by a preprocessing step.
+             * @param eager {@code true} if the processing does not need to be deferred until all preprocessing is complete.
+             * @throws IOException If an I/O exception occurs.
+             */
+            void accept(Callable<? extends Callable<? extends Materializable>> work, boolean eager) throws IOException;
+
+            /**
+             * Completes the work being handled.
+             *
+             * @throws IOException If an I/O exception occurs.
+             */
+            void complete() throws IOException;
+
+            /**
+             * The result of a work assignment that needs to be invoked from the main thread that triggers a dispatchers life-cycle methods.
+             */
+            interface Materializable {
+
+                /**
+                 * Materializes this work result and adds any results to the corresponding collection.
+                 *
+                 * @param sink        The sink to write any work to.
+                 * @param transformed A list of all types that are transformed.
+                 * @param failed      A mapping of all types that failed during transformation to the exceptions that explain the failure.
+                 * @param unresolved  A list of type names that could not be resolved.
+                 * @throws IOException If an I/O exception occurs.
+                 */
+                void materialize(Target.Sink sink,
+                                 List<TypeDescription> transformed,
+                                 Map<TypeDescription,
+                                         List<Throwable>> failed,
+                                 List<String> unresolved) throws IOException;
+
+                /**
+                 * A materializable for a successfully transformed type.
+                 */
+                class ForTransformedElement implements Materializable {
 
                     /**
-                     * The element's name.
+                     * The type that has been transformed.
                      */
-                    private final String name;
+                    private final DynamicType dynamicType;
 
                     /**
-                     * The element's binary representation.
+                     * Creates a new materializable for a successfully transformed type.
+                     *
+                     * @param dynamicType The type that has been transformed.
                      */
-                    private final byte[] binaryRepresentation;
+                    protected ForTransformedElement(DynamicType dynamicType) {
+                        this.dynamicType = dynamicType;
+                    }
 
                     /**
-                     * Creates an element that is represented by a byte array.
-                     *
-                     * @param name                 The element's name.
-                     * @param binaryRepresentation The element's binary representation.
+                     * {@inheritDoc}
                      */
-                    public ForByteArray(String name, byte[] binaryRepresentation) {
-                        this.name = name;
-                        this.binaryRepresentation = binaryRepresentation;
+                    public void materialize(Target.Sink sink,
+                                            List<TypeDescription> transformed,
+                                            Map<TypeDescription,
+                                                    List<Throwable>> failed,
+                                            List<String> unresolved) throws IOException {
+                        sink.store(dynamicType.getAllTypes());
+                        transformed.add(dynamicType.getTypeDescription());
                     }
+                }
+
+                /**
+                 * A materializable for an element that is retained in its original state.
+                 */
+                class ForRetainedElement implements Materializable {
 
                     /**
-                     * {@inheritDoc}
+                     * The retained element.
                      */
-                    public String getName() {
-                        return name;
-                    }
+                    private final Source.Element element;
 
                     /**
-                     * {@inheritDoc}
+                     * Creates a new materializable for a retained element.
+                     *
+                     * @param element The retained element.
                      */
-                    public InputStream getInputStream() {
-                        return new ByteArrayInputStream(binaryRepresentation);
+                    protected ForRetainedElement(Source.Element element) {
+                        this.element = element;
                     }
 
                     /**
                      * {@inheritDoc}
                      */
-                    public <T> T resolveAs(Class<T> type) {
-                        return null;
+                    public void materialize(Target.Sink sink,
+                                            List<TypeDescription> transformed,
+                                            Map<TypeDescription,
+                                                    List<Throwable>> failed,
+                                            List<String> unresolved) throws IOException {
+                        sink.retain(element);
                     }
                 }
 
                 /**
-                 * An element representation for a file.
+                 * A materializable for a type whose output of a previous application is reused.
                  */
-                @HashCodeAndEqualsPlugin.Enhance
-                class ForFile implements Element {
+                class ForPreviousOutput implements Materializable {
 
                     /**
-                     * The root folder of the represented source.
-                     */
-                    private final File root;
-
-                    /**
-                     * The file location of the represented file that is located within the root directory.
+                     * The type that is represented by the previous output.
                      */
-                    private final File file;
+                    private final TypeDescription typeDescription;
 
                     /**
-                     * Creates an element representation for a file.
-                     *
-                     * @param root The root folder of the represented source.
-                     * @param file The file location of the represented file that is located within the root directory.
+                     * The elements of the previous output.
                      */
-                    public ForFile(File root, File file) {
-                        this.root = root;
-                        this.file = file;
-                    }
+                    private final List<Source.Element> elements;
 
                     /**
-                     * {@inheritDoc}
+                     * {@code true} if the previous output represents a transformed type.
                      */
-                    public String getName() {
-                        return root.getAbsoluteFile().toURI().relativize(file.getAbsoluteFile().toURI()).getPath();
-                    }
+                    private final boolean transformed;
 
                     /**
-                     * {@inheritDoc}
+                     * Creates a new materializable for a previous output.
+                     *
+                     * @param typeDescription The type that is represented by the previous output.
+                     * @param elements        The elements of the previous output.
+                     * @param transformed     {@code true} if the previous output represents a transformed type.
                      */
-                    public InputStream getInputStream() throws IOException {
-                        return new FileInputStream(file);
+                    protected ForPreviousOutput(TypeDescription typeDescription, List<Source.Element> elements, boolean transformed) {
+                        this.typeDescription = typeDescription;
+                        this.elements = elements;
+                        this.transformed = transformed;
                     }
 
                     /**
                      * {@inheritDoc}
                      */
-                    @SuppressWarnings("unchecked")
-                    public <T> T resolveAs(Class<T> type) {
-                        return File.class.isAssignableFrom(type)
-                                ? (T) file
-                                : null;
+                    public void materialize(Target.Sink sink,
+                                            List<TypeDescription> transformed,
+                                            Map<TypeDescription,
+                                                    List<Throwable>> failed,
+                                            List<String> unresolved) throws IOException {
+                        for (Source.Element element : elements) {
+                            sink.retain(element);
+                        }
+                        if (this.transformed) {
+                            transformed.add(typeDescription);
+                        }
                     }
                 }
 
                 /**
-                 * Represents a jar file entry as an element.
+                 * A materializable for an element that failed to be transformed.
                  */
-                @HashCodeAndEqualsPlugin.Enhance
-                class ForJarEntry implements Element {
+                class ForFailedElement implements Materializable {
 
                     /**
-                     * The source's underlying jar file.
+                     * The element for which the transformation failed.
                      */
-                    private final JarFile file;
+                    private final Source.Element element;
 
                     /**
-                     * The entry that is represented by this element.
+                     * The type description for the represented type.
                      */
-                    private final JarEntry entry;
+                    private final TypeDescription typeDescription;
 
                     /**
-                     * Creates a new element representation for a jar file entry.
+                     * A non-empty list of errors that occurred when attempting the transformation.
+                     */
+                    private final List<Throwable> errored;
+
+                    /**
+                     * Creates a new materializable for an element that failed to be transformed.
                      *
-                     * @param file  The source's underlying jar file.
-                     * @param entry The entry that is represented by this element.
+                     * @param element         The element for which the transformation failed.
+                     * @param typeDescription The type description for the represented type.
+                     * @param errored         A non-empty list of errors that occurred when attempting the transformation.
                      */
-                    public ForJarEntry(JarFile file, JarEntry entry) {
-                        this.file = file;
-                        this.entry = entry;
+                    protected ForFailedElement(Source.Element element, TypeDescription typeDescription, List<Throwable> errored) {
+                        this.element = element;
+                        this.typeDescription = typeDescription;
+                        this.errored = errored;
                     }
 
                     /**
                      * {@inheritDoc}
                      */
-                    public String getName() {
-                        return entry.getName();
+                    public void materialize(Target.Sink sink,
+                                            List<TypeDescription> transformed,
+                                            Map<TypeDescription,
+                                                    List<Throwable>> failed,
+                                            List<String> unresolved) throws IOException {
+                        sink.retain(element);
+                        failed.put(typeDescription, errored);
                     }
+                }
+
+                /**
+                 * A materializable for an element that could not be resolved.
+                 */
+                class ForUnresolvedElement implements Materializable {
 
                     /**
-                     * {@inheritDoc}
+                     * The element that could not be resolved.
                      */
-                    public InputStream getInputStream() throws IOException {
-                        return file.getInputStream(entry);
+                    private final Source.Element element;
+
+                    /**
+                     * The name of the type that was deducted for this element.
+                     */
+                    private final String typeName;
+
+                    /**
+                     * Creates a new materializable for an element that could not be resolved.
+                     *
+                     * @param element  The element that could not be resolved.
+                     * @param typeName The name of the type that was deducted for this element.
+                     */
+                    protected ForUnresolvedElement(Source.Element element, String typeName) {
+                        this.element = element;
+                        this.typeName = typeName;
                     }
 
                     /**
                      * {@inheritDoc}
                      */
-                    @SuppressWarnings("unchecked")
-                    public <T> T resolveAs(Class<T> type) {
-                        return JarEntry.class.isAssignableFrom(type)
-                                ? (T) entry
-                                : null;
+                    public void materialize(Target.Sink sink,
+                                            List<TypeDescription> transformed,
+                                            Map<TypeDescription,
+                                                    List<Throwable>> failed,
+                                            List<String> unresolved) throws IOException {
+                        sink.retain(element);
+                        unresolved.add(typeName);
                     }
                 }
             }
 
             /**
-             * An empty source that does not contain any elements or a manifest.
+             * A factory that is used for creating a dispatcher that is used for a specific plugin engine application.
              */
-            enum Empty implements Source, Origin {
-
-                /**
-                 * The singleton instance.
-                 */
-                INSTANCE;
-
-                /**
-                 * {@inheritDoc}
-                 */
-                public Origin read() {
-                    return this;
-                }
-
-                /**
-                 * {@inheritDoc}
-                 */
-                public ClassFileLocator getClassFileLocator() {
-                    return ClassFileLocator.NoOp.INSTANCE;
-                }
-
-                /**
-                 * {@inheritDoc}
-                 */
-                public Manifest getManifest() {
-                    return NO_MANIFEST;
-                }
-
-                /**
-                 * {@inheritDoc}
-                 */
-                public Iterator<Element> iterator() {
-                    return Collections.<Element>emptySet().iterator();
-                }
+            interface Factory {
 
                 /**
-                 * {@inheritDoc}
+                 * Creates a new dispatcher.
+                 *
+                 * @param sink        The sink to write any work to.
+                 * @param transformed A list of all types that are transformed.
+                 * @param failed      A mapping of all types that failed during transformation to the exceptions that explain the failure.
+                 * @param unresolved  A list of type names that could not be resolved.
+                 * @return The dispatcher to use.
                  */
-                public void close() {
-                    /* do nothing */
-                }
+                Dispatcher make(Target.Sink sink,
+                                List<TypeDescription> transformed,
+                                Map<TypeDescription,
+                                        List<Throwable>> failed,
+                                List<String> unresolved);
             }
 
             /**
-             * A source that represents a collection of in-memory resources that are represented as byte arrays.
+             * A dispatcher that applies transformation upon discovery.
              */
-            @HashCodeAndEqualsPlugin.Enhance
-            class InMemory implements Source, Origin {
-
-                /**
-                 * A mapping of resource names to their binary representation.
-                 */
-                private final Map<String, byte[]> storage;
+            class ForSerialTransformation implements Dispatcher {
 
                 /**
-                 * Creates a new in-memory source.
-                 *
-                 * @param storage A mapping of resource names to their binary representation.
+                 * The sink to write any work to.
                  */
-                public InMemory(Map<String, byte[]> storage) {
-                    this.storage = storage;
-                }
+                private final Target.Sink sink;
 
                 /**
-                 * Represents a collection of types as a in-memory source.
-                 *
-                 * @param type The types to represent.
-                 * @return A source representing the supplied types.
+                 * A list of all types that are transformed.
                  */
-                public static Source ofTypes(Class<?>... type) {
-                    return ofTypes(Arrays.asList(type));
-                }
+                private final List<TypeDescription> transformed;
 
                 /**
-                 * Represents a collection of types as a in-memory source.
-                 *
-                 * @param types The types to represent.
-                 * @return A source representing the supplied types.
+                 * A mapping of all types that failed during transformation to the exceptions that explain the failure.
                  */
-                public static Source ofTypes(Collection<? extends Class<?>> types) {
-                    Map<TypeDescription, byte[]> binaryRepresentations = new HashMap<TypeDescription, byte[]>();
-                    for (Class<?> type : types) {
-                        binaryRepresentations.put(TypeDescription.ForLoadedType.of(type), ClassFileLocator.ForClassLoader.read(type));
-                    }
-                    return ofTypes(binaryRepresentations);
-                }
+                private final Map<TypeDescription, List<Throwable>> failed;
 
                 /**
-                 * Represents a map of type names to their binary representation as an in-memory source.
-                 *
-                 * @param binaryRepresentations A mapping of type names to their binary representation.
-                 * @return A source representing the supplied types.
+                 * A list of type names that could not be resolved.
                  */
-                public static Source ofTypes(Map<TypeDescription, byte[]> binaryRepresentations) {
-                    Map<String, byte[]> storage = new HashMap<String, byte[]>();
-                    for (Map.Entry<TypeDescription, byte[]> entry : binaryRepresentations.entrySet()) {
-                        storage.put(entry.getKey().getInternalName() + CLASS_FILE_EXTENSION, entry.getValue());
-                    }
-                    return new InMemory(storage);
-                }
+                private final List<String> unresolved;
 
                 /**
-                 * {@inheritDoc}
+                 * A list of deferred processings.
                  */
-                public Origin read() {
-                    return this;
-                }
+                private final List<Callable<? extends Materializable>> preprocessings;
 
                 /**
-                 * {@inheritDoc}
+                 * Creates a dispatcher for a serial transformation.
+                 *
+                 * @param sink        The sink to write any work to.
+                 * @param transformed A list of all types that are transformed.
+                 * @param failed      A mapping of all types that failed during transformation to the exceptions that explain the failure.
+                 * @param unresolved  A list of type names that could not be resolved.
                  */
-                public ClassFileLocator getClassFileLocator() {
-                    return ClassFileLocator.Simple.ofResources(storage);
+                protected ForSerialTransformation(Target.Sink sink,
+                                                  List<TypeDescription> transformed,
+                                                  Map<TypeDescription, List<Throwable>> failed,
+                                                  List<String> unresolved) {
+                    this.sink = sink;
+                    this.transformed = transformed;
+                    this.failed = failed;
+                    this.unresolved = unresolved;
+                    preprocessings = new ArrayList<Callable<? extends Materializable>>();
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public Manifest getManifest() throws IOException {
-                    byte[] binaryRepresentation = storage.get(JarFile.MANIFEST_NAME);
-                    if (binaryRepresentation == null) {
-                        return NO_MANIFEST;
-                    } else {
-                        return new Manifest(new ByteArrayInputStream(binaryRepresentation));
+                public void accept(Callable<? extends Callable<? extends Materializable>> work, boolean eager) throws IOException {
+                    try {
+                        Callable<? extends Materializable> preprocessed = work.call();
+                        if (eager) {
+                            preprocessed.call().materialize(sink, transformed, failed, unresolved);
+                        } else {
+                            preprocessings.add(preprocessed);
+                        }
+                    } catch (Exception exception) {
+                        if (exception instanceof IOException) {
+                            throw (IOException) exception;
+                        } else if (exception instanceof RuntimeException) {
+                            throw (RuntimeException) exception;
+                        } else {
+                            throw new IllegalStateException(exception);
+                        }
                     }
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public Iterator<Element> iterator() {
-                    return new MapEntryIterator(storage.entrySet().iterator());
+                public void complete() throws IOException {
+                    for (Callable<? extends Materializable> preprocessing : preprocessings) {
+                        if (Thread.interrupted()) {
+                            Thread.currentThread().interrupt();
+                            throw new IllegalStateException("Interrupted during plugin engine completion");
+                        }
+                        try {
+                            preprocessing.call().materialize(sink, transformed, failed, unresolved);
+                        } catch (Exception exception) {
+                            if (exception instanceof IOException) {
+                                throw (IOException) exception;
+                            } else if (exception instanceof RuntimeException) {
+                                throw (RuntimeException) exception;
+                            } else {
+                                throw new IllegalStateException(exception);
+                            }
+                        }
+                    }
                 }
 
                 /**
@@ -2553,1393 +6489,1451 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                 }
 
                 /**
-                 * An iterator that represents map entries as sources.
+                 * A factory for creating a serial dispatcher.
                  */
-                protected static class MapEntryIterator implements Iterator<Element> {
-
-                    /**
-                     * The represented iterator.
-                     */
-                    private final Iterator<Map.Entry<String, byte[]>> iterator;
-
-                    /**
-                     * Creates a new map entry iterator.
-                     *
-                     * @param iterator The represented iterator.
-                     */
-                    protected MapEntryIterator(Iterator<Map.Entry<String, byte[]>> iterator) {
-                        this.iterator = iterator;
-                    }
-
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public boolean hasNext() {
-                        return iterator.hasNext();
-                    }
+                public enum Factory implements Dispatcher.Factory {
 
                     /**
-                     * {@inheritDoc}
+                     * The singleton instance.
                      */
-                    public Element next() {
-                        Map.Entry<String, byte[]> entry = iterator.next();
-                        return new Element.ForByteArray(entry.getKey(), entry.getValue());
-                    }
+                    INSTANCE;
 
                     /**
                      * {@inheritDoc}
                      */
-                    public void remove() {
-                        throw new UnsupportedOperationException("remove");
+                    public Dispatcher make(Target.Sink sink,
+                                           List<TypeDescription> transformed,
+                                           Map<TypeDescription,
+                                                   List<Throwable>> failed,
+                                           List<String> unresolved) {
+                        return new ForSerialTransformation(sink, transformed, failed, unresolved);
                     }
                 }
             }
 
             /**
-             * Represents the contents of a folder as class files.
+             * A dispatcher that applies transformations within one or more threads in parallel to the default transformer.
              */
-            @HashCodeAndEqualsPlugin.Enhance
-            class ForFolder implements Source, Origin {
+            class ForParallelTransformation implements Dispatcher {
 
                 /**
-                 * The folder to represent.
+                 * The target sink.
                  */
-                private final File folder;
+                private final Target.Sink sink;
 
                 /**
-                 * Creates a new source representation for a given folder.
-                 *
-                 * @param folder The folder to represent.
+                 * A list of all types that are transformed.
                  */
-                public ForFolder(File folder) {
-                    this.folder = folder;
-                }
+                private final List<TypeDescription> transformed;
 
                 /**
-                 * Initializes a reading from this source.
-                 *
-                 * @return A source that represents the resource of this origin.
+                 * A mapping of all types that failed during transformation to the exceptions that explain the failure.
                  */
-                public Origin read() {
-                    return this;
-                }
+                private final Map<TypeDescription, List<Throwable>> failed;
 
                 /**
-                 * {@inheritDoc}
+                 * A list of type names that could not be resolved.
                  */
-                public ClassFileLocator getClassFileLocator() {
-                    return new ClassFileLocator.ForFolder(folder);
+                private final List<String> unresolved;
+
+                /**
+                 * A completion service for all preprocessings.
+                 */
+                private final CompletionService<Callable<Materializable>> preprocessings;
+
+                /**
+                 * A completion service for all materializers.
+                 */
+                private final CompletionService<Materializable> materializers;
+
+                /**
+                 * A count of deferred processings.
+                 */
+                private int deferred;
+
+                /**
+                 * A collection of futures that are currently scheduled.
+                 */
+                private final Set<Future<?>> futures;
+
+                /**
+                 * Creates a new dispatcher that applies transformations in parallel.
+                 *
+                 * @param executor    The executor to delegate any work to.
+                 * @param sink        The target sink.
+                 * @param transformed A list of all types that are transformed.
+                 * @param failed      A mapping of all types that failed during transformation to the exceptions that explain the failure.
+                 * @param unresolved  A list of type names that could not be resolved.
+                 */
+                protected ForParallelTransformation(Executor executor,
+                                                    Target.Sink sink,
+                                                    List<TypeDescription> transformed,
+                                                    Map<TypeDescription,
+                                                            List<Throwable>> failed,
+                                                    List<String> unresolved) {
+                    this.sink = sink;
+                    this.transformed = transformed;
+                    this.failed = failed;
+                    this.unresolved = unresolved;
+                    preprocessings = new ExecutorCompletionService<Callable<Materializable>>(executor);
+                    materializers = new ExecutorCompletionService<Materializable>(executor);
+                    futures = new HashSet<Future<?>>();
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public Manifest getManifest() throws IOException {
-                    File file = new File(folder, JarFile.MANIFEST_NAME);
-                    if (file.exists()) {
-                        InputStream inputStream = new FileInputStream(file);
-                        try {
-                            return new Manifest(inputStream);
-                        } finally {
-                            inputStream.close();
-                        }
+                @SuppressWarnings("unchecked")
+                public void accept(Callable<? extends Callable<? extends Materializable>> work, boolean eager) {
+                    if (eager) {
+                        futures.add(materializers.submit(new EagerWork(work)));
                     } else {
-                        return NO_MANIFEST;
+                        deferred += 1;
+                        futures.add(preprocessings.submit((Callable<Callable<Materializable>>) work));
                     }
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public Iterator<Element> iterator() {
-                    return new FolderIterator(folder);
+                public void complete() throws IOException {
+                    try {
+                        List<Callable<Materializable>> preprocessings = new ArrayList<Callable<Materializable>>(deferred);
+                        while (deferred-- > 0) {
+                            Future<Callable<Materializable>> future = this.preprocessings.take();
+                            futures.remove(future);
+                            preprocessings.add(future.get());
+                        }
+                        for (Callable<Materializable> preprocessing : preprocessings) {
+                            futures.add(materializers.submit(preprocessing));
+                        }
+                        while (!futures.isEmpty()) {
+                            Future<Materializable> future = materializers.take();
+                            futures.remove(future);
+                            future.get().materialize(sink, transformed, failed, unresolved);
+                        }
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException(exception);
+                    } catch (ExecutionException exception) {
+                        Throwable cause = exception.getCause();
+                        if (cause instanceof IOException) {
+                            throw (IOException) cause;
+                        } else if (cause instanceof RuntimeException) {
+                            throw (RuntimeException) cause;
+                        } else if (cause instanceof Error) {
+                            throw (Error) cause;
+                        } else {
+                            throw new IllegalStateException(cause);
+                        }
+                    }
                 }
 
                 /**
                  * {@inheritDoc}
                  */
                 public void close() {
-                    /* do nothing */
-                }
-
-                /**
-                 * An iterator that exposes all files within a folder structure as elements.
-                 */
-                protected class FolderIterator implements Iterator<Element> {
-
-                    /**
-                     * A list of files and folders to process.
-                     */
-                    private final LinkedList<File> files;
-
-                    /**
-                     * Creates a new iterator representation for all files within a folder.
-                     *
-                     * @param folder The root folder.
-                     */
-                    protected FolderIterator(File folder) {
-                        files = new LinkedList<File>(Collections.singleton(folder));
-                        File candidate;
-                        do {
-                            candidate = files.removeFirst();
-                            File[] file = candidate.listFiles();
-                            if (file != null) {
-                                files.addAll(0, Arrays.asList(file));
-                            }
-                        } while (!files.isEmpty() && (files.peek().isDirectory() || files.peek().equals(new File(folder, JarFile.MANIFEST_NAME))));
+                    for (Future<?> future : futures) {
+                        future.cancel(true);
                     }
+                }
+
+                /**
+                 * A parallel dispatcher that shuts down its executor service upon completion of a plugin engine's application.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                public static class WithThrowawayExecutorService extends ForParallelTransformation {
 
                     /**
-                     * {@inheritDoc}
+                     * The executor service to delegate any work to.
                      */
-                    public boolean hasNext() {
-                        return !files.isEmpty();
-                    }
+                    private final ExecutorService executorService;
 
                     /**
-                     * {@inheritDoc}
+                     * Creates a new dispatcher that applies transformations in parallel and that closes the supplies executor service.
+                     *
+                     * @param executorService The executor service to delegate any work to.
+                     * @param sink            The target sink.
+                     * @param transformed     A list of all types that are transformed.
+                     * @param failed          A mapping of all types that failed during transformation to the exceptions that explain the failure.
+                     * @param unresolved      A list of type names that could not be resolved.
                      */
-                    @SuppressFBWarnings(value = "IT_NO_SUCH_ELEMENT", justification = "Exception is thrown by invoking removeFirst on an empty list.")
-                    public Element next() {
+                    protected WithThrowawayExecutorService(ExecutorService executorService,
+                                                           Target.Sink sink,
+                                                           List<TypeDescription> transformed,
+                                                           Map<TypeDescription, List<Throwable>> failed,
+                                                           List<String> unresolved) {
+                        super(executorService, sink, transformed, failed, unresolved);
+                        this.executorService = executorService;
+                    }
+
+                    @Override
+                    public void close() {
                         try {
-                            return new Element.ForFile(folder, files.removeFirst());
+                            super.close();
                         } finally {
-                            while (!files.isEmpty() && (files.peek().isDirectory() || files.peek().equals(new File(folder, JarFile.MANIFEST_NAME)))) {
-                                File folder = files.removeFirst();
-                                File[] file = folder.listFiles();
-                                if (file != null) {
-                                    files.addAll(0, Arrays.asList(file));
-                                }
-                            }
+                            executorService.shutdown();
                         }
                     }
 
                     /**
-                     * {@inheritDoc}
+                     * A factory for a parallel executor service that creates a new executor service on each plugin engine application.
                      */
-                    public void remove() {
-                        throw new UnsupportedOperationException("remove");
-                    }
-                }
-            }
-
-            /**
-             * Represents a jar file as a source.
-             */
-            @HashCodeAndEqualsPlugin.Enhance
-            class ForJarFile implements Source {
+                    @HashCodeAndEqualsPlugin.Enhance
+                    public static class Factory implements Dispatcher.Factory {
 
-                /**
-                 * The jar file being represented by this source.
-                 */
-                private final File file;
+                        /**
+                         * The amount of threads to create in the throw-away executor service.
+                         */
+                        private final int threads;
 
-                /**
-                 * Creates a new source for a jar file.
-                 *
-                 * @param file The jar file being represented by this source.
-                 */
-                public ForJarFile(File file) {
-                    this.file = file;
-                }
+                        /**
+                         * Creates a new factory.
+                         *
+                         * @param threads The amount of threads to create in the throw-away executor service.
+                         */
+                        public Factory(int threads) {
+                            this.threads = threads;
+                        }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public Origin read() throws IOException {
-                    return new Origin.ForJarFile(new JarFile(file));
-                }
-            }
-        }
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public Dispatcher make(Target.Sink sink,
+                                               List<TypeDescription> transformed,
+                                               Map<TypeDescription, List<Throwable>> failed,
+                                               List<String> unresolved) {
+                            return new WithThrowawayExecutorService(Executors.newFixedThreadPool(threads), sink, transformed, failed, unresolved);
+                        }
+                    }
 
-        /**
-         * A target for a plugin engine represents a sink container for all elements that are supplied by a {@link Source}.
-         */
-        interface Target {
+                    /**
+                     * A factory for a parallel dispatcher that creates a new work-stealing fork join pool on each plugin engine application.
+                     * If the current VM does not support fork join pools, a fixed thread pool is used instead.
+                     */
+                    @HashCodeAndEqualsPlugin.Enhance
+                    public static class WorkStealingFactory implements Dispatcher.Factory {
 
-            /**
-             * Initializes this target prior to writing.
-             *
-             * @param manifest The manifest for the target or {@code null} if no manifest was found.
-             * @return The sink to write to.
-             * @throws IOException If an I/O error occurs.
-             */
-            Sink write(Manifest manifest) throws IOException;
+                        /**
+                         * The name of the fork join pool type.
+                         */
+                        private static final String FORK_JOIN_POOL = "java.util.concurrent.ForkJoinPool";
 
-            /**
-             * A sink represents an active writing process.
-             */
-            interface Sink extends Closeable {
+                        /**
+                         * The parallelism of the throw-away executor service.
+                         */
+                        private final int parallelism;
 
-                /**
-                 * Stores the supplied binary representation of types in this sink.
-                 *
-                 * @param binaryRepresentations The binary representations to store.
-                 * @throws IOException If an I/O error occurs.
-                 */
-                void store(Map<TypeDescription, byte[]> binaryRepresentations) throws IOException;
+                        /**
+                         * Creates a new work-stealing factory.
+                         *
+                         * @param parallelism The parallelism of the throw-away executor service.
+                         */
+                        public WorkStealingFactory(int parallelism) {
+                            this.parallelism = parallelism;
+                        }
 
-                /**
-                 * Retains the supplied element in its original form.
-                 *
-                 * @param element The element to retain.
-                 * @throws IOException If an I/O error occurs.
-                 */
-                void retain(Source.Element element) throws IOException;
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public Dispatcher make(Target.Sink sink,
+                                               List<TypeDescription> transformed,
+                                               Map<TypeDescription, List<Throwable>> failed,
+                                               List<String> unresolved) {
+                            ExecutorService executorService;
+                            try {
+                                executorService = (ExecutorService) Class.forName(FORK_JOIN_POOL).getConstructor(int.class).newInstance(parallelism);
+                            } catch (Exception ignored) {
+                                executorService = Executors.newFixedThreadPool(parallelism);
+                            }
+                            return new WithThrowawayExecutorService(executorService, sink, transformed, failed, unresolved);
+                        }
+                    }
+                }
 
                 /**
-                 * Implements a sink for a jar file.
+                 * A factory for a dispatcher that uses a given executor service for parallel dispatching.
                  */
-                class ForJarOutputStream implements Sink {
+                @HashCodeAndEqualsPlugin.Enhance
+                public static class Factory implements Dispatcher.Factory {
 
                     /**
-                     * The output stream to write to.
+                     * The executor to use.
                      */
-                    private final JarOutputStream outputStream;
+                    private final Executor executor;
 
                     /**
-                     * Creates a new sink for a jar file.
+                     * Creates a new dispatcher factory for parallel dispatching using the supplied executor.
                      *
-                     * @param outputStream The output stream to write to.
+                     * @param executor The executor to use.
                      */
-                    public ForJarOutputStream(JarOutputStream outputStream) {
-                        this.outputStream = outputStream;
+                    public Factory(Executor executor) {
+                        this.executor = executor;
                     }
 
                     /**
                      * {@inheritDoc}
                      */
-                    public void store(Map<TypeDescription, byte[]> binaryRepresentations) throws IOException {
-                        for (Map.Entry<TypeDescription, byte[]> entry : binaryRepresentations.entrySet()) {
-                            outputStream.putNextEntry(new JarEntry(entry.getKey().getInternalName() + CLASS_FILE_EXTENSION));
-                            outputStream.write(entry.getValue());
-                            outputStream.closeEntry();
-                        }
+                    public Dispatcher make(Target.Sink sink,
+                                           List<TypeDescription> transformed,
+                                           Map<TypeDescription, List<Throwable>> failed,
+                                           List<String> unresolved) {
+                        return new ForParallelTransformation(executor, sink, transformed, failed, unresolved);
                     }
+                }
+
+                /**
+                 * An eager materialization that does not defer processing after preprocessing.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                protected static class EagerWork implements Callable<Materializable> {
 
                     /**
-                     * {@inheritDoc}
+                     * The work to apply.
                      */
-                    public void retain(Source.Element element) throws IOException {
-                        JarEntry entry = element.resolveAs(JarEntry.class);
-                        outputStream.putNextEntry(entry == null
-                                ? new JarEntry(element.getName())
-                                : entry);
-                        InputStream inputStream = element.getInputStream();
-                        try {
-                            byte[] buffer = new byte[1024];
-                            int length;
-                            while ((length = inputStream.read(buffer)) != -1) {
-                                outputStream.write(buffer, 0, length);
-                            }
-                        } finally {
-                            inputStream.close();
-                        }
-                        outputStream.closeEntry();
-                    }
+                    private final Callable<? extends Callable<? extends Materializable>> work;
 
                     /**
-                     * {@inheritDoc}
+                     * Creates an eager work resolution.
+                     *
+                     * @param work The work to apply.
                      */
-                    public void close() throws IOException {
-                        outputStream.close();
+                    protected EagerWork(Callable<? extends Callable<? extends Materializable>> work) {
+                        this.work = work;
                     }
-                }
-            }
-
-            /**
-             * A sink that discards any entry.
-             */
-            enum Discarding implements Target, Sink {
 
-                /**
-                 * The singleton instance.
-                 */
-                INSTANCE;
-
-                /**
-                 * {@inheritDoc}
-                 */
-                public Sink write(Manifest manifest) {
-                    return this;
-                }
-
-                /**
-                 * {@inheritDoc}
-                 */
-                public void store(Map<TypeDescription, byte[]> binaryRepresentations) {
-                    /* do nothing */
-                }
-
-                /**
-                 * {@inheritDoc}
-                 */
-                public void retain(Source.Element element) {
-                    /* do nothing */
-                }
-
-                /**
-                 * {@inheritDoc}
-                 */
-                public void close() {
-                    /* do nothing */
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Materializable call() throws Exception {
+                        return work.call().call();
+                    }
                 }
             }
 
             /**
-             * A sink that stores all elements in a memory map.
+             * A dispatcher that applies transformations in parallel but that bounds the amount of work that is in flight. Work results
+             * are materialized in the order of their submission as soon as they are available such that the output is deterministic
+             * and that no more than a given window of transformed types is retained in memory at any point in time. If the window is
+             * exhausted, any further submission blocks until the oldest work result is written to the sink. Deferred work is only
+             * retained as its preprocessing result until the dispatcher is completed when it is processed using the same window.
              */
-            @HashCodeAndEqualsPlugin.Enhance
-            class InMemory implements Target, Sink {
+            class ForStreamingTransformation implements Dispatcher {
 
                 /**
-                 * The map for storing all elements being received.
-                 */
-                private final Map<String, byte[]> storage;
-
-                /**
-                 * Creates a new in-memory storage.
+                 * The default amount of work per thread that is in flight.
                  */
-                public InMemory() {
-                    this(new HashMap<String, byte[]>());
-                }
+                public static final int WINDOW_PER_THREAD = 16;
 
                 /**
-                 * Creates a new in-memory storage.
-                 *
-                 * @param storage The map for storing all elements being received.
+                 * The executor to delegate any work to.
                  */
-                public InMemory(Map<String, byte[]> storage) {
-                    this.storage = storage;
-                }
+                private final Executor executor;
 
                 /**
-                 * {@inheritDoc}
+                 * The maximum amount of work that is in flight.
                  */
-                public Sink write(Manifest manifest) throws IOException {
-                    if (manifest != null) {
-                        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-                        try {
-                            manifest.write(outputStream);
-                        } finally {
-                            outputStream.close();
-                        }
-                        storage.put(JarFile.MANIFEST_NAME, outputStream.toByteArray());
-                    }
-                    return this;
-                }
+                private final int window;
 
                 /**
-                 * {@inheritDoc}
+                 * The target sink.
                  */
-                public void store(Map<TypeDescription, byte[]> binaryRepresentations) {
-                    for (Map.Entry<TypeDescription, byte[]> entry : binaryRepresentations.entrySet()) {
-                        storage.put(entry.getKey().getInternalName() + CLASS_FILE_EXTENSION, entry.getValue());
-                    }
-                }
+                private final Target.Sink sink;
 
                 /**
-                 * {@inheritDoc}
+                 * A list of all types that are transformed.
                  */
-                public void retain(Source.Element element) throws IOException {
-                    String name = element.getName();
-                    if (!name.endsWith("/")) {
-                        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-                        try {
-                            InputStream inputStream = element.getInputStream();
-                            try {
-                                byte[] buffer = new byte[1024];
-                                int length;
-                                while ((length = inputStream.read(buffer)) != -1) {
-                                    outputStream.write(buffer, 0, length);
-                                }
-                            } finally {
-                                inputStream.close();
-                            }
-                        } finally {
-                            outputStream.close();
-                        }
-                        storage.put(element.getName(), outputStream.toByteArray());
-                    }
-                }
+                private final List<TypeDescription> transformed;
 
                 /**
-                 * {@inheritDoc}
+                 * A mapping of all types that failed during transformation to the exceptions that explain the failure.
                  */
-                public void close() {
-                    /* do nothing */
-                }
+                private final Map<TypeDescription, List<Throwable>> failed;
 
                 /**
-                 * Returns the in-memory storage.
-                 *
-                 * @return The in-memory storage.
+                 * A list of type names that could not be resolved.
                  */
-                public Map<String, byte[]> getStorage() {
-                    return storage;
-                }
+                private final List<String> unresolved;
 
                 /**
-                 * Returns the in-memory storage as a type-map where all non-class files are discarded.
-                 *
-                 * @return The in-memory storage as a type map.
+                 * The work results that are not yet materialized in the order of their submission.
                  */
-                public Map<String, byte[]> toTypeMap() {
-                    Map<String, byte[]> binaryRepresentations = new HashMap<String, byte[]>();
-                    for (Map.Entry<String, byte[]> entry : storage.entrySet()) {
-                        if (entry.getKey().endsWith(CLASS_FILE_EXTENSION)) {
-                            binaryRepresentations.put(entry.getKey()
-                                    .substring(0, entry.getKey().length() - CLASS_FILE_EXTENSION.length())
-                                    .replace('/', '.'), entry.getValue());
-                        }
-                    }
-                    return binaryRepresentations;
-                }
-            }
-
-            /**
-             * Represents a folder as the target for a plugin engine's application.
-             */
-            @HashCodeAndEqualsPlugin.Enhance
-            class ForFolder implements Target, Sink {
+                private final LinkedList<Future<Materializable>> materializers;
 
                 /**
-                 * A dispatcher for using NIO2 if the current VM supports it.
+                 * The deferred preprocessings that are not yet completed in the order of their submission.
                  */
-                protected static final Dispatcher DISPATCHER = AccessController.doPrivileged(Dispatcher.CreationAction.INSTANCE);
+                private final LinkedList<Future<Callable<Materializable>>> preprocessings;
 
                 /**
-                 * The folder that is represented by this instance.
+                 * The results of completed deferred preprocessings in the order of their submission.
                  */
-                private final File folder;
+                private final List<Callable<Materializable>> deferred;
 
                 /**
-                 * Creates a new target for a folder.
+                 * Creates a new dispatcher that applies transformations in parallel within a bounded window.
                  *
-                 * @param folder The folder that is represented by this instance.
+                 * @param executor    The executor to delegate any work to.
+                 * @param window      The maximum amount of work that is in flight.
+                 * @param sink        The target sink.
+                 * @param transformed A list of all types that are transformed.
+                 * @param failed      A mapping of all types that failed during transformation to the exceptions that explain the failure.
+                 * @param unresolved  A list of type names that could not be resolved.
                  */
-                public ForFolder(File folder) {
-                    this.folder = folder;
+                protected ForStreamingTransformation(Executor executor,
+                                                     int window,
+                                                     Target.Sink sink,
+                                                     List<TypeDescription> transformed,
+                                                     Map<TypeDescription, List<Throwable>> failed,
+                                                     List<String> unresolved) {
+                    if (window < 1) {
+                        throw new IllegalArgumentException("Window must be positive: " + window);
+                    }
+                    this.executor = executor;
+                    this.window = window;
+                    this.sink = sink;
+                    this.transformed = transformed;
+                    this.failed = failed;
+                    this.unresolved = unresolved;
+                    materializers = new LinkedList<Future<Materializable>>();
+                    preprocessings = new LinkedList<Future<Callable<Materializable>>>();
+                    deferred = new ArrayList<Callable<Materializable>>();
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public Sink write(Manifest manifest) throws IOException {
-                    if (manifest != null) {
-                        File target = new File(folder, JarFile.MANIFEST_NAME);
-                        if (!target.getParentFile().isDirectory() && !target.getParentFile().mkdirs()) {
-                            throw new IOException("Could not create directory: " + target.getParent());
-                        }
-                        OutputStream outputStream = new FileOutputStream(target);
-                        try {
-                            manifest.write(outputStream);
-                        } finally {
-                            outputStream.close();
+                @SuppressWarnings("unchecked")
+                public void accept(Callable<? extends Callable<? extends Materializable>> work, boolean eager) throws IOException {
+                    if (eager) {
+                        materializers.add(submit(new ForParallelTransformation.EagerWork(work)));
+                        drain(false);
+                    } else {
+                        preprocessings.add(submit((Callable<Callable<Materializable>>) work));
+                        while (!preprocessings.isEmpty() && (preprocessings.size() > window || preprocessings.getFirst().isDone())) {
+                            deferred.add(resolve(preprocessings.removeFirst()));
                         }
                     }
-                    return this;
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void store(Map<TypeDescription, byte[]> binaryRepresentations) throws IOException {
-                    for (Map.Entry<TypeDescription, byte[]> entry : binaryRepresentations.entrySet()) {
-                        File target = new File(folder, entry.getKey().getInternalName() + CLASS_FILE_EXTENSION);
-                        if (!target.getParentFile().isDirectory() && !target.getParentFile().mkdirs()) {
-                            throw new IOException("Could not create directory: " + target.getParent());
-                        }
-                        OutputStream outputStream = new FileOutputStream(target);
-                        try {
-                            outputStream.write(entry.getValue());
-                        } finally {
-                            outputStream.close();
-                        }
+                public void complete() throws IOException {
+                    while (!preprocessings.isEmpty()) {
+                        deferred.add(resolve(preprocessings.removeFirst()));
+                    }
+                    Iterator<Callable<Materializable>> iterator = deferred.iterator();
+                    while (iterator.hasNext()) {
+                        materializers.add(submit(iterator.next()));
+                        iterator.remove();
+                        drain(false);
                     }
+                    drain(true);
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public void retain(Source.Element element) throws IOException {
-                    String name = element.getName();
-                    if (!name.endsWith("/")) {
-                        File target = new File(folder, name), resolved = element.resolveAs(File.class);
-                        if (!target.getCanonicalPath().startsWith(folder.getCanonicalPath())) {
-                            throw new IllegalArgumentException(target + " is not a subdirectory of " + folder);
-                        } else if (!target.getParentFile().isDirectory() && !target.getParentFile().mkdirs()) {
-                            throw new IOException("Could not create directory: " + target.getParent());
-                        } else if (DISPATCHER.isAlive() && resolved != null && !resolved.equals(target)) {
-                            DISPATCHER.copy(resolved, target);
-                        } else if (!target.equals(resolved)) {
-                            InputStream inputStream = element.getInputStream();
-                            try {
-                                OutputStream outputStream = new FileOutputStream(target);
-                                try {
-                                    byte[] buffer = new byte[1024];
-                                    int length;
-                                    while ((length = inputStream.read(buffer)) != -1) {
-                                        outputStream.write(buffer, 0, length);
-                                    }
-                                } finally {
-                                    outputStream.close();
-                                }
-                            } finally {
-                                inputStream.close();
-                            }
-                        }
+                public void close() {
+                    for (Future<?> future : materializers) {
+                        future.cancel(true);
+                    }
+                    for (Future<?> future : preprocessings) {
+                        future.cancel(true);
                     }
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * Submits a unit of work to this dispatcher's executor.
+                 *
+                 * @param callable The work to submit.
+                 * @param <T>      The type of the work's result.
+                 * @return A future representing the work's result.
                  */
-                public void close() {
-                    /* do nothing */
+                private <T> Future<T> submit(Callable<T> callable) {
+                    FutureTask<T> future = new FutureTask<T>(callable);
+                    executor.execute(future);
+                    return future;
                 }
 
                 /**
-                 * A dispatcher that allows for file copy operations based on NIO2 if available.
+                 * Materializes all work results at the beginning of the submission queue that are already available or until the
+                 * amount of work in flight does no longer exceed the window.
+                 *
+                 * @param all {@code true} if all work results should be materialized.
+                 * @throws IOException If an I/O exception occurs.
                  */
-                protected interface Dispatcher {
+                private void drain(boolean all) throws IOException {
+                    while (!materializers.isEmpty() && (all || materializers.size() > window || materializers.getFirst().isDone())) {
+                        resolve(materializers.removeFirst()).materialize(sink, transformed, failed, unresolved);
+                    }
+                }
 
-                    /**
-                     * Returns {@code true} if this dispatcher is alive.
-                     *
-                     * @return {@code true} if this dispatcher is alive.
-                     */
-                    boolean isAlive();
+                /**
+                 * Resolves a future, blocking until its result is available.
+                 *
+                 * @param future The future to resolve.
+                 * @param <T>    The type of the future's result.
+                 * @return The future's result.
+                 * @throws IOException If an I/O exception occurs.
+                 */
+                private static <T> T resolve(Future<T> future) throws IOException {
+                    try {
+                        return future.get();
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException(exception);
+                    } catch (ExecutionException exception) {
+                        Throwable cause = exception.getCause();
+                        if (cause instanceof IOException) {
+                            throw (IOException) cause;
+                        } else if (cause instanceof RuntimeException) {
+                            throw (RuntimeException) cause;
+                        } else if (cause instanceof Error) {
+                            throw (Error) cause;
+                        } else {
+                            throw new IllegalStateException(cause);
+                        }
+                    }
+                }
 
-                    /**
-                     * Copies the source file to the target location.
-                     *
-                     * @param source The source file.
-                     * @param target The target file.
-                     * @throws IOException If an I/O error occurs.
-                     */
-                    void copy(File source, File target) throws IOException;
+                /**
+                 * A streaming dispatcher that shuts down its executor service upon completion of a plugin engine's application.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                public static class WithThrowawayExecutorService extends ForStreamingTransformation {
 
                     /**
-                     * An action for creating a dispatcher.
+                     * The executor service to delegate any work to.
                      */
-                    enum CreationAction implements PrivilegedAction<Dispatcher> {
-
-                        /**
-                         * The singleton instance.
-                         */
-                        INSTANCE;
-
-                        /**
-                         * {@inheritDoc}
-                         */
-                        @SuppressWarnings("unchecked")
-                        public Dispatcher run() {
-                            try {
-                                Class<?> path = Class.forName("java.nio.file.Path");
-                                Object[] arguments = (Object[]) Array.newInstance(Class.forName("java.nio.file.CopyOption"), 1);
-                                arguments[0] = Enum.valueOf((Class) Class.forName("java.nio.file.StandardCopyOption"), "REPLACE_EXISTING");
-                                return new ForJava7CapableVm(File.class.getMethod("toPath"),
-                                        Class.forName("java.nio.file.Files").getMethod("copy", path, path, arguments.getClass()),
-                                        arguments);
-                            } catch (Throwable ignored) {
-                                return ForLegacyVm.INSTANCE;
-                            }
-                        }
-                    }
+                    private final ExecutorService executorService;
 
                     /**
-                     * A legacy dispatcher that is not capable of NIO.
+                     * Creates a new streaming dispatcher that closes the supplied executor service.
+                     *
+                     * @param executorService The executor service to delegate any work to.
+                     * @param window          The maximum amount of work that is in flight.
+                     * @param sink            The target sink.
+                     * @param transformed     A list of all types that are transformed.
+                     * @param failed          A mapping of all types that failed during transformation to the exceptions that explain the failure.
+                     * @param unresolved      A list of type names that could not be resolved.
                      */
-                    enum ForLegacyVm implements Dispatcher {
-
-                        /**
-                         * The singleton instance.
-                         */
-                        INSTANCE;
-
-                        /**
-                         * {@inheritDoc}
-                         */
-                        public boolean isAlive() {
-                            return false;
-                        }
+                    protected WithThrowawayExecutorService(ExecutorService executorService,
+                                                           int window,
+                                                           Target.Sink sink,
+                                                           List<TypeDescription> transformed,
+                                                           Map<TypeDescription, List<Throwable>> failed,
+                                                           List<String> unresolved) {
+                        super(executorService, window, sink, transformed, failed, unresolved);
+                        this.executorService = executorService;
+                    }
 
-                        /**
-                         * {@inheritDoc}
-                         */
-                        public void copy(File source, File target) {
-                            throw new UnsupportedOperationException("Cannot use NIO2 copy on current VM");
+                    @Override
+                    public void close() {
+                        try {
+                            super.close();
+                        } finally {
+                            executorService.shutdown();
                         }
                     }
 
                     /**
-                     * A dispatcher for VMs that are capable of NIO2.
+                     * A factory for a streaming dispatcher that creates a new executor service on each plugin engine application.
                      */
                     @HashCodeAndEqualsPlugin.Enhance
-                    class ForJava7CapableVm implements Dispatcher {
-
-                        /**
-                         * The {@code java.io.File#toPath()} method.
-                         */
-                        private final Method toPath;
+                    public static class Factory implements Dispatcher.Factory {
 
                         /**
-                         * The {@code java.nio.Files#copy(Path,Path,CopyOption[])} method.
+                         * The amount of threads to create in the throw-away executor service.
                          */
-                        private final Method copy;
+                        private final int threads;
 
                         /**
-                         * The copy options to apply.
+                         * The maximum amount of work that is in flight.
                          */
-                        private final Object[] copyOptions;
+                        private final int window;
 
                         /**
-                         * Creates a new NIO2 capable dispatcher.
+                         * Creates a new factory.
                          *
-                         * @param toPath      The {@code java.io.File#toPath()} method.
-                         * @param copy        The {@code java.nio.Files#copy(Path,Path,CopyOption[])} method.
-                         * @param copyOptions The copy options to apply.
-                         */
-                        protected ForJava7CapableVm(Method toPath, Method copy, Object[] copyOptions) {
-                            this.toPath = toPath;
-                            this.copy = copy;
-                            this.copyOptions = copyOptions;
-                        }
-
-                        /**
-                         * {@inheritDoc}
+                         * @param threads The amount of threads to create in the throw-away executor service.
+                         * @param window  The maximum amount of work that is in flight.
                          */
-                        public boolean isAlive() {
-                            return true;
+                        public Factory(int threads, int window) {
+                            this.threads = threads;
+                            this.window = window;
                         }
 
                         /**
                          * {@inheritDoc}
                          */
-                        public void copy(File source, File target) throws IOException {
-                            try {
-                                copy.invoke(null, toPath.invoke(source), toPath.invoke(target), copyOptions);
-                            } catch (IllegalAccessException exception) {
-                                throw new IllegalStateException("Cannot access NIO file copy", exception);
-                            } catch (InvocationTargetException exception) {
-                                Throwable cause = exception.getCause();
-                                if (cause instanceof IOException) {
-                                    throw (IOException) cause;
-                                } else {
-                                    throw new IllegalStateException("Cannot execute NIO file copy", cause);
-                                }
-                            }
+                        public Dispatcher make(Target.Sink sink,
+                                               List<TypeDescription> transformed,
+                                               Map<TypeDescription, List<Throwable>> failed,
+                                               List<String> unresolved) {
+                            return new WithThrowawayExecutorService(Executors.newFixedThreadPool(threads), window, sink, transformed, failed, unresolved);
                         }
                     }
                 }
-            }
-
-            /**
-             * Represents a jar file as a target.
-             */
-            @HashCodeAndEqualsPlugin.Enhance
-            class ForJarFile implements Target {
 
                 /**
-                 * The jar file that is represented by this target.
+                 * A factory for a streaming dispatcher that uses a given executor.
                  */
-                private final File file;
+                @HashCodeAndEqualsPlugin.Enhance
+                public static class Factory implements Dispatcher.Factory {
 
-                /**
-                 * Creates a new target for a jar file.
-                 *
-                 * @param file The jar file that is represented by this target.
-                 */
-                public ForJarFile(File file) {
-                    this.file = file;
-                }
+                    /**
+                     * The executor to use.
+                     */
+                    private final Executor executor;
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public Sink write(Manifest manifest) throws IOException {
-                    return manifest == null
-                            ? new Sink.ForJarOutputStream(new JarOutputStream(new FileOutputStream(file)))
-                            : new Sink.ForJarOutputStream(new JarOutputStream(new FileOutputStream(file), manifest));
+                    /**
+                     * The maximum amount of work that is in flight.
+                     */
+                    private final int window;
+
+                    /**
+                     * Creates a new dispatcher factory for streaming dispatching using the supplied executor.
+                     *
+                     * @param executor The executor to use.
+                     * @param window   The maximum amount of work that is in flight.
+                     */
+                    public Factory(Executor executor, int window) {
+                        this.executor = executor;
+                        this.window = window;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Dispatcher make(Target.Sink sink,
+                                           List<TypeDescription> transformed,
+                                           Map<TypeDescription, List<Throwable>> failed,
+                                           List<String> unresolved) {
+                        return new ForStreamingTransformation(executor, window, sink, transformed, failed, unresolved);
+                    }
                 }
             }
         }
 
         /**
-         * A dispatcher to execute a plugin engine transformation. A dispatcher will receive all work assignments prior to the invocation
-         * of complete. After registering and eventually completing the supplied work, the close method will always be called. Any dispatcher
-         * will only be used once and from a single thread.
+         * A module that is processed by a plugin engine, represented by a source and a target.
          */
-        interface Dispatcher extends Closeable {
+        @HashCodeAndEqualsPlugin.Enhance
+        class Module {
 
             /**
-             * Accepts a new work assignment.
+             * The module's source.
+             */
+            private final Source source;
+
+            /**
+             * The module's target.
+             */
+            private final Target target;
+
+            /**
+             * Creates a new module.
              *
-             * @param work The work to handle prefixed by a preprocessing step.
-             * @param eager {@code true} if the processing does not need to be deferred until all preprocessing is complete.
-             * @throws IOException If an I/O exception occurs.
+             * @param source The module's source.
+             * @param target The module's target.
              */
-            void accept(Callable<? extends Callable<? extends Materializable>> work, boolean eager) throws IOException;
+            public Module(Source source, Target target) {
+                this.source = source;
+                this.target = target;
+            }
 
             /**
-             * Completes the work being handled.
+             * Returns the module's source.
              *
-             * @throws IOException If an I/O exception occurs.
+             * @return The module's source.
              */
-            void complete() throws IOException;
+            public Source getSource() {
+                return source;
+            }
 
             /**
-             * The result of a work assignment that needs to be invoked from the main thread that triggers a dispatchers life-cycle methods.
+             * Returns the module's target.
+             *
+             * @return The module's target.
              */
-            interface Materializable {
+            public Target getTarget() {
+                return target;
+            }
+        }
 
-                /**
-                 * Materializes this work result and adds any results to the corresponding collection.
-                 *
-                 * @param sink        The sink to write any work to.
-                 * @param transformed A list of all types that are transformed.
-                 * @param failed      A mapping of all types that failed during transformation to the exceptions that explain the failure.
-                 * @param unresolved  A list of type names that could not be resolved.
-                 * @throws IOException If an I/O exception occurs.
-                 */
-                void materialize(Target.Sink sink,
-                                 List<TypeDescription> transformed,
-                                 Map<TypeDescription,
-                                         List<Throwable>> failed,
-                                 List<String> unresolved) throws IOException;
+        /**
+         * A summary of the application of a {@link Engine} to a source and target.
+         */
+        class Summary {
 
-                /**
-                 * A materializable for a successfully transformed type.
-                 */
-                class ForTransformedElement implements Materializable {
+            /**
+             * A list of all types that were transformed.
+             */
+            private final List<TypeDescription> transformed;
 
-                    /**
-                     * The type that has been transformed.
-                     */
-                    private final DynamicType dynamicType;
+            /**
+             * A mapping of all types that failed during transformation to the exceptions that explain the failure.
+             */
+            private final Map<TypeDescription, List<Throwable>> failed;
 
-                    /**
-                     * Creates a new materializable for a successfully transformed type.
-                     *
-                     * @param dynamicType The type that has been transformed.
-                     */
-                    protected ForTransformedElement(DynamicType dynamicType) {
-                        this.dynamicType = dynamicType;
-                    }
+            /**
+             * A list of type names that could not be resolved.
+             */
+            private final List<String> unresolved;
 
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void materialize(Target.Sink sink,
-                                            List<TypeDescription> transformed,
-                                            Map<TypeDescription,
-                                                    List<Throwable>> failed,
-                                            List<String> unresolved) throws IOException {
-                        sink.store(dynamicType.getAllTypes());
-                        transformed.add(dynamicType.getTypeDescription());
-                    }
-                }
+            /**
+             * The statistics that were recorded during the application.
+             */
+            private final Statistics statistics;
+
+            /**
+             * Creates a new summary without recorded statistics.
+             *
+             * @param transformed A list of all types that were transformed.
+             * @param failed      A mapping of all types that failed during transformation to the exceptions that explain the failure.
+             * @param unresolved  A list of type names that could not be resolved.
+             */
+            public Summary(List<TypeDescription> transformed, Map<TypeDescription, List<Throwable>> failed, List<String> unresolved) {
+                this(transformed, failed, unresolved, new Statistics(false));
+            }
+
+            /**
+             * Creates a new summary.
+             *
+             * @param transformed A list of all types that were transformed.
+             * @param failed      A mapping of all types that failed during transformation to the exceptions that explain the failure.
+             * @param unresolved  A list of type names that could not be resolved.
+             * @param statistics  The statistics that were recorded during the application.
+             */
+            public Summary(List<TypeDescription> transformed, Map<TypeDescription, List<Throwable>> failed, List<String> unresolved, Statistics statistics) {
+                this.transformed = transformed;
+                this.failed = failed;
+                this.unresolved = unresolved;
+                this.statistics = statistics;
+            }
+
+            /**
+             * Returns a list of all types that were transformed.
+             *
+             * @return A list of all types that were transformed.
+             */
+            public List<TypeDescription> getTransformed() {
+                return transformed;
+            }
+
+            /**
+             * Returns a mapping of all types that failed during transformation to the exceptions that explain the failure.
+             *
+             * @return A mapping of all types that failed during transformation to the exceptions that explain the failure.
+             */
+            public Map<TypeDescription, List<Throwable>> getFailed() {
+                return failed;
+            }
 
-                /**
-                 * A materializable for an element that is retained in its original state.
-                 */
-                class ForRetainedElement implements Materializable {
+            /**
+             * Returns a list of type names that could not be resolved.
+             *
+             * @return A list of type names that could not be resolved.
+             */
+            public List<String> getUnresolved() {
+                return unresolved;
+            }
 
-                    /**
-                     * The retained element.
-                     */
-                    private final Source.Element element;
+            /**
+             * Returns the statistics that were recorded during the application. If statistics were not enabled, the returned
+             * instance does not contain any records.
+             *
+             * @return The statistics that were recorded during the application.
+             */
+            public Statistics getStatistics() {
+                return statistics;
+            }
 
-                    /**
-                     * Creates a new materializable for a retained element.
-                     *
-                     * @param element The retained element.
-                     */
-                    protected ForRetainedElement(Source.Element element) {
-                        this.element = element;
-                    }
+            @Override
+            public int hashCode() {
+                int result = transformed.hashCode();
+                result = 31 * result + failed.hashCode();
+                result = 31 * result + unresolved.hashCode();
+                return result;
+            }
 
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void materialize(Target.Sink sink,
-                                            List<TypeDescription> transformed,
-                                            Map<TypeDescription,
-                                                    List<Throwable>> failed,
-                                            List<String> unresolved) throws IOException {
-                        sink.retain(element);
-                    }
+            @Override
+            public boolean equals(Object other) {
+                if (this == other) {
+                    return true;
+                } else if (other == null || getClass() != other.getClass()) {
+                    return false;
                 }
+                Summary summary = (Summary) other;
+                return transformed.equals(summary.transformed)
+                        && failed.equals(summary.failed)
+                        && unresolved.equals(summary.unresolved);
+            }
+        }
 
-                /**
-                 * A materializable for an element that failed to be transformed.
-                 */
-                class ForFailedElement implements Materializable {
+        /**
+         * Statistics on the application of a {@link Engine} that are recorded per type and per plugin if enabled via
+         * {@link Engine#withStatistics()}. Statistics are recorded concurrently and might be queried from any thread.
+         */
+        class Statistics {
 
-                    /**
-                     * The element for which the transformation failed.
-                     */
-                    private final Source.Element element;
+            /**
+             * Indicates that a size is unknown.
+             */
+            public static final long UNKNOWN = -1L;
 
-                    /**
-                     * The type description for the represented type.
-                     */
-                    private final TypeDescription typeDescription;
+            /**
+             * The default amount of types that are included in a report.
+             */
+            protected static final int DEFAULT_TYPE_LIMIT = 25;
 
-                    /**
-                     * A non-empty list of errors that occurred when attempting the transformation.
-                     */
-                    private final List<Throwable> errored;
+            /**
+             * {@code true} if statistics are recorded.
+             */
+            private final boolean enabled;
 
-                    /**
-                     * Creates a new materializable for an element that failed to be transformed.
-                     *
-                     * @param element         The element for which the transformation failed.
-                     * @param typeDescription The type description for the represented type.
-                     * @param errored         A non-empty list of errors that occurred when attempting the transformation.
-                     */
-                    protected ForFailedElement(Source.Element element, TypeDescription typeDescription, List<Throwable> errored) {
-                        this.element = element;
-                        this.typeDescription = typeDescription;
-                        this.errored = errored;
-                    }
+            /**
+             * A mapping of type names to their statistics.
+             */
+            private final ConcurrentMap<String, ForType> types;
 
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void materialize(Target.Sink sink,
-                                            List<TypeDescription> transformed,
-                                            Map<TypeDescription,
-                                                    List<Throwable>> failed,
-                                            List<String> unresolved) throws IOException {
-                        sink.retain(element);
-                        failed.put(typeDescription, errored);
-                    }
-                }
+            /**
+             * A mapping of plugins to their statistics.
+             */
+            private final ConcurrentMap<Plugin, ForPlugin> plugins;
 
-                /**
-                 * A materializable for an element that could not be resolved.
-                 */
-                class ForUnresolvedElement implements Materializable {
+            /**
+             * A mapping of type names to the size of their class file when first located.
+             */
+            private final ConcurrentMap<String, Integer> sizes;
 
-                    /**
-                     * The element that could not be resolved.
-                     */
-                    private final Source.Element element;
+            /**
+             * The total amount of type pool resolutions.
+             */
+            private final AtomicLong resolutions;
 
-                    /**
-                     * The name of the type that was deducted for this element.
-                     */
-                    private final String typeName;
+            /**
+             * The total amount of class file locator lookups.
+             */
+            private final AtomicLong lookups;
 
-                    /**
-                     * Creates a new materializable for an element that could not be resolved.
-                     *
-                     * @param element  The element that could not be resolved.
-                     * @param typeName The name of the type that was deducted for this element.
-                     */
-                    protected ForUnresolvedElement(Source.Element element, String typeName) {
-                        this.element = element;
-                        this.typeName = typeName;
-                    }
+            /**
+             * The statistics of the type that is currently processed by the current thread.
+             */
+            private final ThreadLocal<ForType> current;
 
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void materialize(Target.Sink sink,
-                                            List<TypeDescription> transformed,
-                                            Map<TypeDescription,
-                                                    List<Throwable>> failed,
-                                            List<String> unresolved) throws IOException {
-                        sink.retain(element);
-                        unresolved.add(typeName);
-                    }
-                }
+            /**
+             * Creates a new statistics instance.
+             *
+             * @param enabled {@code true} if statistics are recorded.
+             */
+            public Statistics(boolean enabled) {
+                this.enabled = enabled;
+                types = new ConcurrentHashMap<String, ForType>();
+                plugins = new ConcurrentHashMap<Plugin, ForPlugin>();
+                sizes = new ConcurrentHashMap<String, Integer>();
+                resolutions = new AtomicLong();
+                lookups = new AtomicLong();
+                current = new ThreadLocal<ForType>();
             }
 
             /**
-             * A factory that is used for creating a dispatcher that is used for a specific plugin engine application.
+             * Returns {@code true} if statistics are recorded.
+             *
+             * @return {@code true} if statistics are recorded.
              */
-            interface Factory {
+            public boolean isEnabled() {
+                return enabled;
+            }
 
-                /**
-                 * Creates a new dispatcher.
-                 *
-                 * @param sink        The sink to write any work to.
-                 * @param transformed A list of all types that are transformed.
-                 * @param failed      A mapping of all types that failed during transformation to the exceptions that explain the failure.
-                 * @param unresolved  A list of type names that could not be resolved.
-                 * @return The dispatcher to use.
-                 */
-                Dispatcher make(Target.Sink sink,
-                                List<TypeDescription> transformed,
-                                Map<TypeDescription,
-                                        List<Throwable>> failed,
-                                List<String> unresolved);
+            /**
+             * Returns a mapping of type names to their statistics.
+             *
+             * @return A mapping of type names to their statistics.
+             */
+            public Map<String, ForType> getTypes() {
+                return new HashMap<String, ForType>(types);
             }
 
             /**
-             * A dispatcher that applies transformation upon discovery.
+             * Returns a mapping of plugins to their statistics.
+             *
+             * @return A mapping of plugins to their statistics.
              */
-            class ForSerialTransformation implements Dispatcher {
+            public Map<Plugin, ForPlugin> getPlugins() {
+                return new HashMap<Plugin, ForPlugin>(plugins);
+            }
 
-                /**
-                 * The sink to write any work to.
-                 */
-                private final Target.Sink sink;
+            /**
+             * Returns the total amount of type pool resolutions that were triggered by the engine, its plugins and by type creation.
+             *
+             * @return The total amount of type pool resolutions.
+             */
+            public long getResolutions() {
+                return resolutions.get();
+            }
 
-                /**
-                 * A list of all types that are transformed.
-                 */
-                private final List<TypeDescription> transformed;
+            /**
+             * Returns the total amount of class file locator lookups, including lookups of types that are not contained in the source.
+             *
+             * @return The total amount of class file locator lookups.
+             */
+            public long getLookups() {
+                return lookups.get();
+            }
 
-                /**
-                 * A mapping of all types that failed during transformation to the exceptions that explain the failure.
-                 */
-                private final Map<TypeDescription, List<Throwable>> failed;
+            /**
+             * Writes a report of all recorded statistics to the supplied print stream.
+             *
+             * @param printStream The print stream to write to.
+             */
+            public void report(PrintStream printStream) {
+                report(printStream, DEFAULT_TYPE_LIMIT);
+            }
 
-                /**
-                 * A list of type names that could not be resolved.
-                 */
-                private final List<String> unresolved;
+            /**
+             * Writes a report of all recorded statistics to the supplied print stream.
+             *
+             * @param printStream The print stream to write to.
+             * @param limit       The maximum number of types to include for the longest processing time and for the largest size increase.
+             */
+            public void report(PrintStream printStream, int limit) {
+                List<ForType> types = new ArrayList<ForType>(this.types.values());
+                long time = 0L, bytesIn = 0L, bytesOut = 0L, transformed = 0L;
+                for (ForType type : types) {
+                    time += type.getTime();
+                    if (type.getBytesIn() != UNKNOWN && type.getBytesOut() != UNKNOWN) {
+                        bytesIn += type.getBytesIn();
+                        bytesOut += type.getBytesOut();
+                    }
+                    if (type.isTransformed()) {
+                        transformed++;
+                    }
+                }
+                synchronized (printStream) {
+                    printStream.printf(Listener.StreamWriting.PREFIX + " TOTAL [types=%d, transformed=%d, time=%dns, in=%d, out=%d, resolutions=%d, lookups=%d]%n",
+                            types.size(),
+                            transformed,
+                            time,
+                            bytesIn,
+                            bytesOut,
+                            resolutions.get(),
+                            lookups.get());
+                    for (ForPlugin plugin : plugins.values()) {
+                        printStream.printf(Listener.StreamWriting.PREFIX + " PLUGIN %s [applied=%d, ignored=%d, failed=%d, time=%dns]%n",
+                                plugin.getPlugin(),
+                                plugin.getApplied(),
+                                plugin.getIgnored(),
+                                plugin.getFailed(),
+                                plugin.getTime());
+                    }
+                    Collections.sort(types, Sort.TIME);
+                    for (ForType type : types.subList(0, Math.min(limit, types.size()))) {
+                        printStream.printf(Listener.StreamWriting.PREFIX + " TYPE %s%n", type);
+                    }
+                    Collections.sort(types, Sort.GROWTH);
+                    for (ForType type : types.subList(0, Math.min(limit, types.size()))) {
+                        if (type.isTransformed() && type.getBytesIn() != UNKNOWN) {
+                            printStream.printf(Listener.StreamWriting.PREFIX + " GROWTH %s%n", type);
+                        }
+                    }
+                }
+            }
 
-                /**
-                 * A list of deferred processings.
-                 */
-                private final List<Callable<? extends Materializable>> preprocessings;
+            /**
+             * Writes a report of all recorded statistics to the supplied file.
+             *
+             * @param file The file to write the report to.
+             * @throws IOException If an I/O exception occurs.
+             */
+            public void report(File file) throws IOException {
+                PrintStream printStream = new PrintStream(new FileOutputStream(file));
+                try {
+                    report(printStream);
+                } finally {
+                    printStream.close();
+                }
+            }
 
-                /**
-                 * Creates a dispatcher for a serial transformation.
-                 *
-                 * @param sink        The sink to write any work to.
-                 * @param transformed A list of all types that are transformed.
-                 * @param failed      A mapping of all types that failed during transformation to the exceptions that explain the failure.
-                 * @param unresolved  A list of type names that could not be resolved.
-                 */
-                protected ForSerialTransformation(Target.Sink sink,
-                                                  List<TypeDescription> transformed,
-                                                  Map<TypeDescription, List<Throwable>> failed,
-                                                  List<String> unresolved) {
-                    this.sink = sink;
-                    this.transformed = transformed;
-                    this.failed = failed;
-                    this.unresolved = unresolved;
-                    preprocessings = new ArrayList<Callable<? extends Materializable>>();
+            /**
+             * Decorates a class file locator to count lookups and to record the size of located class files.
+             *
+             * @param classFileLocator The class file locator to decorate.
+             * @return A class file locator that records statistics if enabled.
+             */
+            protected ClassFileLocator decorate(ClassFileLocator classFileLocator) {
+                return enabled
+                        ? new CountingClassFileLocator(classFileLocator)
+                        : classFileLocator;
+            }
+
+            /**
+             * Decorates a type pool to count resolutions.
+             *
+             * @param typePool The type pool to decorate.
+             * @return A type pool that records statistics if enabled.
+             */
+            protected TypePool decorate(TypePool typePool) {
+                return enabled
+                        ? new CountingTypePool(typePool)
+                        : typePool;
+            }
+
+            /**
+             * Invoked when the current thread starts processing a type.
+             *
+             * @param typeName The name of the type being processed.
+             */
+            protected void onStart(String typeName) {
+                if (enabled) {
+                    current.set(of(typeName));
                 }
+            }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void accept(Callable<? extends Callable<? extends Materializable>> work, boolean eager) throws IOException {
-                    try {
-                        Callable<? extends Materializable> preprocessed = work.call();
-                        if (eager) {
-                            preprocessed.call().materialize(sink, transformed, failed, unresolved);
-                        } else {
-                            preprocessings.add(preprocessed);
-                        }
-                    } catch (Exception exception) {
-                        if (exception instanceof IOException) {
-                            throw (IOException) exception;
-                        } else if (exception instanceof RuntimeException) {
-                            throw (RuntimeException) exception;
-                        } else {
-                            throw new IllegalStateException(exception);
-                        }
-                    }
+            /**
+             * Invoked when the current thread stops processing a type.
+             *
+             * @param typeName The name of the type being processed.
+             * @param started  The value of {@link System#nanoTime()} when the processing started.
+             */
+            protected void onStop(String typeName, long started) {
+                if (enabled) {
+                    current.remove();
+                    of(typeName).time.addAndGet(System.nanoTime() - started);
                 }
+            }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void complete() throws IOException {
-                    for (Callable<? extends Materializable> preprocessing : preprocessings) {
-                        if (Thread.interrupted()) {
-                            Thread.currentThread().interrupt();
-                            throw new IllegalStateException("Interrupted during plugin engine completion");
-                        }
-                        try {
-                            preprocessing.call().materialize(sink, transformed, failed, unresolved);
-                        } catch (Exception exception) {
-                            if (exception instanceof IOException) {
-                                throw (IOException) exception;
-                            } else if (exception instanceof RuntimeException) {
-                                throw (RuntimeException) exception;
-                            } else {
-                                throw new IllegalStateException(exception);
-                            }
-                        }
-                    }
+            /**
+             * Invoked after a plugin was applied to a type.
+             *
+             * @param plugin  The plugin that was applied.
+             * @param started The value of {@link System#nanoTime()} when the plugin was matched.
+             */
+            protected void onApplied(Plugin plugin, long started) {
+                if (enabled) {
+                    ForPlugin statistics = of(plugin);
+                    statistics.time.addAndGet(System.nanoTime() - started);
+                    statistics.applied.incrementAndGet();
                 }
+            }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public void close() {
-                    /* do nothing */
+            /**
+             * Invoked after a plugin ignored a type.
+             *
+             * @param plugin  The plugin that ignored the type.
+             * @param started The value of {@link System#nanoTime()} when the plugin was matched.
+             */
+            protected void onIgnored(Plugin plugin, long started) {
+                if (enabled) {
+                    ForPlugin statistics = of(plugin);
+                    statistics.time.addAndGet(System.nanoTime() - started);
+                    statistics.ignored.incrementAndGet();
                 }
+            }
 
-                /**
-                 * A factory for creating a serial dispatcher.
-                 */
-                public enum Factory implements Dispatcher.Factory {
+            /**
+             * Invoked after a plugin failed to match or to apply to a type.
+             *
+             * @param plugin  The plugin that failed.
+             * @param started The value of {@link System#nanoTime()} when the plugin was matched.
+             */
+            protected void onFailed(Plugin plugin, long started) {
+                if (enabled) {
+                    ForPlugin statistics = of(plugin);
+                    statistics.time.addAndGet(System.nanoTime() - started);
+                    statistics.failed.incrementAndGet();
+                }
+            }
 
-                    /**
-                     * The singleton instance.
-                     */
-                    INSTANCE;
+            /**
+             * Invoked after a type was transformed.
+             *
+             * @param typeName    The name of the transformed type.
+             * @param dynamicType The dynamic type that represents the transformed type and its auxiliary types.
+             */
+            protected void onTransformed(String typeName, DynamicType dynamicType) {
+                if (enabled) {
+                    long size = 0L;
+                    for (byte[] binaryRepresentation : dynamicType.getAllTypes().values()) {
+                        size += binaryRepresentation.length;
+                    }
+                    of(typeName).bytesOut.set(size);
+                }
+            }
 
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public Dispatcher make(Target.Sink sink,
-                                           List<TypeDescription> transformed,
-                                           Map<TypeDescription,
-                                                   List<Throwable>> failed,
-                                           List<String> unresolved) {
-                        return new ForSerialTransformation(sink, transformed, failed, unresolved);
+            /**
+             * Returns the statistics for a given type name, registering them if they do not yet exist.
+             *
+             * @param typeName The name of the type.
+             * @return The statistics for the supplied type.
+             */
+            private ForType of(String typeName) {
+                ForType type = types.get(typeName);
+                if (type == null) {
+                    type = new ForType(typeName);
+                    ForType previous = types.putIfAbsent(typeName, type);
+                    if (previous != null) {
+                        type = previous;
                     }
                 }
+                return type;
             }
 
             /**
-             * A dispatcher that applies transformations within one or more threads in parallel to the default transformer.
+             * Returns the statistics for a given plugin, registering them if they do not yet exist.
+             *
+             * @param plugin The plugin.
+             * @return The statistics for the supplied plugin.
              */
-            class ForParallelTransformation implements Dispatcher {
+            private ForPlugin of(Plugin plugin) {
+                ForPlugin statistics = plugins.get(plugin);
+                if (statistics == null) {
+                    statistics = new ForPlugin(plugin);
+                    ForPlugin previous = plugins.putIfAbsent(plugin, statistics);
+                    if (previous != null) {
+                        statistics = previous;
+                    }
+                }
+                return statistics;
+            }
+
+            /**
+             * Statistics for a single type.
+             */
+            public class ForType {
 
                 /**
-                 * The target sink.
+                 * The name of the type.
                  */
-                private final Target.Sink sink;
+                private final String name;
 
                 /**
-                 * A list of all types that are transformed.
+                 * The accumulated processing time in nanoseconds.
                  */
-                private final List<TypeDescription> transformed;
+                private final AtomicLong time;
 
                 /**
-                 * A mapping of all types that failed during transformation to the exceptions that explain the failure.
+                 * The amount of type pool resolutions triggered while processing the type.
                  */
-                private final Map<TypeDescription, List<Throwable>> failed;
+                private final AtomicLong resolutions;
 
                 /**
-                 * A list of type names that could not be resolved.
+                 * The amount of class file locator lookups triggered while processing the type.
                  */
-                private final List<String> unresolved;
+                private final AtomicLong lookups;
 
                 /**
-                 * A completion service for all preprocessings.
+                 * The size of the transformed type and its auxiliary types or {@link Statistics#UNKNOWN} if the type was not transformed.
                  */
-                private final CompletionService<Callable<Materializable>> preprocessings;
+                private final AtomicLong bytesOut;
 
                 /**
-                 * A completion service for all materializers.
+                 * Creates new statistics for a type.
+                 *
+                 * @param name The name of the type.
                  */
-                private final CompletionService<Materializable> materializers;
+                protected ForType(String name) {
+                    this.name = name;
+                    time = new AtomicLong();
+                    resolutions = new AtomicLong();
+                    lookups = new AtomicLong();
+                    bytesOut = new AtomicLong(UNKNOWN);
+                }
 
                 /**
-                 * A count of deferred processings.
+                 * Returns the name of the type.
+                 *
+                 * @return The name of the type.
                  */
-                private int deferred;
+                public String getName() {
+                    return name;
+                }
 
                 /**
-                 * A collection of futures that are currently scheduled.
+                 * Returns the accumulated processing time of this type in nanoseconds.
+                 *
+                 * @return The accumulated processing time of this type in nanoseconds.
                  */
-                private final Set<Future<?>> futures;
+                public long getTime() {
+                    return time.get();
+                }
 
                 /**
-                 * Creates a new dispatcher that applies transformations in parallel.
+                 * Returns the amount of type pool resolutions that were triggered while processing this type.
                  *
-                 * @param executor    The executor to delegate any work to.
-                 * @param sink        The target sink.
-                 * @param transformed A list of all types that are transformed.
-                 * @param failed      A mapping of all types that failed during transformation to the exceptions that explain the failure.
-                 * @param unresolved  A list of type names that could not be resolved.
+                 * @return The amount of type pool resolutions that were triggered while processing this type.
                  */
-                protected ForParallelTransformation(Executor executor,
-                                                    Target.Sink sink,
-                                                    List<TypeDescription> transformed,
-                                                    Map<TypeDescription,
-                                                            List<Throwable>> failed,
-                                                    List<String> unresolved) {
-                    this.sink = sink;
-                    this.transformed = transformed;
-                    this.failed = failed;
-                    this.unresolved = unresolved;
-                    preprocessings = new ExecutorCompletionService<Callable<Materializable>>(executor);
-                    materializers = new ExecutorCompletionService<Materializable>(executor);
-                    futures = new HashSet<Future<?>>();
+                public long getResolutions() {
+                    return resolutions.get();
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * Returns the amount of class file locator lookups that were triggered while processing this type.
+                 *
+                 * @return The amount of class file locator lookups that were triggered while processing this type.
                  */
-                @SuppressWarnings("unchecked")
-                public void accept(Callable<? extends Callable<? extends Materializable>> work, boolean eager) {
-                    if (eager) {
-                        futures.add(materializers.submit(new EagerWork(work)));
-                    } else {
-                        deferred += 1;
-                        futures.add(preprocessings.submit((Callable<Callable<Materializable>>) work));
-                    }
+                public long getLookups() {
+                    return lookups.get();
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * Returns {@code true} if this type was transformed.
+                 *
+                 * @return {@code true} if this type was transformed.
                  */
-                public void complete() throws IOException {
-                    try {
-                        List<Callable<Materializable>> preprocessings = new ArrayList<Callable<Materializable>>(deferred);
-                        while (deferred-- > 0) {
-                            Future<Callable<Materializable>> future = this.preprocessings.take();
-                            futures.remove(future);
-                            preprocessings.add(future.get());
-                        }
-                        for (Callable<Materializable> preprocessing : preprocessings) {
-                            futures.add(materializers.submit(preprocessing));
-                        }
-                        while (!futures.isEmpty()) {
-                            Future<Materializable> future = materializers.take();
-                            futures.remove(future);
-                            future.get().materialize(sink, transformed, failed, unresolved);
-                        }
-                    } catch (InterruptedException exception) {
-                        Thread.currentThread().interrupt();
-                        throw new IllegalStateException(exception);
-                    } catch (ExecutionException exception) {
-                        Throwable cause = exception.getCause();
-                        if (cause instanceof IOException) {
-                            throw (IOException) cause;
-                        } else if (cause instanceof RuntimeException) {
-                            throw (RuntimeException) cause;
-                        } else if (cause instanceof Error) {
-                            throw (Error) cause;
-                        } else {
-                            throw new IllegalStateException(cause);
-                        }
-                    }
+                public boolean isTransformed() {
+                    return bytesOut.get() != UNKNOWN;
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * Returns the size of this type's original class file or {@link Statistics#UNKNOWN} if the class file was never located.
+                 *
+                 * @return The size of this type's original class file.
                  */
-                public void close() {
-                    for (Future<?> future : futures) {
-                        future.cancel(true);
-                    }
+                public long getBytesIn() {
+                    Integer size = sizes.get(name);
+                    return size == null
+                            ? UNKNOWN
+                            : size;
                 }
 
                 /**
-                 * A parallel dispatcher that shuts down its executor service upon completion of a plugin engine's application.
+                 * Returns the size of the written class files for this type, including any auxiliary types. If the type was
+                 * not transformed, the size of the original class file is returned.
+                 *
+                 * @return The size of the written class files for this type.
                  */
-                @HashCodeAndEqualsPlugin.Enhance
-                public static class WithThrowawayExecutorService extends ForParallelTransformation {
-
-                    /**
-                     * The executor service to delegate any work to.
-                     */
-                    private final ExecutorService executorService;
+                public long getBytesOut() {
+                    long size = bytesOut.get();
+                    return size == UNKNOWN
+                            ? getBytesIn()
+                            : size;
+                }
 
-                    /**
-                     * Creates a new dispatcher that applies transformations in parallel and that closes the supplies executor service.
-                     *
-                     * @param executorService The executor service to delegate any work to.
-                     * @param sink            The target sink.
-                     * @param transformed     A list of all types that are transformed.
-                     * @param failed          A mapping of all types that failed during transformation to the exceptions that explain the failure.
-                     * @param unresolved      A list of type names that could not be resolved.
-                     */
-                    protected WithThrowawayExecutorService(ExecutorService executorService,
-                                                           Target.Sink sink,
-                                                           List<TypeDescription> transformed,
-                                                           Map<TypeDescription, List<Throwable>> failed,
-                                                           List<String> unresolved) {
-                        super(executorService, sink, transformed, failed, unresolved);
-                        this.executorService = executorService;
-                    }
+                @Override
+                public String toString() {
+                    return name + " [time=" + getTime() + "ns, in=" + getBytesIn() + ", out=" + getBytesOut()
+                            + ", resolutions=" + getResolutions() + ", lookups=" + getLookups() + "]";
+                }
+            }
 
-                    @Override
-                    public void close() {
-                        try {
-                            super.close();
-                        } finally {
-                            executorService.shutdown();
-                        }
-                    }
+            /**
+             * Statistics for a single plugin.
+             */
+            public static class ForPlugin {
 
-                    /**
-                     * A factory for a parallel executor service that creates a new executor service on each plugin engine application.
-                     */
-                    @HashCodeAndEqualsPlugin.Enhance
-                    public static class Factory implements Dispatcher.Factory {
+                /**
+                 * The represented plugin.
+                 */
+                private final Plugin plugin;
 
-                        /**
-                         * The amount of threads to create in the throw-away executor service.
-                         */
-                        private final int threads;
+                /**
+                 * The accumulated time for matching and applying this plugin in nanoseconds.
+                 */
+                private final AtomicLong time;
 
-                        /**
-                         * Creates a new factory.
-                         *
-                         * @param threads The amount of threads to create in the throw-away executor service.
-                         */
-                        public Factory(int threads) {
-                            this.threads = threads;
-                        }
+                /**
+                 * The amount of types this plugin was applied to.
+                 */
+                private final AtomicLong applied;
 
-                        /**
-                         * {@inheritDoc}
-                         */
-                        public Dispatcher make(Target.Sink sink,
-                                               List<TypeDescription> transformed,
-                                               Map<TypeDescription, List<Throwable>> failed,
-                                               List<String> unresolved) {
-                            return new WithThrowawayExecutorService(Executors.newFixedThreadPool(threads), sink, transformed, failed, unresolved);
-                        }
-                    }
+                /**
+                 * The amount of types this plugin ignored.
+                 */
+                private final AtomicLong ignored;
+
+                /**
+                 * The amount of types for which this plugin failed.
+                 */
+                private final AtomicLong failed;
+
+                /**
+                 * Creates new statistics for a plugin.
+                 *
+                 * @param plugin The represented plugin.
+                 */
+                protected ForPlugin(Plugin plugin) {
+                    this.plugin = plugin;
+                    time = new AtomicLong();
+                    applied = new AtomicLong();
+                    ignored = new AtomicLong();
+                    failed = new AtomicLong();
                 }
 
                 /**
-                 * A factory for a dispatcher that uses a given executor service for parallel dispatching.
+                 * Returns the represented plugin.
+                 *
+                 * @return The represented plugin.
                  */
-                @HashCodeAndEqualsPlugin.Enhance
-                public static class Factory implements Dispatcher.Factory {
+                public Plugin getPlugin() {
+                    return plugin;
+                }
 
-                    /**
-                     * The executor to use.
-                     */
-                    private final Executor executor;
+                /**
+                 * Returns the accumulated time for matching and applying this plugin in nanoseconds.
+                 *
+                 * @return The accumulated time for matching and applying this plugin in nanoseconds.
+                 */
+                public long getTime() {
+                    return time.get();
+                }
 
-                    /**
-                     * Creates a new dispatcher factory for parallel dispatching using the supplied executor.
-                     *
-                     * @param executor The executor to use.
-                     */
-                    public Factory(Executor executor) {
-                        this.executor = executor;
-                    }
+                /**
+                 * Returns the amount of types this plugin was applied to.
+                 *
+                 * @return The amount of types this plugin was applied to.
+                 */
+                public long getApplied() {
+                    return applied.get();
+                }
 
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public Dispatcher make(Target.Sink sink,
-                                           List<TypeDescription> transformed,
-                                           Map<TypeDescription, List<Throwable>> failed,
-                                           List<String> unresolved) {
-                        return new ForParallelTransformation(executor, sink, transformed, failed, unresolved);
-                    }
+                /**
+                 * Returns the amount of types this plugin ignored.
+                 *
+                 * @return The amount of types this plugin ignored.
+                 */
+                public long getIgnored() {
+                    return ignored.get();
                 }
 
                 /**
-                 * An eager materialization that does not defer processing after preprocessing.
+                 * Returns the amount of types for which this plugin failed.
+                 *
+                 * @return The amount of types for which this plugin failed.
                  */
-                @HashCodeAndEqualsPlugin.Enhance
-                protected static class EagerWork implements Callable<Materializable> {
+                public long getFailed() {
+                    return failed.get();
+                }
+            }
 
-                    /**
-                     * The work to apply.
-                     */
-                    private final Callable<? extends Callable<? extends Materializable>> work;
+            /**
+             * Comparators for sorting type statistics in a report.
+             */
+            protected enum Sort implements Comparator<ForType> {
 
-                    /**
-                     * Creates an eager work resolution.
-                     *
-                     * @param work The work to apply.
-                     */
-                    protected EagerWork(Callable<? extends Callable<? extends Materializable>> work) {
-                        this.work = work;
+                /**
+                 * Sorts types by their processing time in descending order.
+                 */
+                TIME {
+                    @Override
+                    protected long toValue(ForType type) {
+                        return type.getTime();
                     }
+                },
 
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public Materializable call() throws Exception {
-                        return work.call().call();
+                /**
+                 * Sorts transformed types by the size increase of their class files in descending order.
+                 */
+                GROWTH {
+                    @Override
+                    protected long toValue(ForType type) {
+                        return type.isTransformed() && type.getBytesIn() != UNKNOWN
+                                ? type.getBytesOut() - type.getBytesIn()
+                                : Long.MIN_VALUE;
                     }
+                };
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public int compare(ForType left, ForType right) {
+                    long leftValue = toValue(left), rightValue = toValue(right);
+                    return leftValue < rightValue
+                            ? 1
+                            : (leftValue == rightValue ? 0 : -1);
                 }
-            }
-        }
 
-        /**
-         * A summary of the application of a {@link Engine} to a source and target.
-         */
-        class Summary {
+                /**
+                 * Returns the value to sort by.
+                 *
+                 * @param type The type statistics to sort.
+                 * @return The value to sort by.
+                 */
+                protected abstract long toValue(ForType type);
+            }
 
             /**
-             * A list of all types that were transformed.
+             * A class file locator that counts lookups and records the size of located class files.
              */
-            private final List<TypeDescription> transformed;
+            protected class CountingClassFileLocator implements ClassFileLocator {
 
-            /**
-             * A mapping of all types that failed during transformation to the exceptions that explain the failure.
-             */
-            private final Map<TypeDescription, List<Throwable>> failed;
+                /**
+                 * The class file locator to delegate to.
+                 */
+                private final ClassFileLocator delegate;
 
-            /**
-             * A list of type names that could not be resolved.
-             */
-            private final List<String> unresolved;
+                /**
+                 * Creates a new counting class file locator.
+                 *
+                 * @param delegate The class file locator to delegate to.
+                 */
+                protected CountingClassFileLocator(ClassFileLocator delegate) {
+                    this.delegate = delegate;
+                }
 
-            /**
-             * Creates a new summary.
-             *
-             * @param transformed A list of all types that were transformed.
-             * @param failed      A mapping of all types that failed during transformation to the exceptions that explain the failure.
-             * @param unresolved  A list of type names that could not be resolved.
-             */
-            public Summary(List<TypeDescription> transformed, Map<TypeDescription, List<Throwable>> failed, List<String> unresolved) {
-                this.transformed = transformed;
-                this.failed = failed;
-                this.unresolved = unresolved;
-            }
+                /**
+                 * {@inheritDoc}
+                 */
+                public Resolution locate(String name) throws IOException {
+                    lookups.incrementAndGet();
+                    ForType type = current.get();
+                    if (type != null) {
+                        type.lookups.incrementAndGet();
+                    }
+                    Resolution resolution = delegate.locate(name);
+                    if (resolution.isResolved() && !sizes.containsKey(name)) {
+                        sizes.putIfAbsent(name, resolution.resolve().length);
+                    }
+                    return resolution;
+                }
 
-            /**
-             * Returns a list of all types that were transformed.
-             *
-             * @return A list of all types that were transformed.
-             */
-            public List<TypeDescription> getTransformed() {
-                return transformed;
+                /**
+                 * {@inheritDoc}
+                 */
+                public void close() throws IOException {
+                    delegate.close();
+                }
             }
 
             /**
-             * Returns a mapping of all types that failed during transformation to the exceptions that explain the failure.
-             *
-             * @return A mapping of all types that failed during transformation to the exceptions that explain the failure.
+             * A type pool that counts resolutions.
              */
-            public Map<TypeDescription, List<Throwable>> getFailed() {
-                return failed;
-            }
+            protected class CountingTypePool implements TypePool {
 
-            /**
-             * Returns a list of type names that could not be resolved.
-             *
-             * @return A list of type names that could not be resolved.
-             */
-            public List<String> getUnresolved() {
-                return unresolved;
-            }
+                /**
+                 * The type pool to delegate to.
+                 */
+                private final TypePool delegate;
 
-            @Override
-            public int hashCode() {
-                int result = transformed.hashCode();
-                result = 31 * result + failed.hashCode();
-                result = 31 * result + unresolved.hashCode();
-                return result;
-            }
+                /**
+                 * Creates a new counting type pool.
+                 *
+                 * @param delegate The type pool to delegate to.
+                 */
+                protected CountingTypePool(TypePool delegate) {
+                    this.delegate = delegate;
+                }
 
-            @Override
-            public boolean equals(Object other) {
-                if (this == other) {
-                    return true;
-                } else if (other == null || getClass() != other.getClass()) {
-                    return false;
+                /**
+                 * {@inheritDoc}
+                 */
+                public Resolution describe(String name) {
+                    resolutions.incrementAndGet();
+                    ForType type = current.get();
+                    if (type != null) {
+                        type.resolutions.incrementAndGet();
+                    }
+                    return delegate.describe(name);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void clear() {
+                    delegate.clear();
                 }
-                Summary summary = (Summary) other;
-                return transformed.equals(summary.transformed)
-                        && failed.equals(summary.failed)
-                        && unresolved.equals(summary.unresolved);
             }
         }
 
@@ -3965,6 +7959,27 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                 return with(new Dispatcher.ForParallelTransformation.WithThrowawayExecutorService.Factory(threads));
             }
 
+            /**
+             * {@inheritDoc}
+             */
+            public Engine withStreamingTransformation(int threads) {
+                if (threads < 1) {
+                    throw new IllegalArgumentException("Number of threads must be positive: " + threads);
+                }
+                return with(new Dispatcher.ForStreamingTransformation.WithThrowawayExecutorService.Factory(threads,
+                        threads * Dispatcher.ForStreamingTransformation.WINDOW_PER_THREAD));
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Engine withWorkStealingTransformation(int parallelism) {
+                if (parallelism < 1) {
+                    throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+                }
+                return with(new Dispatcher.ForParallelTransformation.WithThrowawayExecutorService.WorkStealingFactory(parallelism));
+            }
+
             /**
              * {@inheritDoc}
              */
@@ -3989,6 +8004,13 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
             public Summary apply(Source source, Target target, Factory... factory) throws IOException {
                 return apply(source, target, Arrays.asList(factory));
             }
+
+            /**
+             * {@inheritDoc}
+             */
+            public List<Summary> apply(List<? extends Module> modules, int parallelism, Factory... factory) throws IOException {
+                return apply(modules, parallelism, Arrays.asList(factory));
+            }
         }
 
         /**
@@ -4012,6 +8034,11 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
              */
             private final PoolStrategy poolStrategy;
 
+            /**
+             * The incremental strategy to use.
+             */
+            private final IncrementalStrategy incrementalStrategy;
+
             /**
              * The class file locator to use.
              */
@@ -4037,6 +8064,11 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
              */
             private final ElementMatcher.Junction<? super TypeDescription> ignoredTypeMatcher;
 
+            /**
+             * {@code true} if statistics are recorded.
+             */
+            private final boolean statistics;
+
             /**
              * Creates a new default plugin engine that rebases types and fails fast and on unresolved types and on live initializers.
              */
@@ -4063,43 +8095,51 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                 this(byteBuddy,
                         typeStrategy,
                         PoolStrategy.Default.FAST,
+                        IncrementalStrategy.Disabled.INSTANCE,
                         ClassFileLocator.NoOp.INSTANCE,
                         Listener.NoOp.INSTANCE,
                         new ErrorHandler.Compound(ErrorHandler.Failing.FAIL_FAST,
                                 ErrorHandler.Enforcing.ALL_TYPES_RESOLVED,
                                 ErrorHandler.Enforcing.NO_LIVE_INITIALIZERS),
                         Dispatcher.ForSerialTransformation.Factory.INSTANCE,
-                        none());
+                        none(),
+                        false);
             }
 
             /**
              * Creates a new default plugin engine.
              *
-             * @param byteBuddy          The Byte Buddy instance to use.
-             * @param typeStrategy       The type strategy to use.
-             * @param poolStrategy       The pool strategy to use.
-             * @param classFileLocator   The class file locator to use.
-             * @param listener           The listener to use.
-             * @param errorHandler       The error handler to use.
-             * @param dispatcherFactory  The dispatcher factory to use.
-             * @param ignoredTypeMatcher A matcher for types to exclude from transformation.
+             * @param byteBuddy           The Byte Buddy instance to use.
+             * @param typeStrategy        The type strategy to use.
+             * @param poolStrategy        The pool strategy to use.
+             * @param incrementalStrategy The incremental strategy to use.
+             * @param classFileLocator    The class file locator to use.
+             * @param listener            The listener to use.
+             * @param errorHandler        The error handler to use.
+             * @param dispatcherFactory   The dispatcher factory to use.
+             * @param ignoredTypeMatcher  A matcher for types to exclude from transformation.
+             * @param statistics          {@code true} if statistics are recorded.
              */
             protected Default(ByteBuddy byteBuddy,
                               TypeStrategy typeStrategy,
                               PoolStrategy poolStrategy,
+                              IncrementalStrategy incrementalStrategy,
                               ClassFileLocator classFileLocator,
                               Listener listener,
                               ErrorHandler errorHandler,
                               Dispatcher.Factory dispatcherFactory,
-                              ElementMatcher.Junction<? super TypeDescription> ignoredTypeMatcher) {
+                              ElementMatcher.Junction<? super TypeDescription> ignoredTypeMatcher,
+                              boolean statistics) {
                 this.byteBuddy = byteBuddy;
                 this.typeStrategy = typeStrategy;
                 this.poolStrategy = poolStrategy;
+                this.incrementalStrategy = incrementalStrategy;
                 this.classFileLocator = classFileLocator;
                 this.listener = listener;
                 this.errorHandler = errorHandler;
                 this.dispatcherFactory = dispatcherFactory;
                 this.ignoredTypeMatcher = ignoredTypeMatcher;
+                this.statistics = statistics;
             }
 
             /**
@@ -4141,11 +8181,13 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                 return new Default(byteBuddy,
                         typeStrategy,
                         poolStrategy,
+                        incrementalStrategy,
                         classFileLocator,
                         listener,
                         errorHandler,
                         dispatcherFactory,
-                        ignoredTypeMatcher);
+                        ignoredTypeMatcher,
+                        statistics);
             }
 
             /**
@@ -4155,11 +8197,13 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                 return new Default(byteBuddy,
                         typeStrategy,
                         poolStrategy,
+                        incrementalStrategy,
                         classFileLocator,
                         listener,
                         errorHandler,
                         dispatcherFactory,
-                        ignoredTypeMatcher);
+                        ignoredTypeMatcher,
+                        statistics);
             }
 
             /**
@@ -4169,11 +8213,29 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                 return new Default(byteBuddy,
                         typeStrategy,
                         poolStrategy,
+                        incrementalStrategy,
+                        classFileLocator,
+                        listener,
+                        errorHandler,
+                        dispatcherFactory,
+                        ignoredTypeMatcher,
+                        statistics);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Engine with(IncrementalStrategy incrementalStrategy) {
+                return new Default(byteBuddy,
+                        typeStrategy,
+                        poolStrategy,
+                        incrementalStrategy,
                         classFileLocator,
                         listener,
                         errorHandler,
                         dispatcherFactory,
-                        ignoredTypeMatcher);
+                        ignoredTypeMatcher,
+                        statistics);
             }
 
             /**
@@ -4183,11 +8245,13 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                 return new Default(byteBuddy,
                         typeStrategy,
                         poolStrategy,
+                        incrementalStrategy,
                         new ClassFileLocator.Compound(this.classFileLocator, classFileLocator),
                         listener,
                         errorHandler,
                         dispatcherFactory,
-                        ignoredTypeMatcher);
+                        ignoredTypeMatcher,
+                        statistics);
             }
 
             /**
@@ -4197,11 +8261,13 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                 return new Default(byteBuddy,
                         typeStrategy,
                         poolStrategy,
+                        incrementalStrategy,
                         classFileLocator,
                         new Listener.Compound(this.listener, listener),
                         errorHandler,
                         dispatcherFactory,
-                        ignoredTypeMatcher);
+                        ignoredTypeMatcher,
+                        statistics);
             }
 
             /**
@@ -4211,11 +8277,13 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                 return new Default(byteBuddy,
                         typeStrategy,
                         poolStrategy,
+                        incrementalStrategy,
                         classFileLocator,
                         listener,
                         Listener.NoOp.INSTANCE,
                         dispatcherFactory,
-                        ignoredTypeMatcher);
+                        ignoredTypeMatcher,
+                        statistics);
             }
 
             /**
@@ -4225,11 +8293,13 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                 return new Default(byteBuddy,
                         typeStrategy,
                         poolStrategy,
+                        incrementalStrategy,
                         classFileLocator,
                         listener,
                         new ErrorHandler.Compound(errorHandlers),
                         dispatcherFactory,
-                        ignoredTypeMatcher);
+                        ignoredTypeMatcher,
+                        statistics);
             }
 
             /**
@@ -4239,11 +8309,13 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                 return new Default(byteBuddy,
                         typeStrategy,
                         poolStrategy,
+                        incrementalStrategy,
                         classFileLocator,
                         listener,
                         errorHandler,
                         dispatcherFactory,
-                        ignoredTypeMatcher);
+                        ignoredTypeMatcher,
+                        statistics);
             }
 
             /**
@@ -4253,21 +8325,64 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                 return new Default(byteBuddy,
                         typeStrategy,
                         poolStrategy,
+                        incrementalStrategy,
+                        classFileLocator,
+                        listener,
+                        errorHandler,
+                        dispatcherFactory,
+                        ignoredTypeMatcher.<TypeDescription>or(matcher),
+                        statistics);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Engine withStatistics() {
+                return new Default(byteBuddy,
+                        typeStrategy,
+                        poolStrategy,
+                        incrementalStrategy,
                         classFileLocator,
                         listener,
                         errorHandler,
                         dispatcherFactory,
-                        ignoredTypeMatcher.<TypeDescription>or(matcher));
+                        ignoredTypeMatcher,
+                        true);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Summary apply(Source source, Target target, List<? extends Plugin.Factory> factories) throws IOException {
+                return doApply(Collections.singletonList(new Module(source, target)), 1, factories, false).get(0);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public List<Summary> apply(List<? extends Module> modules, int parallelism, List<? extends Plugin.Factory> factories) throws IOException {
+                if (parallelism < 1) {
+                    throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+                }
+                return doApply(modules, parallelism, factories, true);
             }
 
             /**
-             * {@inheritDoc}
+             * Applies this plugin engine onto the supplied modules.
+             *
+             * @param modules     The modules to apply this engine to.
+             * @param parallelism The maximum number of modules that are processed concurrently.
+             * @param factories   A list of plugin factories to a apply.
+             * @param shared      {@code true} if the modules should share a type pool for the types of this engine's class file locator.
+             * @return A summary of the applied transformation for each module in the order of the supplied modules.
+             * @throws IOException If an I/O error occurs.
              */
-            public Summary apply(Source source, Target target, List<? extends Plugin.Factory> factories) throws IOException {
+            private List<Summary> doApply(List<? extends Module> modules,
+                                          int parallelism,
+                                          List<? extends Plugin.Factory> factories,
+                                          boolean shared) throws IOException {
                 Listener listener = new Listener.Compound(this.listener, new Listener.ForErrorHandler(errorHandler));
-                List<TypeDescription> transformed = new ArrayList<TypeDescription>();
-                Map<TypeDescription, List<Throwable>> failed = new LinkedHashMap<TypeDescription, List<Throwable>>();
-                List<String> unresolved = new ArrayList<String>();
+                List<Summary> summaries = new ArrayList<Summary>(modules.size());
                 Throwable rethrown = null;
                 List<Plugin> plugins = new ArrayList<Plugin>(factories.size());
                 List<WithPreprocessor> preprocessors = new ArrayList<WithPreprocessor>();
@@ -4279,50 +8394,54 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                             preprocessors.add((WithPreprocessor) plugin);
                         }
                     }
-                    Source.Origin origin = source.read();
-                    try {
-                        ClassFileLocator classFileLocator = new ClassFileLocator.Compound(origin.getClassFileLocator(), this.classFileLocator);
-                        TypePool typePool = poolStrategy.typePool(classFileLocator);
-                        Manifest manifest = origin.getManifest();
-                        listener.onManifest(manifest);
-                        Target.Sink sink = target.write(manifest);
+                    for (Plugin plugin : plugins) {
+                        if (plugin instanceof WithCompleteMatching && (incrementalStrategy != IncrementalStrategy.Disabled.INSTANCE || !ignoredTypeMatcher.equals(none()))) {
+                            throw new IllegalStateException("Cannot apply " + plugin + " which must match all types if types can be skipped by an incremental strategy or ignored");
+                        }
+                    }
+                    Prefilter prefilter = Prefilter.of(plugins, preprocessors);
+                    String fingerprint = incrementalStrategy == IncrementalStrategy.Disabled.INSTANCE
+                            ? ""
+                            : fingerprint(factories, plugins);
+                    TypePool typePool = shared && poolStrategy instanceof PoolStrategy.Hierarchical
+                            ? poolStrategy.typePool(classFileLocator)
+                            : null;
+                    if (parallelism == 1 || modules.size() < 2) {
+                        for (Module module : modules) {
+                            summaries.add(new Application(module, listener, plugins, preprocessors, prefilter, typePool, fingerprint).call());
+                        }
+                    } else {
+                        ExecutorService executorService = Executors.newFixedThreadPool(Math.min(parallelism, modules.size()));
                         try {
-                            Dispatcher dispatcher = dispatcherFactory.make(sink, transformed, failed, unresolved);
-                            try {
-                                for (Source.Element element : origin) {
-                                    if (Thread.interrupted()) {
-                                        Thread.currentThread().interrupt();
-                                        throw new IllegalStateException("Thread interrupted during plugin engine application");
-                                    }
-                                    String name = element.getName();
-                                    while (name.startsWith("/")) {
-                                        name = name.substring(1);
-                                    }
-                                    if (name.endsWith(CLASS_FILE_EXTENSION)) {
-                                        dispatcher.accept(new Preprocessor(element,
-                                                name.substring(0, name.length() - CLASS_FILE_EXTENSION.length()).replace('/', '.'),
-                                                classFileLocator,
-                                                typePool,
-                                                listener,
-                                                plugins,
-                                                preprocessors), preprocessors.isEmpty());
-                                    } else if (!name.equals(JarFile.MANIFEST_NAME)) {
-                                        listener.onResource(name);
-                                        sink.retain(element);
-                                    }
+                            List<Future<Summary>> futures = new ArrayList<Future<Summary>>(modules.size());
+                            for (Module module : modules) {
+                                futures.add(executorService.submit(new Application(module, listener, plugins, preprocessors, prefilter, typePool, fingerprint)));
+                            }
+                            Throwable throwable = null;
+                            for (Future<Summary> future : futures) {
+                                try {
+                                    summaries.add(future.get());
+                                } catch (InterruptedException exception) {
+                                    Thread.currentThread().interrupt();
+                                    throw new IllegalStateException("Thread interrupted during plugin engine application", exception);
+                                } catch (ExecutionException exception) {
+                                    throwable = throwable == null
+                                            ? exception.getCause()
+                                            : throwable;
                                 }
-                                dispatcher.complete();
-                            } finally {
-                                dispatcher.close();
                             }
-                            if (!failed.isEmpty()) {
-                                listener.onError(failed);
+                            if (throwable instanceof IOException) {
+                                throw (IOException) throwable;
+                            } else if (throwable instanceof RuntimeException) {
+                                throw (RuntimeException) throwable;
+                            } else if (throwable instanceof Error) {
+                                throw (Error) throwable;
+                            } else if (throwable != null) {
+                                throw new IllegalStateException(throwable);
                             }
                         } finally {
-                            sink.close();
+                            executorService.shutdownNow();
                         }
-                    } finally {
-                        origin.close();
                     }
                 } finally {
                     for (Plugin plugin : plugins) {
@@ -4340,7 +8459,7 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                     }
                 }
                 if (rethrown == null) {
-                    return new Summary(transformed, failed, unresolved);
+                    return summaries;
                 } else if (rethrown instanceof IOException) {
                     throw (IOException) rethrown;
                 } else if (rethrown instanceof RuntimeException) {
@@ -4350,6 +8469,402 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                 }
             }
 
+            /**
+             * Computes the fingerprint of an application of this plugin engine that is supplied to the incremental strategy. The
+             * fingerprint covers the version of Byte Buddy, the class file version that is emitted by this engine's {@link ByteBuddy}
+             * configuration, the type strategy and the applied plugins, including their class files and the descriptions of their
+             * factories and of themselves if they implement {@link IncrementalStrategy.Fingerprinted}.
+             *
+             * @param factories The applied plugin factories.
+             * @param plugins   The plugins that were created by the supplied factories.
+             * @return The fingerprint of an application of this plugin engine.
+             */
+            private String fingerprint(List<? extends Factory> factories, List<Plugin> plugins) {
+                StringBuilder fingerprint = new StringBuilder()
+                        .append(IncrementalStrategy.ForManifest.version())
+                        .append(IncrementalStrategy.ForManifest.Entry.SEPARATOR)
+                        .append(ClassFileVersion.ofClassFile(byteBuddy.subclass(Object.class).make().getBytes()).getMinorMajorVersion())
+                        .append(IncrementalStrategy.ForManifest.Entry.SEPARATOR)
+                        .append(IncrementalStrategy.ForManifest.describe(typeStrategy));
+                for (int index = 0; index < plugins.size(); index++) {
+                    Plugin plugin = plugins.get(index);
+                    fingerprint.append(IncrementalStrategy.ForManifest.Entry.SEPARATOR)
+                            .append(IncrementalStrategy.ForManifest.describe(factories.get(index)))
+                            .append(IncrementalStrategy.ForManifest.Entry.SEPARATOR)
+                            .append(IncrementalStrategy.ForManifest.describe(plugin));
+                    try {
+                        fingerprint.append(IncrementalStrategy.ForManifest.Entry.SEPARATOR)
+                                .append(IncrementalStrategy.ForManifest.digest(ClassFileLocator.ForClassLoader.read(plugin.getClass())));
+                    } catch (RuntimeException ignored) {
+                        /* class file is not available */
+                    }
+                }
+                return fingerprint.toString();
+            }
+
+            /**
+             * An application of this plugin engine onto a single module.
+             */
+            private class Application implements Callable<Summary> {
+
+                /**
+                 * The module to apply this engine to.
+                 */
+                private final Module module;
+
+                /**
+                 * The listener to notify.
+                 */
+                private final Listener listener;
+
+                /**
+                 * The plugins to apply.
+                 */
+                private final List<Plugin> plugins;
+
+                /**
+                 * The plugins with preprocessors to preprocess.
+                 */
+                private final List<WithPreprocessor> preprocessors;
+
+                /**
+                 * The prefilter to apply or {@code null} if no prefilter should be applied.
+                 */
+                private final Prefilter prefilter;
+
+                /**
+                 * The shared type pool to use as a parent or {@code null} if the module's type pool should resolve all types itself.
+                 */
+                private final TypePool typePool;
+
+                /**
+                 * The fingerprint of this application that is supplied to the incremental strategy.
+                 */
+                private final String fingerprint;
+
+                /**
+                 * Creates a new application.
+                 *
+                 * @param module        The module to apply this engine to.
+                 * @param listener      The listener to notify.
+                 * @param plugins       The plugins to apply.
+                 * @param preprocessors The plugins with preprocessors to preprocess.
+                 * @param prefilter     The prefilter to apply or {@code null} if no prefilter should be applied.
+                 * @param typePool      The shared type pool to use as a parent or {@code null} if the module's type pool should resolve all types itself.
+                 * @param fingerprint   The fingerprint of this application that is supplied to the incremental strategy.
+                 */
+                private Application(Module module,
+                                    Listener listener,
+                                    List<Plugin> plugins,
+                                    List<WithPreprocessor> preprocessors,
+                                    Prefilter prefilter,
+                                    TypePool typePool,
+                                    String fingerprint) {
+                    this.module = module;
+                    this.listener = listener;
+                    this.plugins = plugins;
+                    this.preprocessors = preprocessors;
+                    this.prefilter = prefilter;
+                    this.typePool = typePool;
+                    this.fingerprint = fingerprint;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Summary call() throws IOException {
+                    List<TypeDescription> transformed = new ArrayList<TypeDescription>();
+                    Map<TypeDescription, List<Throwable>> failed = new LinkedHashMap<TypeDescription, List<Throwable>>();
+                    List<String> unresolved = new ArrayList<String>();
+                    Statistics statistics = new Statistics(Default.this.statistics);
+                    Source.Origin origin = module.getSource().read();
+                    try {
+                        ClassFileLocator classFileLocator = statistics.decorate(new ClassFileLocator.Compound(origin.getClassFileLocator(), Default.this.classFileLocator));
+                        TypePool typePool = statistics.decorate(this.typePool == null
+                                ? poolStrategy.typePool(classFileLocator)
+                                : ((PoolStrategy.Hierarchical) poolStrategy).typePool(origin.getClassFileLocator(), new ExcludingTypePool(this.typePool, names(origin))));
+                        Manifest manifest = origin.getManifest();
+                        listener.onManifest(manifest);
+                        IncrementalStrategy.Session session = incrementalStrategy.open(fingerprint, classFileLocator);
+                        try {
+                            Target.Sink sink = module.getTarget().write(manifest);
+                            try {
+                                Dispatcher dispatcher = dispatcherFactory.make(sink, transformed, failed, unresolved);
+                                try {
+                                    for (Source.Element element : origin) {
+                                        if (Thread.interrupted()) {
+                                            Thread.currentThread().interrupt();
+                                            throw new IllegalStateException("Thread interrupted during plugin engine application");
+                                        }
+                                        String name = element.getName();
+                                        while (name.startsWith("/")) {
+                                            name = name.substring(1);
+                                        }
+                                        if (name.endsWith(CLASS_FILE_EXTENSION)) {
+                                            dispatcher.accept(new Preprocessor(element,
+                                                    name.substring(0, name.length() - CLASS_FILE_EXTENSION.length()).replace('/', '.'),
+                                                    classFileLocator,
+                                                    typePool,
+                                                    listener,
+                                                    statistics,
+                                                    session,
+                                                    prefilter,
+                                                    plugins,
+                                                    preprocessors), preprocessors.isEmpty());
+                                        } else if (!name.equals(JarFile.MANIFEST_NAME)) {
+                                            listener.onResource(name);
+                                            sink.retain(element);
+                                        }
+                                    }
+                                    dispatcher.complete();
+                                } finally {
+                                    dispatcher.close();
+                                }
+                                if (!failed.isEmpty()) {
+                                    listener.onError(failed);
+                                }
+                            } finally {
+                                sink.close();
+                            }
+                            session.commit();
+                        } finally {
+                            session.close();
+                        }
+                    } finally {
+                        origin.close();
+                    }
+                    return new Summary(transformed, failed, unresolved, statistics);
+                }
+
+                /**
+                 * Returns the names of all types that are contained in the supplied origin.
+                 *
+                 * @param origin The origin to read.
+                 * @return The names of all types that are contained in the supplied origin.
+                 */
+                private Set<String> names(Source.Origin origin) {
+                    Set<String> names = new HashSet<String>();
+                    for (Source.Element element : origin) {
+                        String name = element.getName();
+                        while (name.startsWith("/")) {
+                            name = name.substring(1);
+                        }
+                        if (name.endsWith(CLASS_FILE_EXTENSION)) {
+                            names.add(name.substring(0, name.length() - CLASS_FILE_EXTENSION.length()).replace('/', '.'));
+                        }
+                    }
+                    return names;
+                }
+            }
+
+            /**
+             * A type pool that does not resolve any types of a given set of names. This type pool is used as a parent of a module's
+             * type pool such that a shared type pool never shadows the module's own types. Clearing this type pool does not clear the
+             * shared type pool which is still used by other modules.
+             */
+            protected static class ExcludingTypePool implements TypePool {
+
+                /**
+                 * The type pool to delegate to.
+                 */
+                private final TypePool delegate;
+
+                /**
+                 * The names of the types that should not be resolved.
+                 */
+                private final Set<String> names;
+
+                /**
+                 * Creates a new excluding type pool.
+                 *
+                 * @param delegate The type pool to delegate to.
+                 * @param names    The names of the types that should not be resolved.
+                 */
+                protected ExcludingTypePool(TypePool delegate, Set<String> names) {
+                    this.delegate = delegate;
+                    this.names = names;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Resolution describe(String name) {
+                    return names.contains(name)
+                            ? new Resolution.Illegal(name)
+                            : delegate.describe(name);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void clear() {
+                    /* do nothing */
+                }
+            }
+
+            /**
+             * A prefilter that inspects the constant pool of a class file to skip types that none of the applied plugins'
+             * hints considers a candidate without describing the type.
+             */
+            protected static class Prefilter {
+
+                /**
+                 * The magic number of a class file.
+                 */
+                private static final int MAGIC = 0xCAFEBABE;
+
+                /**
+                 * The hints of all applied plugins.
+                 */
+                private final List<WithHint.Hint> hints;
+
+                /**
+                 * The union of all hints' annotation descriptors.
+                 */
+                private final Set<String> annotationDescriptors;
+
+                /**
+                 * The lengths of all annotation descriptors in bytes.
+                 */
+                private final Set<Integer> lengths;
+
+                /**
+                 * Creates a new prefilter.
+                 *
+                 * @param hints The hints of all applied plugins.
+                 */
+                protected Prefilter(List<WithHint.Hint> hints) {
+                    this.hints = hints;
+                    annotationDescriptors = new HashSet<String>();
+                    lengths = new HashSet<Integer>();
+                    for (WithHint.Hint hint : hints) {
+                        for (String annotationDescriptor : hint.getAnnotationDescriptors()) {
+                            annotationDescriptors.add(annotationDescriptor);
+                            try {
+                                lengths.add(annotationDescriptor.getBytes("UTF-8").length);
+                            } catch (UnsupportedEncodingException exception) {
+                                throw new IllegalStateException("Failed to encode " + annotationDescriptor, exception);
+                            }
+                        }
+                    }
+                }
+
+                /**
+                 * Resolves a prefilter for the supplied plugins.
+                 *
+                 * @param plugins       The plugins to apply.
+                 * @param preprocessors The plugins with preprocessors.
+                 * @return A prefilter or {@code null} if not all plugins declare a hint or if any plugin applies a preprocessor.
+                 */
+                protected static Prefilter of(List<Plugin> plugins, List<WithPreprocessor> preprocessors) {
+                    if (plugins.isEmpty() || !preprocessors.isEmpty()) {
+                        return null;
+                    }
+                    List<WithHint.Hint> hints = new ArrayList<WithHint.Hint>(plugins.size());
+                    for (Plugin plugin : plugins) {
+                        if (!(plugin instanceof WithHint)) {
+                            return null;
+                        }
+                        hints.add(((WithHint) plugin).getHint());
+                    }
+                    return new Prefilter(hints);
+                }
+
+                /**
+                 * Determines if a type can be skipped.
+                 *
+                 * @param typeName             The binary name of the type.
+                 * @param binaryRepresentation The type's class file.
+                 * @return A latent description of the type if it can be skipped or {@code null} if the type is a candidate for
+                 * any plugin or if its class file cannot be inspected.
+                 */
+                protected TypeDescription skip(String typeName, byte[] binaryRepresentation) {
+                    try {
+                        if (u4(binaryRepresentation, 0) != MAGIC) {
+                            return null;
+                        }
+                        Set<String> annotationDescriptors = new HashSet<String>();
+                        int count = u2(binaryRepresentation, 8), index = 10;
+                        for (int entry = 1; entry < count; entry++) {
+                            switch (binaryRepresentation[index]) {
+                                case 1:
+                                    int length = u2(binaryRepresentation, index + 1);
+                                    if (lengths.contains(length)) {
+                                        String value = new String(binaryRepresentation, index + 3, length, "UTF-8");
+                                        if (this.annotationDescriptors.contains(value)) {
+                                            annotationDescriptors.add(value);
+                                        }
+                                    }
+                                    index += 3 + length;
+                                    break;
+                                case 3:
+                                case 4:
+                                case 9:
+                                case 10:
+                                case 11:
+                                case 12:
+                                case 17:
+                                case 18:
+                                    index += 5;
+                                    break;
+                                case 5:
+                                case 6:
+                                    index += 9;
+                                    entry++;
+                                    break;
+                                case 7:
+                                case 8:
+                                case 16:
+                                case 19:
+                                case 20:
+                                    index += 3;
+                                    break;
+                                case 15:
+                                    index += 4;
+                                    break;
+                                default:
+                                    return null;
+                            }
+                        }
+                        int modifiers = u2(binaryRepresentation, index);
+                        for (WithHint.Hint hint : hints) {
+                            if (hint.isCandidate(typeName, annotationDescriptors)) {
+                                return null;
+                            }
+                        }
+                        return new TypeDescription.Latent(typeName, modifiers, (modifiers & Opcodes.ACC_INTERFACE) == 0
+                                ? TypeDescription.Generic.OBJECT
+                                : TypeDescription.Generic.UNDEFINED);
+                    } catch (IndexOutOfBoundsException ignored) {
+                        return null;
+                    } catch (UnsupportedEncodingException exception) {
+                        throw new IllegalStateException("Failed to decode constant pool of " + typeName, exception);
+                    }
+                }
+
+                /**
+                 * Reads an unsigned big-endian 16 bit value.
+                 *
+                 * @param binaryRepresentation The array to read from.
+                 * @param index                The index of the value.
+                 * @return The read value.
+                 */
+                private static int u2(byte[] binaryRepresentation, int index) {
+                    return (binaryRepresentation[index] & 0xFF) << 8 | binaryRepresentation[index + 1] & 0xFF;
+                }
+
+                /**
+                 * Reads a big-endian 32 bit value.
+                 *
+                 * @param binaryRepresentation The array to read from.
+                 * @param index                The index of the value.
+                 * @return The read value.
+                 */
+                private static int u4(byte[] binaryRepresentation, int index) {
+                    return u2(binaryRepresentation, index) << 16 | u2(binaryRepresentation, index + 2);
+                }
+            }
+
             /**
              * A preprocessor for a parallel plugin engine.
              */
@@ -4380,6 +8895,21 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                  */
                 private final Listener listener;
 
+                /**
+                 * The statistics to record.
+                 */
+                private final Statistics statistics;
+
+                /**
+                 * The incremental session to use.
+                 */
+                private final IncrementalStrategy.Session session;
+
+                /**
+                 * The prefilter to apply or {@code null} if no prefilter should be applied.
+                 */
+                private final Prefilter prefilter;
+
                 /**
                  * The plugins to apply.
                  */
@@ -4398,6 +8928,9 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                  * @param classFileLocator The class file locator to use.
                  * @param typePool         The type pool to use.
                  * @param listener         The listener to notify.
+                 * @param statistics       The statistics to record.
+                 * @param session          The incremental session to use.
+                 * @param prefilter        The prefilter to apply or {@code null} if no prefilter should be applied.
                  * @param plugins          The plugins to apply.
                  * @param preprocessors    The plugins with preprocessors to preprocess.
                  */
@@ -4406,6 +8939,9 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                                      ClassFileLocator classFileLocator,
                                      TypePool typePool,
                                      Listener listener,
+                                     Statistics statistics,
+                                     IncrementalStrategy.Session session,
+                                     Prefilter prefilter,
                                      List<Plugin> plugins,
                                      List<WithPreprocessor> preprocessors) {
                     this.element = element;
@@ -4413,6 +8949,9 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                     this.classFileLocator = classFileLocator;
                     this.typePool = typePool;
                     this.listener = listener;
+                    this.statistics = statistics;
+                    this.session = session;
+                    this.prefilter = prefilter;
                     this.plugins = plugins;
                     this.preprocessors = preprocessors;
                 }
@@ -4422,30 +8961,57 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                  */
                 public Callable<Dispatcher.Materializable> call() throws Exception {
                     listener.onDiscovery(typeName);
-                    TypePool.Resolution resolution = typePool.describe(typeName);
-                    if (resolution.isResolved()) {
-                        TypeDescription typeDescription = resolution.resolve();
-                        try {
-                            if (!ignoredTypeMatcher.matches(typeDescription)) {
-                                for (WithPreprocessor preprocessor : preprocessors) {
-                                    preprocessor.onPreprocess(typeDescription, classFileLocator);
-                                }
-                                return new Resolved(typeDescription);
-                            } else {
+                    long started = System.nanoTime();
+                    statistics.onStart(typeName);
+                    try {
+                        List<Source.Element> elements = session.getOutput(typeName, element);
+                        if (elements != IncrementalStrategy.Session.NO_OUTPUT) {
+                            TypePool.Resolution resolution = typePool.describe(typeName);
+                            if (resolution.isResolved()) {
+                                return new Previous(resolution.resolve(), elements);
+                            }
+                            session.onDiscarded(typeName);
+                        }
+                        if (prefilter != null) {
+                            byte[] binaryRepresentation;
+                            InputStream inputStream = element.getInputStream();
+                            try {
+                                binaryRepresentation = StreamDrainer.DEFAULT.drain(inputStream);
+                            } finally {
+                                inputStream.close();
+                            }
+                            TypeDescription typeDescription = prefilter.skip(typeName, binaryRepresentation);
+                            if (typeDescription != null) {
                                 return new Ignored(typeDescription);
                             }
-                        } catch (Throwable throwable) {
-                            listener.onComplete(typeDescription);
-                            if (throwable instanceof Exception) {
-                                throw (Exception) throwable;
-                            } else if (throwable instanceof Error) {
-                                throw (Error) throwable;
-                            } else {
-                                throw new IllegalStateException(throwable);
+                        }
+                        TypePool.Resolution resolution = typePool.describe(typeName);
+                        if (resolution.isResolved()) {
+                            TypeDescription typeDescription = resolution.resolve();
+                            try {
+                                if (!ignoredTypeMatcher.matches(typeDescription)) {
+                                    for (WithPreprocessor preprocessor : preprocessors) {
+                                        preprocessor.onPreprocess(typeDescription, classFileLocator);
+                                    }
+                                    return new Resolved(typeDescription);
+                                } else {
+                                    return new Ignored(typeDescription);
+                                }
+                            } catch (Throwable throwable) {
+                                listener.onComplete(typeDescription);
+                                if (throwable instanceof Exception) {
+                                    throw (Exception) throwable;
+                                } else if (throwable instanceof Error) {
+                                    throw (Error) throwable;
+                                } else {
+                                    throw new IllegalStateException(throwable);
+                                }
                             }
+                        } else {
+                            return new Unresolved();
                         }
-                    } else {
-                        return new Unresolved();
+                    } finally {
+                        statistics.onStop(typeName, started);
                     }
                 }
 
@@ -4474,19 +9040,25 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                     public Dispatcher.Materializable call() {
                         List<Plugin> applied = new ArrayList<Plugin>(), ignored = new ArrayList<Plugin>();
                         List<Throwable> errored = new ArrayList<Throwable>();
+                        long started = System.nanoTime();
+                        statistics.onStart(typeName);
                         try {
                             DynamicType.Builder<?> builder = typeStrategy.builder(byteBuddy, typeDescription, classFileLocator);
                             for (Plugin plugin : plugins) {
+                                long matched = System.nanoTime();
                                 try {
                                     if (plugin.matches(typeDescription)) {
                                         builder = plugin.apply(builder, typeDescription, classFileLocator);
+                                        statistics.onApplied(plugin, matched);
                                         listener.onTransformation(typeDescription, plugin);
                                         applied.add(plugin);
                                     } else {
+                                        statistics.onIgnored(plugin, matched);
                                         listener.onIgnored(typeDescription, plugin);
                                         ignored.add(plugin);
                                     }
                                 } catch (Throwable throwable) {
+                                    statistics.onFailed(plugin, matched);
                                     listener.onError(typeDescription, plugin, throwable);
                                     errored.add(throwable);
                                 }
@@ -4496,6 +9068,8 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                                 return new Dispatcher.Materializable.ForFailedElement(element, typeDescription, errored);
                             } else if (!applied.isEmpty()) {
                                 DynamicType dynamicType = builder.make(TypeResolutionStrategy.Disabled.INSTANCE, typePool);
+                                statistics.onTransformed(typeName, dynamicType);
+                                session.onTransformed(typeName, dynamicType);
                                 listener.onTransformation(typeDescription, applied);
                                 for (Map.Entry<TypeDescription, LoadedTypeInitializer> entry : dynamicType.getLoadedTypeInitializers().entrySet()) {
                                     if (entry.getValue().isAlive()) {
@@ -4505,9 +9079,11 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                                 return new Dispatcher.Materializable.ForTransformedElement(dynamicType);
                             } else {
                                 listener.onIgnored(typeDescription, ignored);
+                                session.onRetained(typeName, element.getName());
                                 return new Dispatcher.Materializable.ForRetainedElement(element);
                             }
                         } finally {
+                            statistics.onStop(typeName, started);
                             listener.onComplete(typeDescription);
                         }
                     }
@@ -4538,6 +9114,7 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                     public Dispatcher.Materializable call() {
                         try {
                             listener.onIgnored(typeDescription, plugins);
+                            session.onRetained(typeName, element.getName());
                         } finally {
                             listener.onComplete(typeDescription);
                         }
@@ -4545,6 +9122,49 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                     }
                 }
 
+                /**
+                 * A materializable for a type whose previous output is reused.
+                 */
+                private class Previous implements Callable<Dispatcher.Materializable> {
+
+                    /**
+                     * A description of the type whose previous output is reused.
+                     */
+                    private final TypeDescription typeDescription;
+
+                    /**
+                     * The elements of the previous output.
+                     */
+                    private final List<Source.Element> elements;
+
+                    /**
+                     * Creates a new materializable for a previous output.
+                     *
+                     * @param typeDescription A description of the type whose previous output is reused.
+                     * @param elements        The elements of the previous output.
+                     */
+                    private Previous(TypeDescription typeDescription, List<Source.Element> elements) {
+                        this.typeDescription = typeDescription;
+                        this.elements = elements;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Dispatcher.Materializable call() {
+                        try {
+                            for (String name : session.getLiveInitializers(typeName)) {
+                                listener.onLiveInitializer(typeDescription, name.equals(typeName)
+                                        ? typeDescription
+                                        : new TypeDescription.Latent(name, Opcodes.ACC_PUBLIC, TypeDescription.Generic.OBJECT));
+                            }
+                        } finally {
+                            listener.onComplete(typeDescription);
+                        }
+                        return new Dispatcher.Materializable.ForPreviousOutput(typeDescription, elements, session.isTransformed(typeName));
+                    }
+                }
+
                 /**
                  * A materializable that represents an unresolved type.
                  */
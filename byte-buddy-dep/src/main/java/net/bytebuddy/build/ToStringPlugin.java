@@ -32,7 +32,7 @@ import static net.bytebuddy.matcher.ElementMatchers.isToString;
  * explicit method declaration was added. This plugin does not need to be closed.
  */
 @HashCodeAndEqualsPlugin.Enhance
-public class ToStringPlugin implements Plugin, Plugin.Factory {
+public class ToStringPlugin implements Plugin.WithHint, Plugin.Factory {
 
     /**
      * {@inheritDoc}
@@ -48,6 +48,13 @@ public class ToStringPlugin implements Plugin, Plugin.Factory {
         return target.getDeclaredAnnotations().isAnnotationPresent(Enhance.class);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public Hint getHint() {
+        return Hint.ofAnnotations(Enhance.class);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -19,6 +19,8 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import net.bytebuddy.build.HashCodeAndEqualsPlugin;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.implementation.LoadedTypeInitializer;
 
 import java.io.File;
 import java.io.IOException;
@@ -32,7 +34,11 @@ import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.security.ProtectionDomain;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * <p>
@@ -236,6 +242,81 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy<ClassLoader>
         return loadedClasses;
     }
 
+    /**
+     * Redefines the supplied loaded types with the class files that are created by the corresponding builders. All class files
+     * are created concurrently by submitting each builder to the supplied executor service. Thereafter, all types are redefined
+     * by a single application of this strategy such that related types are never observed in an inconsistent state. After the
+     * redefinition, any auxiliary types are injected into the class loader of their instrumented type and all loaded type
+     * initializers are applied.
+     *
+     * @param builders        A mapping of loaded types to the builders that create their redefinition.
+     * @param executorService The executor service to use for creating the class files.
+     * @return A mapping of all redefined types and all injected auxiliary types to their loaded representation.
+     */
+    public Map<TypeDescription, Class<?>> reload(Map<Class<?>, ? extends DynamicType.Builder<?>> builders, ExecutorService executorService) {
+        Map<Class<?>, Future<DynamicType.Unloaded<?>>> futures = new LinkedHashMap<Class<?>, Future<DynamicType.Unloaded<?>>>();
+        for (Map.Entry<Class<?>, ? extends DynamicType.Builder<?>> entry : builders.entrySet()) {
+            futures.put(entry.getKey(), executorService.submit(new Creation(entry.getValue())));
+        }
+        Map<Class<?>, DynamicType.Unloaded<?>> dynamicTypes = new LinkedHashMap<Class<?>, DynamicType.Unloaded<?>>();
+        boolean completed = false;
+        try {
+            for (Map.Entry<Class<?>, Future<DynamicType.Unloaded<?>>> entry : futures.entrySet()) {
+                DynamicType.Unloaded<?> dynamicType = entry.getValue().get();
+                if (!dynamicType.getTypeDescription().getName().equals(TypeDescription.ForLoadedType.getName(entry.getKey()))) {
+                    throw new IllegalArgumentException("Cannot redefine " + entry.getKey() + " as " + dynamicType.getTypeDescription());
+                }
+                dynamicTypes.put(entry.getKey(), dynamicType);
+            }
+            completed = true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while creating class files", exception);
+        } catch (ExecutionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            } else {
+                throw new IllegalStateException("Failed to create class file", cause);
+            }
+        } finally {
+            if (!completed) {
+                for (Future<?> future : futures.values()) {
+                    future.cancel(true);
+                }
+            }
+        }
+        Map<Class<?>, ClassDefinition> classDefinitions = new LinkedHashMap<Class<?>, ClassDefinition>();
+        Map<TypeDescription, Class<?>> loadedClasses = new HashMap<TypeDescription, Class<?>>();
+        for (Map.Entry<Class<?>, DynamicType.Unloaded<?>> entry : dynamicTypes.entrySet()) {
+            classDefinitions.put(entry.getKey(), new ClassDefinition(entry.getKey(), entry.getValue().getBytes()));
+            loadedClasses.put(entry.getValue().getTypeDescription(), entry.getKey());
+        }
+        try {
+            strategy.apply(instrumentation, classDefinitions);
+        } catch (ClassNotFoundException exception) {
+            throw new IllegalArgumentException("Could not locate classes for redefinition", exception);
+        } catch (UnmodifiableClassException exception) {
+            throw new IllegalStateException("Cannot redefine specified class", exception);
+        }
+        for (Map.Entry<Class<?>, DynamicType.Unloaded<?>> entry : dynamicTypes.entrySet()) {
+            Map<TypeDescription, byte[]> auxiliaryTypes = entry.getValue().getAuxiliaryTypes();
+            if (!auxiliaryTypes.isEmpty()) {
+                loadedClasses.putAll((entry.getKey().getClassLoader() == null
+                        ? bootstrapInjection.make(instrumentation)
+                        : new ClassInjector.UsingReflection(entry.getKey().getClassLoader())).inject(auxiliaryTypes));
+            }
+        }
+        for (DynamicType.Unloaded<?> dynamicType : dynamicTypes.values()) {
+            for (Map.Entry<TypeDescription, LoadedTypeInitializer> entry : dynamicType.getLoadedTypeInitializers().entrySet()) {
+                entry.getValue().onLoad(loadedClasses.get(entry.getKey()));
+            }
+        }
+        return loadedClasses;
+    }
+
     /**
      * Resets all classes to their original definition while using the first type's class loader as a class file locator.
      *
@@ -732,6 +813,34 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy<ClassLoader>
         }
     }
 
+    /**
+     * A job that creates a dynamic type from a builder.
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    protected static class Creation implements Callable<DynamicType.Unloaded<?>> {
+
+        /**
+         * The builder to create a dynamic type from.
+         */
+        private final DynamicType.Builder<?> builder;
+
+        /**
+         * Creates a new creation job.
+         *
+         * @param builder The builder to create a dynamic type from.
+         */
+        protected Creation(DynamicType.Builder<?> builder) {
+            this.builder = builder;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public DynamicType.Unloaded<?> call() {
+            return builder.make();
+        }
+    }
+
     /**
      * A strategy to apply for injecting classes into the bootstrap class loader.
      */
@@ -20,13 +20,20 @@ import net.bytebuddy.build.HashCodeAndEqualsPlugin;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.method.MethodList;
 import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.type.PackageDescription;
 import net.bytebuddy.description.type.TypeDefinition;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.matcher.FilterableList;
 import org.objectweb.asm.Opcodes;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static net.bytebuddy.matcher.ElementMatchers.*;
 
@@ -563,8 +570,35 @@ public interface MethodGraph {
              * {@inheritDoc}
              */
             public MethodGraph.Linked compile(TypeDefinition typeDefinition, TypeDescription viewPoint) {
-                Map<TypeDefinition, Key.Store<T>> snapshots = new HashMap<TypeDefinition, Key.Store<T>>();
-                Key.Store<?> rootStore = doAnalyze(typeDefinition, snapshots, isVirtual().and(isVisibleTo(viewPoint)));
+                return doCompile(typeDefinition, new HashMap<TypeDefinition, Key.Store<T>>(), isVirtual().and(isVisibleTo(viewPoint)));
+            }
+
+            /**
+             * Compiles the given type into a method graph that only contains the methods that are matched by the supplied matcher. As
+             * methods of different names are never represented by the same node, a graph that is filtered by method names contains
+             * the same nodes for the matched names as a graph of all methods. Key stores of a filtered graph are never cached.
+             *
+             * @param typeDefinition The type to be compiled.
+             * @param viewPoint      The view point that determines the method's visibility.
+             * @param matcher        A matcher for the methods to include in the graph.
+             * @return A linked method graph representing the given type's matched methods.
+             */
+            public MethodGraph.Linked compile(TypeDefinition typeDefinition, TypeDescription viewPoint, ElementMatcher<? super MethodDescription> matcher) {
+                return doCompile(typeDefinition, new HashMap<TypeDefinition, Key.Store<T>>(), isVirtual().and(isVisibleTo(viewPoint)).and(matcher));
+            }
+
+            /**
+             * Compiles the given type into a method graph.
+             *
+             * @param typeDefinition   The type to be compiled.
+             * @param snapshots        A map for storing snapshots of key stores of analyzed super types.
+             * @param relevanceMatcher A matcher for filtering methods that should be included in the graph.
+             * @return A linked method graph representing the given type.
+             */
+            protected MethodGraph.Linked doCompile(TypeDefinition typeDefinition,
+                                                   Map<TypeDefinition, Key.Store<T>> snapshots,
+                                                   ElementMatcher<? super MethodDescription> relevanceMatcher) {
+                Key.Store<?> rootStore = doAnalyze(typeDefinition, snapshots, relevanceMatcher);
                 TypeDescription.Generic superClass = typeDefinition.getSuperClass();
                 List<TypeDescription.Generic> interfaceTypes = typeDefinition.getInterfaces();
                 Map<TypeDescription, MethodGraph> interfaceGraphs = new HashMap<TypeDescription, MethodGraph>();
@@ -1723,6 +1757,636 @@ public interface MethodGraph {
                     }
                 }
             }
+
+            /**
+             * <p>
+             * A default method graph compiler that caches the key stores of non-generic super types between compilations. When many types
+             * are compiled that share a common, non-generic base class or interface, the method hierarchy of this common super type is
+             * therefore only analyzed once. A key store is only cached or looked up when a type is compiled from its own view point. As
+             * the visibility of package-private methods depends on the view point, key stores are cached per package of the view point.
+             * </p>
+             * <p>
+             * <b>Important</b>: Type descriptions do not expose the class loader of the type they represent such that super types are
+             * identified by their name. To avoid that a type of one class loader is resolved from the key store of an equally named type
+             * of another class loader, key stores are only cached for compilers that are scoped to the class loader of the compiled types
+             * via {@link WithCache#scoped(ClassLoader)}. An unscoped compilation does not apply the cache. The cache of a class loader is
+             * released once the class loader is collected. Cached key stores are referenced softly and are therefore released if the heap
+             * runs short of memory.
+             * </p>
+             *
+             * @param <T> The type of the harmonizer token to be used for linking methods of different types.
+             */
+            public static class WithCache<T> extends Default<T> {
+
+                /**
+                 * The cached key stores by the class loader of the compiled types and by the location of the analyzed type.
+                 */
+                private final ConcurrentMap<ScopeKey, ConcurrentMap<Location, CachedStore<T>>> cache;
+
+                /**
+                 * A reference queue of collected class loaders.
+                 */
+                private final ReferenceQueue<ClassLoader> scopes;
+
+                /**
+                 * A reference queue of cleared key stores.
+                 */
+                private final ReferenceQueue<Key.Store<T>> stores;
+
+                /**
+                 * Creates a new caching method graph compiler. All raw types are reified before analyzing their properties.
+                 *
+                 * @param harmonizer The harmonizer to be used.
+                 * @param merger     The merger to be used.
+                 */
+                public WithCache(Harmonizer<T> harmonizer, Merger merger) {
+                    this(harmonizer, merger, TypeDescription.Generic.Visitor.Reifying.INITIATING);
+                }
+
+                /**
+                 * Creates a new caching method graph compiler.
+                 *
+                 * @param harmonizer The harmonizer to be used.
+                 * @param merger     The merger to be used.
+                 * @param visitor    A visitor to apply to all type descriptions before analyzing their methods or resolving super types.
+                 */
+                public WithCache(Harmonizer<T> harmonizer, Merger merger, TypeDescription.Generic.Visitor<? extends TypeDescription.Generic> visitor) {
+                    super(harmonizer, merger, visitor);
+                    cache = new ConcurrentHashMap<ScopeKey, ConcurrentMap<Location, CachedStore<T>>>();
+                    scopes = new ReferenceQueue<ClassLoader>();
+                    stores = new ReferenceQueue<Key.Store<T>>();
+                }
+
+                /**
+                 * Creates a caching compiler for a method hierarchy following the rules of the Java programming language.
+                 *
+                 * @return A caching compiler for resolving a method hierarchy following the rules of the Java programming language.
+                 * @see Default#forJavaHierarchy()
+                 */
+                public static WithCache<Harmonizer.ForJavaMethod.Token> ofJavaHierarchy() {
+                    return new WithCache<Harmonizer.ForJavaMethod.Token>(Harmonizer.ForJavaMethod.INSTANCE, Merger.Directional.LEFT);
+                }
+
+                /**
+                 * Creates a caching compiler for a method hierarchy following the rules of the Java virtual machine.
+                 *
+                 * @return A caching compiler for resolving a method hierarchy following the rules of the Java virtual machine.
+                 * @see Default#forJVMHierarchy()
+                 */
+                public static WithCache<Harmonizer.ForJVMMethod.Token> ofJVMHierarchy() {
+                    return new WithCache<Harmonizer.ForJVMMethod.Token>(Harmonizer.ForJVMMethod.INSTANCE, Merger.Directional.LEFT);
+                }
+
+                /**
+                 * Returns a compiler that caches the key stores of the types that it analyzes within the scope of the supplied class loader.
+                 * All types that are compiled by the returned compiler, as well as their super types, must be visible to this class loader.
+                 *
+                 * @param classLoader The class loader of the compiled types or {@code null} for the bootstrap loader.
+                 * @return A compiler that caches key stores within the scope of the supplied class loader.
+                 */
+                public Compiler scoped(ClassLoader classLoader) {
+                    return new Scoped<T>(this, classLoader);
+                }
+
+                /**
+                 * Creates a map for storing snapshots of the key stores of all super types that are analyzed when compiling a type
+                 * within the scope of a class loader.
+                 *
+                 * @param classLoader    The class loader of the compiled types or {@code null} for the bootstrap loader.
+                 * @param typeDefinition The type being compiled.
+                 * @param viewPoint      The view point that determines the method's visibility.
+                 * @return A map for storing snapshots of key stores.
+                 */
+                protected Map<TypeDefinition, Key.Store<T>> snapshots(ClassLoader classLoader, TypeDefinition typeDefinition, TypeDescription viewPoint) {
+                    expungeStaleEntries();
+                    PackageDescription packageDescription = viewPoint.getPackage();
+                    return packageDescription == null || !typeDefinition.asErasure().equals(viewPoint)
+                            ? new HashMap<TypeDefinition, Key.Store<T>>()
+                            : new Snapshots<T>(this, classLoader, packageDescription.getName());
+                }
+
+                /**
+                 * Looks up a cached key store.
+                 *
+                 * @param classLoader The class loader of the compiled types or {@code null} for the bootstrap loader.
+                 * @param location    The location of the analyzed type.
+                 * @return The cached key store or {@code null} if no key store is cached.
+                 */
+                protected Key.Store<T> lookup(ClassLoader classLoader, Location location) {
+                    ConcurrentMap<Location, CachedStore<T>> stores = cache.get(new ScopeKey(classLoader));
+                    if (stores == null) {
+                        return null;
+                    }
+                    CachedStore<T> cachedStore = stores.get(location);
+                    return cachedStore == null
+                            ? null
+                            : cachedStore.get();
+                }
+
+                /**
+                 * Registers a key store in the cache.
+                 *
+                 * @param classLoader The class loader of the compiled types or {@code null} for the bootstrap loader.
+                 * @param location    The location of the analyzed type.
+                 * @param store       The key store to cache.
+                 */
+                protected void register(ClassLoader classLoader, Location location, Key.Store<T> store) {
+                    ScopeKey scopeKey = new ScopeKey(classLoader);
+                    ConcurrentMap<Location, CachedStore<T>> stores = cache.get(scopeKey);
+                    if (stores == null) {
+                        scopeKey = new ScopeKey(classLoader, scopes);
+                        stores = new ConcurrentHashMap<Location, CachedStore<T>>();
+                        ConcurrentMap<Location, CachedStore<T>> previous = cache.putIfAbsent(scopeKey, stores);
+                        if (previous != null) {
+                            stores = previous;
+                        }
+                    }
+                    stores.put(location, new CachedStore<T>(store, this.stores, scopeKey, location));
+                }
+
+                /**
+                 * Removes the cache of any collected class loader and any cached key store that was cleared. A class loader's cache that
+                 * does no longer contain any key store is removed as well.
+                 */
+                protected void expungeStaleEntries() {
+                    Reference<?> reference;
+                    while ((reference = scopes.poll()) != null) {
+                        cache.remove(reference);
+                    }
+                    while ((reference = stores.poll()) != null) {
+                        CachedStore<?> cachedStore = (CachedStore<?>) reference;
+                        ConcurrentMap<Location, CachedStore<T>> stores = cache.get(cachedStore.scopeKey);
+                        if (stores != null && stores.remove(cachedStore.location, cachedStore) && stores.isEmpty()) {
+                            cache.remove(cachedStore.scopeKey, stores);
+                        }
+                    }
+                }
+
+                /**
+                 * Removes all cached key stores.
+                 */
+                public void clear() {
+                    cache.clear();
+                }
+
+                /**
+                 * A compiler that caches the key stores of the types that it analyzes within the scope of a class loader.
+                 *
+                 * @param <U> The type of the harmonizer token to be used for linking methods of different types.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                protected static class Scoped<U> extends AbstractBase {
+
+                    /**
+                     * The caching compiler to use.
+                     */
+                    private final WithCache<U> compiler;
+
+                    /**
+                     * The class loader of the compiled types or {@code null} for the bootstrap loader.
+                     */
+                    @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.REVERSE_NULLABILITY)
+                    private final ClassLoader classLoader;
+
+                    /**
+                     * Creates a new scoped compiler.
+                     *
+                     * @param compiler    The caching compiler to use.
+                     * @param classLoader The class loader of the compiled types or {@code null} for the bootstrap loader.
+                     */
+                    protected Scoped(WithCache<U> compiler, ClassLoader classLoader) {
+                        this.compiler = compiler;
+                        this.classLoader = classLoader;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public MethodGraph.Linked compile(TypeDefinition typeDefinition, TypeDescription viewPoint) {
+                        return compiler.doCompile(typeDefinition,
+                                compiler.snapshots(classLoader, typeDefinition, viewPoint),
+                                isVirtual().and(isVisibleTo(viewPoint)));
+                    }
+                }
+
+                /**
+                 * A key that weakly references the class loader whose types a cache is scoped to.
+                 */
+                protected static class ScopeKey extends WeakReference<ClassLoader> {
+
+                    /**
+                     * The class loader's identity hash code.
+                     */
+                    private final int hashCode;
+
+                    /**
+                     * Creates a key for looking up the cache of a class loader.
+                     *
+                     * @param classLoader The class loader or {@code null} for the bootstrap loader.
+                     */
+                    protected ScopeKey(ClassLoader classLoader) {
+                        super(classLoader);
+                        hashCode = System.identityHashCode(classLoader);
+                    }
+
+                    /**
+                     * Creates a key for storing the cache of a class loader.
+                     *
+                     * @param classLoader    The class loader or {@code null} for the bootstrap loader.
+                     * @param referenceQueue The reference queue to register the class loader with.
+                     */
+                    protected ScopeKey(ClassLoader classLoader, ReferenceQueue<? super ClassLoader> referenceQueue) {
+                        super(classLoader, referenceQueue);
+                        hashCode = System.identityHashCode(classLoader);
+                    }
+
+                    @Override
+                    public int hashCode() {
+                        return hashCode;
+                    }
+
+                    @Override
+                    public boolean equals(Object other) {
+                        if (this == other) {
+                            return true;
+                        } else if (!(other instanceof ScopeKey)) {
+                            return false;
+                        }
+                        ScopeKey scopeKey = (ScopeKey) other;
+                        return hashCode == scopeKey.hashCode && get() == scopeKey.get();
+                    }
+                }
+
+                /**
+                 * The location of an analyzed type which is represented by the package of the view point and by the type's name.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                protected static class Location {
+
+                    /**
+                     * The name of the view point's package.
+                     */
+                    private final String packageName;
+
+                    /**
+                     * The name of the analyzed type.
+                     */
+                    private final String typeName;
+
+                    /**
+                     * Creates a new location.
+                     *
+                     * @param packageName The name of the view point's package.
+                     * @param typeName    The name of the analyzed type.
+                     */
+                    protected Location(String packageName, String typeName) {
+                        this.packageName = packageName;
+                        this.typeName = typeName;
+                    }
+                }
+
+                /**
+                 * A softly referenced key store that remembers its position in the cache such that it can be removed once it is cleared.
+                 *
+                 * @param <U> The type of the harmonizer token to be used for linking methods of different types.
+                 */
+                protected static class CachedStore<U> extends SoftReference<Key.Store<U>> {
+
+                    /**
+                     * The key of the class loader's cache that contains this key store.
+                     */
+                    private final ScopeKey scopeKey;
+
+                    /**
+                     * The location of the analyzed type.
+                     */
+                    private final Location location;
+
+                    /**
+                     * Creates a new cached key store.
+                     *
+                     * @param store          The key store to cache.
+                     * @param referenceQueue The reference queue to register the key store with.
+                     * @param scopeKey       The key of the class loader's cache that contains this key store.
+                     * @param location       The location of the analyzed type.
+                     */
+                    protected CachedStore(Key.Store<U> store, ReferenceQueue<? super Key.Store<U>> referenceQueue, ScopeKey scopeKey, Location location) {
+                        super(store, referenceQueue);
+                        this.scopeKey = scopeKey;
+                        this.location = location;
+                    }
+                }
+
+                /**
+                 * A map of snapshots that resolves and registers the key stores of non-generic types in a cache.
+                 *
+                 * @param <U> The type of the harmonizer token to be used for linking methods of different types.
+                 */
+                protected static class Snapshots<U> extends AbstractMap<TypeDefinition, Key.Store<U>> {
+
+                    /**
+                     * The snapshots of the current compilation.
+                     */
+                    private final Map<TypeDefinition, Key.Store<U>> snapshots;
+
+                    /**
+                     * The caching compiler that resolves and registers key stores.
+                     */
+                    private final WithCache<U> compiler;
+
+                    /**
+                     * The class loader of the compiled types or {@code null} for the bootstrap loader.
+                     */
+                    private final ClassLoader classLoader;
+
+                    /**
+                     * The name of the view point's package.
+                     */
+                    private final String packageName;
+
+                    /**
+                     * Creates a new map of snapshots.
+                     *
+                     * @param compiler    The caching compiler that resolves and registers key stores.
+                     * @param classLoader The class loader of the compiled types or {@code null} for the bootstrap loader.
+                     * @param packageName The name of the view point's package.
+                     */
+                    protected Snapshots(WithCache<U> compiler, ClassLoader classLoader, String packageName) {
+                        this.compiler = compiler;
+                        this.classLoader = classLoader;
+                        this.packageName = packageName;
+                        snapshots = new HashMap<TypeDefinition, Key.Store<U>>();
+                    }
+
+                    /**
+                     * Returns {@code true} if the key store of the supplied type can be cached.
+                     *
+                     * @param key The type to check.
+                     * @return {@code true} if the key store of the supplied type can be cached.
+                     */
+                    private static boolean isCacheable(Object key) {
+                        return key instanceof TypeDefinition && ((TypeDefinition) key).getSort() == TypeDefinition.Sort.NON_GENERIC;
+                    }
+
+                    @Override
+                    public Key.Store<U> get(Object key) {
+                        Key.Store<U> store = snapshots.get(key);
+                        if (store == null && isCacheable(key)) {
+                            store = compiler.lookup(classLoader, new Location(packageName, ((TypeDefinition) key).asErasure().getName()));
+                            if (store != null) {
+                                snapshots.put((TypeDefinition) key, store);
+                            }
+                        }
+                        return store;
+                    }
+
+                    @Override
+                    public Key.Store<U> put(TypeDefinition key, Key.Store<U> store) {
+                        if (isCacheable(key)) {
+                            compiler.register(classLoader, new Location(packageName, key.asErasure().getName()), store);
+                        }
+                        return snapshots.put(key, store);
+                    }
+
+                    @Override
+                    public Set<Map.Entry<TypeDefinition, Key.Store<U>>> entrySet() {
+                        return snapshots.entrySet();
+                    }
+                }
+            }
+        }
+
+        /**
+         * <p>
+         * A compiler that creates a graph of the methods that are declared by a type where the nodes of these methods are only resolved
+         * from the type's hierarchy once their properties are queried. Any node is resolved by compiling a graph of the methods of the
+         * node's name only, what is considerably cheaper than compiling a graph of all methods for types with large hierarchies. The
+         * graphs of the type's super class and interfaces as well as nodes of inherited methods are only compiled if they are requested.
+         * </p>
+         * <p>
+         * <b>Important</b>: The graphs that are created by this compiler only list the methods that are declared by a type. Inherited
+         * methods are never overridden by an instrumentation when using this compiler. This compiler is therefore meant for rebasing and
+         * redefining types where only declared methods are instrumented, for example by a Java agent, and should not be used for
+         * creating subclasses.
+         * </p>
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class Lazy extends AbstractBase {
+
+            /**
+             * The compiler to use for resolving nodes and graphs.
+             */
+            private final Default<?> delegate;
+
+            /**
+             * Creates a lazy compiler that resolves method hierarchies following the rules of the Java programming language.
+             */
+            public Lazy() {
+                this(new Default<Default.Harmonizer.ForJavaMethod.Token>(Default.Harmonizer.ForJavaMethod.INSTANCE,
+                        Default.Merger.Directional.LEFT,
+                        TypeDescription.Generic.Visitor.Reifying.INITIATING));
+            }
+
+            /**
+             * Creates a lazy compiler.
+             *
+             * @param delegate The compiler to use for resolving nodes and graphs.
+             */
+            public Lazy(Default<?> delegate) {
+                this.delegate = delegate;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public MethodGraph.Linked compile(TypeDefinition typeDefinition, TypeDescription viewPoint) {
+                return new Graph(delegate, typeDefinition, viewPoint);
+            }
+
+            /**
+             * A linked method graph that resolves its nodes and linked graphs on demand.
+             */
+            protected static class Graph implements MethodGraph.Linked {
+
+                /**
+                 * The compiler to use for resolving nodes and graphs.
+                 */
+                private final Default<?> delegate;
+
+                /**
+                 * The represented type.
+                 */
+                private final TypeDefinition typeDefinition;
+
+                /**
+                 * The view point that determines the method's visibility.
+                 */
+                private final TypeDescription viewPoint;
+
+                /**
+                 * The nodes of the methods that are declared by the represented type.
+                 */
+                private final LinkedHashMap<MethodDescription.SignatureToken, Node> nodes;
+
+                /**
+                 * The graphs of the methods of a given name that were resolved so far.
+                 */
+                private final Map<String, MethodGraph> graphs;
+
+                /**
+                 * The graph of all methods or {@code null} if this graph was not yet resolved.
+                 */
+                private MethodGraph.Linked resolved;
+
+                /**
+                 * Creates a new lazy graph.
+                 *
+                 * @param delegate       The compiler to use for resolving nodes and graphs.
+                 * @param typeDefinition The represented type.
+                 * @param viewPoint      The view point that determines the method's visibility.
+                 */
+                protected Graph(Default<?> delegate, TypeDefinition typeDefinition, TypeDescription viewPoint) {
+                    this.delegate = delegate;
+                    this.typeDefinition = typeDefinition;
+                    this.viewPoint = viewPoint;
+                    nodes = new LinkedHashMap<MethodDescription.SignatureToken, Node>();
+                    for (MethodDescription methodDescription : typeDefinition.getDeclaredMethods().filter(isVirtual().and(not(isBridge())).and(isVisibleTo(viewPoint)))) {
+                        nodes.put(methodDescription.asSignatureToken(), new LazyNode(methodDescription));
+                    }
+                    graphs = new HashMap<String, MethodGraph>();
+                }
+
+                /**
+                 * Resolves the graph of all methods.
+                 *
+                 * @return The graph of all methods.
+                 */
+                protected synchronized MethodGraph.Linked resolve() {
+                    if (resolved == null) {
+                        resolved = delegate.compile(typeDefinition, viewPoint);
+                    }
+                    return resolved;
+                }
+
+                /**
+                 * Resolves the node of a method that is declared by the represented type.
+                 *
+                 * @param methodDescription The method to resolve.
+                 * @return The node representing the supplied method.
+                 */
+                protected synchronized Node resolve(MethodDescription methodDescription) {
+                    MethodGraph graph = resolved;
+                    if (graph == null) {
+                        graph = graphs.get(methodDescription.getInternalName());
+                        if (graph == null) {
+                            graph = delegate.compile(typeDefinition, viewPoint, named(methodDescription.getInternalName()));
+                            graphs.put(methodDescription.getInternalName(), graph);
+                        }
+                    }
+                    return graph.locate(methodDescription.asSignatureToken());
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public MethodGraph getSuperClassGraph() {
+                    return resolve().getSuperClassGraph();
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public MethodGraph getInterfaceGraph(TypeDescription typeDescription) {
+                    return resolve().getInterfaceGraph(typeDescription);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Node locate(MethodDescription.SignatureToken token) {
+                    Node node = nodes.get(token);
+                    return node == null
+                            ? resolve().locate(token)
+                            : node;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public NodeList listNodes() {
+                    return new NodeList(new ArrayList<Node>(nodes.values()));
+                }
+
+                /**
+                 * A node of a declared method that resolves its properties on demand.
+                 */
+                protected class LazyNode implements Node {
+
+                    /**
+                     * The represented method.
+                     */
+                    private final MethodDescription methodDescription;
+
+                    /**
+                     * Creates a new lazy node.
+                     *
+                     * @param methodDescription The represented method.
+                     */
+                    protected LazyNode(MethodDescription methodDescription) {
+                        this.methodDescription = methodDescription;
+                    }
+
+                    /**
+                     * Resolves the node of the represented method.
+                     *
+                     * @return The node of the represented method.
+                     */
+                    private Node resolve() {
+                        Node node = Graph.this.resolve(methodDescription);
+                        return node.getSort().isResolved()
+                                ? node
+                                : new Node.Simple(methodDescription);
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Sort getSort() {
+                        return resolve().getSort();
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public MethodDescription getRepresentative() {
+                        return methodDescription;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Set<MethodDescription.TypeToken> getMethodTypes() {
+                        return resolve().getMethodTypes();
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Visibility getVisibility() {
+                        return resolve().getVisibility();
+                    }
+
+                    @Override
+                    public int hashCode() {
+                        return methodDescription.hashCode();
+                    }
+
+                    @Override
+                    public boolean equals(Object other) {
+                        return this == other || other instanceof LazyNode && methodDescription.equals(((LazyNode) other).methodDescription);
+                    }
+                }
+            }
         }
     }
 
@@ -491,10 +491,10 @@ public interface MethodRegistry {
                     }
                 }
                 if (visibilityBridge
-                        && !node.getSort().isMadeVisible()
                         && methodDescription.isPublic()
                         && !(methodDescription.isAbstract() || methodDescription.isFinal())
                         && methodDescription.getDeclaringType().isPackagePrivate()
+                        && !node.getSort().isMadeVisible()
                         && visibilityBridgeStrategy.generateVisibilityBridge(methodDescription)) {
                     // Visibility bridges are required for public classes that inherit a public method from a package-private class.
                     implementations.put(methodDescription, Prepared.Entry.forVisibilityBridge(methodDescription, node.getVisibility()));
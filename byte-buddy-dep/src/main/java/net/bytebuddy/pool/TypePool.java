@@ -42,8 +42,8 @@ import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.GenericSignatureFormatError;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static net.bytebuddy.matcher.ElementMatchers.*;
 
@@ -295,6 +295,130 @@ public interface TypePool {
                 return storage;
             }
         }
+
+        /**
+         * A tiered cache provider that maintains an unsynchronized, thread-local cache in front of a shared cache. Resolutions
+         * are first looked up in the cache of the current thread and only consult the shared cache upon a miss, what avoids
+         * contention on the shared cache if many threads repeatedly resolve the same types. Clearing this cache clears the
+         * shared cache and invalidates the cache of all threads lazily.
+         */
+        class Tiered implements CacheProvider {
+
+            /**
+             * The shared cache.
+             */
+            private final CacheProvider shared;
+
+            /**
+             * The cache of each thread.
+             */
+            private final ThreadLocal<Local> local;
+
+            /**
+             * A counter that is incremented when this cache is cleared.
+             */
+            private final AtomicInteger generation;
+
+            /**
+             * Creates a new tiered cache provider with a simple, shared cache.
+             */
+            public Tiered() {
+                this(new Simple());
+            }
+
+            /**
+             * Creates a new tiered cache provider.
+             *
+             * @param shared The shared cache.
+             */
+            public Tiered(CacheProvider shared) {
+                this.shared = shared;
+                local = new ThreadLocal<Local>();
+                generation = new AtomicInteger();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Resolution find(String name) {
+                Map<String, Resolution> resolutions = resolutions();
+                Resolution resolution = resolutions.get(name);
+                if (resolution == null) {
+                    resolution = shared.find(name);
+                    if (resolution != null) {
+                        resolutions.put(name, resolution);
+                    }
+                }
+                return resolution;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Resolution register(String name, Resolution resolution) {
+                resolution = shared.register(name, resolution);
+                resolutions().put(name, resolution);
+                return resolution;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void clear() {
+                generation.incrementAndGet();
+                shared.clear();
+            }
+
+            /**
+             * Returns the shared cache of this tiered cache provider.
+             *
+             * @return The shared cache.
+             */
+            public CacheProvider getShared() {
+                return shared;
+            }
+
+            /**
+             * Returns the resolutions of the current thread's cache which is reset if this cache was cleared since its last use.
+             *
+             * @return The resolutions of the current thread's cache.
+             */
+            private Map<String, Resolution> resolutions() {
+                Local local = this.local.get();
+                int generation = this.generation.get();
+                if (local == null || local.generation != generation) {
+                    local = new Local(generation);
+                    this.local.set(local);
+                }
+                return local.resolutions;
+            }
+
+            /**
+             * The cache of a single thread.
+             */
+            protected static class Local {
+
+                /**
+                 * The generation of the tiered cache for which this cache is valid.
+                 */
+                private final int generation;
+
+                /**
+                 * The resolutions of this cache by their names.
+                 */
+                private final Map<String, Resolution> resolutions;
+
+                /**
+                 * Creates a new cache of a single thread.
+                 *
+                 * @param generation The generation of the tiered cache for which this cache is valid.
+                 */
+                protected Local(int generation) {
+                    this.generation = generation;
+                    resolutions = new HashMap<String, Resolution>();
+                }
+            }
+        }
     }
 
     /**
@@ -371,13 +495,50 @@ public interface TypePool {
          */
         protected final CacheProvider cacheProvider;
 
+        /**
+         * {@code true} if concurrent resolutions of the same type should await a single resolution that is in progress.
+         */
+        private final boolean singleFlight;
+
+        /**
+         * The resolutions that are currently in progress by their type's name or {@code null} if single flight resolution is disabled.
+         */
+        @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+        private final ConcurrentMap<String, Flight> resolutions;
+
+        /**
+         * The resolutions in progress that threads are currently awaiting or {@code null} if single flight resolution is disabled.
+         */
+        @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+        private final ConcurrentMap<Thread, Flight> awaiting;
+
         /**
          * Creates a new instance.
          *
          * @param cacheProvider The cache provider to be used.
          */
         protected AbstractBase(CacheProvider cacheProvider) {
+            this(cacheProvider, false);
+        }
+
+        /**
+         * Creates a new instance.
+         *
+         * @param cacheProvider The cache provider to be used.
+         * @param singleFlight  {@code true} if concurrent resolutions of the same type should await a single resolution that is in
+         *                      progress rather than resolving the type independently. This avoids duplicate parsing of the same type
+         *                      if a type pool is used by many threads concurrently.
+         */
+        protected AbstractBase(CacheProvider cacheProvider, boolean singleFlight) {
             this.cacheProvider = cacheProvider;
+            this.singleFlight = singleFlight;
+            if (singleFlight) {
+                resolutions = new ConcurrentHashMap<String, Flight>();
+                awaiting = new ConcurrentHashMap<Thread, Flight>();
+            } else {
+                resolutions = null;
+                awaiting = null;
+            }
         }
 
         /**
@@ -403,11 +564,88 @@ public interface TypePool {
                     ? cacheProvider.find(name)
                     : new Resolution.Simple(typeDescription);
             if (resolution == null) {
-                resolution = doCache(name, doDescribe(name));
+                resolution = singleFlight
+                        ? doSingleFlight(name, new SingleFlightDescription(name))
+                        : doCache(name, doDescribe(name));
             }
             return ArrayTypeResolution.of(resolution, arity);
         }
 
+        /**
+         * Applies a resolution of a type. If this type pool applies single flight resolution, the resolution is only applied if
+         * no other resolution of the same type is currently in progress. Otherwise, the result of the resolution in progress is
+         * awaited and returned. If single flight resolution is disabled, the resolution is applied directly. The resolution is
+         * also applied directly if awaiting a resolution in progress would never complete, what is the case if the current thread
+         * is already applying this resolution or if the thread applying it is itself, directly or indirectly, awaiting a resolution
+         * of the current thread.
+         *
+         * @param name       The name of the type being resolved.
+         * @param resolution The resolution to apply which should consult the cache provider before resolving a type.
+         * @return The resolution for the type of this name.
+         */
+        protected Resolution doSingleFlight(String name, Callable<Resolution> resolution) {
+            try {
+                if (!singleFlight) {
+                    return resolution.call();
+                }
+                Flight flight = new Flight(resolution), previous = resolutions.putIfAbsent(name, flight);
+                if (previous == null) {
+                    try {
+                        flight.run();
+                    } finally {
+                        resolutions.remove(name, flight);
+                    }
+                    return flight.get();
+                }
+                Thread thread = Thread.currentThread();
+                awaiting.put(thread, previous);
+                try {
+                    if (!isAwaitedBy(previous, thread)) {
+                        return previous.get();
+                    }
+                } finally {
+                    awaiting.remove(thread);
+                }
+                return resolution.call();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(exception);
+            } catch (ExecutionException exception) {
+                Throwable cause = exception.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                } else {
+                    throw new IllegalStateException(cause);
+                }
+            } catch (RuntimeException exception) {
+                throw exception;
+            } catch (Exception exception) {
+                throw new IllegalStateException(exception);
+            }
+        }
+
+        /**
+         * Checks if a resolution in progress cannot complete before the supplied thread completes its own resolutions in progress.
+         *
+         * @param flight The resolution in progress.
+         * @param thread The thread that attempts to await the resolution in progress.
+         * @return {@code true} if the resolution in progress is, directly or indirectly, awaiting the supplied thread.
+         */
+        private boolean isAwaitedBy(Flight flight, Thread thread) {
+            Set<Thread> threads = new HashSet<Thread>();
+            while (flight != null) {
+                if (flight.thread == thread) {
+                    return true;
+                } else if (!threads.add(flight.thread)) {
+                    return false;
+                }
+                flight = awaiting.get(flight.thread);
+            }
+            return false;
+        }
+
         /**
          * Writes the resolution to the cache. This method should be overridden if the directly
          * resolved instance should not be added to the cache.
@@ -435,6 +673,57 @@ public interface TypePool {
          */
         protected abstract Resolution doDescribe(String name);
 
+        /**
+         * A resolution in progress that is applied by a single thread.
+         */
+        protected static class Flight extends FutureTask<Resolution> {
+
+            /**
+             * The thread that applies this resolution.
+             */
+            private final Thread thread;
+
+            /**
+             * Creates a new resolution in progress that is applied by the current thread.
+             *
+             * @param resolution The resolution to apply.
+             */
+            protected Flight(Callable<Resolution> resolution) {
+                super(resolution);
+                thread = Thread.currentThread();
+            }
+        }
+
+        /**
+         * A description of a type that is applied as a single flight resolution.
+         */
+        protected class SingleFlightDescription implements Callable<Resolution> {
+
+            /**
+             * The name of the type to describe.
+             */
+            private final String name;
+
+            /**
+             * Creates a new single flight description.
+             *
+             * @param name The name of the type to describe.
+             */
+            protected SingleFlightDescription(String name) {
+                this.name = name;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Resolution call() {
+                Resolution resolution = cacheProvider.find(name);
+                return resolution == null
+                        ? doCache(name, doDescribe(name))
+                        : resolution;
+            }
+        }
+
         /**
          * A lazy representation of the component type of an array.
          */
@@ -468,7 +757,18 @@ public interface TypePool {
              * @param parent        The parent type pool to be used.
              */
             protected Hierarchical(CacheProvider cacheProvider, TypePool parent) {
-                super(cacheProvider);
+                this(cacheProvider, parent, false);
+            }
+
+            /**
+             * Creates a hierarchical type pool.
+             *
+             * @param cacheProvider The cache provider to be used.
+             * @param parent        The parent type pool to be used.
+             * @param singleFlight  {@code true} if concurrent resolutions of the same type should await a single resolution that is in progress.
+             */
+            protected Hierarchical(CacheProvider cacheProvider, TypePool parent, boolean singleFlight) {
+                super(cacheProvider, singleFlight);
                 this.parent = parent;
             }
 
@@ -600,7 +900,21 @@ public interface TypePool {
          * @param parentPool       The parent type pool.
          */
         public Default(CacheProvider cacheProvider, ClassFileLocator classFileLocator, ReaderMode readerMode, TypePool parentPool) {
-            super(cacheProvider, parentPool);
+            this(cacheProvider, classFileLocator, readerMode, parentPool, false);
+        }
+
+        /**
+         * Creates a new default type pool.
+         *
+         * @param cacheProvider    The cache provider to be used.
+         * @param classFileLocator The class file locator to be used.
+         * @param readerMode       The reader mode to apply by this default type pool.
+         * @param parentPool       The parent type pool.
+         * @param singleFlight     {@code true} if concurrent resolutions of the same type should await a single resolution that is in
+         *                         progress rather than parsing the type's class file independently.
+         */
+        public Default(CacheProvider cacheProvider, ClassFileLocator classFileLocator, ReaderMode readerMode, TypePool parentPool, boolean singleFlight) {
+            super(cacheProvider, parentPool, singleFlight);
             this.classFileLocator = classFileLocator;
             this.readerMode = readerMode;
         }
@@ -764,7 +1078,25 @@ public interface TypePool {
              * @param parentPool       The parent type pool.
              */
             public WithLazyResolution(CacheProvider cacheProvider, ClassFileLocator classFileLocator, ReaderMode readerMode, TypePool parentPool) {
-                super(cacheProvider, classFileLocator, readerMode, parentPool);
+                this(cacheProvider, classFileLocator, readerMode, parentPool, false);
+            }
+
+            /**
+             * Creates a new default type pool with lazy resolution.
+             *
+             * @param cacheProvider    The cache provider to be used.
+             * @param classFileLocator The class file locator to be used.
+             * @param readerMode       The reader mode to apply by this default type pool.
+             * @param parentPool       The parent type pool.
+             * @param singleFlight     {@code true} if concurrent resolutions of the same type should await a single resolution that is in
+             *                         progress rather than parsing the type's class file independently.
+             */
+            public WithLazyResolution(CacheProvider cacheProvider,
+                                      ClassFileLocator classFileLocator,
+                                      ReaderMode readerMode,
+                                      TypePool parentPool,
+                                      boolean singleFlight) {
+                super(cacheProvider, classFileLocator, readerMode, parentPool, singleFlight);
             }
 
             /**
@@ -840,11 +1172,41 @@ public interface TypePool {
             protected Resolution doResolve(String name) {
                 Resolution resolution = cacheProvider.find(name);
                 if (resolution == null) {
-                    resolution = cacheProvider.register(name, WithLazyResolution.super.doDescribe(name));
+                    resolution = doSingleFlight(name, new NonLazyDescription(name));
                 }
                 return resolution;
             }
 
+            /**
+             * A non-lazy description of a type that registers its result in the enclosing type pool's cache.
+             */
+            protected class NonLazyDescription implements Callable<Resolution> {
+
+                /**
+                 * The name of the type to describe.
+                 */
+                private final String name;
+
+                /**
+                 * Creates a new non-lazy description.
+                 *
+                 * @param name The name of the type to describe.
+                 */
+                protected NonLazyDescription(String name) {
+                    this.name = name;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Resolution call() {
+                    Resolution resolution = cacheProvider.find(name);
+                    return resolution == null
+                            ? cacheProvider.register(name, WithLazyResolution.super.doDescribe(name))
+                            : resolution;
+                }
+            }
+
             /**
              * A lazy resolution of a type that the enclosing type pool attempts to resolve.
              */
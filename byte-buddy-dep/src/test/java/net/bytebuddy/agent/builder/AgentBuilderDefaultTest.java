@@ -2300,7 +2300,8 @@ public class AgentBuilderDefaultTest {
                 mock(AgentBuilder.InstallationListener.class),
                 mock(AgentBuilder.RawMatcher.class),
                 mock(List.class),
-                new AgentBuilder.CircularityLock.Default())
+                new AgentBuilder.CircularityLock.Default(),
+                AgentBuilder.MatchingIndex.NoOp.INSTANCE)
                 .transform(mock(ClassLoader.class),
                         FOO,
                         Object.class,
@@ -2333,7 +2334,8 @@ public class AgentBuilderDefaultTest {
                 mock(AgentBuilder.InstallationListener.class),
                 mock(AgentBuilder.RawMatcher.class),
                 Collections.<AgentBuilder.Default.Transformation>emptyList(),
-                new AgentBuilder.Default.CircularityLock.Default());
+                new AgentBuilder.Default.CircularityLock.Default(),
+                AgentBuilder.MatchingIndex.NoOp.INSTANCE);
         final ClassLoader classLoader = mock(ClassLoader.class);
         final ProtectionDomain protectionDomain = mock(ProtectionDomain.class);
         doAnswer(new Answer() {
@@ -2372,7 +2374,8 @@ public class AgentBuilderDefaultTest {
                 mock(AgentBuilder.InstallationListener.class),
                 mock(AgentBuilder.RawMatcher.class),
                 Collections.<AgentBuilder.Default.Transformation>emptyList(),
-                new AgentBuilder.CircularityLock.Default());
+                new AgentBuilder.CircularityLock.Default(),
+                AgentBuilder.MatchingIndex.NoOp.INSTANCE);
         final ClassLoader classLoader = mock(ClassLoader.class);
         final ProtectionDomain protectionDomain = mock(ProtectionDomain.class);
         doAnswer(new Answer() {
@@ -0,0 +1,230 @@
+package net.bytebuddy.agent.builder;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.utility.JavaModule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Field;
+import java.util.EnumSet;
+import java.util.concurrent.CountDownLatch;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.when;
+
+public class AgentBuilderListenerAsynchronousStreamWritingTest {
+
+    private static final String FOO = "foo";
+
+    private static final boolean LOADED = true;
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private TypeDescription typeDescription;
+
+    @Mock
+    private ClassLoader classLoader;
+
+    @Mock
+    private JavaModule module;
+
+    @Mock
+    private DynamicType dynamicType;
+
+    private ByteArrayOutputStream outputStream;
+
+    @Before
+    public void setUp() throws Exception {
+        when(typeDescription.getName()).thenReturn(FOO);
+        outputStream = new ByteArrayOutputStream();
+    }
+
+    @Test
+    public void testAllEvents() throws Exception {
+        AgentBuilder.Listener.AsynchronousStreamWriting listener = new AgentBuilder.Listener.AsynchronousStreamWriting(new PrintStream(outputStream));
+        listener.onDiscovery(FOO, classLoader, module, LOADED);
+        listener.onTransformation(typeDescription, classLoader, module, LOADED, dynamicType);
+        listener.onIgnored(typeDescription, classLoader, module, LOADED);
+        listener.onError(FOO, classLoader, module, LOADED, new RuntimeException(FOO));
+        listener.onComplete(FOO, classLoader, module, LOADED);
+        listener.close();
+        String output = outputStream.toString();
+        assertThat(output, containsString("[Byte Buddy] DISCOVERY " + FOO + " [" + classLoader + ", " + module + ", loaded=" + LOADED + "]"));
+        assertThat(output, containsString("[Byte Buddy] TRANSFORM " + FOO));
+        assertThat(output, containsString("[Byte Buddy] IGNORE " + FOO));
+        assertThat(output, containsString("[Byte Buddy] ERROR " + FOO));
+        assertThat(output, containsString(RuntimeException.class.getName() + ": " + FOO));
+        assertThat(output, containsString("[Byte Buddy] COMPLETE " + FOO));
+        assertThat(output.indexOf("DISCOVERY") < output.indexOf("COMPLETE"), is(true));
+        assertThat(listener.getDropped(), is(0L));
+    }
+
+    @Test
+    public void testEventTypeFiltering() throws Exception {
+        AgentBuilder.Listener.AsynchronousStreamWriting listener = new AgentBuilder.Listener.AsynchronousStreamWriting(new PrintStream(outputStream),
+                16,
+                1,
+                EnumSet.of(AgentBuilder.Listener.AsynchronousStreamWriting.EventType.TRANSFORMATION));
+        listener.onDiscovery(FOO, classLoader, module, LOADED);
+        listener.onTransformation(typeDescription, classLoader, module, LOADED, dynamicType);
+        listener.onComplete(FOO, classLoader, module, LOADED);
+        listener.close();
+        String output = outputStream.toString();
+        assertThat(output, containsString("TRANSFORM " + FOO));
+        assertThat(output, not(containsString("DISCOVERY")));
+        assertThat(output, not(containsString("COMPLETE")));
+    }
+
+    @Test
+    public void testSampling() throws Exception {
+        String sampled = "a", skipped = "b";
+        AgentBuilder.Listener.AsynchronousStreamWriting listener = new AgentBuilder.Listener.AsynchronousStreamWriting(new PrintStream(outputStream),
+                16,
+                97,
+                EnumSet.allOf(AgentBuilder.Listener.AsynchronousStreamWriting.EventType.class));
+        listener.onDiscovery(sampled, classLoader, module, LOADED);
+        listener.onDiscovery(skipped, classLoader, module, LOADED);
+        listener.onError(skipped, classLoader, module, LOADED, new RuntimeException());
+        listener.close();
+        String output = outputStream.toString();
+        assertThat(output, containsString("DISCOVERY " + sampled));
+        assertThat(output, not(containsString("DISCOVERY " + skipped)));
+        assertThat(output, containsString("ERROR " + skipped));
+    }
+
+    @Test
+    public void testDroppedAfterClose() throws Exception {
+        AgentBuilder.Listener.AsynchronousStreamWriting listener = new AgentBuilder.Listener.AsynchronousStreamWriting(new PrintStream(outputStream));
+        listener.close();
+        listener.onDiscovery(FOO, classLoader, module, LOADED);
+        assertThat(listener.getDropped(), is(1L));
+    }
+
+    @Test
+    public void testManyEvents() throws Exception {
+        AgentBuilder.Listener.AsynchronousStreamWriting listener = new AgentBuilder.Listener.AsynchronousStreamWriting(new PrintStream(outputStream),
+                4,
+                1,
+                EnumSet.allOf(AgentBuilder.Listener.AsynchronousStreamWriting.EventType.class));
+        for (int index = 0; index < 1000; index++) {
+            listener.onDiscovery(FOO, classLoader, module, LOADED);
+        }
+        listener.close();
+        assertThat(count(outputStream.toString(), "DISCOVERY") + listener.getDropped(), is(1000L));
+    }
+
+    @Test
+    public void testNoEventsLostOnConcurrentClose() throws Exception {
+        final AgentBuilder.Listener.AsynchronousStreamWriting listener = new AgentBuilder.Listener.AsynchronousStreamWriting(new PrintStream(outputStream),
+                1 << 16,
+                1,
+                EnumSet.allOf(AgentBuilder.Listener.AsynchronousStreamWriting.EventType.class));
+        final CountDownLatch latch = new CountDownLatch(4);
+        Thread[] thread = new Thread[4];
+        for (int index = 0; index < thread.length; index++) {
+            thread[index] = new Thread(new Runnable() {
+                public void run() {
+                    for (int index = 0; index < 1000; index++) {
+                        listener.onDiscovery(FOO, classLoader, module, LOADED);
+                        if (index == 100) {
+                            latch.countDown();
+                        }
+                    }
+                }
+            });
+            thread[index].start();
+        }
+        latch.await();
+        listener.close();
+        for (Thread aThread : thread) {
+            aThread.join();
+        }
+        assertThat(count(outputStream.toString(), "DISCOVERY") + listener.getDropped(), is(4000L));
+    }
+
+    @Test
+    public void testThreadStartedOnFirstEvent() throws Exception {
+        AgentBuilder.Listener.AsynchronousStreamWriting listener = new AgentBuilder.Listener.AsynchronousStreamWriting(new PrintStream(outputStream));
+        Field field = AgentBuilder.Listener.AsynchronousStreamWriting.class.getDeclaredField("thread");
+        field.setAccessible(true);
+        Thread thread = (Thread) field.get(listener);
+        assertThat(thread.getState(), is(Thread.State.NEW));
+        listener.onDiscovery(FOO, classLoader, module, LOADED);
+        assertThat(thread.getState(), not(Thread.State.NEW));
+        listener.close();
+        assertThat(thread.isAlive(), is(false));
+        assertThat(outputStream.toString(), containsString("DISCOVERY " + FOO));
+    }
+
+    @Test
+    public void testCloseTwice() throws Exception {
+        AgentBuilder.Listener.AsynchronousStreamWriting listener = new AgentBuilder.Listener.AsynchronousStreamWriting(new PrintStream(outputStream));
+        listener.close();
+        listener.onDiscovery(FOO, classLoader, module, LOADED);
+        listener.close();
+        assertThat(listener.getDropped(), is(1L));
+        assertThat(outputStream.toString(), not(containsString("DROPPED")));
+    }
+
+    @Test(timeout = 10000L)
+    public void testThreadParkedWhenIdle() throws Exception {
+        AgentBuilder.Listener.AsynchronousStreamWriting listener = new AgentBuilder.Listener.AsynchronousStreamWriting(new PrintStream(outputStream));
+        Field field = AgentBuilder.Listener.AsynchronousStreamWriting.class.getDeclaredField("thread");
+        field.setAccessible(true);
+        Thread thread = (Thread) field.get(listener);
+        listener.onDiscovery(FOO, classLoader, module, LOADED);
+        while (thread.getState() != Thread.State.WAITING) {
+            Thread.sleep(1L);
+        }
+        listener.onComplete(FOO, classLoader, module, LOADED);
+        listener.close();
+        assertThat(thread.isAlive(), is(false));
+        assertThat(outputStream.toString(), containsString("COMPLETE " + FOO));
+    }
+
+    @Test
+    public void testCloseWithoutEvents() throws Exception {
+        AgentBuilder.Listener.AsynchronousStreamWriting listener = new AgentBuilder.Listener.AsynchronousStreamWriting(new PrintStream(outputStream));
+        Field field = AgentBuilder.Listener.AsynchronousStreamWriting.class.getDeclaredField("thread");
+        field.setAccessible(true);
+        listener.close();
+        assertThat(((Thread) field.get(listener)).getState(), is(Thread.State.NEW));
+        assertThat(outputStream.size(), is(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalCapacity() throws Exception {
+        new AgentBuilder.Listener.AsynchronousStreamWriting(new PrintStream(outputStream),
+                0,
+                1,
+                EnumSet.allOf(AgentBuilder.Listener.AsynchronousStreamWriting.EventType.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalSampling() throws Exception {
+        new AgentBuilder.Listener.AsynchronousStreamWriting(new PrintStream(outputStream),
+                1,
+                0,
+                EnumSet.allOf(AgentBuilder.Listener.AsynchronousStreamWriting.EventType.class));
+    }
+
+    private static long count(String output, String label) {
+        long count = 0;
+        for (String line : output.split(System.getProperty("line.separator"))) {
+            if (line.contains(label)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
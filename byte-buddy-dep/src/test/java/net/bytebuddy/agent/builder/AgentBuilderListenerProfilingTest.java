@@ -0,0 +1,373 @@
+package net.bytebuddy.agent.builder;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.pool.TypePool;
+import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.utility.JavaModule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AgentBuilderListenerProfilingTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
+
+    private static final boolean LOADED = true;
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private TypeDescription typeDescription;
+
+    @Mock
+    private ClassLoader classLoader;
+
+    @Mock
+    private JavaModule module;
+
+    @Mock
+    private DynamicType dynamicType;
+
+    @Mock
+    private Throwable throwable;
+
+    @Mock
+    private AgentBuilder.RawMatcher matcher;
+
+    @Mock
+    private AgentBuilder.Transformer transformer;
+
+    @Mock
+    private AgentBuilder.DescriptionStrategy descriptionStrategy;
+
+    @Mock
+    private DynamicType.Builder<?> builder;
+
+    @Mock
+    private TypePool typePool;
+
+    @Mock
+    private AgentBuilder.CircularityLock circularityLock;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        when(typeDescription.getName()).thenReturn(FOO);
+        when(dynamicType.getBytes()).thenReturn(new byte[0]);
+        when(matcher.matches(typeDescription, classLoader, module, null, null)).thenReturn(true);
+        when(transformer.transform((DynamicType.Builder) builder, typeDescription, classLoader, module)).thenReturn((DynamicType.Builder) builder);
+        when(descriptionStrategy.apply(FOO, null, typePool, circularityLock, classLoader, module)).thenReturn(typeDescription);
+        when(descriptionStrategy.isLoadedFirst()).thenReturn(true);
+    }
+
+    @Test
+    public void testTransformation() throws Exception {
+        AgentBuilder.Listener.Profiling listener = new AgentBuilder.Listener.Profiling();
+        listener.onDiscovery(FOO, classLoader, module, LOADED);
+        listener.onTransformation(typeDescription, classLoader, module, LOADED, dynamicType);
+        listener.onComplete(FOO, classLoader, module, LOADED);
+        assertThat(listener.getTransformed().getCount(), is(1L));
+        assertThat(listener.getIgnored().getCount(), is(0L));
+        assertThat(listener.getFailed().getCount(), is(0L));
+        assertThat(listener.getCompleted().getCount(), is(1L));
+        assertThat(listener.getTypes().size(), is(1));
+        assertThat(listener.getTypes().get(FOO), is(listener.getCompleted().getTotal()));
+    }
+
+    @Test
+    public void testSize() throws Exception {
+        when(dynamicType.getBytes()).thenReturn(new byte[40]);
+        when(dynamicType.getAuxiliaryTypes()).thenReturn(Collections.singletonMap(typeDescription, new byte[2]));
+        AgentBuilder.Listener.Profiling listener = new AgentBuilder.Listener.Profiling();
+        listener.onTransformation(typeDescription, classLoader, module, LOADED, dynamicType);
+        assertThat(listener.getSizes().getCount(), is(1L));
+        assertThat(listener.getSizes().getTotal(), is(42L));
+    }
+
+    @Test
+    public void testIgnored() throws Exception {
+        AgentBuilder.Listener.Profiling listener = new AgentBuilder.Listener.Profiling();
+        listener.onDiscovery(FOO, classLoader, module, LOADED);
+        listener.onIgnored(typeDescription, classLoader, module, LOADED);
+        listener.onComplete(FOO, classLoader, module, LOADED);
+        assertThat(listener.getTransformed().getCount(), is(0L));
+        assertThat(listener.getIgnored().getCount(), is(1L));
+        assertThat(listener.getCompleted().getCount(), is(1L));
+    }
+
+    @Test
+    public void testError() throws Exception {
+        AgentBuilder.Listener.Profiling listener = new AgentBuilder.Listener.Profiling();
+        listener.onDiscovery(FOO, classLoader, module, LOADED);
+        listener.onError(FOO, classLoader, module, LOADED, throwable);
+        listener.onComplete(FOO, classLoader, module, LOADED);
+        assertThat(listener.getFailed().getCount(), is(1L));
+        assertThat(listener.getCompleted().getCount(), is(1L));
+    }
+
+    @Test
+    public void testNested() throws Exception {
+        AgentBuilder.Listener.Profiling listener = new AgentBuilder.Listener.Profiling();
+        listener.onDiscovery(FOO, classLoader, module, LOADED);
+        listener.onDiscovery(BAR, classLoader, module, LOADED);
+        listener.onComplete(BAR, classLoader, module, LOADED);
+        listener.onComplete(FOO, classLoader, module, LOADED);
+        Map<String, Long> types = listener.getTypes();
+        assertThat(types.size(), is(2));
+        assertThat(types.get(FOO) >= types.get(BAR), is(true));
+    }
+
+    @Test
+    public void testResolving() throws Exception {
+        AgentBuilder.Listener.Profiling listener = new AgentBuilder.Listener.Profiling();
+        AgentBuilder.DescriptionStrategy descriptionStrategy = listener.wrap(this.descriptionStrategy);
+        assertThat(descriptionStrategy.isLoadedFirst(), is(true));
+        assertThat(descriptionStrategy.apply(FOO, null, typePool, circularityLock, classLoader, module), is(typeDescription));
+        assertThat(listener.getResolved().getCount(), is(1L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testPhases() throws Exception {
+        AgentBuilder.Listener.Profiling listener = new AgentBuilder.Listener.Profiling();
+        AgentBuilder.RawMatcher matcher = listener.wrap(0, this.matcher);
+        AgentBuilder.Transformer transformer = listener.wrap(0, this.transformer);
+        listener.wrap(1, this.transformer);
+        List<Class<?>> types = Collections.<Class<?>>singletonList(Object.class);
+        listener.onBatch(0, types, types);
+        listener.onDiscovery(FOO, classLoader, module, LOADED);
+        assertThat(matcher.matches(typeDescription, classLoader, module, null, null), is(true));
+        assertThat(transformer.transform((DynamicType.Builder) builder, typeDescription, classLoader, module), is((DynamicType.Builder) builder));
+        assertThat(transformer.transform((DynamicType.Builder) builder, typeDescription, classLoader, module), is((DynamicType.Builder) builder));
+        listener.onTransformation(typeDescription, classLoader, module, LOADED, dynamicType);
+        listener.onComplete(FOO, classLoader, module, LOADED);
+        listener.onDiscovery(BAR, classLoader, module, LOADED);
+        listener.onIgnored(typeDescription, classLoader, module, LOADED);
+        listener.onComplete(BAR, classLoader, module, LOADED);
+        listener.onComplete(1, types, Collections.<List<Class<?>>, Throwable>emptyMap());
+        verify(this.matcher).matches(typeDescription, classLoader, module, null, null);
+        Map<Integer, AgentBuilder.Listener.Profiling.Phases> phases = listener.getPhases();
+        assertThat(phases.size(), is(2));
+        assertThat(phases.get(0).getMatching().getCount(), is(1L));
+        assertThat(phases.get(0).getTransforming().getCount(), is(2L));
+        assertThat(phases.get(0).getWriting().getCount(), is(1L));
+        assertThat(phases.get(0).getBatches().getCount(), is(1L));
+        assertThat(phases.get(1).getMatching().getCount(), is(0L));
+        assertThat(phases.get(1).getTransforming().getCount(), is(0L));
+        assertThat(phases.get(1).getWriting().getCount(), is(0L));
+        assertThat(phases.get(1).getBatches().getCount(), is(0L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testPhasesNested() throws Exception {
+        AgentBuilder.Listener.Profiling listener = new AgentBuilder.Listener.Profiling();
+        AgentBuilder.Transformer transformer = listener.wrap(0, this.transformer), other = listener.wrap(1, this.transformer);
+        listener.onDiscovery(FOO, classLoader, module, LOADED);
+        transformer.transform((DynamicType.Builder) builder, typeDescription, classLoader, module);
+        listener.onDiscovery(BAR, classLoader, module, LOADED);
+        other.transform((DynamicType.Builder) builder, typeDescription, classLoader, module);
+        listener.onTransformation(typeDescription, classLoader, module, LOADED, dynamicType);
+        listener.onComplete(BAR, classLoader, module, LOADED);
+        listener.onTransformation(typeDescription, classLoader, module, LOADED, dynamicType);
+        listener.onComplete(FOO, classLoader, module, LOADED);
+        Map<Integer, AgentBuilder.Listener.Profiling.Phases> phases = listener.getPhases();
+        assertThat(phases.get(0).getWriting().getCount(), is(1L));
+        assertThat(phases.get(1).getWriting().getCount(), is(1L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTransformerWithoutDiscovery() throws Exception {
+        AgentBuilder.Listener.Profiling listener = new AgentBuilder.Listener.Profiling();
+        listener.wrap(0, transformer).transform((DynamicType.Builder) builder, typeDescription, classLoader, module);
+        listener.onTransformation(typeDescription, classLoader, module, LOADED, dynamicType);
+        assertThat(listener.getPhases().get(0).getTransforming().getCount(), is(1L));
+        assertThat(listener.getPhases().get(0).getWriting().getCount(), is(0L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeTransformationIndex() throws Exception {
+        new AgentBuilder.Listener.Profiling().wrap(-1, matcher);
+    }
+
+    @Test
+    public void testRegister() throws Exception {
+        AgentBuilder.Listener.Profiling listener = new AgentBuilder.Listener.Profiling();
+        listener.wrap(0, matcher).matches(typeDescription, classLoader, module, null, null);
+        listener.onDiscovery(FOO, classLoader, module, LOADED);
+        listener.onIgnored(typeDescription, classLoader, module, LOADED);
+        MBeanServer mBeanServer = MBeanServerFactory.newMBeanServer();
+        List<ObjectName> objectNames = listener.register(mBeanServer, FOO);
+        assertThat(objectNames.size(), is(11));
+        assertThat(mBeanServer.getAttribute(new ObjectName("net.bytebuddy:type=Profiling,name=\"" + FOO + "\",event=ignored"), "Count"), is((Object) 1L));
+        assertThat(mBeanServer.getAttribute(new ObjectName("net.bytebuddy:type=Profiling,name=\"" + FOO + "\",transformation=0,phase=matching"), "Count"), is((Object) 1L));
+        assertThat(mBeanServer.getAttribute(new ObjectName("net.bytebuddy:type=Profiling,name=\"" + FOO + "\",event=failed"), "P99"), is((Object) 0L));
+    }
+
+    @Test
+    public void testRegisterTwice() throws Exception {
+        AgentBuilder.Listener.Profiling listener = new AgentBuilder.Listener.Profiling();
+        MBeanServer mBeanServer = MBeanServerFactory.newMBeanServer();
+        int count = mBeanServer.getMBeanCount();
+        listener.register(mBeanServer, FOO);
+        try {
+            new AgentBuilder.Listener.Profiling().register(mBeanServer, FOO);
+            fail();
+        } catch (JMException ignored) {
+            /* expected */
+        }
+        assertThat(mBeanServer.getMBeanCount(), is(count + 7));
+    }
+
+    @Test
+    public void testRanking() throws Exception {
+        AgentBuilder.Listener.Profiling.Ranking ranking = new AgentBuilder.Listener.Profiling.Ranking(2);
+        ranking.record(FOO, 1L);
+        ranking.record(BAR, 3L);
+        ranking.record(QUX, 2L);
+        ranking.record(FOO, 4L);
+        ranking.record(BAR, 1L);
+        Map<String, Long> types = ranking.toMap();
+        assertThat(types.size(), is(2));
+        Iterator<Map.Entry<String, Long>> iterator = types.entrySet().iterator();
+        Map.Entry<String, Long> first = iterator.next(), second = iterator.next();
+        assertThat(first.getKey(), is(FOO));
+        assertThat(first.getValue(), is(4L));
+        assertThat(second.getKey(), is(BAR));
+        assertThat(second.getValue(), is(3L));
+    }
+
+    @Test
+    public void testRankingEmpty() throws Exception {
+        AgentBuilder.Listener.Profiling.Ranking ranking = new AgentBuilder.Listener.Profiling.Ranking(0);
+        ranking.record(FOO, Long.MAX_VALUE);
+        assertThat(ranking.toMap().isEmpty(), is(true));
+    }
+
+    @Test
+    public void testTypeLimit() throws Exception {
+        AgentBuilder.Listener.Profiling listener = new AgentBuilder.Listener.Profiling(1);
+        listener.onDiscovery(FOO, classLoader, module, LOADED);
+        listener.onComplete(FOO, classLoader, module, LOADED);
+        listener.onDiscovery(BAR, classLoader, module, LOADED);
+        listener.onComplete(BAR, classLoader, module, LOADED);
+        assertThat(listener.getCompleted().getCount(), is(2L));
+        assertThat(listener.getTypes().size(), is(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeTypeLimit() throws Exception {
+        new AgentBuilder.Listener.Profiling(-1);
+    }
+
+    @Test
+    public void testCompleteWithoutDiscovery() throws Exception {
+        AgentBuilder.Listener.Profiling listener = new AgentBuilder.Listener.Profiling();
+        listener.onTransformation(typeDescription, classLoader, module, LOADED, dynamicType);
+        listener.onComplete(FOO, classLoader, module, LOADED);
+        assertThat(listener.getTransformed().getCount(), is(0L));
+        assertThat(listener.getCompleted().getCount(), is(0L));
+        assertThat(listener.getTypes().isEmpty(), is(true));
+    }
+
+    @Test
+    public void testBatches() throws Exception {
+        AgentBuilder.Listener.Profiling listener = new AgentBuilder.Listener.Profiling();
+        List<Class<?>> types = Collections.<Class<?>>singletonList(Object.class);
+        listener.onBatch(0, types, types);
+        listener.onBatch(1, types, types);
+        assertThat(listener.onError(1, types, throwable, types).iterator().hasNext(), is(false));
+        listener.onBatch(2, types, types);
+        listener.onComplete(3, types, Collections.<List<Class<?>>, Throwable>emptyMap());
+        listener.onComplete(3, types, Collections.<List<Class<?>>, Throwable>emptyMap());
+        assertThat(listener.getBatches().getCount(), is(3L));
+    }
+
+    @Test
+    public void testReport() throws Exception {
+        AgentBuilder.Listener.Profiling listener = new AgentBuilder.Listener.Profiling();
+        listener.onDiscovery(FOO, classLoader, module, LOADED);
+        listener.onTransformation(typeDescription, classLoader, module, LOADED, dynamicType);
+        listener.onComplete(FOO, classLoader, module, LOADED);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        listener.report(new PrintStream(outputStream));
+        String report = outputStream.toString();
+        assertThat(report, containsString("TRANSFORMED [count=1"));
+        assertThat(report, containsString("IGNORED [count=0"));
+        assertThat(report, containsString("SIZE [count=1"));
+        assertThat(report, containsString("TYPE " + FOO));
+        assertThat(report, containsString("RESOLVED [count=0"));
+    }
+
+    @Test
+    public void testReportPhases() throws Exception {
+        AgentBuilder.Listener.Profiling listener = new AgentBuilder.Listener.Profiling();
+        listener.wrap(0, matcher).matches(typeDescription, classLoader, module, null, null);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        listener.report(new PrintStream(outputStream));
+        String report = outputStream.toString();
+        assertThat(report, containsString("TRANSFORMATION 0 MATCHING [count=1"));
+        assertThat(report, containsString("TRANSFORMATION 0 TRANSFORMING [count=0"));
+        assertThat(report, containsString("TRANSFORMATION 0 WRITING [count=0"));
+        assertThat(report, containsString("TRANSFORMATION 0 BATCH [count=0"));
+    }
+
+    @Test
+    public void testHistogram() throws Exception {
+        AgentBuilder.Listener.Profiling.Histogram histogram = new AgentBuilder.Listener.Profiling.Histogram();
+        assertThat(histogram.getPercentile(50), is(0L));
+        for (long value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+        histogram.record(-1);
+        assertThat(histogram.getCount(), is(101L));
+        assertThat(histogram.getTotal(), is(5050L));
+        assertThat(histogram.getMaximum(), is(100L));
+        assertThat(histogram.getPercentile(100), is(100L));
+        assertThat(histogram.getPercentile(50) >= 49L, is(true));
+        assertThat(histogram.getPercentile(50) <= 56L, is(true));
+        assertThat(histogram.getPercentile(0), is(0L));
+    }
+
+    @Test
+    public void testHistogramBuckets() throws Exception {
+        for (long value : new long[]{0, 1, 7, 8, 9, 15, 16, 17, 1000, 123456789L, Long.MAX_VALUE}) {
+            int bucket = AgentBuilder.Listener.Profiling.Histogram.toBucket(value);
+            assertThat(AgentBuilder.Listener.Profiling.Histogram.toValue(bucket) >= value, is(true));
+            assertThat(bucket == 0 || AgentBuilder.Listener.Profiling.Histogram.toValue(bucket - 1) < value, is(true));
+        }
+        int last = AgentBuilder.Listener.Profiling.Histogram.toBucket(Long.MAX_VALUE);
+        for (int bucket = 1; bucket <= last; bucket++) {
+            assertThat(AgentBuilder.Listener.Profiling.Histogram.toValue(bucket) > AgentBuilder.Listener.Profiling.Histogram.toValue(bucket - 1), is(true));
+        }
+        assertThat(AgentBuilder.Listener.Profiling.Histogram.toValue(last), is(Long.MAX_VALUE));
+        assertThat(AgentBuilder.Listener.Profiling.Histogram.toValue(last + 1), is(Long.MAX_VALUE));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHistogramIllegalPercentile() throws Exception {
+        new AgentBuilder.Listener.Profiling.Histogram().getPercentile(101);
+    }
+}
@@ -0,0 +1,280 @@
+package net.bytebuddy.agent.builder;
+
+import net.bytebuddy.build.Plugin;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ByteArrayClassLoader;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.FixedValue;
+import net.bytebuddy.utility.JavaModule;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AgentBuilderMatchingIndexTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    @Test
+    public void testNoOp() throws Exception {
+        assertThat(AgentBuilder.MatchingIndex.NoOp.INSTANCE.resolve(Foo.class.getName(), Foo.class.getClassLoader(), null, 1), nullValue(int[].class));
+    }
+
+    @Test
+    public void testSimpleResolution() throws Exception {
+        AgentBuilder.MatchingIndex.Simple index = new AgentBuilder.MatchingIndex.Simple(any(), 2, Collections.singletonMap(FOO, new int[]{1}));
+        assertThat(index.resolve(FOO, null, null, 2), is(new int[]{1}));
+        assertThat(index.resolve(BAR, null, null, 2), nullValue(int[].class));
+    }
+
+    @Test
+    public void testSimpleRedefinitionNotResolved() throws Exception {
+        assertThat(new AgentBuilder.MatchingIndex.Simple(any(), 2, Collections.singletonMap(FOO, new int[]{1})).resolve(FOO, null, Object.class, 2), nullValue(int[].class));
+    }
+
+    @Test
+    public void testSimpleTransformationCountMismatchNotResolved() throws Exception {
+        assertThat(new AgentBuilder.MatchingIndex.Simple(any(), 2, Collections.singletonMap(FOO, new int[]{1})).resolve(FOO, null, null, 3), nullValue(int[].class));
+    }
+
+    @Test
+    public void testSimpleClassLoaderNotMatchedNotResolved() throws Exception {
+        assertThat(new AgentBuilder.MatchingIndex.Simple(none(), 2, Collections.singletonMap(FOO, new int[]{1})).resolve(FOO, null, null, 2), nullValue(int[].class));
+    }
+
+    @Test
+    public void testSimpleLoadedTypesResolved() throws Exception {
+        assertThat(new AgentBuilder.MatchingIndex.Simple(any(), 2, Collections.singletonMap(FOO, new int[]{1}), true).resolve(FOO, null, Object.class, 2), is(new int[]{1}));
+    }
+
+    @Test
+    public void testSimpleRoundTrip() throws Exception {
+        Map<String, int[]> entries = new HashMap<String, int[]>();
+        entries.put(FOO, new int[]{0, 2});
+        entries.put(BAR, new int[0]);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new AgentBuilder.MatchingIndex.Simple(any(), 3, entries, true).write(outputStream);
+        AgentBuilder.MatchingIndex.Simple index = AgentBuilder.MatchingIndex.Simple.of(new ByteArrayInputStream(outputStream.toByteArray()), any());
+        assertThat(index.size(), is(2));
+        assertThat(index.resolve(FOO, null, null, 3), is(new int[]{0, 2}));
+        assertThat(index.resolve(BAR, null, Object.class, 3), is(new int[0]));
+    }
+
+    @Test(expected = IOException.class)
+    public void testSimpleIllegalFormat() throws Exception {
+        AgentBuilder.MatchingIndex.Simple.of(new ByteArrayInputStream(new byte[]{1, 2, 3, 4}), any());
+    }
+
+    @Test(expected = IOException.class)
+    public void testSimpleIllegalVersion() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new AgentBuilder.MatchingIndex.Simple(any(), 1, Collections.singletonMap(FOO, new int[]{0})).write(outputStream);
+        byte[] binaryRepresentation = outputStream.toByteArray();
+        binaryRepresentation[7]++;
+        AgentBuilder.MatchingIndex.Simple.of(new ByteArrayInputStream(binaryRepresentation), any());
+    }
+
+    @Test
+    public void testRecording() throws Exception {
+        File file = File.createTempFile(FOO, BAR);
+        try {
+            AgentBuilder.MatchingIndex.Recording recording = new AgentBuilder.MatchingIndex.Recording(new AgentBuilder.Default()
+                    .ignore(none())
+                    .type(named(Foo.class.getName())).transform(mock(AgentBuilder.Transformer.class))
+                    .type(named(Bar.class.getName())).transform(mock(AgentBuilder.Transformer.class))
+                    .type(nameStartsWith(Foo.class.getName())).transform(mock(AgentBuilder.Transformer.class)), Foo.class.getClassLoader(), file);
+            assertThat(recording.matches(TypeDescription.ForLoadedType.of(Foo.class)), is(false));
+            assertThat(recording.matches(TypeDescription.ForLoadedType.of(Bar.class)), is(false));
+            DynamicType.Builder<?> builder = mock(DynamicType.Builder.class);
+            assertThat(recording.apply(builder, TypeDescription.ForLoadedType.of(Foo.class), ClassFileLocator.NoOp.INSTANCE), is((Object) builder));
+            recording.close();
+            InputStream inputStream = new FileInputStream(file);
+            try {
+                AgentBuilder.MatchingIndex.Simple index = AgentBuilder.MatchingIndex.Simple.of(inputStream, any());
+                assertThat(index.size(), is(2));
+                assertThat(index.resolve(Foo.class.getName(), null, null, 3), is(new int[]{0, 2}));
+                assertThat(index.resolve(Bar.class.getName(), null, null, 3), is(new int[]{1}));
+            } finally {
+                inputStream.close();
+            }
+        } finally {
+            assertThat(file.delete(), is(true));
+        }
+    }
+
+    @Test
+    public void testRecordingTerminal() throws Exception {
+        AgentBuilder.MatchingIndex.Recording recording = new AgentBuilder.MatchingIndex.Recording(new AgentBuilder.Default()
+                .ignore(none())
+                .type(named(Foo.class.getName())).transform(mock(AgentBuilder.Transformer.class))
+                .type(any()).transform(mock(AgentBuilder.Transformer.class)).asTerminalTransformation()
+                .type(any()).transform(mock(AgentBuilder.Transformer.class)), Foo.class.getClassLoader(), new File(FOO));
+        recording.matches(TypeDescription.ForLoadedType.of(Foo.class));
+        assertThat(recording.toIndex(any()).resolve(Foo.class.getName(), null, null, 3), is(new int[]{0, 1}));
+    }
+
+    @Test
+    public void testRecordingIgnored() throws Exception {
+        AgentBuilder.MatchingIndex.Recording recording = new AgentBuilder.MatchingIndex.Recording(new AgentBuilder.Default()
+                .ignore(named(Foo.class.getName()))
+                .type(any()).transform(mock(AgentBuilder.Transformer.class)), Foo.class.getClassLoader(), new File(FOO));
+        recording.matches(TypeDescription.ForLoadedType.of(Foo.class));
+        assertThat(recording.toIndex(any()).resolve(Foo.class.getName(), null, null, 1), is(new int[0]));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRecordingWithIncrementalStrategy() throws Exception {
+        File file = File.createTempFile(FOO, BAR);
+        try {
+            new Plugin.Engine.Default()
+                    .with(new Plugin.Engine.IncrementalStrategy.ForManifest(file, Plugin.Engine.Source.Empty.INSTANCE))
+                    .apply(Plugin.Engine.Source.InMemory.ofTypes(Foo.class), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(new AgentBuilder.MatchingIndex.Recording(new AgentBuilder.Default()
+                            .type(any()).transform(mock(AgentBuilder.Transformer.class)), Foo.class.getClassLoader(), file)));
+        } finally {
+            assertThat(file.delete(), is(true));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRecordingWithIgnoredTypes() throws Exception {
+        File file = File.createTempFile(FOO, BAR);
+        try {
+            new Plugin.Engine.Default()
+                    .ignore(named(Bar.class.getName()))
+                    .apply(Plugin.Engine.Source.InMemory.ofTypes(Foo.class), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(new AgentBuilder.MatchingIndex.Recording(new AgentBuilder.Default()
+                            .type(any()).transform(mock(AgentBuilder.Transformer.class)), Foo.class.getClassLoader(), file)));
+        } finally {
+            assertThat(file.delete(), is(true));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRecordingIllegalAgentBuilder() throws Exception {
+        new AgentBuilder.MatchingIndex.Recording(mock(AgentBuilder.class), Foo.class.getClassLoader(), new File(FOO));
+    }
+
+    @Test
+    public void testAheadOfTime() throws Exception {
+        File file = File.createTempFile(FOO, BAR);
+        try {
+            AgentBuilder agentBuilder = new AgentBuilder.Default()
+                    .ignore(none())
+                    .with(AgentBuilder.InitializationStrategy.NoOp.INSTANCE)
+                    .type(named(Foo.class.getName())).transform(new FooTransformer());
+            Plugin.Engine.Target.InMemory target = new Plugin.Engine.Target.InMemory();
+            Plugin.Engine.Summary summary = new Plugin.Engine.Default().apply(Plugin.Engine.Source.InMemory.ofTypes(Foo.class, Bar.class),
+                    target,
+                    new Plugin.Factory.Simple(new AgentBuilder.MatchingIndex.AheadOfTime(agentBuilder, Foo.class.getClassLoader(), file)));
+            assertThat(summary.getTransformed(), is(Collections.<TypeDescription>singletonList(TypeDescription.ForLoadedType.of(Foo.class))));
+            Class<?> type = new ByteArrayClassLoader(ClassLoadingStrategy.BOOTSTRAP_LOADER, target.toTypeMap()).loadClass(Foo.class.getName());
+            assertThat(type.getDeclaredMethod(FOO).invoke(type.getDeclaredConstructor().newInstance()), is((Object) BAR));
+            InputStream inputStream = new FileInputStream(file);
+            try {
+                AgentBuilder.MatchingIndex.Simple index = AgentBuilder.MatchingIndex.Simple.of(inputStream, any());
+                assertThat(index.size(), is(2));
+                assertThat(index.resolve(Foo.class.getName(), null, null, 1), is(new int[0]));
+                assertThat(index.resolve(Foo.class.getName(), null, type, 1), is(new int[0]));
+                assertThat(index.resolve(Bar.class.getName(), null, null, 1), is(new int[0]));
+                assertThat(agentBuilder.with(index)
+                        .makeRaw()
+                        .transform(Foo.class.getClassLoader(), Foo.class.getName().replace('.', '/'), null, null, target.toTypeMap().get(Foo.class.getName())), nullValue(byte[].class));
+            } finally {
+                inputStream.close();
+            }
+        } finally {
+            assertThat(file.delete(), is(true));
+        }
+    }
+
+    @Test
+    public void testAheadOfTimeIgnored() throws Exception {
+        AgentBuilder.MatchingIndex.AheadOfTime aheadOfTime = new AgentBuilder.MatchingIndex.AheadOfTime(new AgentBuilder.Default()
+                .ignore(named(Foo.class.getName()))
+                .type(any()).transform(mock(AgentBuilder.Transformer.class)), Foo.class.getClassLoader(), new File(FOO));
+        assertThat(aheadOfTime.matches(TypeDescription.ForLoadedType.of(Foo.class)), is(false));
+        assertThat(aheadOfTime.toIndex(any()).resolve(Foo.class.getName(), null, null, 1), is(new int[0]));
+    }
+
+    @Test
+    public void testAheadOfTimeMatcherExceptionNotIndexed() throws Exception {
+        AgentBuilder.RawMatcher matcher = mock(AgentBuilder.RawMatcher.class);
+        when(matcher.matches(TypeDescription.ForLoadedType.of(Foo.class), Foo.class.getClassLoader(), null, null, null)).thenThrow(new RuntimeException());
+        AgentBuilder.MatchingIndex.AheadOfTime aheadOfTime = new AgentBuilder.MatchingIndex.AheadOfTime(new AgentBuilder.Default()
+                .ignore(none())
+                .type(matcher).transform(mock(AgentBuilder.Transformer.class)), Foo.class.getClassLoader(), new File(FOO));
+        assertThat(aheadOfTime.matches(TypeDescription.ForLoadedType.of(Foo.class)), is(false));
+        assertThat(aheadOfTime.toIndex(any()).size(), is(0));
+    }
+
+    @Test
+    public void testIndexedTypeTransformedWithoutMatching() throws Exception {
+        byte[] binaryRepresentation = ClassFileLocator.ForClassLoader.read(Foo.class);
+        byte[] transformed = new AgentBuilder.Default()
+                .ignore(none())
+                .with(AgentBuilder.InitializationStrategy.NoOp.INSTANCE)
+                .with(new AgentBuilder.MatchingIndex.Simple(any(), 1, Collections.singletonMap(Foo.class.getName(), new int[]{0})))
+                .type(none()).transform(new FooTransformer())
+                .makeRaw()
+                .transform(Foo.class.getClassLoader(), Foo.class.getName().replace('.', '/'), null, null, binaryRepresentation);
+        assertThat(transformed, notNullValue(byte[].class));
+    }
+
+    @Test
+    public void testIndexedTypeWithoutTransformationSkipped() throws Exception {
+        byte[] binaryRepresentation = ClassFileLocator.ForClassLoader.read(Foo.class);
+        assertThat(new AgentBuilder.Default()
+                .ignore(none())
+                .with(AgentBuilder.InitializationStrategy.NoOp.INSTANCE)
+                .with(new AgentBuilder.MatchingIndex.Simple(any(), 1, Collections.singletonMap(Foo.class.getName(), new int[0])))
+                .type(any()).transform(new FooTransformer())
+                .makeRaw()
+                .transform(Foo.class.getClassLoader(), Foo.class.getName().replace('.', '/'), null, null, binaryRepresentation), nullValue(byte[].class));
+    }
+
+    @Test
+    public void testUnindexedTypeMatched() throws Exception {
+        byte[] binaryRepresentation = ClassFileLocator.ForClassLoader.read(Foo.class);
+        assertThat(new AgentBuilder.Default()
+                .ignore(none())
+                .with(AgentBuilder.InitializationStrategy.NoOp.INSTANCE)
+                .with(new AgentBuilder.MatchingIndex.Simple(any(), 1, Collections.singletonMap(Bar.class.getName(), new int[0])))
+                .type(named(Foo.class.getName())).transform(new FooTransformer())
+                .makeRaw()
+                .transform(Foo.class.getClassLoader(), Foo.class.getName().replace('.', '/'), null, null, binaryRepresentation), notNullValue(byte[].class));
+    }
+
+    public static class Foo {
+
+        public String foo() {
+            return FOO;
+        }
+    }
+
+    public static class Bar {
+        /* empty */
+    }
+
+    private static class FooTransformer implements AgentBuilder.Transformer {
+
+        public DynamicType.Builder<?> transform(DynamicType.Builder<?> builder, TypeDescription typeDescription, ClassLoader classLoader, JavaModule module) {
+            return builder.method(named(FOO)).intercept(FixedValue.value(BAR));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package net.bytebuddy.agent.builder;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class AgentBuilderRedefinitionStrategyResubmissionBackoffTest {
+
+    @Test
+    public void testDisabled() throws Exception {
+        assertThat(AgentBuilder.RedefinitionStrategy.ResubmissionBackoff.Disabled.INSTANCE.delay(0), is(0L));
+        assertThat(AgentBuilder.RedefinitionStrategy.ResubmissionBackoff.Disabled.INSTANCE.delay(1), is(AgentBuilder.RedefinitionStrategy.ResubmissionBackoff.NO_RETRY));
+    }
+
+    @Test
+    public void testExponential() throws Exception {
+        AgentBuilder.RedefinitionStrategy.ResubmissionBackoff resubmissionBackoff = new AgentBuilder.RedefinitionStrategy.ResubmissionBackoff.Exponential(1, 5, TimeUnit.SECONDS, 5);
+        assertThat(resubmissionBackoff.delay(0), is(0L));
+        assertThat(resubmissionBackoff.delay(1), is(1000L));
+        assertThat(resubmissionBackoff.delay(2), is(2000L));
+        assertThat(resubmissionBackoff.delay(3), is(4000L));
+        assertThat(resubmissionBackoff.delay(4), is(5000L));
+        assertThat(resubmissionBackoff.delay(5), is(AgentBuilder.RedefinitionStrategy.ResubmissionBackoff.NO_RETRY));
+    }
+
+    @Test
+    public void testExponentialLargeAttempts() throws Exception {
+        AgentBuilder.RedefinitionStrategy.ResubmissionBackoff resubmissionBackoff = new AgentBuilder.RedefinitionStrategy.ResubmissionBackoff.Exponential(1, 1, TimeUnit.DAYS, Integer.MAX_VALUE);
+        assertThat(resubmissionBackoff.delay(Integer.MAX_VALUE - 1), is(TimeUnit.DAYS.toMillis(1)));
+    }
+
+    @Test
+    public void testExponentialLargeMaximum() throws Exception {
+        AgentBuilder.RedefinitionStrategy.ResubmissionBackoff resubmissionBackoff = new AgentBuilder.RedefinitionStrategy.ResubmissionBackoff.Exponential(3, Long.MAX_VALUE, TimeUnit.MILLISECONDS, Integer.MAX_VALUE);
+        long previous = 0L;
+        for (int attempts = 1; attempts < 128; attempts++) {
+            long delay = resubmissionBackoff.delay(attempts);
+            assertThat(delay >= previous, is(true));
+            previous = delay;
+        }
+        assertThat(previous, is(Long.MAX_VALUE));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExponentialSubMillisecondDelay() throws Exception {
+        new AgentBuilder.RedefinitionStrategy.ResubmissionBackoff.Exponential(1, 1000, TimeUnit.MICROSECONDS, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExponentialIllegalDelay() throws Exception {
+        new AgentBuilder.RedefinitionStrategy.ResubmissionBackoff.Exponential(2, 1, TimeUnit.SECONDS, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExponentialIllegalAttempts() throws Exception {
+        new AgentBuilder.RedefinitionStrategy.ResubmissionBackoff.Exponential(1, 1, TimeUnit.SECONDS, 0);
+    }
+}
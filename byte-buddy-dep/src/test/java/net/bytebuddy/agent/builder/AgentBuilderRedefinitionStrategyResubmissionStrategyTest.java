@@ -2,6 +2,7 @@ package net.bytebuddy.agent.builder;
 
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
 import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.test.utility.MockitoRule;
@@ -746,6 +747,173 @@ public class AgentBuilderRedefinitionStrategyResubmissionStrategyTest {
         verifyNoMoreInteractions(matcher);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRetransformationBackoff() throws Exception {
+        when(instrumentation.isModifiableClass(Foo.class)).thenReturn(true);
+        when(redefinitionBatchAllocator.batch(Mockito.any(List.class))).thenAnswer(new Answer<Object>() {
+            public Object answer(InvocationOnMock invocationOnMock) throws Throwable {
+                return Collections.singleton(invocationOnMock.getArgument(0));
+            }
+        });
+        when(rawMatcher.matches(TypeDescription.ForLoadedType.of(Foo.class),
+                Foo.class.getClassLoader(),
+                JavaModule.ofType(Foo.class),
+                Foo.class,
+                Foo.class.getProtectionDomain())).thenReturn(true);
+        when(matcher.matches(error)).thenReturn(true);
+        when(resubmissionScheduler.isAlive()).thenReturn(true);
+        AgentBuilder.RedefinitionStrategy.ResubmissionBackoff resubmissionBackoff = mock(AgentBuilder.RedefinitionStrategy.ResubmissionBackoff.class);
+        when(resubmissionBackoff.delay(1)).thenReturn(0L);
+        when(resubmissionBackoff.delay(2)).thenReturn(AgentBuilder.RedefinitionStrategy.ResubmissionBackoff.NO_RETRY);
+        AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Installation installation = new AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled(resubmissionScheduler,
+                matcher,
+                resubmissionBackoff).apply(instrumentation,
+                locationStrategy,
+                listener,
+                installationListener,
+                circularityLock,
+                rawMatcher,
+                AgentBuilder.RedefinitionStrategy.RETRANSFORMATION,
+                redefinitionBatchAllocator,
+                redefinitionListener);
+        installation.getInstallationListener().onInstall(instrumentation, classFileTransformer);
+        installation.getListener().onError(Foo.class.getName(), Foo.class.getClassLoader(), JavaModule.ofType(Foo.class), false, error);
+        ArgumentCaptor<Runnable> argumentCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(resubmissionScheduler).schedule(argumentCaptor.capture());
+        argumentCaptor.getValue().run();
+        argumentCaptor.getValue().run();
+        argumentCaptor.getValue().run();
+        verify(instrumentation, times(2)).retransformClasses(Foo.class);
+        verify(resubmissionBackoff).delay(1);
+        verify(resubmissionBackoff).delay(2);
+        verifyNoMoreInteractions(resubmissionBackoff);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRetransformationBackoffDiscardedAfterTransformation() throws Exception {
+        when(instrumentation.isModifiableClass(Foo.class)).thenReturn(true);
+        when(redefinitionBatchAllocator.batch(Mockito.any(List.class))).thenAnswer(new Answer<Object>() {
+            public Object answer(InvocationOnMock invocationOnMock) throws Throwable {
+                return Collections.singleton(invocationOnMock.getArgument(0));
+            }
+        });
+        when(rawMatcher.matches(TypeDescription.ForLoadedType.of(Foo.class),
+                Foo.class.getClassLoader(),
+                JavaModule.ofType(Foo.class),
+                Foo.class,
+                Foo.class.getProtectionDomain())).thenReturn(true);
+        when(matcher.matches(error)).thenReturn(true);
+        when(resubmissionScheduler.isAlive()).thenReturn(true);
+        AgentBuilder.RedefinitionStrategy.ResubmissionBackoff resubmissionBackoff = mock(AgentBuilder.RedefinitionStrategy.ResubmissionBackoff.class);
+        when(resubmissionBackoff.delay(Mockito.anyInt())).thenReturn(0L);
+        AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Installation installation = new AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled(resubmissionScheduler,
+                matcher,
+                resubmissionBackoff).apply(instrumentation,
+                locationStrategy,
+                listener,
+                installationListener,
+                circularityLock,
+                rawMatcher,
+                AgentBuilder.RedefinitionStrategy.RETRANSFORMATION,
+                redefinitionBatchAllocator,
+                redefinitionListener);
+        installation.getInstallationListener().onInstall(instrumentation, classFileTransformer);
+        installation.getListener().onError(Foo.class.getName(), Foo.class.getClassLoader(), JavaModule.ofType(Foo.class), false, error);
+        ArgumentCaptor<Runnable> argumentCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(resubmissionScheduler).schedule(argumentCaptor.capture());
+        argumentCaptor.getValue().run();
+        installation.getListener().onTransformation(TypeDescription.ForLoadedType.of(Foo.class),
+                Foo.class.getClassLoader(),
+                JavaModule.ofType(Foo.class),
+                true,
+                mock(DynamicType.class));
+        argumentCaptor.getValue().run();
+        verify(instrumentation).retransformClasses(Foo.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRetransformationBackoffNotDue() throws Exception {
+        when(instrumentation.isModifiableClass(Foo.class)).thenReturn(true);
+        when(redefinitionBatchAllocator.batch(Mockito.any(List.class))).thenAnswer(new Answer<Object>() {
+            public Object answer(InvocationOnMock invocationOnMock) throws Throwable {
+                return Collections.singleton(invocationOnMock.getArgument(0));
+            }
+        });
+        when(rawMatcher.matches(TypeDescription.ForLoadedType.of(Foo.class),
+                Foo.class.getClassLoader(),
+                JavaModule.ofType(Foo.class),
+                Foo.class,
+                Foo.class.getProtectionDomain())).thenReturn(true);
+        when(matcher.matches(error)).thenReturn(true);
+        when(resubmissionScheduler.isAlive()).thenReturn(true);
+        AgentBuilder.RedefinitionStrategy.ResubmissionBackoff resubmissionBackoff = mock(AgentBuilder.RedefinitionStrategy.ResubmissionBackoff.class);
+        when(resubmissionBackoff.delay(1)).thenReturn(TimeUnit.HOURS.toMillis(1L));
+        AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Installation installation = new AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled(resubmissionScheduler,
+                matcher,
+                resubmissionBackoff).apply(instrumentation,
+                locationStrategy,
+                listener,
+                installationListener,
+                circularityLock,
+                rawMatcher,
+                AgentBuilder.RedefinitionStrategy.RETRANSFORMATION,
+                redefinitionBatchAllocator,
+                redefinitionListener);
+        installation.getInstallationListener().onInstall(instrumentation, classFileTransformer);
+        installation.getListener().onError(Foo.class.getName(), Foo.class.getClassLoader(), JavaModule.ofType(Foo.class), false, error);
+        ArgumentCaptor<Runnable> argumentCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(resubmissionScheduler).schedule(argumentCaptor.capture());
+        argumentCaptor.getValue().run();
+        argumentCaptor.getValue().run();
+        verify(instrumentation).retransformClasses(Foo.class);
+        verify(resubmissionBackoff).delay(1);
+        verifyNoMoreInteractions(resubmissionBackoff);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRetransformationAfterDrainedClassLoader() throws Exception {
+        when(instrumentation.isModifiableClass(Foo.class)).thenReturn(true);
+        when(redefinitionBatchAllocator.batch(Mockito.any(List.class))).thenAnswer(new Answer<Object>() {
+            public Object answer(InvocationOnMock invocationOnMock) throws Throwable {
+                return Collections.singleton(invocationOnMock.getArgument(0));
+            }
+        });
+        when(rawMatcher.matches(TypeDescription.ForLoadedType.of(Foo.class),
+                Foo.class.getClassLoader(),
+                JavaModule.ofType(Foo.class),
+                Foo.class,
+                Foo.class.getProtectionDomain())).thenReturn(true);
+        when(matcher.matches(error)).thenReturn(true);
+        when(resubmissionScheduler.isAlive()).thenReturn(true);
+        AgentBuilder.RedefinitionStrategy.ResubmissionBackoff resubmissionBackoff = mock(AgentBuilder.RedefinitionStrategy.ResubmissionBackoff.class);
+        when(resubmissionBackoff.delay(1)).thenReturn(AgentBuilder.RedefinitionStrategy.ResubmissionBackoff.NO_RETRY);
+        AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Installation installation = new AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled(resubmissionScheduler,
+                matcher,
+                resubmissionBackoff).apply(instrumentation,
+                locationStrategy,
+                listener,
+                installationListener,
+                circularityLock,
+                rawMatcher,
+                AgentBuilder.RedefinitionStrategy.RETRANSFORMATION,
+                redefinitionBatchAllocator,
+                redefinitionListener);
+        installation.getInstallationListener().onInstall(instrumentation, classFileTransformer);
+        installation.getListener().onError(Foo.class.getName(), Foo.class.getClassLoader(), JavaModule.ofType(Foo.class), false, error);
+        ArgumentCaptor<Runnable> argumentCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(resubmissionScheduler).schedule(argumentCaptor.capture());
+        argumentCaptor.getValue().run();
+        argumentCaptor.getValue().run();
+        verify(instrumentation).retransformClasses(Foo.class);
+        installation.getListener().onError(Foo.class.getName(), Foo.class.getClassLoader(), JavaModule.ofType(Foo.class), false, error);
+        argumentCaptor.getValue().run();
+        verify(instrumentation, times(2)).retransformClasses(Foo.class);
+    }
+
     @Test
     public void testDisabledListener() throws Exception {
         assertThat(AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Disabled.INSTANCE.apply(instrumentation,
@@ -0,0 +1,144 @@
+package net.bytebuddy.build;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.pool.TypePool;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.Collections;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ClassPathCacheTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    private File jar;
+
+    @Before
+    public void setUp() throws Exception {
+        jar = File.createTempFile(FOO, BAR);
+        write(jar, new byte[]{1, 2, 3});
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        assertThat(jar.delete(), is(true));
+    }
+
+    @Test
+    public void testLocatorIsCached() throws Exception {
+        ClassPathCache classPathCache = new ClassPathCache();
+        ClassFileLocator classFileLocator = classPathCache.locate(jar);
+        assertThat(classPathCache.locate(jar), sameInstance(classFileLocator));
+        classFileLocator.close();
+        assertThat(classFileLocator.locate(FOO).resolve(), is(new byte[]{1, 2, 3}));
+    }
+
+    @Test
+    public void testLocatorIsReplacedOnChange() throws Exception {
+        ClassPathCache classPathCache = new ClassPathCache();
+        ClassFileLocator classFileLocator = classPathCache.locate(jar);
+        replace(jar, new byte[]{4, 5, 6, 7});
+        ClassFileLocator replaced = classPathCache.locate(jar);
+        assertThat(replaced, not(sameInstance(classFileLocator)));
+        assertThat(replaced.locate(FOO).resolve(), is(new byte[]{4, 5, 6, 7}));
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        ClassPathCache classPathCache = new ClassPathCache();
+        ClassFileLocator classFileLocator = classPathCache.locate(jar);
+        ClassLoader classLoader = classPathCache.classLoader(Collections.singletonList(jar));
+        classPathCache.clear();
+        assertThat(classPathCache.locate(jar), not(sameInstance(classFileLocator)));
+        assertThat(classPathCache.classLoader(Collections.singletonList(jar)), not(sameInstance(classLoader)));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testClearClosesJarFiles() throws Exception {
+        ClassPathCache classPathCache = new ClassPathCache();
+        ClassFileLocator classFileLocator = classPathCache.locate(jar);
+        assertThat(classFileLocator.locate(FOO).isResolved(), is(true));
+        classPathCache.clear();
+        classFileLocator.locate(FOO);
+    }
+
+    @Test
+    public void testClearClosesClassLoaders() throws Exception {
+        ClassPathCache classPathCache = new ClassPathCache();
+        ClassLoader classLoader = classPathCache.classLoader(Collections.singletonList(jar));
+        assertThat(classLoader.getResource(FOO + ".class"), notNullValue());
+        classPathCache.clear();
+        if (classLoader instanceof Closeable) {
+            assertThat(classLoader.getResource(FOO + ".class"), nullValue());
+        }
+    }
+
+    @Test
+    public void testTypePoolIsCached() throws Exception {
+        ClassPathCache classPathCache = new ClassPathCache();
+        TypePool typePool = classPathCache.typePool(Collections.singletonList(jar), Plugin.Engine.PoolStrategy.Default.FAST);
+        assertThat(classPathCache.typePool(Collections.singletonList(jar), Plugin.Engine.PoolStrategy.Default.FAST), sameInstance(typePool));
+        assertThat(classPathCache.typePool(Collections.singletonList(jar), Plugin.Engine.PoolStrategy.Default.EXTENDED), not(sameInstance(typePool)));
+        assertThat(classPathCache.typePool(Collections.<File>emptyList(), Plugin.Engine.PoolStrategy.Default.FAST), not(sameInstance(typePool)));
+    }
+
+    @Test
+    public void testClassLoaderIsCached() throws Exception {
+        ClassPathCache classPathCache = new ClassPathCache();
+        ClassLoader classLoader = classPathCache.classLoader(FOO, Collections.singletonList(jar));
+        assertThat(classPathCache.classLoader(FOO, Collections.singletonList(jar)), sameInstance(classLoader));
+        assertThat(classPathCache.classLoader(BAR, Collections.singletonList(jar)), not(sameInstance(classLoader)));
+        assertThat(classPathCache.classLoader(Collections.singletonList(jar)), not(sameInstance(classLoader)));
+        assertThat(classLoader.getParent(), is(ByteBuddy.class.getClassLoader()));
+        assertThat(classLoader.getResource(FOO + ".class"), notNullValue());
+    }
+
+    @Test
+    public void testClassLoaderIsReplacedOnChange() throws Exception {
+        ClassPathCache classPathCache = new ClassPathCache();
+        ClassLoader classLoader = classPathCache.classLoader(Collections.singletonList(jar));
+        assertThat(jar.setLastModified(jar.lastModified() + 10000L), is(true));
+        assertThat(classPathCache.classLoader(Collections.singletonList(jar)), not(sameInstance(classLoader)));
+    }
+
+    @Test
+    public void testPoolStrategyWithParent() throws Exception {
+        TypePool parent = TypePool.Default.ofSystemLoader();
+        TypePool typePool = new ClassPathCache.WithParent(Plugin.Engine.PoolStrategy.Default.FAST, parent).typePool(ClassFileLocator.NoOp.INSTANCE);
+        assertThat(typePool.describe(Object.class.getName()).resolve().represents(Object.class), is(true));
+        assertThat(typePool.describe(FOO).isResolved(), is(false));
+    }
+
+    @Test
+    public void testSharedInstance() throws Exception {
+        assertThat(ClassPathCache.getInstance(), sameInstance(ClassPathCache.getInstance()));
+    }
+
+    private static void replace(File file, byte[] binaryRepresentation) throws Exception {
+        long lastModified = file.lastModified();
+        assertThat(file.delete(), is(true));
+        write(file, binaryRepresentation);
+        assertThat(file.setLastModified(lastModified + 10000L), is(true)); // File systems might only record the modification time in seconds.
+    }
+
+    private static void write(File file, byte[] binaryRepresentation) throws Exception {
+        JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(file));
+        try {
+            outputStream.putNextEntry(new JarEntry(FOO + ".class"));
+            outputStream.write(binaryRepresentation);
+            outputStream.closeEntry();
+        } finally {
+            outputStream.close();
+        }
+    }
+}
@@ -10,6 +10,7 @@ import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
 import net.bytebuddy.implementation.EqualsMethod;
 import org.junit.Test;
 
+import java.util.Collections;
 import java.util.Comparator;
 
 import static net.bytebuddy.test.utility.FieldByFieldComparison.hasPrototype;
@@ -29,6 +30,13 @@ public class HashCodeAndEqualsPluginTest {
         assertThat(plugin.matches(TypeDescription.OBJECT), is(false));
     }
 
+    @Test
+    public void testPluginHint() throws Exception {
+        Plugin.WithHint.Hint hint = new HashCodeAndEqualsPlugin().getHint();
+        assertThat(hint.isCandidate(SimpleSample.class.getName(), Collections.singleton(TypeDescription.ForLoadedType.of(HashCodeAndEqualsPlugin.Enhance.class).getDescriptor())), is(true));
+        assertThat(hint.isCandidate(SimpleSample.class.getName(), Collections.<String>emptySet()), is(false));
+    }
+
     @Test
     public void testPluginEnhance() throws Exception {
         Class<?> type = new HashCodeAndEqualsPlugin()
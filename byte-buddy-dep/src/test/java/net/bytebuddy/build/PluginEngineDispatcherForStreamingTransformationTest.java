@@ -0,0 +1,190 @@
+package net.bytebuddy.build;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.test.utility.MockitoRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static junit.framework.TestCase.fail;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class PluginEngineDispatcherForStreamingTransformationTest {
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private Plugin.Engine.Target.Sink sink;
+
+    @Mock
+    private Executor executor;
+
+    private List<Runnable> queued;
+
+    private List<TypeDescription> transformed;
+
+    private Map<TypeDescription, List<Throwable>> failed;
+
+    private List<String> unresolved;
+
+    private List<Integer> materialized;
+
+    @Before
+    public void setUp() throws Exception {
+        queued = new ArrayList<Runnable>();
+        transformed = new ArrayList<TypeDescription>();
+        failed = new HashMap<TypeDescription, List<Throwable>>();
+        unresolved = new ArrayList<String>();
+        materialized = new ArrayList<Integer>();
+        Mockito.doAnswer(new Answer() {
+            public Object answer(InvocationOnMock invocationOnMock) {
+                queued.add((Runnable) invocationOnMock.getArgument(0));
+                return null;
+            }
+        }).when(executor).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void testEagerTransformationIsWrittenInOrder() throws Exception {
+        Plugin.Engine.Dispatcher dispatcher = new Plugin.Engine.Dispatcher.ForStreamingTransformation(executor, 3, sink, transformed, failed, unresolved);
+        dispatcher.accept(new Work(0, false), true);
+        dispatcher.accept(new Work(1, false), true);
+        queued.get(1).run();
+        dispatcher.accept(new Work(2, false), true);
+        assertThat(materialized.isEmpty(), is(true));
+        queued.get(0).run();
+        queued.get(2).run();
+        dispatcher.complete();
+        assertThat(materialized, is(Arrays.asList(0, 1, 2)));
+    }
+
+    @Test
+    public void testEagerTransformationIsWrittenWhenAvailable() throws Exception {
+        Plugin.Engine.Dispatcher dispatcher = new Plugin.Engine.Dispatcher.ForStreamingTransformation(executor, 10, sink, transformed, failed, unresolved);
+        dispatcher.accept(new Work(0, false), true);
+        queued.get(0).run();
+        dispatcher.accept(new Work(1, false), true);
+        assertThat(materialized, is(Collections.singletonList(0)));
+        queued.get(1).run();
+        dispatcher.complete();
+        assertThat(materialized, is(Arrays.asList(0, 1)));
+    }
+
+    @Test
+    public void testWindow() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            Plugin.Engine.Dispatcher dispatcher = new Plugin.Engine.Dispatcher.ForStreamingTransformation(executorService, 3, sink, transformed, failed, unresolved);
+            for (int index = 0; index < 100; index++) {
+                dispatcher.accept(new Work(index, false), true);
+                assertThat(index + 1 - materialized.size() <= 3, is(true));
+            }
+            dispatcher.complete();
+            dispatcher.close();
+        } finally {
+            executorService.shutdown();
+        }
+        assertThat(materialized.size(), is(100));
+        for (int index = 0; index < 100; index++) {
+            assertThat(materialized.get(index), is(index));
+        }
+    }
+
+    @Test
+    public void testDeferredTransformation() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            Plugin.Engine.Dispatcher dispatcher = new Plugin.Engine.Dispatcher.ForStreamingTransformation(executorService, 3, sink, transformed, failed, unresolved);
+            for (int index = 0; index < 100; index++) {
+                dispatcher.accept(new Work(index, false), false);
+            }
+            assertThat(materialized.isEmpty(), is(true));
+            dispatcher.complete();
+            dispatcher.close();
+        } finally {
+            executorService.shutdown();
+        }
+        assertThat(materialized.size(), is(100));
+        for (int index = 0; index < 100; index++) {
+            assertThat(materialized.get(index), is(index));
+        }
+    }
+
+    @Test
+    public void testProcessingException() throws Exception {
+        Plugin.Engine.Dispatcher dispatcher = new Plugin.Engine.Dispatcher.ForStreamingTransformation(new Executor() {
+            public void execute(Runnable command) {
+                command.run();
+            }
+        }, 1, sink, transformed, failed, unresolved);
+        dispatcher.accept(new Work(0, true), false);
+        try {
+            dispatcher.complete();
+            fail();
+        } catch (Exception exception) {
+            assertThat(exception, instanceOf(IllegalStateException.class));
+        }
+    }
+
+    @Test
+    public void testCloseCancelsWork() throws Exception {
+        Plugin.Engine.Dispatcher dispatcher = new Plugin.Engine.Dispatcher.ForStreamingTransformation(executor, 10, sink, transformed, failed, unresolved);
+        dispatcher.accept(new Work(0, false), true);
+        dispatcher.accept(new Work(1, false), false);
+        dispatcher.close();
+        assertThat(((Future<?>) queued.get(0)).isCancelled(), is(true));
+        assertThat(((Future<?>) queued.get(1)).isCancelled(), is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalWindow() throws Exception {
+        new Plugin.Engine.Dispatcher.ForStreamingTransformation(executor, 0, sink, transformed, failed, unresolved);
+    }
+
+    private class Work implements Callable<Callable<Plugin.Engine.Dispatcher.Materializable>> {
+
+        private final int index;
+
+        private final boolean error;
+
+        private Work(int index, boolean error) {
+            this.index = index;
+            this.error = error;
+        }
+
+        public Callable<Plugin.Engine.Dispatcher.Materializable> call() {
+            return new Callable<Plugin.Engine.Dispatcher.Materializable>() {
+                public Plugin.Engine.Dispatcher.Materializable call() {
+                    if (error) {
+                        throw new IllegalStateException();
+                    }
+                    return new Plugin.Engine.Dispatcher.Materializable() {
+                        public void materialize(Plugin.Engine.Target.Sink sink,
+                                                List<TypeDescription> transformed,
+                                                Map<TypeDescription, List<Throwable>> failed,
+                                                List<String> unresolved) {
+                            materialized.add(index);
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
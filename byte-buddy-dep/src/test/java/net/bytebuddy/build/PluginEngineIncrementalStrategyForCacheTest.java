@@ -0,0 +1,363 @@
+package net.bytebuddy.build;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.implementation.LoadedTypeInitializer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class PluginEngineIncrementalStrategyForCacheTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    private File folder;
+
+    @Before
+    public void setUp() throws Exception {
+        folder = File.createTempFile(FOO, BAR);
+        assertThat(folder.delete(), is(true));
+        assertThat(folder.mkdir(), is(true));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        delete(folder);
+    }
+
+    @Test
+    public void testUnchangedTypeIsReused() throws Exception {
+        Map<String, byte[]> input = input(ClassFileLocator.ForClassLoader.read(Base.class));
+        Plugin.Engine.Target.InMemory first = new Plugin.Engine.Target.InMemory();
+        CountingPlugin plugin = new CountingPlugin();
+        apply(input, first, plugin);
+        assertThat(plugin.count, is(1));
+        Plugin.Engine.Target.InMemory second = new Plugin.Engine.Target.InMemory();
+        Plugin.Engine.Summary summary = apply(input, second, plugin);
+        assertThat(plugin.count, is(1));
+        assertThat(summary.getTransformed(), hasItem(TypeDescription.ForLoadedType.of(Sample.class)));
+        assertThat(summary.getTransformed().size(), is(1));
+        assertThat(second.getStorage().keySet(), is(first.getStorage().keySet()));
+        assertThat(second.getStorage().get(Sample.class.getName().replace('.', '/') + ".class"),
+                is(first.getStorage().get(Sample.class.getName().replace('.', '/') + ".class")));
+        assertThat(second.getStorage().get(Base.class.getName().replace('.', '/') + ".class"),
+                is(input.get(Base.class.getName().replace('.', '/') + ".class")));
+    }
+
+    @Test
+    public void testChangedTypeIsProcessed() throws Exception {
+        Map<String, byte[]> input = input(ClassFileLocator.ForClassLoader.read(Base.class));
+        CountingPlugin plugin = new CountingPlugin();
+        apply(input, new Plugin.Engine.Target.InMemory(), plugin);
+        input.put(Sample.class.getName().replace('.', '/') + ".class", new ByteBuddy()
+                .redefine(Sample.class)
+                .defineField(BAR, Void.class)
+                .make()
+                .getBytes());
+        apply(input, new Plugin.Engine.Target.InMemory(), plugin);
+        assertThat(plugin.count, is(2));
+    }
+
+    @Test
+    public void testChangedSuperTypeIsProcessed() throws Exception {
+        CountingPlugin plugin = new CountingPlugin();
+        apply(input(ClassFileLocator.ForClassLoader.read(Base.class)), new Plugin.Engine.Target.InMemory(), plugin);
+        apply(input(new ByteBuddy()
+                .redefine(Base.class)
+                .defineField(BAR, Void.class)
+                .make()
+                .getBytes()), new Plugin.Engine.Target.InMemory(), plugin);
+        assertThat(plugin.count, is(2));
+    }
+
+    @Test
+    public void testChangedPluginIsProcessed() throws Exception {
+        Map<String, byte[]> input = input(ClassFileLocator.ForClassLoader.read(Base.class));
+        CountingPlugin plugin = new CountingPlugin();
+        apply(input, new Plugin.Engine.Target.InMemory(), plugin);
+        apply(input, new Plugin.Engine.Target.InMemory(), plugin, new Plugin.NoOp());
+        assertThat(plugin.count, is(2));
+    }
+
+    @Test
+    public void testLiveInitializerIsReplayed() throws Exception {
+        Map<String, byte[]> input = input(ClassFileLocator.ForClassLoader.read(Base.class));
+        InitializerPlugin plugin = new InitializerPlugin();
+        RecordingListener first = new RecordingListener();
+        apply(input, new Plugin.Engine.Target.InMemory(), first, plugin);
+        assertThat(first.live, is(Collections.singletonList(Sample.class.getName())));
+        RecordingListener second = new RecordingListener();
+        apply(input, new Plugin.Engine.Target.InMemory(), second, plugin);
+        assertThat(plugin.count, is(1));
+        assertThat(second.live, is(Collections.singletonList(Sample.class.getName())));
+    }
+
+    @Test
+    public void testLiveInitializerIsEnforced() throws Exception {
+        Map<String, byte[]> input = input(ClassFileLocator.ForClassLoader.read(Base.class));
+        InitializerPlugin plugin = new InitializerPlugin();
+        for (int index = 0; index < 2; index++) {
+            try {
+                new Plugin.Engine.Default()
+                        .with(ClassFileLocator.ForClassLoader.of(CountingPlugin.class.getClassLoader()))
+                        .with(new Plugin.Engine.IncrementalStrategy.ForCache(folder))
+                        .apply(new Plugin.Engine.Source.InMemory(input), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(plugin));
+                throw new AssertionError();
+            } catch (IllegalStateException ignored) {
+                /* expected */
+            }
+        }
+        assertThat(plugin.count, is(1));
+    }
+
+    @Test
+    public void testCorruptEntryIsIgnored() throws Exception {
+        Map<String, byte[]> input = input(ClassFileLocator.ForClassLoader.read(Base.class));
+        CountingPlugin plugin = new CountingPlugin();
+        apply(input, new Plugin.Engine.Target.InMemory(), plugin);
+        corrupt(folder);
+        Plugin.Engine.Target.InMemory target = new Plugin.Engine.Target.InMemory();
+        apply(input, target, plugin);
+        assertThat(plugin.count, is(2));
+        assertThat(target.getStorage().size(), is(2));
+    }
+
+    @Test
+    public void testWriteFailureIsSkipped() throws Exception {
+        File file = new File(folder, FOO);
+        assertThat(file.createNewFile(), is(true));
+        RecordingLogger logger = new RecordingLogger();
+        CountingPlugin plugin = new CountingPlugin();
+        Plugin.Engine.Target.InMemory target = new Plugin.Engine.Target.InMemory();
+        Plugin.Engine.Summary summary = apply(new Plugin.Engine.IncrementalStrategy.ForCache(file, logger),
+                input(ClassFileLocator.ForClassLoader.read(Base.class)),
+                target,
+                Plugin.Engine.Listener.NoOp.INSTANCE,
+                plugin);
+        assertThat(plugin.count, is(1));
+        assertThat(summary.getTransformed().size(), is(1));
+        assertThat(target.getStorage().size(), is(2));
+        assertThat(logger.warnings, is(2));
+    }
+
+    @Test
+    public void testEntriesAreEvictedBySize() throws Exception {
+        Map<String, byte[]> input = input(ClassFileLocator.ForClassLoader.read(Base.class));
+        CountingPlugin plugin = new CountingPlugin();
+        Plugin.Engine.IncrementalStrategy incrementalStrategy = new Plugin.Engine.IncrementalStrategy.ForCache(folder,
+                BuildLogger.NoOp.INSTANCE,
+                0L,
+                0L,
+                TimeUnit.MILLISECONDS);
+        apply(incrementalStrategy, input, new Plugin.Engine.Target.InMemory(), Plugin.Engine.Listener.NoOp.INSTANCE, plugin);
+        assertThat(files(folder).isEmpty(), is(true));
+        apply(incrementalStrategy, input, new Plugin.Engine.Target.InMemory(), Plugin.Engine.Listener.NoOp.INSTANCE, plugin);
+        assertThat(plugin.count, is(2));
+    }
+
+    @Test
+    public void testEntriesAreEvictedByAge() throws Exception {
+        Map<String, byte[]> input = input(ClassFileLocator.ForClassLoader.read(Base.class));
+        CountingPlugin plugin = new CountingPlugin();
+        apply(input, new Plugin.Engine.Target.InMemory(), plugin);
+        List<File> expired = files(folder);
+        assertThat(expired.size(), is(2));
+        for (File file : expired) {
+            assertThat(file.setLastModified(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2)), is(true));
+        }
+        apply(new Plugin.Engine.IncrementalStrategy.ForCache(folder, BuildLogger.NoOp.INSTANCE, Long.MAX_VALUE, 1L, TimeUnit.DAYS),
+                input,
+                new Plugin.Engine.Target.InMemory(),
+                Plugin.Engine.Listener.NoOp.INSTANCE,
+                plugin,
+                new Plugin.NoOp());
+        assertThat(plugin.count, is(2));
+        List<File> files = files(folder);
+        assertThat(files.size(), is(2));
+        for (File file : expired) {
+            assertThat(files.contains(file), is(false));
+        }
+    }
+
+    @Test
+    public void testUsedEntriesAreNotEvictedByAge() throws Exception {
+        Map<String, byte[]> input = input(ClassFileLocator.ForClassLoader.read(Base.class));
+        CountingPlugin plugin = new CountingPlugin();
+        apply(input, new Plugin.Engine.Target.InMemory(), plugin);
+        for (File file : files(folder)) {
+            assertThat(file.setLastModified(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2)), is(true));
+        }
+        Plugin.Engine.IncrementalStrategy incrementalStrategy = new Plugin.Engine.IncrementalStrategy.ForCache(folder,
+                BuildLogger.NoOp.INSTANCE,
+                Long.MAX_VALUE,
+                1L,
+                TimeUnit.DAYS);
+        apply(incrementalStrategy, input, new Plugin.Engine.Target.InMemory(), Plugin.Engine.Listener.NoOp.INSTANCE, plugin);
+        assertThat(plugin.count, is(1));
+        assertThat(files(folder).size(), is(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeMaximumSize() throws Exception {
+        new Plugin.Engine.IncrementalStrategy.ForCache(folder, BuildLogger.NoOp.INSTANCE, -1L, 0L, TimeUnit.DAYS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeMaximumAge() throws Exception {
+        new Plugin.Engine.IncrementalStrategy.ForCache(folder, BuildLogger.NoOp.INSTANCE, 0L, -1L, TimeUnit.DAYS);
+    }
+
+    private Plugin.Engine.Summary apply(Map<String, byte[]> input, Plugin.Engine.Target target, Plugin... plugin) throws Exception {
+        return apply(input, target, Plugin.Engine.Listener.NoOp.INSTANCE, plugin);
+    }
+
+    private Plugin.Engine.Summary apply(Map<String, byte[]> input,
+                                        Plugin.Engine.Target target,
+                                        Plugin.Engine.Listener listener,
+                                        Plugin... plugin) throws Exception {
+        return apply(new Plugin.Engine.IncrementalStrategy.ForCache(folder), input, target, listener, plugin);
+    }
+
+    private Plugin.Engine.Summary apply(Plugin.Engine.IncrementalStrategy incrementalStrategy,
+                                        Map<String, byte[]> input,
+                                        Plugin.Engine.Target target,
+                                        Plugin.Engine.Listener listener,
+                                        Plugin... plugin) throws Exception {
+        Plugin.Factory[] factory = new Plugin.Factory[plugin.length];
+        for (int index = 0; index < plugin.length; index++) {
+            factory[index] = new Plugin.Factory.Simple(plugin[index]);
+        }
+        return new Plugin.Engine.Default()
+                .with(ClassFileLocator.ForClassLoader.of(CountingPlugin.class.getClassLoader()))
+                .with(incrementalStrategy)
+                .with(listener)
+                .withoutErrorHandlers()
+                .apply(new Plugin.Engine.Source.InMemory(input), target, factory);
+    }
+
+    private static Map<String, byte[]> input(byte[] base) {
+        Map<String, byte[]> input = new HashMap<String, byte[]>();
+        input.put(Sample.class.getName().replace('.', '/') + ".class", ClassFileLocator.ForClassLoader.read(Sample.class));
+        input.put(Base.class.getName().replace('.', '/') + ".class", base);
+        return input;
+    }
+
+    private static void corrupt(File file) throws Exception {
+        File[] files = file.listFiles();
+        if (files == null) {
+            OutputStream outputStream = new FileOutputStream(file);
+            try {
+                outputStream.write(new byte[]{1, 2, 3});
+            } finally {
+                outputStream.close();
+            }
+        } else {
+            for (File child : files) {
+                corrupt(child);
+            }
+        }
+    }
+
+    private static List<File> files(File file) {
+        List<File> files = new ArrayList<File>();
+        File[] children = file.listFiles();
+        if (children == null) {
+            files.add(file);
+        } else {
+            for (File child : children) {
+                files.addAll(files(child));
+            }
+        }
+        return files;
+    }
+
+    private static void delete(File file) {
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (File child : files) {
+                delete(child);
+            }
+        }
+        assertThat(file.delete(), is(true));
+    }
+
+    private static class RecordingLogger extends BuildLogger.Adapter {
+
+        private int warnings;
+
+        @Override
+        public void warn(String message, Throwable throwable) {
+            warnings++;
+        }
+    }
+
+    private static class Base {
+        /* empty */
+    }
+
+    private static class Sample extends Base {
+        /* empty */
+    }
+
+    private static class CountingPlugin implements Plugin {
+
+        protected int count;
+
+        public DynamicType.Builder<?> apply(DynamicType.Builder<?> builder, TypeDescription typeDescription, ClassFileLocator classFileLocator) {
+            count++;
+            return builder.defineField(FOO, Void.class);
+        }
+
+        public boolean matches(TypeDescription target) {
+            return target.represents(Sample.class);
+        }
+
+        public void close() {
+            /* empty */
+        }
+    }
+
+    private static class InitializerPlugin extends CountingPlugin {
+
+        @Override
+        public DynamicType.Builder<?> apply(DynamicType.Builder<?> builder, TypeDescription typeDescription, ClassFileLocator classFileLocator) {
+            return super.apply(builder, typeDescription, classFileLocator).initializer(new LiveInitializer());
+        }
+    }
+
+    private static class LiveInitializer implements LoadedTypeInitializer {
+
+        public void onLoad(Class<?> type) {
+            /* empty */
+        }
+
+        public boolean isAlive() {
+            return true;
+        }
+    }
+
+    private static class RecordingListener extends Plugin.Engine.Listener.Adapter {
+
+        private final List<String> live = new ArrayList<String>();
+
+        @Override
+        public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
+            live.add(definingType.getName());
+        }
+    }
+}
@@ -0,0 +1,364 @@
+package net.bytebuddy.build;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.scaffold.inline.MethodNameTransformer;
+import net.bytebuddy.implementation.LoadedTypeInitializer;
+import net.bytebuddy.pool.TypePool;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class PluginEngineIncrementalStrategyTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    private File manifest;
+
+    @Before
+    public void setUp() throws Exception {
+        manifest = File.createTempFile(FOO, BAR);
+        assertThat(manifest.delete(), is(true));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        assertThat(!manifest.exists() || manifest.delete(), is(true));
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        Plugin.Engine.IncrementalStrategy.Session session = Plugin.Engine.IncrementalStrategy.Disabled.INSTANCE.open(FOO,
+                ClassFileLocator.NoOp.INSTANCE);
+        assertThat(session.getOutput(FOO, new Plugin.Engine.Source.Element.ForByteArray(FOO, new byte[0])), nullValue());
+        assertThat(session.isTransformed(FOO), is(false));
+        session.onRetained(FOO, FOO);
+        session.commit();
+        session.close();
+    }
+
+    @Test
+    public void testUnchangedTypeIsReused() throws Exception {
+        Map<String, byte[]> input = input(ClassFileLocator.ForClassLoader.read(Base.class));
+        Plugin.Engine.Target.InMemory first = new Plugin.Engine.Target.InMemory();
+        CountingPlugin plugin = new CountingPlugin();
+        apply(input, Plugin.Engine.Source.Empty.INSTANCE, first, plugin);
+        assertThat(plugin.count, is(1));
+        assertThat(manifest.isFile(), is(true));
+        Plugin.Engine.Target.InMemory second = new Plugin.Engine.Target.InMemory();
+        Plugin.Engine.Summary summary = apply(input, new Plugin.Engine.Source.InMemory(first.getStorage()), second, plugin);
+        assertThat(plugin.count, is(1));
+        assertThat(summary.getTransformed(), hasItem(TypeDescription.ForLoadedType.of(Sample.class)));
+        assertThat(summary.getTransformed().size(), is(1));
+        assertThat(second.getStorage().keySet(), is(first.getStorage().keySet()));
+        assertThat(second.getStorage().get(Sample.class.getName().replace('.', '/') + ".class"),
+                is(first.getStorage().get(Sample.class.getName().replace('.', '/') + ".class")));
+    }
+
+    @Test
+    public void testInPlaceOutputIsReused() throws Exception {
+        Map<String, byte[]> input = input(ClassFileLocator.ForClassLoader.read(Base.class));
+        Plugin.Engine.Target.InMemory first = new Plugin.Engine.Target.InMemory();
+        CountingPlugin plugin = new CountingPlugin();
+        apply(input, Plugin.Engine.Source.Empty.INSTANCE, first, plugin);
+        Plugin.Engine.Target.InMemory second = new Plugin.Engine.Target.InMemory();
+        apply(first.getStorage(), new Plugin.Engine.Source.InMemory(first.getStorage()), second, plugin);
+        assertThat(plugin.count, is(1));
+    }
+
+    @Test
+    public void testChangedTypeIsProcessed() throws Exception {
+        Map<String, byte[]> input = input(ClassFileLocator.ForClassLoader.read(Base.class));
+        Plugin.Engine.Target.InMemory first = new Plugin.Engine.Target.InMemory();
+        CountingPlugin plugin = new CountingPlugin();
+        apply(input, Plugin.Engine.Source.Empty.INSTANCE, first, plugin);
+        input.put(Sample.class.getName().replace('.', '/') + ".class", new ByteBuddy()
+                .redefine(Sample.class)
+                .defineField(BAR, Void.class)
+                .make()
+                .getBytes());
+        apply(input, new Plugin.Engine.Source.InMemory(first.getStorage()), new Plugin.Engine.Target.InMemory(), plugin);
+        assertThat(plugin.count, is(2));
+    }
+
+    @Test
+    public void testChangedSuperTypeIsProcessed() throws Exception {
+        Plugin.Engine.Target.InMemory first = new Plugin.Engine.Target.InMemory();
+        CountingPlugin plugin = new CountingPlugin();
+        apply(input(ClassFileLocator.ForClassLoader.read(Base.class)), Plugin.Engine.Source.Empty.INSTANCE, first, plugin);
+        apply(input(new ByteBuddy()
+                .redefine(Base.class)
+                .defineField(BAR, Void.class)
+                .make()
+                .getBytes()), new Plugin.Engine.Source.InMemory(first.getStorage()), new Plugin.Engine.Target.InMemory(), plugin);
+        assertThat(plugin.count, is(2));
+    }
+
+    @Test
+    public void testChangedPluginIsProcessed() throws Exception {
+        Map<String, byte[]> input = input(ClassFileLocator.ForClassLoader.read(Base.class));
+        Plugin.Engine.Target.InMemory first = new Plugin.Engine.Target.InMemory();
+        CountingPlugin plugin = new CountingPlugin();
+        apply(input, Plugin.Engine.Source.Empty.INSTANCE, first, plugin);
+        apply(input, new Plugin.Engine.Source.InMemory(first.getStorage()), new Plugin.Engine.Target.InMemory(), plugin, new Plugin.NoOp());
+        assertThat(plugin.count, is(2));
+    }
+
+    @Test
+    public void testChangedPluginConfigurationIsProcessed() throws Exception {
+        Map<String, byte[]> input = input(ClassFileLocator.ForClassLoader.read(Base.class));
+        Plugin.Engine.Target.InMemory first = new Plugin.Engine.Target.InMemory();
+        FingerprintedPlugin plugin = new FingerprintedPlugin(FOO);
+        apply(input, Plugin.Engine.Source.Empty.INSTANCE, first, plugin);
+        apply(input, new Plugin.Engine.Source.InMemory(first.getStorage()), new Plugin.Engine.Target.InMemory(), plugin);
+        assertThat(plugin.count, is(1));
+        plugin.fingerprint = BAR;
+        apply(input, new Plugin.Engine.Source.InMemory(first.getStorage()), new Plugin.Engine.Target.InMemory(), plugin);
+        assertThat(plugin.count, is(2));
+    }
+
+    @Test
+    public void testChangedClassFileVersionIsProcessed() throws Exception {
+        Map<String, byte[]> input = input(ClassFileLocator.ForClassLoader.read(Base.class));
+        Plugin.Engine.Target.InMemory first = new Plugin.Engine.Target.InMemory();
+        CountingPlugin plugin = new CountingPlugin();
+        apply(new ByteBuddy(ClassFileVersion.JAVA_V5), input, Plugin.Engine.Source.Empty.INSTANCE, first, plugin);
+        apply(new ByteBuddy(ClassFileVersion.JAVA_V6), input, new Plugin.Engine.Source.InMemory(first.getStorage()), new Plugin.Engine.Target.InMemory(), plugin);
+        assertThat(plugin.count, is(2));
+    }
+
+    @Test
+    public void testChangedTypeStrategyIsProcessed() throws Exception {
+        Map<String, byte[]> input = input(ClassFileLocator.ForClassLoader.read(Base.class));
+        Plugin.Engine.Target.InMemory first = new Plugin.Engine.Target.InMemory();
+        CountingPlugin plugin = new CountingPlugin();
+        apply(Plugin.Engine.Default.of(EntryPoint.Default.REBASE, ClassFileVersion.JAVA_V5, MethodNameTransformer.Suffixing.withRandomSuffix()),
+                input,
+                Plugin.Engine.Source.Empty.INSTANCE,
+                first,
+                plugin);
+        apply(Plugin.Engine.Default.of(EntryPoint.Default.REDEFINE, ClassFileVersion.JAVA_V5, MethodNameTransformer.Suffixing.withRandomSuffix()),
+                input,
+                new Plugin.Engine.Source.InMemory(first.getStorage()),
+                new Plugin.Engine.Target.InMemory(),
+                plugin);
+        assertThat(plugin.count, is(2));
+    }
+
+    @Test
+    public void testMissingOutputIsProcessed() throws Exception {
+        Map<String, byte[]> input = input(ClassFileLocator.ForClassLoader.read(Base.class));
+        Plugin.Engine.Target.InMemory first = new Plugin.Engine.Target.InMemory();
+        CountingPlugin plugin = new CountingPlugin();
+        apply(input, Plugin.Engine.Source.Empty.INSTANCE, first, plugin);
+        apply(input, Plugin.Engine.Source.Empty.INSTANCE, new Plugin.Engine.Target.InMemory(), plugin);
+        assertThat(plugin.count, is(2));
+    }
+
+    @Test
+    public void testUnresolvedTypeIsProcessed() throws Exception {
+        Map<String, byte[]> input = input(ClassFileLocator.ForClassLoader.read(Base.class));
+        Plugin.Engine.Target.InMemory first = new Plugin.Engine.Target.InMemory();
+        CountingPlugin plugin = new CountingPlugin();
+        apply(input, Plugin.Engine.Source.Empty.INSTANCE, first, plugin);
+        Plugin.Engine.Target.InMemory second = new Plugin.Engine.Target.InMemory();
+        Plugin.Engine.Summary summary = new Plugin.Engine.Default()
+                .with(new EmptyPoolStrategy())
+                .withoutErrorHandlers()
+                .with(new Plugin.Engine.IncrementalStrategy.ForManifest(manifest, new Plugin.Engine.Source.InMemory(first.getStorage())))
+                .apply(new Plugin.Engine.Source.InMemory(input), second, new Plugin.Factory.Simple(plugin));
+        assertThat(summary.getUnresolved(), hasItem(Sample.class.getName()));
+        assertThat(summary.getTransformed().size(), is(0));
+        assertThat(second.getStorage().get(Sample.class.getName().replace('.', '/') + ".class"),
+                is(ClassFileLocator.ForClassLoader.read(Sample.class)));
+        apply(input, new Plugin.Engine.Source.InMemory(second.getStorage()), new Plugin.Engine.Target.InMemory(), plugin);
+        assertThat(plugin.count, is(2));
+    }
+
+    @Test
+    public void testLiveInitializerIsReplayed() throws Exception {
+        Map<String, byte[]> input = input(ClassFileLocator.ForClassLoader.read(Base.class));
+        InitializerPlugin plugin = new InitializerPlugin();
+        Plugin.Engine.Target.InMemory first = new Plugin.Engine.Target.InMemory();
+        RecordingListener listener = new RecordingListener();
+        new Plugin.Engine.Default()
+                .with(ClassFileLocator.ForClassLoader.of(CountingPlugin.class.getClassLoader()))
+                .with(new Plugin.Engine.IncrementalStrategy.ForManifest(manifest, Plugin.Engine.Source.Empty.INSTANCE))
+                .with(listener)
+                .withoutErrorHandlers()
+                .apply(new Plugin.Engine.Source.InMemory(input), first, new Plugin.Factory.Simple(plugin));
+        assertThat(listener.live, is(Collections.singletonList(Sample.class.getName())));
+        listener = new RecordingListener();
+        new Plugin.Engine.Default()
+                .with(ClassFileLocator.ForClassLoader.of(CountingPlugin.class.getClassLoader()))
+                .with(new Plugin.Engine.IncrementalStrategy.ForManifest(manifest, new Plugin.Engine.Source.InMemory(first.getStorage())))
+                .with(listener)
+                .withoutErrorHandlers()
+                .apply(new Plugin.Engine.Source.InMemory(input), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(plugin));
+        assertThat(plugin.count, is(1));
+        assertThat(listener.live, is(Collections.singletonList(Sample.class.getName())));
+    }
+
+    @Test
+    public void testLiveInitializerIsEnforced() throws Exception {
+        Map<String, byte[]> input = input(ClassFileLocator.ForClassLoader.read(Base.class));
+        InitializerPlugin plugin = new InitializerPlugin();
+        Plugin.Engine.Target.InMemory first = new Plugin.Engine.Target.InMemory();
+        new Plugin.Engine.Default()
+                .with(ClassFileLocator.ForClassLoader.of(CountingPlugin.class.getClassLoader()))
+                .with(new Plugin.Engine.IncrementalStrategy.ForManifest(manifest, Plugin.Engine.Source.Empty.INSTANCE))
+                .withoutErrorHandlers()
+                .apply(new Plugin.Engine.Source.InMemory(input), first, new Plugin.Factory.Simple(plugin));
+        try {
+            new Plugin.Engine.Default()
+                    .with(ClassFileLocator.ForClassLoader.of(CountingPlugin.class.getClassLoader()))
+                    .with(new Plugin.Engine.IncrementalStrategy.ForManifest(manifest, new Plugin.Engine.Source.InMemory(first.getStorage())))
+                    .withErrorHandlers(Plugin.Engine.ErrorHandler.Enforcing.NO_LIVE_INITIALIZERS)
+                    .apply(new Plugin.Engine.Source.InMemory(input), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(plugin));
+            throw new AssertionError();
+        } catch (IllegalStateException ignored) {
+            /* expected */
+        }
+        assertThat(plugin.count, is(1));
+    }
+
+    @Test
+    public void testMalformedManifestIsIgnored() throws Exception {
+        OutputStream outputStream = new FileOutputStream(manifest);
+        try {
+            outputStream.write((Plugin.Engine.IncrementalStrategy.ForManifest.FINGERPRINT.replace("/", "\\/") + "=" + FOO + "\n" + FOO + "=" + BAR + "\n").getBytes("UTF-8"));
+        } finally {
+            outputStream.close();
+        }
+        CountingPlugin plugin = new CountingPlugin();
+        apply(input(ClassFileLocator.ForClassLoader.read(Base.class)), Plugin.Engine.Source.Empty.INSTANCE, new Plugin.Engine.Target.InMemory(), plugin);
+        assertThat(plugin.count, is(1));
+    }
+
+    private Plugin.Engine.Summary apply(Map<String, byte[]> input,
+                                        Plugin.Engine.Source previous,
+                                        Plugin.Engine.Target target,
+                                        Plugin... plugin) throws Exception {
+        return apply(new Plugin.Engine.Default(), input, previous, target, plugin);
+    }
+
+    private Plugin.Engine.Summary apply(ByteBuddy byteBuddy,
+                                        Map<String, byte[]> input,
+                                        Plugin.Engine.Source previous,
+                                        Plugin.Engine.Target target,
+                                        Plugin... plugin) throws Exception {
+        return apply(new Plugin.Engine.Default(byteBuddy), input, previous, target, plugin);
+    }
+
+    private Plugin.Engine.Summary apply(Plugin.Engine engine,
+                                        Map<String, byte[]> input,
+                                        Plugin.Engine.Source previous,
+                                        Plugin.Engine.Target target,
+                                        Plugin... plugin) throws Exception {
+        Plugin.Factory[] factory = new Plugin.Factory[plugin.length];
+        for (int index = 0; index < plugin.length; index++) {
+            factory[index] = new Plugin.Factory.Simple(plugin[index]);
+        }
+        return engine
+                .with(ClassFileLocator.ForClassLoader.of(CountingPlugin.class.getClassLoader()))
+                .with(new Plugin.Engine.IncrementalStrategy.ForManifest(manifest, previous))
+                .apply(new Plugin.Engine.Source.InMemory(input), target, factory);
+    }
+
+    private static Map<String, byte[]> input(byte[] base) {
+        Map<String, byte[]> input = new HashMap<String, byte[]>();
+        input.put(Sample.class.getName().replace('.', '/') + ".class", ClassFileLocator.ForClassLoader.read(Sample.class));
+        input.put(Base.class.getName().replace('.', '/') + ".class", base);
+        return input;
+    }
+
+    private static class Base {
+        /* empty */
+    }
+
+    private static class Sample extends Base {
+        /* empty */
+    }
+
+    private static class EmptyPoolStrategy implements Plugin.Engine.PoolStrategy {
+
+        public TypePool typePool(ClassFileLocator classFileLocator) {
+            return TypePool.Empty.INSTANCE;
+        }
+    }
+
+    private static class CountingPlugin implements Plugin {
+
+        protected int count;
+
+        public DynamicType.Builder<?> apply(DynamicType.Builder<?> builder, TypeDescription typeDescription, ClassFileLocator classFileLocator) {
+            count++;
+            return builder.defineField(FOO, Void.class);
+        }
+
+        public boolean matches(TypeDescription target) {
+            return target.represents(Sample.class);
+        }
+
+        public void close() {
+            /* empty */
+        }
+    }
+
+    private static class FingerprintedPlugin extends CountingPlugin implements Plugin.Engine.IncrementalStrategy.Fingerprinted {
+
+        private String fingerprint;
+
+        private FingerprintedPlugin(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+    }
+
+    private static class InitializerPlugin extends CountingPlugin {
+
+        @Override
+        public DynamicType.Builder<?> apply(DynamicType.Builder<?> builder, TypeDescription typeDescription, ClassFileLocator classFileLocator) {
+            return super.apply(builder, typeDescription, classFileLocator).initializer(new LiveInitializer());
+        }
+    }
+
+    private static class LiveInitializer implements LoadedTypeInitializer {
+
+        public void onLoad(Class<?> type) {
+            /* empty */
+        }
+
+        public boolean isAlive() {
+            return true;
+        }
+    }
+
+    private static class RecordingListener extends Plugin.Engine.Listener.Adapter {
+
+        private final List<String> live = new ArrayList<String>();
+
+        @Override
+        public void onLiveInitializer(TypeDescription typeDescription, TypeDescription definingType) {
+            live.add(definingType.getName());
+        }
+    }
+}
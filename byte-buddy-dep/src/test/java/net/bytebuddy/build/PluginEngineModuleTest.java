@@ -0,0 +1,151 @@
+package net.bytebuddy.build;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.pool.TypePool;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PluginEngineModuleTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    @Test
+    public void testModulesSequential() throws Exception {
+        assertModules(1);
+    }
+
+    @Test
+    public void testModulesParallel() throws Exception {
+        assertModules(2);
+    }
+
+    @Test
+    public void testModuleFailure() throws Exception {
+        CountingFactory factory = new CountingFactory();
+        Plugin.Engine.Target.InMemory target = new Plugin.Engine.Target.InMemory();
+        Plugin.Engine.Source source = mock(Plugin.Engine.Source.class);
+        when(source.read()).thenThrow(new IOException(FOO));
+        try {
+            new Plugin.Engine.Default()
+                    .with(ClassFileLocator.ForClassLoader.of(Base.class.getClassLoader()))
+                    .apply(Arrays.asList(new Plugin.Engine.Module(source, new Plugin.Engine.Target.InMemory()), new Plugin.Engine.Module(source(First.class), target)), 2, factory);
+            throw new AssertionError();
+        } catch (IOException exception) {
+            assertThat(exception.getMessage(), is(FOO));
+        }
+        assertThat(target.getStorage().get(First.class.getName().replace('.', '/') + ".class"), notNullValue(byte[].class));
+        assertThat(factory.closed.get(), is(1));
+    }
+
+    @Test
+    public void testModuleTypesNotShadowedBySharedTypePool() throws Exception {
+        CountingFactory factory = new CountingFactory();
+        Plugin.Engine.Target.InMemory target = new Plugin.Engine.Target.InMemory();
+        List<Plugin.Engine.Summary> summaries = new Plugin.Engine.Default()
+                .with(ClassFileLocator.ForClassLoader.of(Base.class.getClassLoader()))
+                .apply(Arrays.asList(new Plugin.Engine.Module(new Plugin.Engine.Source.InMemory(Collections.singletonMap(First.class.getName().replace('.', '/') + ".class",
+                        new ByteBuddy().redefine(First.class).defineField(BAR, Void.class).make().getBytes())), target),
+                        new Plugin.Engine.Module(source(Second.class), new Plugin.Engine.Target.InMemory())), 1, factory);
+        assertThat(summaries.get(0).getTransformed().size(), is(1));
+        assertThat(summaries.get(0).getTransformed().get(0).getDeclaredFields().filter(named(BAR)).size(), is(1));
+    }
+
+    @Test
+    public void testModulesNonHierarchicalPoolStrategy() throws Exception {
+        CountingFactory factory = new CountingFactory();
+        Plugin.Engine.Target.InMemory first = new Plugin.Engine.Target.InMemory(), second = new Plugin.Engine.Target.InMemory();
+        List<Plugin.Engine.Summary> summaries = new Plugin.Engine.Default()
+                .with(ClassFileLocator.ForClassLoader.of(Base.class.getClassLoader()))
+                .with(new Plugin.Engine.PoolStrategy() {
+                    public TypePool typePool(ClassFileLocator classFileLocator) {
+                        return TypePool.Default.of(classFileLocator);
+                    }
+                })
+                .apply(Arrays.asList(new Plugin.Engine.Module(source(First.class), first), new Plugin.Engine.Module(source(Second.class), second)), 1, factory);
+        assertThat(summaries.size(), is(2));
+        assertThat(summaries.get(0).getTransformed(), is(Collections.<TypeDescription>singletonList(TypeDescription.ForLoadedType.of(First.class))));
+        assertThat(summaries.get(1).getTransformed(), is(Collections.<TypeDescription>singletonList(TypeDescription.ForLoadedType.of(Second.class))));
+    }
+
+    @Test
+    public void testModule() throws Exception {
+        Plugin.Engine.Source source = mock(Plugin.Engine.Source.class);
+        Plugin.Engine.Target target = mock(Plugin.Engine.Target.class);
+        Plugin.Engine.Module module = new Plugin.Engine.Module(source, target);
+        assertThat(module.getSource(), is(source));
+        assertThat(module.getTarget(), is(target));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalParallelism() throws Exception {
+        new Plugin.Engine.Default().apply(Collections.<Plugin.Engine.Module>emptyList(), 0);
+    }
+
+    private static void assertModules(int parallelism) throws Exception {
+        CountingFactory factory = new CountingFactory();
+        Plugin.Engine.Target.InMemory first = new Plugin.Engine.Target.InMemory(), second = new Plugin.Engine.Target.InMemory();
+        List<Plugin.Engine.Summary> summaries = new Plugin.Engine.Default()
+                .with(ClassFileLocator.ForClassLoader.of(Base.class.getClassLoader()))
+                .apply(Arrays.asList(new Plugin.Engine.Module(source(First.class), first), new Plugin.Engine.Module(source(Second.class), second)), parallelism, factory);
+        assertThat(summaries.size(), is(2));
+        assertThat(summaries.get(0).getTransformed(), is(Collections.<TypeDescription>singletonList(TypeDescription.ForLoadedType.of(First.class))));
+        assertThat(summaries.get(1).getTransformed(), is(Collections.<TypeDescription>singletonList(TypeDescription.ForLoadedType.of(Second.class))));
+        assertThat(first.getStorage().size(), is(1));
+        assertThat(second.getStorage().size(), is(1));
+        assertThat(factory.made.get(), is(1));
+        assertThat(factory.closed.get(), is(1));
+    }
+
+    private static Plugin.Engine.Source source(Class<?> type) {
+        return new Plugin.Engine.Source.InMemory(Collections.singletonMap(type.getName().replace('.', '/') + ".class", ClassFileLocator.ForClassLoader.read(type)));
+    }
+
+    private static class Base {
+        /* empty */
+    }
+
+    private static class First extends Base {
+        /* empty */
+    }
+
+    private static class Second extends Base {
+        /* empty */
+    }
+
+    private static class CountingFactory implements Plugin.Factory, Plugin {
+
+        private final AtomicInteger made = new AtomicInteger(), closed = new AtomicInteger();
+
+        public Plugin make() {
+            made.incrementAndGet();
+            return this;
+        }
+
+        public boolean matches(TypeDescription target) {
+            return target.getSuperClass().asErasure().represents(Base.class);
+        }
+
+        public DynamicType.Builder<?> apply(DynamicType.Builder<?> builder, TypeDescription typeDescription, ClassFileLocator classFileLocator) {
+            return builder.defineField(FOO, Void.class);
+        }
+
+        public void close() {
+            closed.incrementAndGet();
+        }
+    }
+}
@@ -8,7 +8,19 @@ import org.junit.Test;
 import org.junit.rules.TestRule;
 import org.mockito.Mock;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static net.bytebuddy.test.utility.FieldByFieldComparison.hasPrototype;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 public class PluginEnginePoolStrategyTest {
@@ -19,6 +31,9 @@ public class PluginEnginePoolStrategyTest {
     @Mock
     private ClassFileLocator classFileLocator;
 
+    @Mock
+    private TypePool parent;
+
     @Test
     public void testWithLazyResolutionFast() {
         assertThat(Plugin.Engine.PoolStrategy.Default.FAST.typePool(classFileLocator),
@@ -37,6 +52,29 @@ public class PluginEnginePoolStrategyTest {
                         TypePool.ClassLoading.ofPlatformLoader())));
     }
 
+    @Test
+    public void testWithLazyResolutionParent() {
+        assertThat(Plugin.Engine.PoolStrategy.Default.FAST.typePool(classFileLocator, parent),
+                hasPrototype((TypePool) new TypePool.Default.WithLazyResolution(new TypePool.CacheProvider.Simple(),
+                        classFileLocator,
+                        TypePool.Default.ReaderMode.FAST,
+                        parent)));
+    }
+
+    @Test
+    public void testWithEagerResolutionParent() {
+        assertThat(Plugin.Engine.PoolStrategy.Eager.FAST.typePool(classFileLocator, parent),
+                hasPrototype((TypePool) new TypePool.Default(new TypePool.CacheProvider.Simple(),
+                        classFileLocator,
+                        TypePool.Default.ReaderMode.FAST,
+                        parent)));
+    }
+
+    @Test
+    public void testConcurrentParent() {
+        assertThat(Plugin.Engine.PoolStrategy.Concurrent.FAST.typePool(classFileLocator, parent), instanceOf(TypePool.Default.WithLazyResolution.class));
+    }
+
     @Test
     public void testWithEagerResolutionFast() {
         assertThat(Plugin.Engine.PoolStrategy.Eager.FAST.typePool(classFileLocator),
@@ -54,4 +92,59 @@ public class PluginEnginePoolStrategyTest {
                         TypePool.Default.ReaderMode.EXTENDED,
                         TypePool.ClassLoading.ofPlatformLoader())));
     }
+
+    @Test
+    public void testConcurrent() {
+        assertThat(Plugin.Engine.PoolStrategy.Concurrent.FAST.typePool(classFileLocator),
+                instanceOf(TypePool.Default.WithLazyResolution.class));
+        assertThat(Plugin.Engine.PoolStrategy.Concurrent.EXTENDED.typePool(classFileLocator),
+                instanceOf(TypePool.Default.WithLazyResolution.class));
+    }
+
+    @Test
+    public void testConcurrentSingleFlight() throws Exception {
+        final AtomicInteger count = new AtomicInteger();
+        final TypePool typePool = Plugin.Engine.PoolStrategy.Concurrent.FAST.typePool(new ClassFileLocator() {
+            public Resolution locate(String name) throws IOException {
+                if (name.equals(Sample.class.getName())) {
+                    count.incrementAndGet();
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException exception) {
+                        throw new AssertionError(exception);
+                    }
+                }
+                return ClassFileLocator.ForClassLoader.of(Sample.class.getClassLoader()).locate(name);
+            }
+
+            public void close() {
+                /* do nothing */
+            }
+        });
+        final CountDownLatch latch = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+            for (int index = 0; index < 4; index++) {
+                futures.add(executorService.submit(new Callable<Integer>() {
+                    public Integer call() throws Exception {
+                        latch.await();
+                        return typePool.describe(Sample.class.getName()).resolve().getDeclaredFields().size();
+                    }
+                }));
+            }
+            latch.countDown();
+            for (Future<Integer> future : futures) {
+                assertThat(future.get(), is(1));
+            }
+        } finally {
+            executorService.shutdown();
+        }
+        assertThat(count.get(), is(1));
+    }
+
+    private static class Sample {
+
+        private Object foo;
+    }
 }
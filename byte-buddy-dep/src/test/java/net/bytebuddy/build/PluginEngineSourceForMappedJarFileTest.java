@@ -0,0 +1,180 @@
+package net.bytebuddy.build;
+
+import net.bytebuddy.utility.StreamDrainer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.jar.*;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class PluginEngineSourceForMappedJarFileTest {
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("foo", "bar");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        assertThat(file.delete(), is(true));
+    }
+
+    @Test
+    public void testFile() throws Exception {
+        JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(file));
+        try {
+            outputStream.putNextEntry(new JarEntry("Foo.class"));
+            outputStream.write(new byte[]{1, 2, 3});
+            outputStream.closeEntry();
+        } finally {
+            outputStream.close();
+        }
+        Plugin.Engine.Source.Origin origin = new Plugin.Engine.Source.ForMappedJarFile(this.file).read();
+        try {
+            assertThat(origin.getManifest(), nullValue(Manifest.class));
+            assertThat(origin.getClassFileLocator().locate("Foo").isResolved(), is(true));
+            assertThat(origin.getClassFileLocator().locate("Foo").resolve(), is(new byte[]{1, 2, 3}));
+            assertThat(origin.getClassFileLocator().locate("Bar").isResolved(), is(false));
+            Iterator<Plugin.Engine.Source.Element> iterator = origin.iterator();
+            assertThat(iterator.hasNext(), is(true));
+            Plugin.Engine.Source.Element element = iterator.next();
+            assertThat(element.getName(), is("Foo.class"));
+            assertThat(element.resolveAs(Object.class), nullValue(Object.class));
+            InputStream inputStream = element.getInputStream();
+            try {
+                assertThat(StreamDrainer.DEFAULT.drain(inputStream), is(new byte[]{1, 2, 3}));
+            } finally {
+                inputStream.close();
+            }
+            assertThat(iterator.hasNext(), is(false));
+        } finally {
+            origin.close();
+        }
+    }
+
+    @Test
+    public void testFileInSubFolder() throws Exception {
+        JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(file));
+        try {
+            outputStream.putNextEntry(new JarEntry("bar/"));
+            outputStream.closeEntry();
+            outputStream.putNextEntry(new JarEntry("bar/Foo.class"));
+            outputStream.write(new byte[]{1, 2, 3});
+            outputStream.closeEntry();
+        } finally {
+            outputStream.close();
+        }
+        Plugin.Engine.Source.Origin origin = new Plugin.Engine.Source.ForMappedJarFile(this.file).read();
+        try {
+            assertThat(origin.getClassFileLocator().locate("bar.Foo").resolve(), is(new byte[]{1, 2, 3}));
+            Iterator<Plugin.Engine.Source.Element> iterator = origin.iterator();
+            assertThat(iterator.next().getName(), is("bar/"));
+            assertThat(iterator.next().getName(), is("bar/Foo.class"));
+            assertThat(iterator.hasNext(), is(false));
+        } finally {
+            origin.close();
+        }
+    }
+
+    @Test
+    public void testStoredAndDeflated() throws Exception {
+        byte[] binaryRepresentation = new byte[10000];
+        for (int index = 0; index < binaryRepresentation.length; index++) {
+            binaryRepresentation[index] = (byte) (index % 7);
+        }
+        JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(file));
+        try {
+            outputStream.putNextEntry(new JarEntry("Foo.class"));
+            outputStream.write(binaryRepresentation);
+            outputStream.closeEntry();
+            JarEntry entry = new JarEntry("Bar.class");
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(3);
+            entry.setCompressedSize(3);
+            CRC32 crc = new CRC32();
+            crc.update(new byte[]{1, 2, 3});
+            entry.setCrc(crc.getValue());
+            outputStream.putNextEntry(entry);
+            outputStream.write(new byte[]{1, 2, 3});
+            outputStream.closeEntry();
+        } finally {
+            outputStream.close();
+        }
+        Plugin.Engine.Source.Origin origin = new Plugin.Engine.Source.ForMappedJarFile(this.file).read();
+        try {
+            assertThat(origin.getClassFileLocator().locate("Foo").resolve(), is(binaryRepresentation));
+            assertThat(origin.getClassFileLocator().locate("Bar").resolve(), is(new byte[]{1, 2, 3}));
+        } finally {
+            origin.close();
+        }
+    }
+
+    @Test
+    public void testManifest() throws Exception {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(file));
+        try {
+            outputStream.putNextEntry(new JarEntry(JarFile.MANIFEST_NAME));
+            manifest.write(outputStream);
+            outputStream.closeEntry();
+        } finally {
+            outputStream.close();
+        }
+        Plugin.Engine.Source.Origin origin = new Plugin.Engine.Source.ForMappedJarFile(this.file).read();
+        try {
+            Manifest readManifest = origin.getManifest();
+            assertThat(readManifest, notNullValue(Manifest.class));
+            assertThat(readManifest.getMainAttributes().getValue(Attributes.Name.MANIFEST_VERSION), is("1.0"));
+        } finally {
+            origin.close();
+        }
+    }
+
+    @Test
+    public void testZip64() throws Exception {
+        Plugin.Engine.Target.Sink sink = new Plugin.Engine.Target.ForParallelJarFile(file, 2).write(Plugin.Engine.Source.Origin.NO_MANIFEST);
+        try {
+            for (int index = 0; index < 0x10000; index++) {
+                sink.retain(new Plugin.Engine.Source.Element.ForByteArray(index + ".class", new byte[]{(byte) index}));
+            }
+        } finally {
+            sink.close();
+        }
+        Plugin.Engine.Source.Origin origin = new Plugin.Engine.Source.ForMappedJarFile(this.file).read();
+        try {
+            int count = 0;
+            for (Plugin.Engine.Source.Element ignored : origin) {
+                count++;
+            }
+            assertThat(count, is(0x10000));
+            assertThat(origin.getClassFileLocator().locate(Integer.toString(0xFFFF)).resolve(), is(new byte[]{(byte) 0xFF}));
+        } finally {
+            origin.close();
+        }
+    }
+
+    @Test(expected = ZipException.class)
+    public void testNoJarFile() throws Exception {
+        OutputStream outputStream = new FileOutputStream(file);
+        try {
+            outputStream.write(new byte[]{1, 2, 3});
+        } finally {
+            outputStream.close();
+        }
+        new Plugin.Engine.Source.ForMappedJarFile(this.file).read();
+    }
+}
@@ -0,0 +1,172 @@
+package net.bytebuddy.build;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class PluginEngineStatisticsTest {
+
+    private static final String FOO = "foo";
+
+    @Test
+    public void testStatisticsDisabled() throws Exception {
+        Plugin.Engine.Summary summary = new Plugin.Engine.Default()
+                .with(ClassFileLocator.ForClassLoader.of(SimplePlugin.class.getClassLoader()))
+                .apply(Plugin.Engine.Source.InMemory.ofTypes(Sample.class), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(new SimplePlugin()));
+        assertThat(summary.getStatistics().isEnabled(), is(false));
+        assertThat(summary.getStatistics().getTypes().isEmpty(), is(true));
+        assertThat(summary.getStatistics().getPlugins().isEmpty(), is(true));
+        assertThat(summary.getStatistics().getLookups(), is(0L));
+        assertThat(summary.getStatistics().getResolutions(), is(0L));
+    }
+
+    @Test
+    public void testStatisticsTransformed() throws Exception {
+        Plugin plugin = new SimplePlugin();
+        Plugin.Engine.Summary summary = new Plugin.Engine.Default()
+                .with(ClassFileLocator.ForClassLoader.of(SimplePlugin.class.getClassLoader()))
+                .withStatistics()
+                .apply(Plugin.Engine.Source.InMemory.ofTypes(Sample.class), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(plugin));
+        Plugin.Engine.Statistics statistics = summary.getStatistics();
+        assertThat(statistics.isEnabled(), is(true));
+        assertThat(statistics.getTypes().size(), is(1));
+        Plugin.Engine.Statistics.ForType type = statistics.getTypes().get(Sample.class.getName());
+        assertThat(type.getName(), is(Sample.class.getName()));
+        assertThat(type.isTransformed(), is(true));
+        assertThat(type.getTime() > 0L, is(true));
+        assertThat(type.getBytesIn(), is((long) ClassFileLocator.ForClassLoader.read(Sample.class).length));
+        assertThat(type.getBytesOut() > type.getBytesIn(), is(true));
+        assertThat(type.getResolutions() > 0L, is(true));
+        assertThat(type.getLookups() > 0L, is(true));
+        assertThat(statistics.getResolutions() >= type.getResolutions(), is(true));
+        assertThat(statistics.getLookups() >= type.getLookups(), is(true));
+        assertThat(statistics.getPlugins().size(), is(1));
+        Plugin.Engine.Statistics.ForPlugin pluginStatistics = statistics.getPlugins().get(plugin);
+        assertThat(pluginStatistics.getPlugin(), is(plugin));
+        assertThat(pluginStatistics.getApplied(), is(1L));
+        assertThat(pluginStatistics.getIgnored(), is(0L));
+        assertThat(pluginStatistics.getFailed(), is(0L));
+        assertThat(pluginStatistics.getTime() >= 0L, is(true));
+    }
+
+    @Test
+    public void testStatisticsIgnored() throws Exception {
+        Plugin plugin = new IgnoringPlugin();
+        Plugin.Engine.Summary summary = new Plugin.Engine.Default()
+                .with(ClassFileLocator.ForClassLoader.of(IgnoringPlugin.class.getClassLoader()))
+                .withStatistics()
+                .apply(Plugin.Engine.Source.InMemory.ofTypes(Sample.class), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(plugin));
+        Plugin.Engine.Statistics.ForType type = summary.getStatistics().getTypes().get(Sample.class.getName());
+        assertThat(type.isTransformed(), is(false));
+        assertThat(type.getBytesOut(), is(type.getBytesIn()));
+        assertThat(summary.getStatistics().getPlugins().get(plugin).getIgnored(), is(1L));
+        assertThat(summary.getStatistics().getPlugins().get(plugin).getApplied(), is(0L));
+    }
+
+    @Test
+    public void testStatisticsFailed() throws Exception {
+        Plugin plugin = new FailingPlugin();
+        Plugin.Engine.Summary summary = new Plugin.Engine.Default()
+                .with(ClassFileLocator.ForClassLoader.of(FailingPlugin.class.getClassLoader()))
+                .withoutErrorHandlers()
+                .withStatistics()
+                .apply(Plugin.Engine.Source.InMemory.ofTypes(Sample.class), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(plugin));
+        assertThat(summary.getFailed().size(), is(1));
+        assertThat(summary.getStatistics().getPlugins().get(plugin).getFailed(), is(1L));
+        assertThat(summary.getStatistics().getTypes().get(Sample.class.getName()).isTransformed(), is(false));
+    }
+
+    @Test
+    public void testUnknownSize() throws Exception {
+        Plugin.Engine.Statistics statistics = new Plugin.Engine.Statistics(true);
+        statistics.onStart(FOO);
+        statistics.onStop(FOO, System.nanoTime());
+        assertThat(statistics.getTypes().get(FOO).getBytesIn(), is(Plugin.Engine.Statistics.UNKNOWN));
+        assertThat(statistics.getTypes().get(FOO).getBytesOut(), is(Plugin.Engine.Statistics.UNKNOWN));
+    }
+
+    @Test
+    public void testReport() throws Exception {
+        Plugin plugin = new SimplePlugin();
+        Plugin.Engine.Summary summary = new Plugin.Engine.Default()
+                .with(ClassFileLocator.ForClassLoader.of(SimplePlugin.class.getClassLoader()))
+                .withStatistics()
+                .apply(Plugin.Engine.Source.InMemory.ofTypes(Sample.class), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(plugin));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        summary.getStatistics().report(new PrintStream(outputStream));
+        String report = outputStream.toString();
+        assertThat(report, containsString("TOTAL [types=1, transformed=1"));
+        assertThat(report, containsString("PLUGIN " + plugin + " [applied=1, ignored=0, failed=0"));
+        assertThat(report, containsString("TYPE " + Sample.class.getName()));
+        assertThat(report, containsString("GROWTH " + Sample.class.getName()));
+    }
+
+    @Test
+    public void testReportLimit() throws Exception {
+        Plugin.Engine.Statistics statistics = new Plugin.Engine.Statistics(true);
+        statistics.onStart(FOO);
+        statistics.onStop(FOO, System.nanoTime());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        statistics.report(new PrintStream(outputStream), 0);
+        assertThat(outputStream.toString(), containsString("TOTAL [types=1, transformed=0"));
+        assertThat(outputStream.toString(), not(containsString("TYPE " + FOO)));
+    }
+
+    private static class Sample {
+        /* empty */
+    }
+
+    private static class SimplePlugin implements Plugin {
+
+        public DynamicType.Builder<?> apply(DynamicType.Builder<?> builder, TypeDescription typeDescription, ClassFileLocator classFileLocator) {
+            return builder.defineField(FOO, Void.class);
+        }
+
+        public boolean matches(TypeDescription target) {
+            return target.represents(Sample.class);
+        }
+
+        public void close() {
+            /* empty */
+        }
+    }
+
+    private static class IgnoringPlugin implements Plugin {
+
+        public DynamicType.Builder<?> apply(DynamicType.Builder<?> builder, TypeDescription typeDescription, ClassFileLocator classFileLocator) {
+            throw new AssertionError();
+        }
+
+        public boolean matches(TypeDescription target) {
+            return false;
+        }
+
+        public void close() {
+            /* empty */
+        }
+    }
+
+    private static class FailingPlugin implements Plugin {
+
+        public DynamicType.Builder<?> apply(DynamicType.Builder<?> builder, TypeDescription typeDescription, ClassFileLocator classFileLocator) {
+            throw new RuntimeException(FOO);
+        }
+
+        public boolean matches(TypeDescription target) {
+            return true;
+        }
+
+        public void close() {
+            /* empty */
+        }
+    }
+}
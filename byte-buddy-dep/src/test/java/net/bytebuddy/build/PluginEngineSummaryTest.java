@@ -34,6 +34,17 @@ public class PluginEngineSummaryTest {
         assertThat(summary.getTransformed(), is(Collections.singletonList(typeDescription)));
         assertThat(summary.getFailed(), is(Collections.singletonMap(typeDescription, Collections.singletonList(throwable))));
         assertThat(summary.getUnresolved(), is(Collections.singletonList(FOO)));
+        assertThat(summary.getStatistics().isEnabled(), is(false));
+    }
+
+    @Test
+    public void testStatistics() {
+        Plugin.Engine.Statistics statistics = new Plugin.Engine.Statistics(true);
+        Plugin.Engine.Summary summary = new Plugin.Engine.Summary(Collections.singletonList(typeDescription),
+                Collections.singletonMap(typeDescription, Collections.singletonList(throwable)),
+                Collections.singletonList(FOO),
+                statistics);
+        assertThat(summary.getStatistics(), is(statistics));
     }
 
     @Test
@@ -0,0 +1,303 @@
+package net.bytebuddy.build;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.utility.StreamDrainer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.concurrent.Executors;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarInputStream;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PluginEngineTargetForParallelJarFileTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("foo", "bar");
+        assertThat(file.delete(), is(true));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        assertThat(file.delete(), is(true));
+    }
+
+    @Test
+    public void testWriteType() throws Exception {
+        Plugin.Engine.Target target = new Plugin.Engine.Target.ForParallelJarFile(file, 2);
+        Plugin.Engine.Target.Sink sink = target.write(Plugin.Engine.Source.Origin.NO_MANIFEST);
+        try {
+            sink.store(Collections.singletonMap(TypeDescription.OBJECT, new byte[]{1, 2, 3}));
+        } finally {
+            sink.close();
+        }
+        JarInputStream inputStream = new JarInputStream(new FileInputStream(file));
+        try {
+            assertThat(inputStream.getManifest(), nullValue(Manifest.class));
+            JarEntry entry = inputStream.getNextJarEntry();
+            assertThat(entry.getName(), is(TypeDescription.OBJECT.getInternalName() + ".class"));
+            assertThat(StreamDrainer.DEFAULT.drain(inputStream), is(new byte[]{1, 2, 3}));
+            assertThat(inputStream.getNextJarEntry(), nullValue(JarEntry.class));
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    @Test
+    public void testWriteResource() throws Exception {
+        Plugin.Engine.Target target = new Plugin.Engine.Target.ForParallelJarFile(file, 2);
+        Plugin.Engine.Source.Element element = mock(Plugin.Engine.Source.Element.class);
+        when(element.getName()).thenReturn(FOO + "/" + BAR);
+        when(element.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[]{1, 2, 3}));
+        Plugin.Engine.Target.Sink sink = target.write(Plugin.Engine.Source.Origin.NO_MANIFEST);
+        try {
+            sink.retain(element);
+        } finally {
+            sink.close();
+        }
+        JarFile jarFile = new JarFile(file);
+        try {
+            JarEntry entry = jarFile.getJarEntry(FOO + "/" + BAR);
+            assertThat(entry.getSize(), is(3L));
+            assertThat(StreamDrainer.DEFAULT.drain(jarFile.getInputStream(entry)), is(new byte[]{1, 2, 3}));
+        } finally {
+            jarFile.close();
+        }
+    }
+
+    @Test
+    public void testManifest() throws Exception {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().put(new Attributes.Name(FOO), BAR);
+        Plugin.Engine.Target target = new Plugin.Engine.Target.ForParallelJarFile(file, 1);
+        target.write(manifest).close();
+        JarInputStream inputStream = new JarInputStream(new FileInputStream(file));
+        try {
+            assertThat(inputStream.getManifest().getMainAttributes().getValue(FOO), is(BAR));
+            assertThat(inputStream.getNextJarEntry(), nullValue(JarEntry.class));
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    @Test
+    public void testOrderAndCompression() throws Exception {
+        Plugin.Engine.Target target = new Plugin.Engine.Target.ForParallelJarFile(file, 4);
+        Plugin.Engine.Target.Sink sink = target.write(Plugin.Engine.Source.Origin.NO_MANIFEST);
+        try {
+            for (int index = 0; index < 500; index++) {
+                Plugin.Engine.Source.Element element = mock(Plugin.Engine.Source.Element.class);
+                when(element.getName()).thenReturn(FOO + index);
+                when(element.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[index]));
+                sink.retain(element);
+            }
+        } finally {
+            sink.close();
+        }
+        JarFile jarFile = new JarFile(file);
+        try {
+            Enumeration<JarEntry> entries = jarFile.entries();
+            for (int index = 0; index < 500; index++) {
+                JarEntry entry = entries.nextElement();
+                assertThat(entry.getName(), is(FOO + index));
+                assertThat(entry.getSize(), is((long) index));
+                if (index == 0) {
+                    assertThat(entry.getMethod(), is(ZipEntry.STORED));
+                } else if (index > 100) {
+                    assertThat(entry.getMethod(), is(ZipEntry.DEFLATED));
+                }
+                assertThat(StreamDrainer.DEFAULT.drain(jarFile.getInputStream(entry)), is(new byte[index]));
+            }
+            assertThat(entries.hasMoreElements(), is(false));
+        } finally {
+            jarFile.close();
+        }
+    }
+
+    @Test
+    public void testStored() throws Exception {
+        Plugin.Engine.Target target = new Plugin.Engine.Target.ForParallelJarFile(file, 2, false);
+        Plugin.Engine.Target.Sink sink = target.write(Plugin.Engine.Source.Origin.NO_MANIFEST);
+        try {
+            sink.store(Collections.singletonMap(TypeDescription.OBJECT, new byte[1024]));
+        } finally {
+            sink.close();
+        }
+        JarFile jarFile = new JarFile(file);
+        try {
+            JarEntry entry = jarFile.getJarEntry(TypeDescription.OBJECT.getInternalName() + ".class");
+            assertThat(entry.getMethod(), is(ZipEntry.STORED));
+            assertThat(entry.getCompressedSize(), is(1024L));
+            assertThat(StreamDrainer.DEFAULT.drain(jarFile.getInputStream(entry)), is(new byte[1024]));
+        } finally {
+            jarFile.close();
+        }
+    }
+
+    @Test
+    public void testWindow() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Plugin.Engine.Target.Sink sink = new Plugin.Engine.Target.Sink.ForParallelCompression(outputStream, Executors.newSingleThreadExecutor(), true, 1);
+        try {
+            sink.retain(new Plugin.Engine.Source.Element.ForByteArray(FOO, new byte[]{1, 2, 3}));
+            sink.retain(new Plugin.Engine.Source.Element.ForByteArray(BAR, new byte[]{4, 5, 6}));
+            assertThat(outputStream.size() > 0, is(true));
+        } finally {
+            sink.close();
+        }
+        assertThat(file.createNewFile(), is(true));
+    }
+
+    @Test
+    public void testManyEntries() throws Exception {
+        Plugin.Engine.Target target = new Plugin.Engine.Target.ForParallelJarFile(file, 2);
+        Plugin.Engine.Target.Sink sink = target.write(Plugin.Engine.Source.Origin.NO_MANIFEST);
+        try {
+            for (int index = 0; index < 0x10000; index++) {
+                sink.retain(new Plugin.Engine.Source.Element.ForByteArray(Integer.toString(index), new byte[]{(byte) index}));
+            }
+        } finally {
+            sink.close();
+        }
+        JarFile jarFile = new JarFile(file);
+        try {
+            assertThat(jarFile.size(), is(0x10000));
+            JarEntry entry = jarFile.getJarEntry(Integer.toString(0xFFFF));
+            assertThat(StreamDrainer.DEFAULT.drain(jarFile.getInputStream(entry)), is(new byte[]{(byte) 0xFF}));
+        } finally {
+            jarFile.close();
+        }
+    }
+
+    @Test
+    public void testRawTransfer() throws Exception {
+        File source = File.createTempFile("foo", "bar");
+        try {
+            byte[] binaryRepresentation = new byte[1024];
+            JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(source));
+            try {
+                JarEntry entry = new JarEntry(FOO);
+                entry.setTime(1577836800000L);
+                outputStream.putNextEntry(entry);
+                outputStream.write(binaryRepresentation);
+                outputStream.closeEntry();
+            } finally {
+                outputStream.close();
+            }
+            JarEntry original;
+            JarFile jarFile = new JarFile(source);
+            try {
+                original = jarFile.getJarEntry(FOO);
+            } finally {
+                jarFile.close();
+            }
+            Plugin.Engine.Source.Origin origin = new Plugin.Engine.Source.ForMappedJarFile(source).read();
+            try {
+                Plugin.Engine.Source.Element element = origin.iterator().next();
+                assertThat(element.resolveAs(Plugin.Engine.Source.Element.ForMappedJarEntry.class), notNullValue());
+                Plugin.Engine.Target.Sink sink = new Plugin.Engine.Target.ForParallelJarFile(file, 2).write(Plugin.Engine.Source.Origin.NO_MANIFEST);
+                try {
+                    sink.retain(element);
+                } finally {
+                    sink.close();
+                }
+            } finally {
+                origin.close();
+            }
+            jarFile = new JarFile(file);
+            try {
+                JarEntry entry = jarFile.getJarEntry(FOO);
+                assertThat(entry.getMethod(), is(ZipEntry.DEFLATED));
+                assertThat(entry.getCrc(), is(original.getCrc()));
+                assertThat(entry.getSize(), is(original.getSize()));
+                assertThat(entry.getCompressedSize(), is(original.getCompressedSize()));
+                assertThat(entry.getTime(), is(original.getTime()));
+                assertThat(StreamDrainer.DEFAULT.drain(jarFile.getInputStream(entry)), is(binaryRepresentation));
+            } finally {
+                jarFile.close();
+            }
+        } finally {
+            assertThat(source.delete(), is(true));
+        }
+    }
+
+    @Test
+    public void testRawTransferNotCompressed() throws Exception {
+        File source = File.createTempFile("foo", "bar");
+        try {
+            JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(source));
+            try {
+                outputStream.putNextEntry(new JarEntry(FOO));
+                outputStream.write(new byte[1024]);
+                outputStream.closeEntry();
+            } finally {
+                outputStream.close();
+            }
+            Plugin.Engine.Source.Origin origin = new Plugin.Engine.Source.ForMappedJarFile(source).read();
+            try {
+                Plugin.Engine.Target.Sink sink = new Plugin.Engine.Target.ForParallelJarFile(file, 2, false).write(Plugin.Engine.Source.Origin.NO_MANIFEST);
+                try {
+                    sink.retain(origin.iterator().next());
+                } finally {
+                    sink.close();
+                }
+            } finally {
+                origin.close();
+            }
+            JarFile jarFile = new JarFile(file);
+            try {
+                JarEntry entry = jarFile.getJarEntry(FOO);
+                assertThat(entry.getMethod(), is(ZipEntry.STORED));
+                assertThat(StreamDrainer.DEFAULT.drain(jarFile.getInputStream(entry)), is(new byte[1024]));
+            } finally {
+                jarFile.close();
+            }
+        } finally {
+            assertThat(source.delete(), is(true));
+        }
+    }
+
+    @Test(expected = ZipException.class)
+    public void testDuplicateEntry() throws Exception {
+        Plugin.Engine.Target target = new Plugin.Engine.Target.ForParallelJarFile(file, 1);
+        Plugin.Engine.Target.Sink sink = target.write(Plugin.Engine.Source.Origin.NO_MANIFEST);
+        try {
+            sink.retain(new Plugin.Engine.Source.Element.ForByteArray(FOO, new byte[0]));
+            sink.retain(new Plugin.Engine.Source.Element.ForByteArray(FOO, new byte[0]));
+        } finally {
+            sink.close();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalThreads() throws Exception {
+        assertThat(file.createNewFile(), is(true));
+        new Plugin.Engine.Target.ForParallelJarFile(file, 0);
+    }
+}
@@ -10,7 +10,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 
 public class PluginFactoryUsingReflectionTest {
 
-    private static final String FOO = "foo";
+    private static final String FOO = "foo", BAR = "bar";
 
     @Test
     public void testDefaultConstructor() {
@@ -93,6 +93,20 @@ public class PluginFactoryUsingReflectionTest {
         assertThat(argumentResolver.resolve(0, Void.class).isResolved(), is(false));
     }
 
+    @Test
+    public void testFingerprintOfArguments() {
+        Plugin.Factory.UsingReflection factory = new Plugin.Factory.UsingReflection(SimplePluginStringConstructor.class);
+        assertThat(factory.with(new Plugin.Factory.UsingReflection.ArgumentResolver.ForIndex(0, FOO)).getFingerprint(),
+                is(factory.with(new Plugin.Factory.UsingReflection.ArgumentResolver.ForIndex(0, FOO)).getFingerprint()));
+        assertThat(factory.with(new Plugin.Factory.UsingReflection.ArgumentResolver.ForIndex(0, FOO)).getFingerprint(),
+                not(factory.with(new Plugin.Factory.UsingReflection.ArgumentResolver.ForIndex(0, BAR)).getFingerprint()));
+    }
+
+    @Test
+    public void testFingerprintUnresolved() {
+        assertThat(new Plugin.Factory.UsingReflection(SimplePluginStringConstructor.class).getFingerprint(), is(SimplePluginStringConstructor.class.getName()));
+    }
+
     @Test(expected = IllegalStateException.class)
     public void testArgumentResolverUnresolvedResolution() {
         Plugin.Factory.UsingReflection.ArgumentResolver.Resolution.Unresolved.INSTANCE.getArgument();
@@ -132,6 +146,25 @@ public class PluginFactoryUsingReflectionTest {
         }
     }
 
+    public static class SimplePluginStringConstructor implements Plugin {
+
+        public SimplePluginStringConstructor(String value) {
+            /* empty */
+        }
+
+        public boolean matches(TypeDescription target) {
+            throw new AssertionError();
+        }
+
+        public DynamicType.Builder<?> apply(DynamicType.Builder<?> builder, TypeDescription typeDescription, ClassFileLocator classFileLocator) {
+            throw new AssertionError();
+        }
+
+        public void close() {
+            throw new AssertionError();
+        }
+    }
+
     public static class SimplePluginTwoConstructors implements Plugin {
 
         public SimplePluginTwoConstructors() {
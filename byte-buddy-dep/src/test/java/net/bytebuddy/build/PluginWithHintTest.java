@@ -0,0 +1,133 @@
+package net.bytebuddy.build;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
+import org.junit.Test;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static net.bytebuddy.matcher.ElementMatchers.isAnnotatedWith;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class PluginWithHintTest {
+
+    private static final String FOO = "foo";
+
+    @Test
+    public void testAnnotationHint() throws Exception {
+        Plugin.WithHint.Hint hint = Plugin.WithHint.Hint.ofAnnotations(Marker.class);
+        assertThat(hint.getAnnotationDescriptors(), is(Collections.singleton(TypeDescription.ForLoadedType.of(Marker.class).getDescriptor())));
+        assertThat(hint.isCandidate(FOO, Collections.singleton(TypeDescription.ForLoadedType.of(Marker.class).getDescriptor())), is(true));
+        assertThat(hint.isCandidate(FOO, Collections.<String>emptySet()), is(false));
+    }
+
+    @Test
+    public void testNameHint() throws Exception {
+        Plugin.WithHint.Hint hint = Plugin.WithHint.Hint.ofNames("foo\\..*");
+        assertThat(hint.getNamePatterns(), is(Collections.singleton("foo\\..*")));
+        assertThat(hint.isCandidate(FOO + ".Bar", Collections.<String>emptySet()), is(true));
+        assertThat(hint.isCandidate("bar.Foo", Collections.<String>emptySet()), is(false));
+    }
+
+    @Test
+    public void testCombinedHint() throws Exception {
+        Plugin.WithHint.Hint hint = new Plugin.WithHint.Hint(Collections.singleton(FOO), Collections.singleton("bar"));
+        assertThat(hint.isCandidate("bar", Collections.singleton(FOO)), is(true));
+        assertThat(hint.isCandidate("bar", Collections.<String>emptySet()), is(false));
+        assertThat(hint.isCandidate(FOO, Collections.singleton(FOO)), is(false));
+        assertThat(new Plugin.WithHint.Hint(Collections.<String>emptySet(), Collections.<String>emptySet()).isCandidate(FOO, Collections.<String>emptySet()), is(true));
+    }
+
+    @Test
+    public void testEngineSkipsNonCandidates() throws Exception {
+        HintedPlugin plugin = new HintedPlugin();
+        Plugin.Engine.Target.InMemory target = new Plugin.Engine.Target.InMemory();
+        Plugin.Engine.Summary summary = apply(target, plugin);
+        assertThat(plugin.matched, is(Collections.<String>singleton(Annotated.class.getName())));
+        assertThat(summary.getTransformed(), is(Collections.<TypeDescription>singletonList(TypeDescription.ForLoadedType.of(Annotated.class))));
+        assertThat(target.getStorage().get(Plain.class.getName().replace('.', '/') + ".class"), is(ClassFileLocator.ForClassLoader.read(Plain.class)));
+    }
+
+    @Test
+    public void testEngineDoesNotSkipWithoutHint() throws Exception {
+        HintedPlugin plugin = new HintedPlugin();
+        UnhintedPlugin unhinted = new UnhintedPlugin();
+        apply(new Plugin.Engine.Target.InMemory(), plugin, unhinted);
+        assertThat(plugin.matched, is((Object) new HashSet<String>(Arrays.asList(Annotated.class.getName(), Plain.class.getName()))));
+    }
+
+    private static Plugin.Engine.Summary apply(Plugin.Engine.Target target, Plugin... plugin) throws Exception {
+        Map<String, byte[]> input = new HashMap<String, byte[]>();
+        input.put(Annotated.class.getName().replace('.', '/') + ".class", ClassFileLocator.ForClassLoader.read(Annotated.class));
+        input.put(Plain.class.getName().replace('.', '/') + ".class", ClassFileLocator.ForClassLoader.read(Plain.class));
+        Plugin.Factory[] factory = new Plugin.Factory[plugin.length];
+        for (int index = 0; index < plugin.length; index++) {
+            factory[index] = new Plugin.Factory.Simple(plugin[index]);
+        }
+        return new Plugin.Engine.Default()
+                .with(ClassFileLocator.ForClassLoader.of(HintedPlugin.class.getClassLoader()))
+                .apply(new Plugin.Engine.Source.InMemory(input), target, factory);
+    }
+
+    @Retention(RetentionPolicy.CLASS)
+    private @interface Marker {
+        /* empty */
+    }
+
+    private static class Annotated {
+
+        @Marker
+        private Object foo;
+    }
+
+    private static class Plain {
+
+        private Object foo;
+    }
+
+    private static class HintedPlugin implements Plugin.WithHint {
+
+        private final Set<String> matched = Collections.synchronizedSet(new HashSet<String>());
+
+        public Hint getHint() {
+            return Hint.ofAnnotations(Marker.class);
+        }
+
+        public boolean matches(TypeDescription target) {
+            matched.add(target.getName());
+            return !target.getDeclaredFields().filter(isAnnotatedWith(Marker.class)).isEmpty();
+        }
+
+        public DynamicType.Builder<?> apply(DynamicType.Builder<?> builder, TypeDescription typeDescription, ClassFileLocator classFileLocator) {
+            return builder.defineField(FOO + "Bar", Void.class);
+        }
+
+        public void close() {
+            /* empty */
+        }
+    }
+
+    private static class UnhintedPlugin implements Plugin {
+
+        public boolean matches(TypeDescription target) {
+            return false;
+        }
+
+        public DynamicType.Builder<?> apply(DynamicType.Builder<?> builder, TypeDescription typeDescription, ClassFileLocator classFileLocator) {
+            return builder;
+        }
+
+        public void close() {
+            /* empty */
+        }
+    }
+}
@@ -6,6 +6,8 @@ import net.bytebuddy.dynamic.ClassFileLocator;
 import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
 import org.junit.Test;
 
+import java.util.Collections;
+
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 
@@ -20,6 +22,13 @@ public class ToStringPluginTest {
         assertThat(plugin.matches(TypeDescription.OBJECT), is(false));
     }
 
+    @Test
+    public void testPluginHint() throws Exception {
+        Plugin.WithHint.Hint hint = new ToStringPlugin().getHint();
+        assertThat(hint.isCandidate(SimpleSample.class.getName(), Collections.singleton(TypeDescription.ForLoadedType.of(ToStringPlugin.Enhance.class).getDescriptor())), is(true));
+        assertThat(hint.isCandidate(SimpleSample.class.getName(), Collections.<String>emptySet()), is(false));
+    }
+
     @Test
     public void testPluginEnhance() throws Exception {
         Class<?> type = new ToStringPlugin()
@@ -4,6 +4,7 @@ import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.agent.ByteBuddyAgent;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.implementation.FixedValue;
 import net.bytebuddy.test.utility.AgentAttachmentRule;
 import net.bytebuddy.test.utility.JavaVersionRule;
@@ -12,12 +13,17 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.MethodRule;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
 
 import java.lang.instrument.ClassDefinition;
 import java.lang.instrument.Instrumentation;
 import java.security.ProtectionDomain;
-import java.util.Collections;
+import java.util.*;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static junit.framework.TestCase.assertEquals;
 import static net.bytebuddy.matcher.ElementMatchers.named;
@@ -150,6 +156,101 @@ public class ClassReloadingStrategyTest {
         }
     }
 
+    @Test
+    @AgentAttachmentRule.Enforce(retransformsClasses = true)
+    public void testBulkReload() throws Exception {
+        assertThat(ByteBuddyAgent.install(), instanceOf(Instrumentation.class));
+        Foo foo = new Foo();
+        Baz baz = new Baz();
+        assertThat(foo.foo(), is(FOO));
+        assertThat(baz.bar(), is(FOO));
+        ClassReloadingStrategy classReloadingStrategy = ClassReloadingStrategy.fromInstalledAgent();
+        Map<Class<?>, DynamicType.Builder<?>> builders = new LinkedHashMap<Class<?>, DynamicType.Builder<?>>();
+        builders.put(Foo.class, new ByteBuddy().redefine(Foo.class).method(named(FOO)).intercept(FixedValue.value(BAR)));
+        builders.put(Baz.class, new ByteBuddy().redefine(Baz.class).method(named(BAR)).intercept(FixedValue.value(BAR)));
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Map<TypeDescription, Class<?>> loaded = classReloadingStrategy.reload(builders, executorService);
+            assertThat(loaded.get(TypeDescription.ForLoadedType.of(Foo.class)), is((Object) Foo.class));
+            assertThat(loaded.get(TypeDescription.ForLoadedType.of(Baz.class)), is((Object) Baz.class));
+            assertThat(foo.foo(), is(BAR));
+            assertThat(baz.foo(), is(BAR));
+            assertThat(baz.bar(), is(BAR));
+        } finally {
+            executorService.shutdown();
+            classReloadingStrategy.reset(Foo.class, Baz.class);
+            assertThat(foo.foo(), is(FOO));
+            assertThat(baz.bar(), is(FOO));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBulkReloadRenamed() throws Exception {
+        Instrumentation instrumentation = mock(Instrumentation.class);
+        when(instrumentation.isRedefineClassesSupported()).thenReturn(true);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            ClassReloadingStrategy.of(instrumentation).reload(Collections.<Class<?>, DynamicType.Builder<?>>singletonMap(Foo.class, new ByteBuddy().redefine(Qux.class)), executorService);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testBulkReloadSingleRedefinition() throws Exception {
+        Instrumentation instrumentation = mock(Instrumentation.class);
+        when(instrumentation.isRedefineClassesSupported()).thenReturn(true);
+        Map<Class<?>, DynamicType.Builder<?>> builders = new LinkedHashMap<Class<?>, DynamicType.Builder<?>>();
+        builders.put(Baz.class, new ByteBuddy().redefine(Baz.class));
+        builders.put(Bar.class, new ByteBuddy().redefine(Bar.class));
+        builders.put(Foo.class, new ByteBuddy().redefine(Foo.class));
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            ClassReloadingStrategy.of(instrumentation).reload(builders, executorService);
+        } finally {
+            executorService.shutdown();
+        }
+        ArgumentCaptor<ClassDefinition> classDefinition = ArgumentCaptor.forClass(ClassDefinition.class);
+        verify(instrumentation).redefineClasses(classDefinition.capture());
+        assertThat(classDefinition.getAllValues().size(), is(3));
+        assertEquals(Baz.class, classDefinition.getAllValues().get(0).getDefinitionClass());
+        assertEquals(Bar.class, classDefinition.getAllValues().get(1).getDefinitionClass());
+        assertEquals(Foo.class, classDefinition.getAllValues().get(2).getDefinitionClass());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBulkReloadDoesNotCancelCompletedCreation() throws Exception {
+        Instrumentation instrumentation = mock(Instrumentation.class);
+        when(instrumentation.isRedefineClassesSupported()).thenReturn(true);
+        ExecutorService executorService = mock(ExecutorService.class);
+        Future<Object> future = mock(Future.class);
+        when(executorService.submit(Mockito.any(Callable.class))).thenReturn(future);
+        when(future.get()).thenReturn(new ByteBuddy().redefine(Foo.class).make());
+        ClassReloadingStrategy.of(instrumentation).reload(Collections.<Class<?>, DynamicType.Builder<?>>singletonMap(Foo.class, new ByteBuddy().redefine(Foo.class)), executorService);
+        verify(future, never()).cancel(anyBoolean());
+        ArgumentCaptor<ClassDefinition> classDefinition = ArgumentCaptor.forClass(ClassDefinition.class);
+        verify(instrumentation).redefineClasses(classDefinition.capture());
+        assertEquals(Foo.class, classDefinition.getValue().getDefinitionClass());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    @SuppressWarnings("unchecked")
+    public void testBulkReloadCancelsCreationOnFailure() throws Exception {
+        Instrumentation instrumentation = mock(Instrumentation.class);
+        when(instrumentation.isRedefineClassesSupported()).thenReturn(true);
+        ExecutorService executorService = mock(ExecutorService.class);
+        Future<Object> future = mock(Future.class);
+        when(executorService.submit(Mockito.any(Callable.class))).thenReturn(future);
+        when(future.get()).thenThrow(new ExecutionException(new Exception()));
+        try {
+            ClassReloadingStrategy.of(instrumentation).reload(Collections.<Class<?>, DynamicType.Builder<?>>singletonMap(Foo.class, new ByteBuddy().redefine(Foo.class)), executorService);
+        } finally {
+            verify(future).cancel(true);
+            verify(instrumentation, never()).redefineClasses(Mockito.<ClassDefinition>any());
+        }
+    }
+
     @Test
     public void testPreregisteredType() throws Exception {
         Instrumentation instrumentation = mock(Instrumentation.class);
@@ -274,6 +375,13 @@ public class ClassReloadingStrategyTest {
         }
     }
 
+    public static class Baz extends Foo {
+
+        public String bar() {
+            return FOO;
+        }
+    }
+
     public static class Bar {
 
         @SuppressWarnings("unused")
@@ -0,0 +1,245 @@
+package net.bytebuddy.dynamic.scaffold;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.StubMethod;
+import org.junit.Test;
+
+import java.lang.ref.Reference;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class MethodGraphCompilerDefaultWithCacheTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    @Test
+    public void testSameGraphAsDefault() throws Exception {
+        MethodGraph.Compiler compiler = MethodGraph.Compiler.Default.WithCache.ofJavaHierarchy().scoped(getClass().getClassLoader());
+        for (Class<?> type : new Class<?>[]{Foo.class, Bar.class, Foo.class, GenericBar.class}) {
+            MethodGraph.Linked cached = compiler.compile(TypeDescription.ForLoadedType.of(type));
+            MethodGraph.Linked uncached = MethodGraph.Compiler.Default.forJavaHierarchy().compile(TypeDescription.ForLoadedType.of(type));
+            assertThat(cached.listNodes(), is(uncached.listNodes()));
+            assertThat(cached.getSuperClassGraph().listNodes(), is(uncached.getSuperClassGraph().listNodes()));
+        }
+    }
+
+    @Test
+    public void testNonGenericSuperTypeAnalyzedOnce() throws Exception {
+        CountingVisitor visitor = new CountingVisitor();
+        MethodGraph.Compiler compiler = new MethodGraph.Compiler.Default.WithCache<MethodGraph.Compiler.Default.Harmonizer.ForJavaMethod.Token>(MethodGraph.Compiler.Default.Harmonizer.ForJavaMethod.INSTANCE,
+                MethodGraph.Compiler.Default.Merger.Directional.LEFT,
+                visitor).scoped(getClass().getClassLoader());
+        compiler.compile(TypeDescription.ForLoadedType.of(Foo.class));
+        compiler.compile(TypeDescription.ForLoadedType.of(Bar.class));
+        assertThat(visitor.count(Base.class), is(2));
+        assertThat(visitor.count(Object.class), is(1));
+    }
+
+    @Test
+    public void testGenericSuperTypeNotCached() throws Exception {
+        CountingVisitor visitor = new CountingVisitor();
+        MethodGraph.Compiler compiler = new MethodGraph.Compiler.Default.WithCache<MethodGraph.Compiler.Default.Harmonizer.ForJavaMethod.Token>(MethodGraph.Compiler.Default.Harmonizer.ForJavaMethod.INSTANCE,
+                MethodGraph.Compiler.Default.Merger.Directional.LEFT,
+                visitor).scoped(getClass().getClassLoader());
+        compiler.compile(TypeDescription.ForLoadedType.of(GenericBar.class));
+        compiler.compile(TypeDescription.ForLoadedType.of(GenericBar.class));
+        assertThat(visitor.count(Object.class), is(2));
+    }
+
+    @Test
+    public void testForeignViewPointNotCached() throws Exception {
+        CountingVisitor visitor = new CountingVisitor();
+        MethodGraph.Compiler compiler = new MethodGraph.Compiler.Default.WithCache<MethodGraph.Compiler.Default.Harmonizer.ForJavaMethod.Token>(MethodGraph.Compiler.Default.Harmonizer.ForJavaMethod.INSTANCE,
+                MethodGraph.Compiler.Default.Merger.Directional.LEFT,
+                visitor).scoped(getClass().getClassLoader());
+        compiler.compile(TypeDescription.ForLoadedType.of(Foo.class), TypeDescription.OBJECT);
+        compiler.compile(TypeDescription.ForLoadedType.of(Foo.class), TypeDescription.OBJECT);
+        assertThat(visitor.count(Object.class), is(2));
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        CountingVisitor visitor = new CountingVisitor();
+        MethodGraph.Compiler.Default.WithCache<?> compiler = new MethodGraph.Compiler.Default.WithCache<MethodGraph.Compiler.Default.Harmonizer.ForJavaMethod.Token>(MethodGraph.Compiler.Default.Harmonizer.ForJavaMethod.INSTANCE,
+                MethodGraph.Compiler.Default.Merger.Directional.LEFT,
+                visitor);
+        compiler.scoped(getClass().getClassLoader()).compile(TypeDescription.ForLoadedType.of(Foo.class));
+        compiler.clear();
+        compiler.scoped(getClass().getClassLoader()).compile(TypeDescription.ForLoadedType.of(Foo.class));
+        assertThat(visitor.count(Object.class), is(2));
+    }
+
+    @Test
+    public void testUnscopedNotCached() throws Exception {
+        CountingVisitor visitor = new CountingVisitor();
+        MethodGraph.Compiler compiler = new MethodGraph.Compiler.Default.WithCache<MethodGraph.Compiler.Default.Harmonizer.ForJavaMethod.Token>(MethodGraph.Compiler.Default.Harmonizer.ForJavaMethod.INSTANCE,
+                MethodGraph.Compiler.Default.Merger.Directional.LEFT,
+                visitor);
+        compiler.compile(TypeDescription.ForLoadedType.of(Foo.class));
+        compiler.compile(TypeDescription.ForLoadedType.of(Foo.class));
+        assertThat(visitor.count(Object.class), is(2));
+    }
+
+    @Test
+    public void testCachedPerClassLoader() throws Exception {
+        CountingVisitor visitor = new CountingVisitor();
+        MethodGraph.Compiler.Default.WithCache<?> compiler = new MethodGraph.Compiler.Default.WithCache<MethodGraph.Compiler.Default.Harmonizer.ForJavaMethod.Token>(MethodGraph.Compiler.Default.Harmonizer.ForJavaMethod.INSTANCE,
+                MethodGraph.Compiler.Default.Merger.Directional.LEFT,
+                visitor);
+        compiler.scoped(getClass().getClassLoader()).compile(TypeDescription.ForLoadedType.of(Foo.class));
+        compiler.scoped(null).compile(TypeDescription.ForLoadedType.of(Foo.class));
+        compiler.scoped(getClass().getClassLoader()).compile(TypeDescription.ForLoadedType.of(Foo.class));
+        assertThat(visitor.count(Object.class), is(2));
+    }
+
+    @Test
+    public void testEquallyNamedTypesOfDifferentClassLoaders() throws Exception {
+        MethodGraph.Compiler.Default.WithCache<?> compiler = MethodGraph.Compiler.Default.WithCache.ofJavaHierarchy();
+        Class<?> first = subclass(FOO), second = subclass(BAR);
+        assertThat(first.getName(), is(second.getName()));
+        assertThat(compiler.scoped(first.getClassLoader()).compile(TypeDescription.ForLoadedType.of(first))
+                .locate(new MethodDescription.SignatureToken(FOO, TypeDescription.VOID, Collections.<TypeDescription>emptyList()))
+                .getSort(), is(MethodGraph.Node.Sort.RESOLVED));
+        MethodGraph.Linked methodGraph = compiler.scoped(second.getClassLoader()).compile(TypeDescription.ForLoadedType.of(second));
+        assertThat(methodGraph.locate(new MethodDescription.SignatureToken(FOO, TypeDescription.VOID, Collections.<TypeDescription>emptyList()))
+                .getSort(), is(MethodGraph.Node.Sort.UNRESOLVED));
+        assertThat(methodGraph.locate(new MethodDescription.SignatureToken(BAR, TypeDescription.VOID, Collections.<TypeDescription>emptyList()))
+                .getSort(), is(MethodGraph.Node.Sort.RESOLVED));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testClearedStoresAreExpunged() throws Exception {
+        MethodGraph.Compiler.Default.WithCache<?> compiler = MethodGraph.Compiler.Default.WithCache.ofJavaHierarchy();
+        compiler.scoped(getClass().getClassLoader()).compile(TypeDescription.ForLoadedType.of(Foo.class));
+        Field field = MethodGraph.Compiler.Default.WithCache.class.getDeclaredField("cache");
+        field.setAccessible(true);
+        Map<?, Map<?, Reference<?>>> cache = (Map<?, Map<?, Reference<?>>>) field.get(compiler);
+        assertThat(cache.size(), is(1));
+        for (Map<?, Reference<?>> stores : cache.values()) {
+            assertThat(stores.isEmpty(), is(false));
+            for (Reference<?> reference : stores.values()) {
+                reference.clear();
+                assertThat(reference.enqueue(), is(true));
+            }
+        }
+        compiler.scoped(getClass().getClassLoader()).compile(TypeDescription.ForLoadedType.of(Foo.class), TypeDescription.OBJECT);
+        assertThat(cache.isEmpty(), is(true));
+    }
+
+    @Test
+    public void testPackagePrivateMethodCachedPerPackage() throws Exception {
+        MethodGraph.Compiler compiler = MethodGraph.Compiler.Default.WithCache.ofJavaHierarchy().scoped(getClass().getClassLoader());
+        MethodDescription.SignatureToken token = TypeDescription.ForLoadedType.of(Base.class).getDeclaredMethods().filter(named(BAR)).getOnly().asSignatureToken();
+        assertThat(compiler.compile(InstrumentedType.Default.of(Foo.class.getPackage().getName() + "." + FOO,
+                TypeDescription.Generic.OfNonGenericType.ForLoadedType.of(Base.class),
+                Visibility.PUBLIC)).locate(token).getSort(), is(MethodGraph.Node.Sort.RESOLVED));
+        assertThat(compiler.compile(InstrumentedType.Default.of(FOO + "." + FOO,
+                TypeDescription.Generic.OfNonGenericType.ForLoadedType.of(Base.class),
+                Visibility.PUBLIC)).locate(token).getSort(), is(MethodGraph.Node.Sort.UNRESOLVED));
+        assertThat(compiler.compile(InstrumentedType.Default.of(Foo.class.getPackage().getName() + "." + BAR,
+                TypeDescription.Generic.OfNonGenericType.ForLoadedType.of(Base.class),
+                Visibility.PUBLIC)).locate(token).getSort(), is(MethodGraph.Node.Sort.RESOLVED));
+    }
+
+    private static Class<?> subclass(String name) {
+        DynamicType.Unloaded<?> base = new ByteBuddy()
+                .subclass(Object.class)
+                .name(Base.class.getName() + "$Dynamic")
+                .defineMethod(name, void.class, Visibility.PUBLIC)
+                .intercept(StubMethod.INSTANCE)
+                .make();
+        return new ByteBuddy()
+                .subclass(base.getTypeDescription())
+                .name(Foo.class.getName() + "$Dynamic")
+                .make()
+                .include(base)
+                .load(ClassLoadingStrategy.BOOTSTRAP_LOADER, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+    }
+
+    public static class Base {
+
+        public void foo() {
+            /* empty */
+        }
+
+        void bar() {
+            /* empty */
+        }
+    }
+
+    public static class Foo extends Base {
+
+        @Override
+        public void foo() {
+            /* empty */
+        }
+    }
+
+    public static class Bar extends Base {
+        /* empty */
+    }
+
+    public static class GenericBase<T> {
+
+        public T foo(T value) {
+            return value;
+        }
+    }
+
+    public static class GenericBar extends GenericBase<String> {
+        /* empty */
+    }
+
+    private static class CountingVisitor implements TypeDescription.Generic.Visitor<TypeDescription.Generic> {
+
+        private final Map<String, Integer> counts = new HashMap<String, Integer>();
+
+        private int count(Class<?> type) {
+            Integer count = counts.get(type.getName());
+            return count == null ? 0 : count;
+        }
+
+        private TypeDescription.Generic register(TypeDescription.Generic typeDescription) {
+            counts.put(typeDescription.asErasure().getName(), count(typeDescription.asErasure()) + 1);
+            return typeDescription;
+        }
+
+        private int count(TypeDescription typeDescription) {
+            Integer count = counts.get(typeDescription.getName());
+            return count == null ? 0 : count;
+        }
+
+        public TypeDescription.Generic onGenericArray(TypeDescription.Generic genericArray) {
+            return register(genericArray).accept(TypeDescription.Generic.Visitor.Reifying.INITIATING);
+        }
+
+        public TypeDescription.Generic onWildcard(TypeDescription.Generic wildcard) {
+            return register(wildcard).accept(TypeDescription.Generic.Visitor.Reifying.INITIATING);
+        }
+
+        public TypeDescription.Generic onParameterizedType(TypeDescription.Generic parameterizedType) {
+            return register(parameterizedType).accept(TypeDescription.Generic.Visitor.Reifying.INITIATING);
+        }
+
+        public TypeDescription.Generic onTypeVariable(TypeDescription.Generic typeVariable) {
+            return register(typeVariable).accept(TypeDescription.Generic.Visitor.Reifying.INITIATING);
+        }
+
+        public TypeDescription.Generic onNonGenericType(TypeDescription.Generic typeDescription) {
+            return register(typeDescription).accept(TypeDescription.Generic.Visitor.Reifying.INITIATING);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package net.bytebuddy.dynamic.scaffold;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.loading.ByteArrayClassLoader;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.FixedValue;
+import org.junit.Test;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class MethodGraphCompilerLazyTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    @Test
+    public void testDeclaredMethodsOnly() throws Exception {
+        MethodGraph.Linked methodGraph = new MethodGraph.Compiler.Lazy().compile(TypeDescription.ForLoadedType.of(Foo.class));
+        assertThat(methodGraph.listNodes().asMethodList(), is((Object) TypeDescription.ForLoadedType.of(Foo.class).getDeclaredMethods().filter(isVirtual())));
+    }
+
+    @Test
+    public void testNodeEqualsCompleteGraph() throws Exception {
+        TypeDescription typeDescription = TypeDescription.ForLoadedType.of(GenericBar.class);
+        MethodDescription methodDescription = typeDescription.getDeclaredMethods().filter(named(FOO).and(not(isBridge()))).getOnly();
+        MethodGraph.Node node = new MethodGraph.Compiler.Lazy().compile(typeDescription).locate(methodDescription.asSignatureToken());
+        MethodGraph.Node expected = MethodGraph.Compiler.Default.forJavaHierarchy().compile(typeDescription).locate(methodDescription.asSignatureToken());
+        assertThat(node.getSort(), is(expected.getSort()));
+        assertThat(node.getRepresentative(), is(expected.getRepresentative()));
+        assertThat(node.getMethodTypes(), is(expected.getMethodTypes()));
+        assertThat(node.getMethodTypes().size(), is(2));
+        assertThat(node.getVisibility(), is(expected.getVisibility()));
+    }
+
+    @Test
+    public void testInheritedMethodResolved() throws Exception {
+        TypeDescription typeDescription = TypeDescription.ForLoadedType.of(Foo.class);
+        MethodDescription.SignatureToken token = TypeDescription.ForLoadedType.of(Base.class).getDeclaredMethods().filter(named(BAR)).getOnly().asSignatureToken();
+        assertThat(new MethodGraph.Compiler.Lazy().compile(typeDescription).locate(token),
+                is(MethodGraph.Compiler.Default.forJavaHierarchy().compile(typeDescription).locate(token)));
+    }
+
+    @Test
+    public void testLinkedGraphsResolved() throws Exception {
+        TypeDescription typeDescription = TypeDescription.ForLoadedType.of(Foo.class);
+        MethodGraph.Linked methodGraph = new MethodGraph.Compiler.Lazy().compile(typeDescription);
+        MethodGraph.Linked expected = MethodGraph.Compiler.Default.forJavaHierarchy().compile(typeDescription);
+        assertThat(methodGraph.getSuperClassGraph().listNodes(), is(expected.getSuperClassGraph().listNodes()));
+        assertThat(methodGraph.getInterfaceGraph(TypeDescription.ForLoadedType.of(Runnable.class)).listNodes(),
+                is(expected.getInterfaceGraph(TypeDescription.ForLoadedType.of(Runnable.class)).listNodes()));
+    }
+
+    @Test
+    public void testHierarchyResolvedOnDemand() throws Exception {
+        CountingVisitor visitor = new CountingVisitor();
+        MethodGraph.Linked methodGraph = new MethodGraph.Compiler.Lazy(new MethodGraph.Compiler.Default<MethodGraph.Compiler.Default.Harmonizer.ForJavaMethod.Token>(MethodGraph.Compiler.Default.Harmonizer.ForJavaMethod.INSTANCE,
+                MethodGraph.Compiler.Default.Merger.Directional.LEFT,
+                visitor)).compile(TypeDescription.ForLoadedType.of(Foo.class));
+        MethodGraph.Node node = methodGraph.locate(TypeDescription.ForLoadedType.of(Foo.class).getDeclaredMethods().filter(named(FOO)).getOnly().asSignatureToken());
+        assertThat(visitor.count, is(0));
+        node.getMethodTypes();
+        int count = visitor.count;
+        assertThat(count > 0, is(true));
+        node.getVisibility();
+        assertThat(visitor.count, is(count));
+    }
+
+    @Test
+    public void testRebase() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .with(new MethodGraph.Compiler.Lazy())
+                .rebase(GenericBar.class)
+                .method(named(FOO)).intercept(FixedValue.value(BAR))
+                .make()
+                .load(new ByteArrayClassLoader(ClassLoadingStrategy.BOOTSTRAP_LOADER,
+                        ClassFileLocator.ForClassLoader.readToNames(GenericBase.class)), ClassLoadingStrategy.Default.INJECTION)
+                .getLoaded();
+        Object instance = type.getDeclaredConstructor().newInstance();
+        assertThat(type.getDeclaredMethod(FOO, String.class).invoke(instance, FOO), is((Object) BAR));
+        assertThat(type.getSuperclass().getDeclaredMethod(FOO, Object.class).invoke(instance, FOO), is((Object) BAR));
+    }
+
+    public static class Base {
+
+        public void foo() {
+            /* empty */
+        }
+
+        public void bar() {
+            /* empty */
+        }
+    }
+
+    public static class Foo extends Base implements Runnable {
+
+        @Override
+        public void foo() {
+            /* empty */
+        }
+
+        public void run() {
+            /* empty */
+        }
+    }
+
+    public static class GenericBase<T> {
+
+        public T foo(T value) {
+            return value;
+        }
+    }
+
+    public static class GenericBar extends GenericBase<String> {
+
+        @Override
+        public String foo(String value) {
+            return value;
+        }
+    }
+
+    private static class CountingVisitor implements TypeDescription.Generic.Visitor<TypeDescription.Generic> {
+
+        private int count;
+
+        public TypeDescription.Generic onGenericArray(TypeDescription.Generic genericArray) {
+            count++;
+            return genericArray.accept(TypeDescription.Generic.Visitor.Reifying.INITIATING);
+        }
+
+        public TypeDescription.Generic onWildcard(TypeDescription.Generic wildcard) {
+            count++;
+            return wildcard.accept(TypeDescription.Generic.Visitor.Reifying.INITIATING);
+        }
+
+        public TypeDescription.Generic onParameterizedType(TypeDescription.Generic parameterizedType) {
+            count++;
+            return parameterizedType.accept(TypeDescription.Generic.Visitor.Reifying.INITIATING);
+        }
+
+        public TypeDescription.Generic onTypeVariable(TypeDescription.Generic typeVariable) {
+            count++;
+            return typeVariable.accept(TypeDescription.Generic.Visitor.Reifying.INITIATING);
+        }
+
+        public TypeDescription.Generic onNonGenericType(TypeDescription.Generic typeDescription) {
+            count++;
+            return typeDescription.accept(TypeDescription.Generic.Visitor.Reifying.INITIATING);
+        }
+    }
+}
@@ -48,6 +48,49 @@ public class TypePoolCacheProviderTest {
         assertThat(simple.find(FOO), sameInstance(resolution));
     }
 
+    @Test
+    public void testTiered() throws Exception {
+        TypePool.CacheProvider shared = new TypePool.CacheProvider.Simple();
+        TypePool.CacheProvider.Tiered tiered = new TypePool.CacheProvider.Tiered(shared);
+        assertThat(tiered.getShared(), sameInstance(shared));
+        assertThat(tiered.find(FOO), nullValue(TypePool.Resolution.class));
+        assertThat(tiered.register(FOO, resolution), sameInstance(resolution));
+        assertThat(tiered.find(FOO), sameInstance(resolution));
+        assertThat(shared.find(FOO), sameInstance(resolution));
+        TypePool.Resolution resolution = mock(TypePool.Resolution.class);
+        assertThat(tiered.register(FOO, resolution), sameInstance(this.resolution));
+        tiered.clear();
+        assertThat(tiered.find(FOO), nullValue(TypePool.Resolution.class));
+        assertThat(shared.find(FOO), nullValue(TypePool.Resolution.class));
+    }
+
+    @Test
+    public void testTieredSharedBetweenThreads() throws Exception {
+        final TypePool.CacheProvider.Tiered tiered = new TypePool.CacheProvider.Tiered();
+        Thread thread = new Thread(new Runnable() {
+            public void run() {
+                tiered.register(FOO, resolution);
+            }
+        });
+        thread.start();
+        thread.join();
+        assertThat(tiered.find(FOO), sameInstance(resolution));
+    }
+
+    @Test
+    public void testTieredLocalCacheIsInvalidatedOnClear() throws Exception {
+        final TypePool.CacheProvider.Tiered tiered = new TypePool.CacheProvider.Tiered();
+        tiered.register(FOO, resolution);
+        Thread thread = new Thread(new Runnable() {
+            public void run() {
+                tiered.clear();
+            }
+        });
+        thread.start();
+        thread.join();
+        assertThat(tiered.find(FOO), nullValue(TypePool.Resolution.class));
+    }
+
     @Test
     public void testSimpleMap() {
         ConcurrentMap<String, TypePool.Resolution> storage = new ConcurrentHashMap<String, TypePool.Resolution>();
@@ -1,14 +1,35 @@
 package net.bytebuddy.pool;
 
 import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 public class TypePoolDefaultCacheTest {
 
+    private static final String FOO = "foo", BAR = "bar";
+
+    private static final int THREADS = 4;
+
     @Test
     public void testCache() throws Exception {
         TypePool typePool = TypePool.Default.ofSystemLoader();
@@ -17,4 +38,165 @@ public class TypePoolDefaultCacheTest {
         typePool.clear();
         assertThat(typePool.describe(Void.class.getName()).resolve(), not(sameInstance(typeDescription)));
     }
+
+    @Test
+    public void testSingleFlight() throws Exception {
+        CountingClassFileLocator classFileLocator = new CountingClassFileLocator();
+        assertThat(describeConcurrently(new TypePool.Default(new TypePool.CacheProvider.Simple(),
+                classFileLocator,
+                TypePool.Default.ReaderMode.FAST,
+                TypePool.Empty.INSTANCE,
+                true)), is(1));
+        assertThat(classFileLocator.count.get(), is(1));
+    }
+
+    @Test
+    public void testSingleFlightLazy() throws Exception {
+        CountingClassFileLocator classFileLocator = new CountingClassFileLocator();
+        assertThat(describeConcurrently(new TypePool.Default.WithLazyResolution(new TypePool.CacheProvider.Simple(),
+                classFileLocator,
+                TypePool.Default.ReaderMode.FAST,
+                TypePool.Empty.INSTANCE,
+                true)), is(1));
+        assertThat(classFileLocator.count.get(), is(1));
+    }
+
+    @Test
+    public void testSingleFlightCache() throws Exception {
+        TypePool typePool = new TypePool.Default(new TypePool.CacheProvider.Simple(),
+                ClassFileLocator.ForClassLoader.ofSystemLoader(),
+                TypePool.Default.ReaderMode.FAST,
+                TypePool.Empty.INSTANCE,
+                true);
+        TypeDescription typeDescription = typePool.describe(Void.class.getName()).resolve();
+        assertThat(typePool.describe(Void.class.getName()).resolve(), sameInstance(typeDescription));
+    }
+
+    @Test
+    public void testSingleFlightUnresolved() throws Exception {
+        TypePool typePool = new TypePool.Default(new TypePool.CacheProvider.Simple(),
+                ClassFileLocator.NoOp.INSTANCE,
+                TypePool.Default.ReaderMode.FAST,
+                TypePool.Empty.INSTANCE,
+                true);
+        assertThat(typePool.describe(Void.class.getName()).isResolved(), is(false));
+    }
+
+    @Test
+    public void testSingleFlightReentrant() throws Exception {
+        final ReentrantTypePool typePool = new ReentrantTypePool(null);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            assertThat(executorService.submit(new Callable<Boolean>() {
+                public Boolean call() {
+                    return typePool.describe(FOO).isResolved();
+                }
+            }).get(10, TimeUnit.SECONDS), is(false));
+        } finally {
+            executorService.shutdownNow();
+        }
+        assertThat(typePool.count.get(), is(2));
+    }
+
+    @Test
+    public void testSingleFlightCyclic() throws Exception {
+        final ReentrantTypePool typePool = new ReentrantTypePool(new CyclicBarrier(2));
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> foo = executorService.submit(new Callable<Boolean>() {
+                public Boolean call() {
+                    return typePool.describe(FOO).isResolved();
+                }
+            }), bar = executorService.submit(new Callable<Boolean>() {
+                public Boolean call() {
+                    return typePool.describe(BAR).isResolved();
+                }
+            });
+            assertThat(foo.get(10, TimeUnit.SECONDS), is(false));
+            assertThat(bar.get(10, TimeUnit.SECONDS), is(false));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static int describeConcurrently(final TypePool typePool) throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+            for (int index = 0; index < THREADS; index++) {
+                futures.add(executorService.submit(new Callable<Integer>() {
+                    public Integer call() throws Exception {
+                        latch.await();
+                        return typePool.describe(Sample.class.getName()).resolve().getDeclaredFields().size();
+                    }
+                }));
+            }
+            latch.countDown();
+            int size = -1;
+            for (Future<Integer> future : futures) {
+                size = future.get();
+            }
+            return size;
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    private static class CountingClassFileLocator implements ClassFileLocator {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        public Resolution locate(String name) throws IOException {
+            if (name.equals(Sample.class.getName())) {
+                count.incrementAndGet();
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException exception) {
+                    throw new AssertionError(exception);
+                }
+            }
+            return ClassFileLocator.ForClassLoader.of(Sample.class.getClassLoader()).locate(name);
+        }
+
+        public void close() {
+            /* do nothing */
+        }
+    }
+
+    private static class ReentrantTypePool extends TypePool.AbstractBase {
+
+        private final CyclicBarrier barrier;
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        private final Set<String> names = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+        private ReentrantTypePool(CyclicBarrier barrier) {
+            super(new CacheProvider.Simple(), true);
+            this.barrier = barrier;
+        }
+
+        protected Resolution doDescribe(String name) {
+            count.incrementAndGet();
+            if (names.add(name)) {
+                if (barrier == null) {
+                    describe(name);
+                } else {
+                    try {
+                        barrier.await(10, TimeUnit.SECONDS);
+                    } catch (Exception exception) {
+                        throw new AssertionError(exception);
+                    }
+                    describe(name.equals(FOO) ? BAR : FOO);
+                }
+            }
+            return new Resolution.Illegal(name);
+        }
+    }
+
+    private static class Sample {
+
+        private Object foo;
+    }
 }
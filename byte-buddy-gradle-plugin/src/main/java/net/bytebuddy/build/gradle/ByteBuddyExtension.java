@@ -139,6 +139,15 @@ public class ByteBuddyExtension {
                 : new MethodNameTransformer.Suffixing(suffix);
     }
 
+    /**
+     * Returns the suffix to apply upon rebased methods or {@code null} if a random suffix should be used.
+     *
+     * @return The suffix to apply upon rebased methods or {@code null} if a random suffix should be used.
+     */
+    public String getSuffix() {
+        return suffix;
+    }
+
     /**
      * Sets the suffix to apply upon rebased methods.
      *
@@ -0,0 +1,776 @@
+/*
+ * Copyright 2014 - 2020 Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.build.gradle;
+
+import groovy.lang.Closure;
+import net.bytebuddy.build.Plugin;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import org.gradle.api.Action;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.Project;
+import org.gradle.api.plugins.JavaPluginConvention;
+import org.gradle.api.specs.Spec;
+import org.gradle.api.specs.Specs;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.api.tasks.TaskOutputs;
+import org.gradle.api.tasks.incremental.IncrementalTaskInputs;
+import org.gradle.api.tasks.incremental.InputFileDetails;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+/**
+ * <p>
+ * A task that applies a Byte Buddy transformation to the class files of a source folder and writes the transformed class files to a
+ * separate target folder. Other than the transformation that is appended to a compilation task by the {@link ByteBuddyPlugin}, this task
+ * declares its inputs and outputs such that Gradle can consider it up-to-date, can restore its output from a build cache and can supply
+ * the files that changed since the last execution. In the latter case, only the changed files are transformed.
+ * </p>
+ * <p>
+ * The source folder is declared with a relative path sensitivity and the class path is declared as a runtime class path such that the
+ * task's output can be relocated between different checkouts if the build cache is used. Path sensitivity, class path normalization and
+ * caching are only declared if the running Gradle version supports them.
+ * </p>
+ * <p>
+ * <b>Important</b>: If a class file changes, only this class file is transformed anew. If a plugin's transformation of a type depends on
+ * the shape of another type, the dependent type must be recompiled for it to be transformed anew, what Gradle's incremental compilation
+ * normally implies. Class files that a transformation generates in addition to the transformed class files, such as auxiliary types,
+ * are recorded per class file of the source folder such that they are deleted once this class file is changed or removed.
+ * </p>
+ */
+public class ByteBuddyTask extends DefaultTask {
+
+    /**
+     * The names of the public property builder types of Gradle versions that support them.
+     */
+    private static final String[] PROPERTY_BUILDERS = {"org.gradle.api.tasks.TaskInputFilePropertyBuilder", "org.gradle.api.tasks.TaskOutputFilePropertyBuilder"};
+
+    /**
+     * The name of the file that records the class files that were generated for a class file of the source folder.
+     */
+    private static final String GENERATED = "generated.properties";
+
+    /**
+     * The Byte Buddy configuration of this task.
+     */
+    private final ByteBuddyExtension byteBuddyExtension;
+
+    /**
+     * The folder containing the class files to transform or {@code null} if no source is set.
+     */
+    private File source;
+
+    /**
+     * The folder to write the transformed class files to or {@code null} if no target is set.
+     */
+    private File target;
+
+    /**
+     * The class path that is required for resolving the transformed types.
+     */
+    private Iterable<File> classPath;
+
+    /**
+     * The isolation of the transformation.
+     */
+    private Isolation isolation;
+
+    /**
+     * Creates a new Byte Buddy task.
+     */
+    public ByteBuddyTask() {
+        byteBuddyExtension = new ByteBuddyExtension(getProject());
+        classPath = Collections.emptySet();
+        isolation = Isolation.NONE;
+        Object source = getInputs().dir(new Callable<File>() {
+            public File call() {
+                return ByteBuddyTask.this.source;
+            }
+        });
+        withPropertyName(source, "source");
+        withPathSensitivity(source, "RELATIVE");
+        Object classPath = getInputs().files(new Callable<Iterable<File>>() {
+            public Iterable<File> call() {
+                return ByteBuddyTask.this.classPath;
+            }
+        });
+        withPropertyName(classPath, "classPath");
+        withPathSensitivity(classPath, "NAME_ONLY");
+        withNormalizer(classPath, "org.gradle.api.tasks.ClasspathNormalizer");
+        Object pluginClassPath = getInputs().files(new Callable<List<File>>() {
+            public List<File> call() {
+                return getPluginClassPath();
+            }
+        });
+        withPropertyName(pluginClassPath, "pluginClassPath");
+        withPathSensitivity(pluginClassPath, "NAME_ONLY");
+        withNormalizer(pluginClassPath, "org.gradle.api.tasks.ClasspathNormalizer");
+        getInputs().property("configuration", new Callable<List<String>>() {
+            public List<String> call() {
+                return getConfiguration();
+            }
+        });
+        withPropertyName(getOutputs().dir(new Callable<File>() {
+            public File call() {
+                return ByteBuddyTask.this.target;
+            }
+        }), "target");
+        withPropertyName(getOutputs().file(new Callable<File>() {
+            public File call() {
+                return getGeneratedIndex();
+            }
+        }), "generated");
+        try {
+            TaskOutputs.class.getMethod("cacheIf", Spec.class).invoke(getOutputs(), Specs.SATISFIES_ALL);
+        } catch (NoSuchMethodException ignored) {
+            /* do nothing, build cache is not supported */
+        } catch (IllegalAccessException exception) {
+            throw new IllegalStateException("Cannot access build cache configuration", exception);
+        } catch (InvocationTargetException exception) {
+            throw new IllegalStateException("Cannot declare task as cacheable", exception.getCause());
+        }
+    }
+
+    /**
+     * Sets the folder containing the class files to transform.
+     *
+     * @param source The folder containing the class files to transform.
+     */
+    public void setSource(File source) {
+        this.source = source;
+    }
+
+    /**
+     * Sets the folder to write the transformed class files to.
+     *
+     * @param target The folder to write the transformed class files to.
+     */
+    public void setTarget(File target) {
+        this.target = target;
+    }
+
+    /**
+     * Sets the class path that is required for resolving the transformed types.
+     *
+     * @param classPath The class path that is required for resolving the transformed types.
+     */
+    public void setClassPath(Iterable<File> classPath) {
+        this.classPath = classPath;
+    }
+
+    /**
+     * Adds a transformation to apply.
+     *
+     * @param closure The closure for configuring the transformation.
+     */
+    public void transformation(Closure<?> closure) {
+        byteBuddyExtension.transformation(closure);
+    }
+
+    /**
+     * Adds an initialization to apply.
+     *
+     * @param closure The closure for configuring the initialization.
+     */
+    public void initialization(Closure<?> closure) {
+        byteBuddyExtension.initialization(closure);
+    }
+
+    /**
+     * Sets the suffix to apply upon rebased methods.
+     *
+     * @param suffix The suffix to apply upon rebased methods.
+     */
+    public void setSuffix(String suffix) {
+        byteBuddyExtension.setSuffix(suffix);
+    }
+
+    /**
+     * Determines if the build should fail upon discovering a live runtime initializer.
+     *
+     * @param failOnLiveInitializer {@code true} if the build should fail upon discovering a live runtime initializer.
+     */
+    public void setFailOnLiveInitializer(boolean failOnLiveInitializer) {
+        byteBuddyExtension.setFailOnLiveInitializer(failOnLiveInitializer);
+    }
+
+    /**
+     * Determines if the build should fail fast.
+     *
+     * @param failFast {@code true} if the build should fail fast.
+     */
+    public void setFailFast(boolean failFast) {
+        byteBuddyExtension.setFailFast(failFast);
+    }
+
+    /**
+     * Determines if extended parsing should be used.
+     *
+     * @param extendedParsing {@code true} if extended parsing should be used.
+     */
+    public void setExtendedParsing(boolean extendedParsing) {
+        byteBuddyExtension.setExtendedParsing(extendedParsing);
+    }
+
+    /**
+     * Sets the number of threads to use for transforming class files or {@code 0} for serial transformation.
+     *
+     * @param threads The number of threads to use for transforming class files or {@code 0} for serial transformation.
+     */
+    public void setThreads(int threads) {
+        byteBuddyExtension.setThreads(threads);
+    }
+
+    /**
+     * Sets the isolation of the transformation. Any isolation other than {@link Isolation#NONE} requires Gradle 5.6 or later.
+     *
+     * @param isolation The isolation of the transformation.
+     */
+    public void setIsolation(Isolation isolation) {
+        this.isolation = isolation;
+    }
+
+    /**
+     * Returns the file that records the class files that were generated for a class file of the source folder.
+     *
+     * @return The file that records the class files that were generated for a class file of the source folder.
+     */
+    protected File getGeneratedIndex() {
+        return new File(getTemporaryDir(), GENERATED);
+    }
+
+    /**
+     * Applies the transformation. If Gradle supplies the files that changed since the last execution, only the changed class files of
+     * the source folder are transformed and the transformations of removed class files are deleted from the target folder. Any class
+     * file that was generated for a changed or removed class file is deleted as well. If any other input changed or if the generated
+     * class files were not recorded, all class files are transformed.
+     *
+     * @param inputs The changes of the task's inputs since the last execution.
+     */
+    @TaskAction
+    public void apply(IncrementalTaskInputs inputs) {
+        if (source == null || target == null) {
+            throw new GradleException("Both a source and a target folder must be set");
+        } else if (source.getAbsoluteFile().equals(target.getAbsoluteFile())) {
+            throw new GradleException("Source and target folder must not be the same: " + source);
+        }
+        final List<File> changed = new ArrayList<File>(), removed = new ArrayList<File>();
+        if (inputs.isIncremental()) {
+            inputs.outOfDate(new Action<InputFileDetails>() {
+                public void execute(InputFileDetails inputFileDetails) {
+                    changed.add(inputFileDetails.getFile());
+                }
+            });
+            inputs.removed(new Action<InputFileDetails>() {
+                public void execute(InputFileDetails inputFileDetails) {
+                    removed.add(inputFileDetails.getFile());
+                }
+            });
+        }
+        try {
+            File index = getGeneratedIndex();
+            List<String> names = ForChangedFiles.relativize(source, changed), removedNames = ForChangedFiles.relativize(source, removed);
+            Properties generated = inputs.isIncremental() && names != null && removedNames != null
+                    ? RecordingTarget.read(index)
+                    : null;
+            if (generated == null) {
+                getLogger().info("Transforming all class files of {}", source);
+                getProject().delete(target, index);
+                if (!target.mkdirs()) {
+                    throw new GradleException("Could not create target folder: " + target);
+                }
+                names = null;
+            } else {
+                getLogger().info("Transforming {} changed files and removing {} files of {}", names.size(), removedNames.size(), source);
+                for (String name : removedNames) {
+                    delete(new File(target, name));
+                }
+                Set<String> owners = new HashSet<String>(names);
+                owners.addAll(removedNames);
+                Iterator<Map.Entry<Object, Object>> iterator = generated.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<Object, Object> entry = iterator.next();
+                    if (owners.contains(entry.getValue())) {
+                        delete(new File(target, (String) entry.getKey()));
+                        iterator.remove();
+                    }
+                }
+                RecordingTarget.write(index, generated);
+            }
+            if (isolation == Isolation.NONE) {
+                TransformationAction.apply(getProject(), byteBuddyExtension, source, classPath, names == null
+                        ? new Plugin.Engine.Source.ForFolder(source)
+                        : new ForChangedFiles(source, names), new RecordingTarget(new Plugin.Engine.Target.ForFolder(target), source, index));
+            } else {
+                toDispatcher().dispatch(isolation, WorkerRequest.of(byteBuddyExtension,
+                        source,
+                        target,
+                        index,
+                        classPath,
+                        TransformationAction.toClassFileVersion(getProject()),
+                        names));
+            }
+        } catch (IOException exception) {
+            throw new GradleException("Error accessing file system", exception);
+        }
+    }
+
+    /**
+     * Deletes a file of the target folder if it exists.
+     *
+     * @param file The file to delete.
+     */
+    private static void delete(File file) {
+        if (file.isFile() && !file.delete()) {
+            throw new GradleException("Could not delete " + file);
+        }
+    }
+
+    /**
+     * Creates a dispatcher for submitting a transformation to a Gradle worker. The dispatcher is created reflectively as
+     * the worker API is not available in all supported versions of Gradle.
+     *
+     * @return A dispatcher for submitting a transformation to a Gradle worker.
+     */
+    private WorkerRequest.Dispatcher toDispatcher() {
+        try {
+            Object objectFactory = Project.class.getMethod("getObjects").invoke(getProject());
+            return (WorkerRequest.Dispatcher) Class.forName("org.gradle.api.model.ObjectFactory")
+                    .getMethod("newInstance", Class.class, Object[].class)
+                    .invoke(objectFactory, Class.forName("net.bytebuddy.build.gradle.ByteBuddyWorkAction$Dispatcher"), new Object[0]);
+        } catch (ClassNotFoundException exception) {
+            throw new GradleException("Isolation " + isolation + " requires a Gradle version that supports the worker API", exception);
+        } catch (NoSuchMethodException exception) {
+            throw new GradleException("Isolation " + isolation + " requires a Gradle version that supports the worker API", exception);
+        } catch (LinkageError error) {
+            throw new GradleException("Isolation " + isolation + " requires a Gradle version that supports the worker API", error);
+        } catch (IllegalAccessException exception) {
+            throw new IllegalStateException("Cannot access object factory", exception);
+        } catch (InvocationTargetException exception) {
+            throw new GradleException("Cannot create worker dispatcher", exception.getCause());
+        }
+    }
+
+    /**
+     * Returns the class path of all plugins and of the initialization without the source folder which is declared separately.
+     *
+     * @return The class path of all plugins and of the initialization.
+     */
+    protected List<File> getPluginClassPath() {
+        List<File> pluginClassPath = new ArrayList<File>();
+        if (source != null) {
+            List<AbstractUserConfiguration> configurations = new ArrayList<AbstractUserConfiguration>(byteBuddyExtension.getTransformations());
+            configurations.add(byteBuddyExtension.getInitialization());
+            for (AbstractUserConfiguration configuration : configurations) {
+                for (File file : configuration.getClassPath(source, classPath)) {
+                    if (!file.equals(source)) {
+                        pluginClassPath.add(file);
+                    }
+                }
+            }
+        }
+        return pluginClassPath;
+    }
+
+    /**
+     * Returns a description of this task's configuration that is considered as an input of this task.
+     *
+     * @return A description of this task's configuration.
+     */
+    protected List<String> getConfiguration() {
+        List<String> configuration = new ArrayList<String>();
+        for (Transformation transformation : byteBuddyExtension.getTransformations()) {
+            configuration.add("plugin:" + transformation.getRawPlugin());
+            for (PluginArgument argument : transformation.getArguments()) {
+                configuration.add("argument:" + argument.getIndex() + "=" + argument.getValue());
+            }
+        }
+        configuration.add("entryPoint:" + byteBuddyExtension.getInitialization().getRawEntryPoint());
+        configuration.add("suffix:" + byteBuddyExtension.getSuffix());
+        configuration.add("failOnLiveInitializer:" + byteBuddyExtension.isFailOnLiveInitializer());
+        configuration.add("failFast:" + byteBuddyExtension.isFailFast());
+        configuration.add("extendedParsing:" + byteBuddyExtension.isExtendedParsing());
+        JavaPluginConvention convention = (JavaPluginConvention) getProject().getConvention().getPlugins().get("java");
+        configuration.add("targetCompatibility:" + (convention == null
+                ? null
+                : convention.getTargetCompatibility().getMajorVersion()));
+        return configuration;
+    }
+
+    /**
+     * Assigns a property name to a file property if supported by the running Gradle version.
+     *
+     * @param property The file property.
+     * @param name     The property's name.
+     */
+    private static void withPropertyName(Object property, String name) {
+        invoke(property, "withPropertyName", String.class, name);
+    }
+
+    /**
+     * Assigns a path sensitivity to a file property if supported by the running Gradle version.
+     *
+     * @param property    The file property.
+     * @param sensitivity The name of the path sensitivity constant.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void withPathSensitivity(Object property, String sensitivity) {
+        Class<?> type;
+        try {
+            type = Class.forName("org.gradle.api.tasks.PathSensitivity", false, ByteBuddyTask.class.getClassLoader());
+        } catch (ClassNotFoundException ignored) {
+            return;
+        }
+        invoke(property, "withPathSensitivity", type, Enum.valueOf((Class) type, sensitivity));
+    }
+
+    /**
+     * Assigns a normalizer to a file property if supported by the running Gradle version.
+     *
+     * @param property   The file property.
+     * @param normalizer The name of the normalizer type.
+     */
+    private static void withNormalizer(Object property, String normalizer) {
+        Class<?> type;
+        try {
+            type = Class.forName(normalizer, false, ByteBuddyTask.class.getClassLoader());
+        } catch (ClassNotFoundException ignored) {
+            return;
+        }
+        invoke(property, "withNormalizer", Class.class, type);
+    }
+
+    /**
+     * Invokes a method of a property builder if the running Gradle version supports it.
+     *
+     * @param property      The property builder.
+     * @param name          The name of the method.
+     * @param parameterType The method's parameter type.
+     * @param argument      The method's argument.
+     */
+    private static void invoke(Object property, String name, Class<?> parameterType, Object argument) {
+        for (String typeName : PROPERTY_BUILDERS) {
+            Class<?> type;
+            try {
+                type = Class.forName(typeName, false, ByteBuddyTask.class.getClassLoader());
+            } catch (ClassNotFoundException ignored) {
+                continue;
+            }
+            if (type.isInstance(property)) {
+                try {
+                    type.getMethod(name, parameterType).invoke(property, argument);
+                } catch (NoSuchMethodException ignored) {
+                    /* do nothing, method is not supported */
+                } catch (IllegalAccessException exception) {
+                    throw new IllegalStateException("Cannot access " + name + " of " + type, exception);
+                } catch (InvocationTargetException exception) {
+                    throw new IllegalStateException("Cannot invoke " + name + " of " + type, exception.getCause());
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Describes how a transformation is isolated from the build.
+     */
+    public enum Isolation {
+
+        /**
+         * Applies the transformation on the task's thread without using a Gradle worker.
+         */
+        NONE,
+
+        /**
+         * Applies the transformation within a Gradle worker without isolation such that other tasks can execute concurrently.
+         */
+        WORKER,
+
+        /**
+         * Applies the transformation within a Gradle worker that uses an isolated class loader.
+         */
+        CLASS_LOADER,
+
+        /**
+         * Applies the transformation within a Gradle worker daemon that is retained between builds.
+         */
+        PROCESS
+    }
+
+    /**
+     * A source that exposes a set of files of a folder while locating class files within the entire folder.
+     */
+    protected static class ForChangedFiles implements Plugin.Engine.Source, Plugin.Engine.Source.Origin {
+
+        /**
+         * The folder to represent.
+         */
+        private final File folder;
+
+        /**
+         * The names of the changed files relative to the folder.
+         */
+        private final List<String> names;
+
+        /**
+         * Creates a new source for changed files.
+         *
+         * @param folder The folder to represent.
+         * @param names  The names of the changed files relative to the folder.
+         */
+        protected ForChangedFiles(File folder, List<String> names) {
+            this.folder = folder;
+            this.names = names;
+        }
+
+        /**
+         * Resolves the names of files relative to a folder.
+         *
+         * @param folder The folder to resolve the names against.
+         * @param files  The files to resolve.
+         * @return The relative names of all files or {@code null} if any file is not contained by the folder.
+         */
+        protected static List<String> relativize(File folder, List<File> files) {
+            String prefix = folder.getAbsolutePath() + File.separatorChar;
+            List<String> names = new ArrayList<String>(files.size());
+            for (File file : files) {
+                String path = file.getAbsolutePath();
+                if (!path.startsWith(prefix)) {
+                    return null;
+                }
+                String name = path.substring(prefix.length()).replace(File.separatorChar, '/');
+                if (!name.equals(JarFile.MANIFEST_NAME)) {
+                    names.add(name);
+                }
+            }
+            return names;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Plugin.Engine.Source.Origin read() {
+            return this;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public ClassFileLocator getClassFileLocator() {
+            return new ClassFileLocator.ForFolder(folder);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Manifest getManifest() throws IOException {
+            return new Plugin.Engine.Source.ForFolder(folder).getManifest();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Iterator<Plugin.Engine.Source.Element> iterator() {
+            List<Plugin.Engine.Source.Element> elements = new ArrayList<Plugin.Engine.Source.Element>(names.size());
+            for (String name : names) {
+                File file = new File(folder, name);
+                if (file.isFile()) {
+                    elements.add(new Plugin.Engine.Source.Element.ForFile(folder, file));
+                }
+            }
+            return elements.iterator();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void close() {
+            /* do nothing */
+        }
+    }
+
+    /**
+     * A target that records the class files that are generated for a class file of the source folder, for example auxiliary types,
+     * such that they can be deleted once the class file of the source folder is changed or removed. The generated class files are
+     * recorded in an index file that maps each generated class file to the class file of the source folder it was generated for.
+     */
+    protected static class RecordingTarget implements Plugin.Engine.Target {
+
+        /**
+         * The target to delegate to.
+         */
+        private final Plugin.Engine.Target delegate;
+
+        /**
+         * The folder containing the class files to transform.
+         */
+        private final File source;
+
+        /**
+         * The index file to record generated class files in.
+         */
+        private final File index;
+
+        /**
+         * Creates a new recording target.
+         *
+         * @param delegate The target to delegate to.
+         * @param source   The folder containing the class files to transform.
+         * @param index    The index file to record generated class files in.
+         */
+        protected RecordingTarget(Plugin.Engine.Target delegate, File source, File index) {
+            this.delegate = delegate;
+            this.source = source;
+            this.index = index;
+        }
+
+        /**
+         * Reads an index file.
+         *
+         * @param index The index file to read.
+         * @return The recorded class files, mapped to the class file of the source folder they were generated for, or {@code null}
+         * if the index file does not exist.
+         * @throws IOException If an I/O exception occurs.
+         */
+        protected static Properties read(File index) throws IOException {
+            if (!index.isFile()) {
+                return null;
+            }
+            Properties properties = new Properties();
+            InputStream inputStream = new FileInputStream(index);
+            try {
+                properties.load(inputStream);
+            } finally {
+                inputStream.close();
+            }
+            return properties;
+        }
+
+        /**
+         * Writes an index file.
+         *
+         * @param index      The index file to write.
+         * @param properties The recorded class files, mapped to the class file of the source folder they were generated for.
+         * @throws IOException If an I/O exception occurs.
+         */
+        protected static void write(File index, Properties properties) throws IOException {
+            File folder = index.getParentFile();
+            if (folder != null && !folder.isDirectory() && !folder.mkdirs()) {
+                throw new IOException("Could not create folder: " + folder);
+            }
+            OutputStream outputStream = new FileOutputStream(index);
+            try {
+                properties.store(outputStream, null);
+            } finally {
+                outputStream.close();
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Plugin.Engine.Target.Sink write(Manifest manifest) throws IOException {
+            return new RecordingSink(delegate.write(manifest));
+        }
+
+        /**
+         * A sink that records generated class files.
+         */
+        protected class RecordingSink implements Plugin.Engine.Target.Sink {
+
+            /**
+             * The sink to delegate to.
+             */
+            private final Plugin.Engine.Target.Sink delegate;
+
+            /**
+             * The generated class files, mapped to the class file of the source folder they were generated for.
+             */
+            private final Map<String, String> generated;
+
+            /**
+             * Creates a new recording sink.
+             *
+             * @param delegate The sink to delegate to.
+             */
+            protected RecordingSink(Plugin.Engine.Target.Sink delegate) {
+                this.delegate = delegate;
+                generated = new ConcurrentHashMap<String, String>();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void store(Map<TypeDescription, byte[]> binaryRepresentations) throws IOException {
+                String owner = null;
+                List<String> names = new ArrayList<String>(binaryRepresentations.size());
+                for (TypeDescription typeDescription : binaryRepresentations.keySet()) {
+                    String name = typeDescription.getInternalName() + ".class";
+                    if (owner == null && new File(source, name).isFile()) {
+                        owner = name;
+                    } else {
+                        names.add(name);
+                    }
+                }
+                if (owner != null) {
+                    for (String name : names) {
+                        generated.put(name, owner);
+                    }
+                }
+                delegate.store(binaryRepresentations);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void retain(Plugin.Engine.Source.Element element) throws IOException {
+                delegate.retain(element);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void close() throws IOException {
+                delegate.close();
+                Properties properties = read(index);
+                if (properties == null) {
+                    properties = new Properties();
+                }
+                properties.putAll(generated);
+                write(index, properties);
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2014 - 2020 Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.build.gradle;
+
+import net.bytebuddy.build.ClassPathCache;
+import org.gradle.api.Action;
+import org.gradle.api.GradleException;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Property;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
+
+import javax.inject.Inject;
+import java.io.IOException;
+
+/**
+ * <p>
+ * A work action that applies a {@link WorkerRequest} within a Gradle worker. Workers that are isolated by a class loader or by a
+ * process are retained by Gradle between builds as long as the Gradle daemon is running. Byte Buddy and the plugin classes are
+ * therefore only loaded once per worker and the {@link ClassPathCache} of a worker keeps the class path's type descriptions warm.
+ * </p>
+ * <p>
+ * <b>Important</b>: This class requires the worker API of Gradle 5.6 or later and is not compiled when building this plugin with
+ * a legacy version of Gradle.
+ * </p>
+ */
+public abstract class ByteBuddyWorkAction implements WorkAction<ByteBuddyWorkAction.Parameters> {
+
+    /**
+     * {@inheritDoc}
+     */
+    public void execute() {
+        try {
+            getParameters().getRequest().get().apply(Logging.getLogger(ByteBuddyWorkAction.class), ClassPathCache.getInstance());
+        } catch (IOException exception) {
+            throw new GradleException("Error accessing file system", exception);
+        }
+    }
+
+    /**
+     * The parameters of a Byte Buddy work action.
+     */
+    public interface Parameters extends WorkParameters {
+
+        /**
+         * Returns the worker request to apply.
+         *
+         * @return The worker request to apply.
+         */
+        Property<WorkerRequest> getRequest();
+    }
+
+    /**
+     * A dispatcher that submits worker requests to Gradle's worker executor.
+     */
+    public abstract static class Dispatcher implements WorkerRequest.Dispatcher {
+
+        /**
+         * Returns the worker executor to use.
+         *
+         * @return The worker executor to use.
+         */
+        @Inject
+        public abstract WorkerExecutor getWorkerExecutor();
+
+        /**
+         * {@inheritDoc}
+         */
+        public void dispatch(ByteBuddyTask.Isolation isolation, final WorkerRequest workerRequest) {
+            WorkQueue workQueue;
+            switch (isolation) {
+                case WORKER:
+                    workQueue = getWorkerExecutor().noIsolation();
+                    break;
+                case CLASS_LOADER:
+                    workQueue = getWorkerExecutor().classLoaderIsolation();
+                    break;
+                case PROCESS:
+                    workQueue = getWorkerExecutor().processIsolation();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Not a worker isolation: " + isolation);
+            }
+            workQueue.submit(ByteBuddyWorkAction.class, new Action<Parameters>() {
+                public void execute(Parameters parameters) {
+                    parameters.getRequest().set(workerRequest);
+                }
+            });
+            workQueue.await();
+        }
+    }
+}
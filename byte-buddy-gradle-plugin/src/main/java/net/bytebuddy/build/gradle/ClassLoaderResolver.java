@@ -16,6 +16,7 @@
 package net.bytebuddy.build.gradle;
 
 import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.build.ClassPathCache;
 import org.gradle.api.GradleException;
 
 import java.io.Closeable;
@@ -41,10 +42,27 @@ public class ClassLoaderResolver implements Closeable {
      */
     private final Map<Set<? extends File>, ClassLoader> classLoaders;
 
+    /**
+     * The class path cache that retains class loaders for class paths that only consist of jar files or {@code null}
+     * if class loaders are not cached.
+     */
+    private final ClassPathCache classPathCache;
+
     /**
      * Creates a new class loader resolver.
      */
     public ClassLoaderResolver() {
+        this(null);
+    }
+
+    /**
+     * Creates a new class loader resolver.
+     *
+     * @param classPathCache The class path cache that retains class loaders for class paths that only consist of jar files or
+     *                       {@code null} if all class loaders should be created for this resolver and be closed together with it.
+     */
+    public ClassLoaderResolver(ClassPathCache classPathCache) {
+        this.classPathCache = classPathCache;
         classLoaders = new HashMap<Set<? extends File>, ClassLoader>();
     }
 
@@ -65,12 +83,21 @@ public class ClassLoaderResolver implements Closeable {
 
     /**
      * Resolves a class path to a class loader. If a class loader for the same file collection was created
-     * previously, the previous class loader is returned.
+     * previously, the previous class loader is returned. If the class path only consists of jar files and
+     * if a class path cache is available, the class loader is retained by this cache and is not closed by
+     * this resolver as a change of a folder's content cannot be detected cheaply.
      *
      * @param classPath The class path to consider.
      * @return A class loader for the supplied class path.
      */
     private ClassLoader resolve(Set<? extends File> classPath) {
+        if (classPathCache != null && isJarFiles(classPath)) {
+            try {
+                return classPathCache.classLoader(new ArrayList<File>(classPath));
+            } catch (MalformedURLException exception) {
+                throw new GradleException("Cannot resolve " + classPath + " as URLs", exception);
+            }
+        }
         ClassLoader classLoader = classLoaders.get(classPath);
         if (classLoader == null) {
             classLoader = doResolve(classPath);
@@ -79,6 +106,21 @@ public class ClassLoaderResolver implements Closeable {
         return classLoader;
     }
 
+    /**
+     * Checks if a class path only consists of files.
+     *
+     * @param classPath The class path to consider.
+     * @return {@code true} if the class path only consists of files.
+     */
+    private static boolean isJarFiles(Set<? extends File> classPath) {
+        for (File file : classPath) {
+            if (!file.isFile()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Resolves a class path to a class loader.
      *
@@ -98,7 +140,7 @@ public class ClassLoaderResolver implements Closeable {
     }
 
     /**
-     * {@inheritDoc}
+     * Closes all class loaders that were created by this resolver. Class loaders that are retained by a class path cache are not closed.
      */
     public void close() throws IOException {
         for (ClassLoader classLoader : classLoaders.values()) {
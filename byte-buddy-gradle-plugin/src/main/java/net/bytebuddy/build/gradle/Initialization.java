@@ -50,6 +50,15 @@ public class Initialization extends AbstractUserConfiguration {
         this.entryPoint = entryPoint;
     }
 
+    /**
+     * Returns the entry point name or {@code null} if it is not set.
+     *
+     * @return The configured entry point name.
+     */
+    public String getRawEntryPoint() {
+        return entryPoint;
+    }
+
     /**
      * Resolves this initialization to an entry point instance.
      *
@@ -17,10 +17,17 @@ package net.bytebuddy.build.gradle;
 
 import net.bytebuddy.build.Plugin;
 
+import java.io.Serializable;
+
 /**
- * Describes an argument to a {@link Plugin} constuctor.
+ * Describes an argument to a {@link Plugin} constuctor. An argument can only be passed to a Gradle worker if its value is serializable.
  */
-public class PluginArgument {
+public class PluginArgument implements Serializable {
+
+    /**
+     * This class's serial version UID.
+     */
+    private static final long serialVersionUID = 1L;
 
     /**
      * The argument index.
@@ -50,6 +57,15 @@ public class PluginArgument {
         this.value = value;
     }
 
+    /**
+     * Returns the argument index.
+     *
+     * @return The argument index.
+     */
+    public int getIndex() {
+        return index;
+    }
+
     /**
      * Sets the argument index.
      *
@@ -59,6 +75,15 @@ public class PluginArgument {
         this.index = index;
     }
 
+    /**
+     * Returns the argument value.
+     *
+     * @return The argument value.
+     */
+    public Object getValue() {
+        return value;
+    }
+
     /**
      * Sets the argument value.
      *
@@ -63,6 +63,15 @@ public class Transformation extends AbstractUserConfiguration {
         arguments.add((PluginArgument) project.configure(new PluginArgument(), closure));
     }
 
+    /**
+     * Returns the arguments that are provided to the plugin for construction.
+     *
+     * @return The arguments that are provided to the plugin for construction.
+     */
+    public List<PluginArgument> getArguments() {
+        return arguments;
+    }
+
     /**
      * Returns the plugin type name.
      *
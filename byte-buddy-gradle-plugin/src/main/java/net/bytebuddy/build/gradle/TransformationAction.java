@@ -86,31 +86,32 @@ public class TransformationAction implements Action<Task> {
      * @param classPath An iterable over all class path elements.
      * @throws IOException If an I/O exception occurs.
      */
-    @SuppressWarnings("unchecked")
     private void apply(File root, Iterable<? extends File> classPath) throws IOException {
         if (!root.isDirectory()) {
             throw new GradleException("Not a directory: " + root);
         }
+        apply(project, byteBuddyExtension, root, classPath, new Plugin.Engine.Source.ForFolder(root), new Plugin.Engine.Target.ForFolder(root));
+    }
+
+    /**
+     * Applies the instrumentation of a Byte Buddy configuration.
+     *
+     * @param project            The current project.
+     * @param byteBuddyExtension The Byte Buddy configuration to apply.
+     * @param root               The root folder that contains all class files.
+     * @param classPath          An iterable over all class path elements.
+     * @param source             The source of the class files to transform.
+     * @param target             The target to write the transformed class files to.
+     * @throws IOException If an I/O exception occurs.
+     */
+    protected static void apply(Project project,
+                                ByteBuddyExtension byteBuddyExtension,
+                                File root,
+                                Iterable<? extends File> classPath,
+                                Plugin.Engine.Source source,
+                                Plugin.Engine.Target target) throws IOException {
         ClassLoaderResolver classLoaderResolver = new ClassLoaderResolver();
         try {
-            List<Plugin.Factory> factories = new ArrayList<Plugin.Factory>(byteBuddyExtension.getTransformations().size());
-            for (Transformation transformation : byteBuddyExtension.getTransformations()) {
-                String plugin = transformation.getPlugin();
-                try {
-                    factories.add(new Plugin.Factory.UsingReflection((Class<? extends Plugin>) Class.forName(plugin,
-                            false,
-                            classLoaderResolver.resolve(transformation.getClassPath(root, classPath))))
-                            .with(transformation.makeArgumentResolvers())
-                            .with(Plugin.Factory.UsingReflection.ArgumentResolver.ForType.of(File.class, root),
-                                    Plugin.Factory.UsingReflection.ArgumentResolver.ForType.of(Logger.class, project.getLogger()),
-                                    Plugin.Factory.UsingReflection.ArgumentResolver.ForType.of(BuildLogger.class, new GradleBuildLogger(project.getLogger()))));
-                    project.getLogger().info("Resolved plugin: {}", transformation.getRawPlugin());
-                } catch (Throwable throwable) {
-                    throw new GradleException("Cannot resolve plugin: " + transformation.getRawPlugin(), throwable);
-                }
-            }
-            EntryPoint entryPoint = byteBuddyExtension.getInitialization().getEntryPoint(classLoaderResolver, root, classPath);
-            project.getLogger().info("Resolved entry point: {}", entryPoint);
             List<ClassFileLocator> classFileLocators = new ArrayList<ClassFileLocator>();
             for (File artifact : classPath) {
                 classFileLocators.add(artifact.isFile()
@@ -118,58 +119,128 @@ public class TransformationAction implements Action<Task> {
                         : new ClassFileLocator.ForFolder(artifact));
             }
             ClassFileLocator classFileLocator = new ClassFileLocator.Compound(classFileLocators);
-            Plugin.Engine.Summary summary;
             try {
-                project.getLogger().info("Processing class files located in in: {}", root);
-                Plugin.Engine pluginEngine;
-                try {
-                    ClassFileVersion classFileVersion;
-                    JavaPluginConvention convention = (JavaPluginConvention) project.getConvention().getPlugins().get("java");
-                    if (convention == null) {
-                        classFileVersion = ClassFileVersion.ofThisVm();
-                        project.getLogger().warn("Could not locate Java target version, build is JDK dependant: {}", classFileVersion.getMajorVersion());
-                    } else {
-                        classFileVersion = ClassFileVersion.ofJavaVersion(Integer.parseInt(convention.getTargetCompatibility().getMajorVersion()));
-                        project.getLogger().debug("Java version detected: {}", convention.getTargetCompatibility().getMajorVersion());
-                    }
-                    pluginEngine = Plugin.Engine.Default.of(entryPoint, classFileVersion, byteBuddyExtension.getMethodNameTransformer());
-                } catch (Throwable throwable) {
-                    throw new GradleException("Cannot create plugin engine", throwable);
-                }
-                try {
-                    summary = pluginEngine
-                            .with(byteBuddyExtension.isExtendedParsing()
-                                    ? Plugin.Engine.PoolStrategy.Default.EXTENDED
-                                    : Plugin.Engine.PoolStrategy.Default.FAST)
-                            .with(classFileLocator)
-                            .with(new TransformationLogger(project.getLogger()))
-                            .withErrorHandlers(Plugin.Engine.ErrorHandler.Enforcing.ALL_TYPES_RESOLVED, byteBuddyExtension.isFailOnLiveInitializer()
-                                    ? Plugin.Engine.ErrorHandler.Enforcing.NO_LIVE_INITIALIZERS
-                                    : Plugin.Engine.Listener.NoOp.INSTANCE, byteBuddyExtension.isFailFast()
-                                    ? Plugin.Engine.ErrorHandler.Failing.FAIL_FAST
-                                    : Plugin.Engine.Listener.NoOp.INSTANCE)
-                            .with(byteBuddyExtension.getThreads() == 0
-                                    ? Plugin.Engine.Dispatcher.ForSerialTransformation.Factory.INSTANCE
-                                    : new Plugin.Engine.Dispatcher.ForParallelTransformation.WithThrowawayExecutorService.Factory(byteBuddyExtension.getThreads()))
-                            .apply(new Plugin.Engine.Source.ForFolder(root), new Plugin.Engine.Target.ForFolder(root), factories);
-                } catch (Throwable throwable) {
-                    throw new GradleException("Failed to transform class files in " + root, throwable);
-                }
+                apply(project.getLogger(),
+                        classLoaderResolver,
+                        byteBuddyExtension,
+                        toClassFileVersion(project),
+                        byteBuddyExtension.isExtendedParsing()
+                                ? Plugin.Engine.PoolStrategy.Default.EXTENDED
+                                : Plugin.Engine.PoolStrategy.Default.FAST,
+                        classFileLocator,
+                        root,
+                        classPath,
+                        source,
+                        target);
             } finally {
                 classFileLocator.close();
             }
-            if (!summary.getFailed().isEmpty()) {
-                throw new GradleException(summary.getFailed() + " type transformations have failed");
-            } else if (summary.getTransformed().isEmpty()) {
-                project.getLogger().warn("No types were transformed during plugin execution");
-            } else {
-                project.getLogger().info("Transformed {} types", summary.getTransformed().size());
-            }
         } finally {
             classLoaderResolver.close();
         }
     }
 
+    /**
+     * Resolves the class file version that is targeted by a project.
+     *
+     * @param project The current project.
+     * @return The class file version that is targeted by the project.
+     */
+    protected static ClassFileVersion toClassFileVersion(Project project) {
+        try {
+            ClassFileVersion classFileVersion;
+            JavaPluginConvention convention = (JavaPluginConvention) project.getConvention().getPlugins().get("java");
+            if (convention == null) {
+                classFileVersion = ClassFileVersion.ofThisVm();
+                project.getLogger().warn("Could not locate Java target version, build is JDK dependant: {}", classFileVersion.getMajorVersion());
+            } else {
+                classFileVersion = ClassFileVersion.ofJavaVersion(Integer.parseInt(convention.getTargetCompatibility().getMajorVersion()));
+                project.getLogger().debug("Java version detected: {}", convention.getTargetCompatibility().getMajorVersion());
+            }
+            return classFileVersion;
+        } catch (Throwable throwable) {
+            throw new GradleException("Cannot create plugin engine", throwable);
+        }
+    }
+
+    /**
+     * Applies the instrumentation of a Byte Buddy configuration independently of a project.
+     *
+     * @param logger              The logger to use.
+     * @param classLoaderResolver The class loader resolver to use for loading plugins and entry points.
+     * @param byteBuddyExtension  The Byte Buddy configuration to apply.
+     * @param classFileVersion    The class file version to target.
+     * @param poolStrategy        The pool strategy to use.
+     * @param classFileLocator    A class file locator for the class path elements which is closed by the caller.
+     * @param root                The root folder that contains all class files.
+     * @param classPath           An iterable over all class path elements.
+     * @param source              The source of the class files to transform.
+     * @param target              The target to write the transformed class files to.
+     * @throws IOException If an I/O exception occurs.
+     */
+    @SuppressWarnings("unchecked")
+    protected static void apply(Logger logger,
+                                ClassLoaderResolver classLoaderResolver,
+                                ByteBuddyExtension byteBuddyExtension,
+                                ClassFileVersion classFileVersion,
+                                Plugin.Engine.PoolStrategy poolStrategy,
+                                ClassFileLocator classFileLocator,
+                                File root,
+                                Iterable<? extends File> classPath,
+                                Plugin.Engine.Source source,
+                                Plugin.Engine.Target target) throws IOException {
+        List<Plugin.Factory> factories = new ArrayList<Plugin.Factory>(byteBuddyExtension.getTransformations().size());
+        for (Transformation transformation : byteBuddyExtension.getTransformations()) {
+            String plugin = transformation.getPlugin();
+            try {
+                factories.add(new Plugin.Factory.UsingReflection((Class<? extends Plugin>) Class.forName(plugin,
+                        false,
+                        classLoaderResolver.resolve(transformation.getClassPath(root, classPath))))
+                        .with(transformation.makeArgumentResolvers())
+                        .with(Plugin.Factory.UsingReflection.ArgumentResolver.ForType.of(File.class, root),
+                                Plugin.Factory.UsingReflection.ArgumentResolver.ForType.of(Logger.class, logger),
+                                Plugin.Factory.UsingReflection.ArgumentResolver.ForType.of(BuildLogger.class, new GradleBuildLogger(logger))));
+                logger.info("Resolved plugin: {}", transformation.getRawPlugin());
+            } catch (Throwable throwable) {
+                throw new GradleException("Cannot resolve plugin: " + transformation.getRawPlugin(), throwable);
+            }
+        }
+        EntryPoint entryPoint = byteBuddyExtension.getInitialization().getEntryPoint(classLoaderResolver, root, classPath);
+        logger.info("Resolved entry point: {}", entryPoint);
+        logger.info("Processing class files located in in: {}", root);
+        Plugin.Engine pluginEngine;
+        try {
+            pluginEngine = Plugin.Engine.Default.of(entryPoint, classFileVersion, byteBuddyExtension.getMethodNameTransformer());
+        } catch (Throwable throwable) {
+            throw new GradleException("Cannot create plugin engine", throwable);
+        }
+        Plugin.Engine.Summary summary;
+        try {
+            summary = pluginEngine
+                    .with(poolStrategy)
+                    .with(classFileLocator)
+                    .with(new TransformationLogger(logger))
+                    .withErrorHandlers(Plugin.Engine.ErrorHandler.Enforcing.ALL_TYPES_RESOLVED, byteBuddyExtension.isFailOnLiveInitializer()
+                            ? Plugin.Engine.ErrorHandler.Enforcing.NO_LIVE_INITIALIZERS
+                            : Plugin.Engine.Listener.NoOp.INSTANCE, byteBuddyExtension.isFailFast()
+                            ? Plugin.Engine.ErrorHandler.Failing.FAIL_FAST
+                            : Plugin.Engine.Listener.NoOp.INSTANCE)
+                    .with(byteBuddyExtension.getThreads() == 0
+                            ? Plugin.Engine.Dispatcher.ForSerialTransformation.Factory.INSTANCE
+                            : new Plugin.Engine.Dispatcher.ForParallelTransformation.WithThrowawayExecutorService.Factory(byteBuddyExtension.getThreads()))
+                    .apply(source, target, factories);
+        } catch (Throwable throwable) {
+            throw new GradleException("Failed to transform class files in " + root, throwable);
+        }
+        if (!summary.getFailed().isEmpty()) {
+            throw new GradleException(summary.getFailed() + " type transformations have failed");
+        } else if (summary.getTransformed().isEmpty()) {
+            logger.warn("No types were transformed during plugin execution");
+        } else {
+            logger.info("Transformed {} types", summary.getTransformed().size());
+        }
+    }
+
     /**
      * A {@link BuildLogger} implementation for a Gradle {@link Logger}.
      */
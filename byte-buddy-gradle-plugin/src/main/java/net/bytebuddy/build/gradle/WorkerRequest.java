@@ -0,0 +1,319 @@
+/*
+ * Copyright 2014 - 2020 Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.build.gradle;
+
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.build.ClassPathCache;
+import net.bytebuddy.build.Plugin;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import org.gradle.api.GradleException;
+import org.gradle.api.logging.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A serializable description of a transformation that is executed by a Gradle worker. A request is resolved from a
+ * {@link ByteBuddyExtension} on the task thread such that no closures, projects or lazily resolved file collections
+ * are passed to the worker.
+ */
+public class WorkerRequest implements Serializable {
+
+    /**
+     * This class's serial version UID.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The folder containing the class files to transform.
+     */
+    private final File source;
+
+    /**
+     * The folder to write the transformed class files to.
+     */
+    private final File target;
+
+    /**
+     * The index file to record the class files in that are generated for a class file of the source folder.
+     */
+    private final File index;
+
+    /**
+     * The class path that is required for resolving the transformed types.
+     */
+    private final List<File> classPath;
+
+    /**
+     * The names of the plugins to apply.
+     */
+    private final List<String> plugins;
+
+    /**
+     * The class paths of the plugins to apply in the order of the plugins.
+     */
+    private final List<List<File>> pluginClassPaths;
+
+    /**
+     * The arguments of the plugins to apply in the order of the plugins.
+     */
+    private final List<List<PluginArgument>> pluginArguments;
+
+    /**
+     * The name of the entry point.
+     */
+    private final String entryPoint;
+
+    /**
+     * The class path of the entry point.
+     */
+    private final List<File> entryPointClassPath;
+
+    /**
+     * The suffix to use for rebased methods or {@code null} if a random suffix should be used.
+     */
+    private final String suffix;
+
+    /**
+     * {@code true} if the transformation should fail upon discovering a live runtime initializer.
+     */
+    private final boolean failOnLiveInitializer;
+
+    /**
+     * {@code true} if the transformation should fail fast upon a plugin's failure.
+     */
+    private final boolean failFast;
+
+    /**
+     * {@code true} if the debug information of class files should be parsed to extract parameter names.
+     */
+    private final boolean extendedParsing;
+
+    /**
+     * The amount of threads used for parallel type processing or {@code 0} for serial processing.
+     */
+    private final int threads;
+
+    /**
+     * The targeted Java version.
+     */
+    private final int javaVersion;
+
+    /**
+     * The names of the changed files relative to the source folder or {@code null} if all files should be transformed.
+     */
+    private final List<String> names;
+
+    /**
+     * Creates a new worker request.
+     *
+     * @param source                The folder containing the class files to transform.
+     * @param target                The folder to write the transformed class files to.
+     * @param index                 The index file to record the class files in that are generated for a class file of the source folder.
+     * @param classPath             The class path that is required for resolving the transformed types.
+     * @param plugins               The names of the plugins to apply.
+     * @param pluginClassPaths      The class paths of the plugins to apply in the order of the plugins.
+     * @param pluginArguments       The arguments of the plugins to apply in the order of the plugins.
+     * @param entryPoint            The name of the entry point.
+     * @param entryPointClassPath   The class path of the entry point.
+     * @param suffix                The suffix to use for rebased methods or {@code null} if a random suffix should be used.
+     * @param failOnLiveInitializer {@code true} if the transformation should fail upon discovering a live runtime initializer.
+     * @param failFast              {@code true} if the transformation should fail fast upon a plugin's failure.
+     * @param extendedParsing       {@code true} if the debug information of class files should be parsed to extract parameter names.
+     * @param threads               The amount of threads used for parallel type processing or {@code 0} for serial processing.
+     * @param javaVersion           The targeted Java version.
+     * @param names                 The names of the changed files relative to the source folder or {@code null} if all files should be transformed.
+     */
+    protected WorkerRequest(File source,
+                            File target,
+                            File index,
+                            List<File> classPath,
+                            List<String> plugins,
+                            List<List<File>> pluginClassPaths,
+                            List<List<PluginArgument>> pluginArguments,
+                            String entryPoint,
+                            List<File> entryPointClassPath,
+                            String suffix,
+                            boolean failOnLiveInitializer,
+                            boolean failFast,
+                            boolean extendedParsing,
+                            int threads,
+                            int javaVersion,
+                            List<String> names) {
+        this.source = source;
+        this.target = target;
+        this.index = index;
+        this.classPath = classPath;
+        this.plugins = plugins;
+        this.pluginClassPaths = pluginClassPaths;
+        this.pluginArguments = pluginArguments;
+        this.entryPoint = entryPoint;
+        this.entryPointClassPath = entryPointClassPath;
+        this.suffix = suffix;
+        this.failOnLiveInitializer = failOnLiveInitializer;
+        this.failFast = failFast;
+        this.extendedParsing = extendedParsing;
+        this.threads = threads;
+        this.javaVersion = javaVersion;
+        this.names = names;
+    }
+
+    /**
+     * Resolves a worker request from a Byte Buddy configuration.
+     *
+     * @param byteBuddyExtension The Byte Buddy configuration to resolve.
+     * @param source             The folder containing the class files to transform.
+     * @param target             The folder to write the transformed class files to.
+     * @param index              The index file to record the class files in that are generated for a class file of the source folder.
+     * @param classPath          The class path that is required for resolving the transformed types.
+     * @param classFileVersion   The targeted class file version.
+     * @param names              The names of the changed files relative to the source folder or {@code null} if all files should be transformed.
+     * @return A worker request that represents the supplied configuration.
+     */
+    public static WorkerRequest of(ByteBuddyExtension byteBuddyExtension,
+                                   File source,
+                                   File target,
+                                   File index,
+                                   Iterable<? extends File> classPath,
+                                   ClassFileVersion classFileVersion,
+                                   List<String> names) {
+        List<String> plugins = new ArrayList<String>(byteBuddyExtension.getTransformations().size());
+        List<List<File>> pluginClassPaths = new ArrayList<List<File>>(byteBuddyExtension.getTransformations().size());
+        List<List<PluginArgument>> pluginArguments = new ArrayList<List<PluginArgument>>(byteBuddyExtension.getTransformations().size());
+        for (Transformation transformation : byteBuddyExtension.getTransformations()) {
+            plugins.add(transformation.getPlugin());
+            pluginClassPaths.add(toList(transformation.getClassPath(source, classPath)));
+            for (PluginArgument argument : transformation.getArguments()) {
+                if (argument.getValue() != null && !(argument.getValue() instanceof Serializable)) {
+                    throw new GradleException("Argument " + argument.getIndex() + " of " + transformation.getPlugin() + " cannot be passed to a worker: " + argument.getValue());
+                }
+            }
+            pluginArguments.add(new ArrayList<PluginArgument>(transformation.getArguments()));
+        }
+        return new WorkerRequest(source,
+                target,
+                index,
+                toList(classPath),
+                plugins,
+                pluginClassPaths,
+                pluginArguments,
+                byteBuddyExtension.getInitialization().getRawEntryPoint(),
+                toList(byteBuddyExtension.getInitialization().getClassPath(source, classPath)),
+                byteBuddyExtension.getSuffix(),
+                byteBuddyExtension.isFailOnLiveInitializer(),
+                byteBuddyExtension.isFailFast(),
+                byteBuddyExtension.isExtendedParsing(),
+                byteBuddyExtension.getThreads(),
+                classFileVersion.getJavaVersion(),
+                names == null
+                        ? null
+                        : new ArrayList<String>(names));
+    }
+
+    /**
+     * Resolves an iterable of files to a list.
+     *
+     * @param files The files to resolve.
+     * @return A list of the supplied files.
+     */
+    private static List<File> toList(Iterable<? extends File> files) {
+        List<File> list = new ArrayList<File>();
+        for (File file : files) {
+            list.add(file);
+        }
+        return list;
+    }
+
+    /**
+     * Applies the represented transformation. Class path jar files, their type descriptions and plugin class loaders are
+     * retained by the supplied cache such that a subsequent request that is executed by the same worker can reuse them.
+     *
+     * @param logger         The logger to use.
+     * @param classPathCache The class path cache to use.
+     * @throws IOException If an I/O exception occurs.
+     */
+    public void apply(Logger logger, ClassPathCache classPathCache) throws IOException {
+        ByteBuddyExtension byteBuddyExtension = new ByteBuddyExtension(null);
+        for (int index = 0; index < plugins.size(); index++) {
+            Transformation transformation = new Transformation(null);
+            transformation.setPlugin(plugins.get(index));
+            transformation.setClassPath(pluginClassPaths.get(index));
+            transformation.getArguments().addAll(pluginArguments.get(index));
+            byteBuddyExtension.getTransformations().add(transformation);
+        }
+        Initialization initialization = new Initialization();
+        initialization.setEntryPoint(entryPoint);
+        initialization.setClassPath(entryPointClassPath);
+        byteBuddyExtension.setInitialization(initialization);
+        byteBuddyExtension.setSuffix(suffix);
+        byteBuddyExtension.setFailOnLiveInitializer(failOnLiveInitializer);
+        byteBuddyExtension.setFailFast(failFast);
+        byteBuddyExtension.setExtendedParsing(extendedParsing);
+        byteBuddyExtension.setThreads(threads);
+        Plugin.Engine.PoolStrategy.Hierarchical poolStrategy = extendedParsing
+                ? Plugin.Engine.PoolStrategy.Default.EXTENDED
+                : Plugin.Engine.PoolStrategy.Default.FAST;
+        List<File> jars = new ArrayList<File>(classPath.size());
+        List<ClassFileLocator> classFileLocators = new ArrayList<ClassFileLocator>(classPath.size());
+        for (File artifact : classPath) {
+            if (artifact.isFile()) {
+                jars.add(artifact);
+                classFileLocators.add(classPathCache.locate(artifact));
+            } else {
+                classFileLocators.add(new ClassFileLocator.ForFolder(artifact));
+            }
+        }
+        ClassFileLocator classFileLocator = new ClassFileLocator.Compound(classFileLocators);
+        try {
+            ClassLoaderResolver classLoaderResolver = new ClassLoaderResolver(classPathCache);
+            try {
+                TransformationAction.apply(logger,
+                        classLoaderResolver,
+                        byteBuddyExtension,
+                        ClassFileVersion.ofJavaVersion(javaVersion),
+                        new ClassPathCache.WithParent(poolStrategy, classPathCache.typePool(jars, poolStrategy)),
+                        classFileLocator,
+                        source,
+                        classPath,
+                        names == null
+                                ? new Plugin.Engine.Source.ForFolder(source)
+                                : new ByteBuddyTask.ForChangedFiles(source, names),
+                        new ByteBuddyTask.RecordingTarget(new Plugin.Engine.Target.ForFolder(target), source, index));
+            } finally {
+                classLoaderResolver.close();
+            }
+        } finally {
+            classFileLocator.close();
+        }
+    }
+
+    /**
+     * A dispatcher for submitting a worker request to a Gradle worker.
+     */
+    public interface Dispatcher {
+
+        /**
+         * Submits a worker request and awaits its completion.
+         *
+         * @param isolation     The isolation mode to use.
+         * @param workerRequest The worker request to submit.
+         */
+        void dispatch(ByteBuddyTask.Isolation isolation, WorkerRequest workerRequest);
+    }
+}
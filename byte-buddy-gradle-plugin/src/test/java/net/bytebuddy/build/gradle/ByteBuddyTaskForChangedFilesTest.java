@@ -0,0 +1,87 @@
+package net.bytebuddy.build.gradle;
+
+import net.bytebuddy.build.Plugin;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.jar.JarFile;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ByteBuddyTaskForChangedFilesTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux", TEMP = ".tmp";
+
+    private File folder;
+
+    @Before
+    public void setUp() throws Exception {
+        folder = File.createTempFile(FOO, TEMP);
+        assertThat(folder.delete(), is(true));
+        assertThat(folder.mkdir(), is(true));
+        assertThat(new File(folder, FOO).mkdir(), is(true));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        assertThat(new File(folder, FOO + "/" + BAR + ".class").delete(), is(true));
+        assertThat(new File(folder, FOO + "/" + QUX + ".class").delete(), is(true));
+        assertThat(new File(folder, FOO).delete(), is(true));
+        assertThat(folder.delete(), is(true));
+    }
+
+    @Test
+    public void testChangedFilesOnly() throws Exception {
+        write(new File(folder, FOO + "/" + BAR + ".class"), new byte[]{1, 2, 3});
+        write(new File(folder, FOO + "/" + QUX + ".class"), new byte[]{4, 5, 6});
+        Plugin.Engine.Source.Origin origin = new ByteBuddyTask.ForChangedFiles(folder, Arrays.asList(FOO + "/" + BAR + ".class", FOO + "/" + FOO + ".class")).read();
+        try {
+            Iterator<Plugin.Engine.Source.Element> iterator = origin.iterator();
+            assertThat(iterator.hasNext(), is(true));
+            assertThat(iterator.next().getName(), is(FOO + "/" + BAR + ".class"));
+            assertThat(iterator.hasNext(), is(false));
+            assertThat(origin.getManifest(), nullValue());
+            ClassFileLocator classFileLocator = origin.getClassFileLocator();
+            assertThat(classFileLocator.locate(FOO + "." + QUX).resolve(), is(new byte[]{4, 5, 6}));
+        } finally {
+            origin.close();
+        }
+    }
+
+    @Test
+    public void testRelativize() throws Exception {
+        write(new File(folder, FOO + "/" + BAR + ".class"), new byte[0]);
+        write(new File(folder, FOO + "/" + QUX + ".class"), new byte[0]);
+        List<String> names = ByteBuddyTask.ForChangedFiles.relativize(folder, Arrays.asList(new File(folder, FOO + "/" + BAR + ".class"),
+                new File(folder, JarFile.MANIFEST_NAME)));
+        assertThat(names, is(Collections.singletonList(FOO + "/" + BAR + ".class")));
+    }
+
+    @Test
+    public void testRelativizeOutside() throws Exception {
+        write(new File(folder, FOO + "/" + BAR + ".class"), new byte[0]);
+        write(new File(folder, FOO + "/" + QUX + ".class"), new byte[0]);
+        assertThat(ByteBuddyTask.ForChangedFiles.relativize(new File(folder, FOO), Collections.singletonList(folder)), nullValue(List.class));
+    }
+
+    private static void write(File file, byte[] binaryRepresentation) throws IOException {
+        OutputStream outputStream = new FileOutputStream(file);
+        try {
+            outputStream.write(binaryRepresentation);
+        } finally {
+            outputStream.close();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package net.bytebuddy.build.gradle;
+
+import net.bytebuddy.build.Plugin;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.test.utility.MockitoRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ByteBuddyTaskRecordingTargetTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux", TEMP = ".tmp";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private Plugin.Engine.Target delegate;
+
+    @Mock
+    private Plugin.Engine.Target.Sink sink;
+
+    @Mock
+    private Plugin.Engine.Source.Element element;
+
+    private File folder, index;
+
+    @Before
+    public void setUp() throws Exception {
+        folder = File.createTempFile(FOO, TEMP);
+        assertThat(folder.delete(), is(true));
+        assertThat(folder.mkdir(), is(true));
+        assertThat(new File(folder, FOO).mkdir(), is(true));
+        index = File.createTempFile(BAR, TEMP);
+        assertThat(index.delete(), is(true));
+        when(delegate.write(Plugin.Engine.Source.Origin.NO_MANIFEST)).thenReturn(sink);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        assertThat(new File(folder, FOO + "/" + BAR + ".class").delete(), is(true));
+        assertThat(new File(folder, FOO).delete(), is(true));
+        assertThat(folder.delete(), is(true));
+        assertThat(!index.exists() || index.delete(), is(true));
+    }
+
+    @Test
+    public void testGeneratedTypesAreRecorded() throws Exception {
+        write(new File(folder, FOO + "/" + BAR + ".class"));
+        Map<TypeDescription, byte[]> binaryRepresentations = new LinkedHashMap<TypeDescription, byte[]>();
+        binaryRepresentations.put(type(FOO + "/" + QUX), new byte[0]);
+        binaryRepresentations.put(type(FOO + "/" + BAR), new byte[0]);
+        Plugin.Engine.Target.Sink recordingSink = new ByteBuddyTask.RecordingTarget(delegate, folder, index).write(Plugin.Engine.Source.Origin.NO_MANIFEST);
+        try {
+            recordingSink.store(binaryRepresentations);
+            recordingSink.retain(element);
+        } finally {
+            recordingSink.close();
+        }
+        verify(sink).store(binaryRepresentations);
+        verify(sink).retain(element);
+        verify(sink).close();
+        Properties properties = ByteBuddyTask.RecordingTarget.read(index);
+        assertThat(properties.size(), is(1));
+        assertThat(properties.getProperty(FOO + "/" + QUX + ".class"), is(FOO + "/" + BAR + ".class"));
+    }
+
+    @Test
+    public void testRecordedTypesAreRetained() throws Exception {
+        write(new File(folder, FOO + "/" + BAR + ".class"));
+        Properties properties = new Properties();
+        properties.setProperty(FOO + "/" + FOO + ".class", FOO + "/" + QUX + ".class");
+        ByteBuddyTask.RecordingTarget.write(index, properties);
+        Plugin.Engine.Target.Sink recordingSink = new ByteBuddyTask.RecordingTarget(delegate, folder, index).write(Plugin.Engine.Source.Origin.NO_MANIFEST);
+        try {
+            recordingSink.store(Collections.<TypeDescription, byte[]>singletonMap(type(FOO + "/" + BAR), new byte[0]));
+        } finally {
+            recordingSink.close();
+        }
+        assertThat(ByteBuddyTask.RecordingTarget.read(index), is(properties));
+    }
+
+    @Test
+    public void testMissingIndex() throws Exception {
+        write(new File(folder, FOO + "/" + BAR + ".class"));
+        assertThat(ByteBuddyTask.RecordingTarget.read(index), nullValue(Properties.class));
+    }
+
+    private static TypeDescription type(String internalName) {
+        return new TypeDescription.Latent(internalName.replace('/', '.'), 0, TypeDescription.Generic.OBJECT);
+    }
+
+    private static void write(File file) throws IOException {
+        OutputStream outputStream = new FileOutputStream(file);
+        try {
+            outputStream.write(new byte[]{1, 2, 3});
+        } finally {
+            outputStream.close();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package net.bytebuddy.build.gradle;
 
+import net.bytebuddy.build.ClassPathCache;
 import net.bytebuddy.test.utility.MockitoRule;
 import org.junit.Before;
 import org.junit.Rule;
@@ -9,8 +10,10 @@ import org.mockito.Mock;
 
 import java.io.File;
 import java.net.URI;
+import java.util.Arrays;
 import java.util.Collections;
 
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.when;
@@ -40,4 +43,37 @@ public class ClassLoaderResolverTest {
         classLoaderResolver.resolve(Collections.singleton(file));
         classLoaderResolver.close();
     }
+
+    @Test
+    public void testCachedResolution() throws Exception {
+        File jar = File.createTempFile("foo", "bar");
+        try {
+            ClassPathCache classPathCache = new ClassPathCache();
+            ClassLoaderResolver classLoaderResolver = new ClassLoaderResolver(classPathCache);
+            ClassLoader classLoader = classLoaderResolver.resolve(Collections.singletonList(jar));
+            classLoaderResolver.close();
+            assertThat(new ClassLoaderResolver(classPathCache).resolve(Collections.singletonList(jar)), sameInstance(classLoader));
+        } finally {
+            jar.delete();
+        }
+    }
+
+    @Test
+    public void testFolderResolutionIsNotCached() throws Exception {
+        File jar = File.createTempFile("foo", "bar");
+        try {
+            ClassPathCache classPathCache = new ClassPathCache();
+            File folder = jar.getAbsoluteFile().getParentFile();
+            ClassLoaderResolver classLoaderResolver = new ClassLoaderResolver(classPathCache);
+            try {
+                ClassLoader classLoader = classLoaderResolver.resolve(Arrays.asList(jar, folder));
+                assertThat(classLoaderResolver.resolve(Arrays.asList(jar, folder)), sameInstance(classLoader));
+                assertThat(new ClassLoaderResolver(classPathCache).resolve(Arrays.asList(jar, folder)), not(sameInstance(classLoader)));
+            } finally {
+                classLoaderResolver.close();
+            }
+        } finally {
+            jar.delete();
+        }
+    }
 }
@@ -0,0 +1,182 @@
+package net.bytebuddy.build.gradle;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.build.ClassPathCache;
+import net.bytebuddy.build.EntryPoint;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.implementation.FixedValue;
+import net.bytebuddy.test.SimplePlugin;
+import net.bytebuddy.test.utility.MockitoRule;
+import org.gradle.api.GradleException;
+import org.gradle.api.logging.Logger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.when;
+
+public class WorkerRequestTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux", TEMP = ".tmp";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private Logger logger;
+
+    @Mock
+    private ByteBuddyExtension byteBuddyExtension;
+
+    @Mock
+    private Transformation transformation;
+
+    @Mock
+    private Initialization initialization;
+
+    private File source, target, index;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        source = File.createTempFile(FOO, TEMP);
+        assertThat(source.delete(), is(true));
+        assertThat(source.mkdir(), is(true));
+        target = File.createTempFile(BAR, TEMP);
+        assertThat(target.delete(), is(true));
+        assertThat(target.mkdir(), is(true));
+        index = File.createTempFile(QUX, TEMP);
+        assertThat(index.delete(), is(true));
+        when(byteBuddyExtension.getTransformations()).thenReturn(Collections.singletonList(transformation));
+        when(byteBuddyExtension.getInitialization()).thenReturn(initialization);
+        when(byteBuddyExtension.isFailFast()).thenReturn(true);
+        when(transformation.getPlugin()).thenReturn(SimplePlugin.class.getName());
+        when(transformation.getClassPath(any(File.class), any(Iterable.class))).thenReturn((Iterable) Collections.emptySet());
+        when(transformation.getArguments()).thenReturn(Collections.<PluginArgument>emptyList());
+        when(initialization.getRawEntryPoint()).thenReturn(EntryPoint.Default.REBASE.name());
+        when(initialization.getClassPath(any(File.class), any(Iterable.class))).thenReturn((Iterable) Collections.emptySet());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        delete(source);
+        delete(target);
+        assertThat(!index.exists() || index.delete(), is(true));
+    }
+
+    @Test
+    public void testTransformation() throws Exception {
+        addClass("foo.Bar");
+        addClass("foo.Qux");
+        WorkerRequest workerRequest = WorkerRequest.of(byteBuddyExtension,
+                source,
+                target,
+                index,
+                Collections.singleton(source),
+                ClassFileVersion.ofThisVm(),
+                null);
+        serialize(workerRequest).apply(logger, new ClassPathCache());
+        ClassLoader classLoader = new URLClassLoader(new URL[]{target.toURI().toURL()});
+        assertMethod(classLoader.loadClass("foo.Bar"), FOO, QUX);
+        assertMethod(classLoader.loadClass("foo.Bar"), BAR, BAR);
+        assertMethod(classLoader.loadClass("foo.Qux"), FOO, FOO);
+        assertThat(index.isFile(), is(true));
+    }
+
+    @Test
+    public void testIncrementalTransformation() throws Exception {
+        addClass("foo.Bar");
+        addClass("foo.Qux");
+        WorkerRequest workerRequest = WorkerRequest.of(byteBuddyExtension,
+                source,
+                target,
+                index,
+                Collections.singleton(source),
+                ClassFileVersion.ofThisVm(),
+                Collections.singletonList(FOO + "/" + "Bar.class"));
+        serialize(workerRequest).apply(logger, new ClassPathCache());
+        assertThat(new File(target, FOO + "/" + "Bar.class").isFile(), is(true));
+        assertThat(new File(target, FOO + "/" + "Qux.class").exists(), is(false));
+        ClassLoader classLoader = new URLClassLoader(new URL[]{target.toURI().toURL(), source.toURI().toURL()});
+        assertMethod(classLoader.loadClass("foo.Bar"), FOO, QUX);
+    }
+
+    @Test(expected = GradleException.class)
+    public void testNonSerializableArgument() throws Exception {
+        when(transformation.getArguments()).thenReturn(Collections.singletonList(new PluginArgument(0, new Object())));
+        WorkerRequest.of(byteBuddyExtension,
+                source,
+                target,
+                index,
+                Collections.singleton(source),
+                ClassFileVersion.ofThisVm(),
+                null);
+    }
+
+    private static WorkerRequest serialize(WorkerRequest workerRequest) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream);
+        try {
+            objectOutputStream.writeObject(workerRequest);
+        } finally {
+            objectOutputStream.close();
+        }
+        ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(outputStream.toByteArray()));
+        try {
+            return (WorkerRequest) objectInputStream.readObject();
+        } finally {
+            objectInputStream.close();
+        }
+    }
+
+    private void assertMethod(Class<?> type, String name, Object expected) throws Exception {
+        assertThat(type.getDeclaredMethod(name).invoke(type.getDeclaredConstructor().newInstance()), is(expected));
+    }
+
+    private void addClass(String name) throws IOException {
+        new ByteBuddy()
+                .subclass(Object.class)
+                .name(name)
+                .defineMethod(FOO, String.class, Visibility.PUBLIC).intercept(FixedValue.value(FOO))
+                .defineMethod(BAR, String.class, Visibility.PUBLIC).intercept(FixedValue.value(BAR))
+                .make()
+                .saveIn(source);
+    }
+
+    private static void delete(File root) {
+        LinkedList<File> files = new LinkedList<File>(Collections.singleton(root));
+        LinkedList<File> folders = new LinkedList<File>();
+        while (!files.isEmpty()) {
+            File file = files.removeFirst();
+            File[] children = file.listFiles();
+            if (children != null) {
+                files.addAll(Arrays.asList(children));
+                folders.addFirst(file);
+            } else {
+                assertThat(file.delete(), is(true));
+            }
+        }
+        for (File folder : folders) {
+            assertThat(folder.delete(), is(true));
+        }
+    }
+}
@@ -17,12 +17,15 @@ package net.bytebuddy.build.maven;
 
 import net.bytebuddy.ClassFileVersion;
 import net.bytebuddy.build.BuildLogger;
+import net.bytebuddy.build.ClassPathCache;
 import net.bytebuddy.build.EntryPoint;
 import net.bytebuddy.build.Plugin;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.ClassFileLocator;
 import net.bytebuddy.dynamic.scaffold.inline.MethodNameTransformer;
 import net.bytebuddy.utility.CompoundList;
+import net.bytebuddy.utility.StreamDrainer;
+import org.apache.maven.artifact.Artifact;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
@@ -35,10 +38,26 @@ import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.repository.RemoteRepository;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * A Maven plugin for applying Byte Buddy transformations during a build.
@@ -168,6 +187,55 @@ public abstract class ByteBuddyMojo extends AbstractMojo {
     @Parameter(defaultValue = "0", required = true)
     public int threads;
 
+    /**
+     * <p>
+     * When set to {@code true}, only class files that were added or changed since the last execution of this mojo are transformed,
+     * as well as the class files of any type that directly or indirectly extends or implements such a type or a removed type. Class
+     * files are considered changed if their modification time or size changed and if their content differs from the class file that
+     * was written during the last execution.
+     * </p>
+     * <p>
+     * For being able to transform a dependent type that was not recompiled, this mojo retains a copy of any untransformed class file
+     * within the {@code incrementalDirectory}. If the configuration of this mojo or the plugin's dependencies change, all class files
+     * are considered changed. Dependencies on other types than super types are not tracked.
+     * </p>
+     */
+    @Parameter(defaultValue = "false", required = true)
+    public boolean incremental;
+
+    /**
+     * The directory in which this mojo stores its index and the untransformed class files when it is applied incrementally.
+     */
+    @Parameter(defaultValue = "${project.build.directory}/byte-buddy-incremental", required = true)
+    public String incrementalDirectory;
+
+    /**
+     * <p>
+     * When set to {@code true}, the jar files of the class path and the type descriptions that are parsed from them are cached by
+     * the plugin such that executions for other modules of the same build, or subsequent builds of a build daemon, do not open and
+     * parse the same jar files anew. Jar files are identified by their location, modification time and size. Type descriptions are
+     * only reused if the jar files of a class path are identical and are resolved before considering any folder of the class path.
+     * </p>
+     * <p>
+     * Cached jar files remain open as long as they are retained by the cache.
+     * </p>
+     */
+    @Parameter(defaultValue = "false", required = true)
+    public boolean cacheClassPath;
+
+    /**
+     * <p>
+     * When set to {@code true}, the class loaders of the resolved plugins are retained by the plugin such that executions for other
+     * modules of the same build, or subsequent builds of a build daemon, reuse a plugin's classes rather than loading them anew. A
+     * class loader is only reused if a plugin's coordinate resolves to the same, unchanged artifacts.
+     * </p>
+     * <p>
+     * Plugins that keep state in static fields share this state between the executions that reuse their class loader.
+     * </p>
+     */
+    @Parameter(defaultValue = "false", required = true)
+    public boolean cacheClassLoaders;
+
     /**
      * The currently used repository system.
      */
@@ -198,7 +266,7 @@ public abstract class ByteBuddyMojo extends AbstractMojo {
             return;
         }
         try {
-            apply(new File(getOutputDirectory()), getClassPathElements());
+            transform();
         } catch (IOException exception) {
             throw new MojoFailureException("Error during writing process", exception);
         }
@@ -218,6 +286,17 @@ public abstract class ByteBuddyMojo extends AbstractMojo {
      */
     protected abstract List<String> getClassPathElements();
 
+    /**
+     * Applies the transformation of this mojo.
+     *
+     * @throws MojoExecutionException If the plugin cannot be applied.
+     * @throws MojoFailureException   If the plugin cannot be applied.
+     * @throws IOException            If an I/O exception occurs.
+     */
+    protected void transform() throws MojoExecutionException, MojoFailureException, IOException {
+        apply(new File(getOutputDirectory()), getClassPathElements());
+    }
+
     /**
      * Applies the instrumentation.
      *
@@ -226,7 +305,6 @@ public abstract class ByteBuddyMojo extends AbstractMojo {
      * @throws MojoExecutionException If the plugin cannot be applied.
      * @throws IOException            If an I/O exception occurs.
      */
-    @SuppressWarnings("unchecked")
     private void apply(File root, List<? extends String> classPath) throws MojoExecutionException, IOException {
         if (!root.exists()) {
             if (warnOnMissingOutputDirectory) {
@@ -238,81 +316,85 @@ public abstract class ByteBuddyMojo extends AbstractMojo {
         } else if (!root.isDirectory()) {
             throw new MojoExecutionException("Not a directory: " + root);
         }
-        ClassLoaderResolver classLoaderResolver = new ClassLoaderResolver(getLog(), repositorySystem, repositorySystemSession, remoteRepositories);
+        ClassLoaderResolver classLoaderResolver = toClassLoaderResolver();
         try {
-            List<Plugin.Factory> factories = new ArrayList<Plugin.Factory>(transformations.size());
-            for (Transformation transformation : transformations) {
-                String plugin = transformation.getPlugin();
-                try {
-                    factories.add(new Plugin.Factory.UsingReflection((Class<? extends Plugin>) Class.forName(plugin,
-                            false,
-                            classLoaderResolver.resolve(transformation.asCoordinate(groupId, artifactId, version, packaging))))
-                            .with(transformation.makeArgumentResolvers())
-                            .with(Plugin.Factory.UsingReflection.ArgumentResolver.ForType.of(File.class, root),
-                                    Plugin.Factory.UsingReflection.ArgumentResolver.ForType.of(Log.class, getLog()),
-                                    Plugin.Factory.UsingReflection.ArgumentResolver.ForType.of(BuildLogger.class, new MavenBuildLogger(getLog()))));
-                    getLog().info("Resolved plugin: " + transformation.getRawPlugin());
-                } catch (Throwable throwable) {
-                    throw new MojoExecutionException("Cannot resolve plugin: " + transformation.getRawPlugin(), throwable);
+            List<String> configuration = new ArrayList<String>();
+            List<Plugin.Factory> factories = toFactories(classLoaderResolver, root, configuration);
+            EntryPoint entryPoint = toEntryPoint(classLoaderResolver);
+            Plugin.Engine.Source source;
+            Plugin.Engine.Target destination;
+            ClassFileIndex.RecordingTarget recordingTarget;
+            ClassFileIndex.Delta delta;
+            Set<String> affected;
+            File index;
+            if (incremental) {
+                addConfiguration(configuration, entryPoint);
+                for (String target : classPath) {
+                    File artifact = new File(target);
+                    if (!artifact.getAbsoluteFile().equals(root.getAbsoluteFile())) {
+                        configuration.add(artifact.getAbsolutePath() + ":" + artifact.lastModified() + ":" + artifact.length());
+                    }
+                }
+                index = new File(incrementalDirectory, root.getName() + ".index");
+                delta = ClassFileIndex.read(index, ClassFileIndex.fingerprint(configuration)).scan(root);
+                if (delta.isEmpty()) {
+                    getLog().info("Skipping instrumentation as no class files were changed since the last execution: " + root);
+                    return;
+                } else if (index.exists() && !index.delete()) {
+                    throw new MojoExecutionException("Could not delete index: " + index);
                 }
+                affected = delta.getAffected();
+                getLog().info("Found " + delta.getChanged().size() + " changed and " + delta.getRemoved().size() + " removed class files, "
+                        + affected.size() + " class files require transformation");
+                source = new Plugin.Engine.Source.InMemory(delta.resolve(root, new File(incrementalDirectory, root.getName()), affected));
+                destination = recordingTarget = new ClassFileIndex.RecordingTarget(new Plugin.Engine.Target.ForFolder(root), affected);
+            } else {
+                source = new Plugin.Engine.Source.ForFolder(root);
+                destination = new Plugin.Engine.Target.ForFolder(root);
+                recordingTarget = null;
+                delta = null;
+                affected = null;
+                index = null;
+            }
+            List<ClassFileLocator> classFileLocators = new ArrayList<ClassFileLocator>(classPath.size() + 1);
+            if (incremental) {
+                classFileLocators.add(new ClassFileLocator.ForFolder(root));
             }
-            EntryPoint entryPoint = (initialization == null
-                    ? Initialization.makeDefault()
-                    : initialization).getEntryPoint(classLoaderResolver, groupId, artifactId, version, packaging);
-            getLog().info("Resolved entry point: " + entryPoint);
-            List<ClassFileLocator> classFileLocators = new ArrayList<ClassFileLocator>(classPath.size());
+            List<File> jars = new ArrayList<File>(classPath.size());
             for (String target : classPath) {
                 File artifact = new File(target);
-                classFileLocators.add(artifact.isFile()
-                        ? ClassFileLocator.ForJarFile.of(artifact)
-                        : new ClassFileLocator.ForFolder(artifact));
+                if (!artifact.isFile()) {
+                    classFileLocators.add(new ClassFileLocator.ForFolder(artifact));
+                } else if (cacheClassPath) {
+                    classFileLocators.add(ClassPathCache.getInstance().locate(artifact));
+                    jars.add(artifact);
+                } else {
+                    classFileLocators.add(ClassFileLocator.ForJarFile.of(artifact));
+                }
             }
             ClassFileLocator classFileLocator = new ClassFileLocator.Compound(classFileLocators);
             Plugin.Engine.Summary summary;
             try {
                 getLog().info("Processing class files located in in: " + root);
-                Plugin.Engine pluginEngine;
-                try {
-                    String javaVersionString = findJavaVersionString(project);
-                    ClassFileVersion classFileVersion;
-                    if (javaVersionString == null) {
-                        classFileVersion = ClassFileVersion.ofThisVm();
-                        getLog().warn("Could not locate Java target version, build is JDK dependant: " + classFileVersion.getMajorVersion());
-                    } else {
-                        classFileVersion = ClassFileVersion.ofJavaVersionString(javaVersionString);
-                        getLog().debug("Java version detected: " + javaVersionString);
-                    }
-                    pluginEngine = Plugin.Engine.Default.of(entryPoint, classFileVersion, suffix == null || suffix.length() == 0
-                            ? MethodNameTransformer.Suffixing.withRandomSuffix()
-                            : new MethodNameTransformer.Suffixing(suffix));
-                } catch (Throwable throwable) {
-                    throw new MojoExecutionException("Cannot create plugin engine", throwable);
-                }
-                try {
-                    summary = pluginEngine
-                            .with(extendedParsing
-                                    ? Plugin.Engine.PoolStrategy.Default.EXTENDED
-                                    : Plugin.Engine.PoolStrategy.Default.FAST)
-                            .with(classFileLocator)
-                            .with(new TransformationLogger(getLog()))
-                            .withErrorHandlers(Plugin.Engine.ErrorHandler.Enforcing.ALL_TYPES_RESOLVED, failOnLiveInitializer
-                                    ? Plugin.Engine.ErrorHandler.Enforcing.NO_LIVE_INITIALIZERS
-                                    : Plugin.Engine.Listener.NoOp.INSTANCE, failFast
-                                    ? Plugin.Engine.ErrorHandler.Failing.FAIL_FAST
-                                    : Plugin.Engine.Listener.NoOp.INSTANCE)
-                            .with(threads == 0
-                                    ? Plugin.Engine.Dispatcher.ForSerialTransformation.Factory.INSTANCE
-                                    : new Plugin.Engine.Dispatcher.ForParallelTransformation.WithThrowawayExecutorService.Factory(threads))
-                            .apply(new Plugin.Engine.Source.ForFolder(root), new Plugin.Engine.Target.ForFolder(root), factories);
-                } catch (Throwable throwable) {
-                    throw new MojoExecutionException("Failed to transform class files in " + root, throwable);
-                }
+                Plugin.Engine.PoolStrategy.Hierarchical poolStrategy = toPoolStrategy();
+                summary = apply(toPluginEngine(entryPoint, toClassFileVersion()),
+                        cacheClassPath
+                                ? new ClassPathCache.WithParent(poolStrategy, ClassPathCache.getInstance().typePool(jars, poolStrategy))
+                                : poolStrategy,
+                        classFileLocator,
+                        source,
+                        destination,
+                        factories,
+                        root);
             } finally {
                 classFileLocator.close();
             }
             if (!summary.getFailed().isEmpty()) {
                 throw new MojoExecutionException(summary.getFailed() + " type transformations have failed");
-            } else if (summary.getTransformed().isEmpty()) {
+            } else if (delta != null) {
+                delta.update(root, affected, recordingTarget.getGenerated()).write(index);
+            }
+            if (summary.getTransformed().isEmpty()) {
                 getLog().warn("No types were transformed during plugin execution");
             } else {
                 getLog().info("Transformed " + summary.getTransformed().size() + " types");
@@ -322,6 +404,201 @@ public abstract class ByteBuddyMojo extends AbstractMojo {
         }
     }
 
+    /**
+     * Creates a class loader resolver for the plugins and entry point of this mojo.
+     *
+     * @return A class loader resolver for this mojo.
+     */
+    protected ClassLoaderResolver toClassLoaderResolver() {
+        return new ClassLoaderResolver(getLog(), repositorySystem, repositorySystemSession, remoteRepositories, cacheClassLoaders
+                ? ClassPathCache.getInstance()
+                : null);
+    }
+
+    /**
+     * Resolves the plugin factories of all configured transformations.
+     *
+     * @param classLoaderResolver The class loader resolver to use.
+     * @param root                The root folder or jar file that contains the class files to transform.
+     * @param configuration       A list to which a description of the plugins' configuration and their class path is added.
+     * @return A list of plugin factories for all configured transformations.
+     * @throws MojoExecutionException If a plugin cannot be resolved.
+     */
+    @SuppressWarnings("unchecked")
+    protected List<Plugin.Factory> toFactories(ClassLoaderResolver classLoaderResolver, File root, List<String> configuration) throws MojoExecutionException {
+        List<Plugin.Factory> factories = new ArrayList<Plugin.Factory>(transformations.size());
+        for (Transformation transformation : transformations) {
+            String plugin = transformation.getPlugin();
+            try {
+                ClassLoader classLoader = classLoaderResolver.resolve(transformation.asCoordinate(groupId, artifactId, version, packaging));
+                configuration.add(plugin);
+                if (transformation.arguments != null) {
+                    for (PluginArgument argument : transformation.arguments) {
+                        configuration.add(argument.index + "=" + argument.value);
+                    }
+                }
+                configuration.addAll(fingerprint(classLoader));
+                factories.add(new Plugin.Factory.UsingReflection((Class<? extends Plugin>) Class.forName(plugin,
+                        false,
+                        classLoader))
+                        .with(transformation.makeArgumentResolvers())
+                        .with(Plugin.Factory.UsingReflection.ArgumentResolver.ForType.of(File.class, root),
+                                Plugin.Factory.UsingReflection.ArgumentResolver.ForType.of(Log.class, getLog()),
+                                Plugin.Factory.UsingReflection.ArgumentResolver.ForType.of(BuildLogger.class, new MavenBuildLogger(getLog()))));
+                getLog().info("Resolved plugin: " + transformation.getRawPlugin());
+            } catch (Throwable throwable) {
+                throw new MojoExecutionException("Cannot resolve plugin: " + transformation.getRawPlugin(), throwable);
+            }
+        }
+        return factories;
+    }
+
+    /**
+     * Resolves the configured entry point.
+     *
+     * @param classLoaderResolver The class loader resolver to use.
+     * @return The configured entry point.
+     * @throws MojoExecutionException If the entry point cannot be resolved.
+     */
+    protected EntryPoint toEntryPoint(ClassLoaderResolver classLoaderResolver) throws MojoExecutionException {
+        EntryPoint entryPoint = (initialization == null
+                ? Initialization.makeDefault()
+                : initialization).getEntryPoint(classLoaderResolver, groupId, artifactId, version, packaging);
+        getLog().info("Resolved entry point: " + entryPoint);
+        return entryPoint;
+    }
+
+    /**
+     * Adds a description of the entry point and of all properties that affect the transformation's result to a configuration.
+     *
+     * @param configuration The configuration to add the description to.
+     * @param entryPoint    The resolved entry point.
+     */
+    protected void addConfiguration(List<String> configuration, EntryPoint entryPoint) {
+        configuration.add(entryPoint instanceof Enum<?>
+                ? ((Enum<?>) entryPoint).name()
+                : entryPoint.getClass().getName());
+        configuration.addAll(fingerprint(entryPoint.getClass().getClassLoader()));
+        configuration.add(String.valueOf(suffix));
+        configuration.add(String.valueOf(failOnLiveInitializer));
+        configuration.add(String.valueOf(extendedParsing));
+    }
+
+    /**
+     * Resolves the class file version that is targeted by the built project.
+     *
+     * @return The targeted class file version.
+     * @throws MojoExecutionException If the class file version cannot be resolved.
+     */
+    protected ClassFileVersion toClassFileVersion() throws MojoExecutionException {
+        try {
+            String javaVersionString = findJavaVersionString(project);
+            ClassFileVersion classFileVersion;
+            if (javaVersionString == null) {
+                classFileVersion = ClassFileVersion.ofThisVm();
+                getLog().warn("Could not locate Java target version, build is JDK dependant: " + classFileVersion.getMajorVersion());
+            } else {
+                classFileVersion = ClassFileVersion.ofJavaVersionString(javaVersionString);
+                getLog().debug("Java version detected: " + javaVersionString);
+            }
+            return classFileVersion;
+        } catch (Throwable throwable) {
+            throw new MojoExecutionException("Cannot create plugin engine", throwable);
+        }
+    }
+
+    /**
+     * Creates a plugin engine for an entry point.
+     *
+     * @param entryPoint       The entry point to use.
+     * @param classFileVersion The class file version to target.
+     * @return A plugin engine for the supplied entry point.
+     * @throws MojoExecutionException If the plugin engine cannot be created.
+     */
+    protected Plugin.Engine toPluginEngine(EntryPoint entryPoint, ClassFileVersion classFileVersion) throws MojoExecutionException {
+        try {
+            return Plugin.Engine.Default.of(entryPoint, classFileVersion, suffix == null || suffix.length() == 0
+                    ? MethodNameTransformer.Suffixing.withRandomSuffix()
+                    : new MethodNameTransformer.Suffixing(suffix));
+        } catch (Throwable throwable) {
+            throw new MojoExecutionException("Cannot create plugin engine", throwable);
+        }
+    }
+
+    /**
+     * Returns the configured pool strategy.
+     *
+     * @return The configured pool strategy.
+     */
+    protected Plugin.Engine.PoolStrategy.Hierarchical toPoolStrategy() {
+        return extendedParsing
+                ? Plugin.Engine.PoolStrategy.Default.EXTENDED
+                : Plugin.Engine.PoolStrategy.Default.FAST;
+    }
+
+    /**
+     * Applies a plugin engine using this mojo's configuration.
+     *
+     * @param pluginEngine     The plugin engine to apply.
+     * @param poolStrategy     The pool strategy to use.
+     * @param classFileLocator The class file locator of the class path.
+     * @param source           The source of the class files to transform.
+     * @param target           The target to write the transformed class files to.
+     * @param factories        The plugin factories to apply.
+     * @param root             The root folder or jar file that contains the class files to transform.
+     * @return A summary of the applied transformation.
+     * @throws MojoExecutionException If the transformation fails.
+     */
+    protected Plugin.Engine.Summary apply(Plugin.Engine pluginEngine,
+                                          Plugin.Engine.PoolStrategy poolStrategy,
+                                          ClassFileLocator classFileLocator,
+                                          Plugin.Engine.Source source,
+                                          Plugin.Engine.Target target,
+                                          List<Plugin.Factory> factories,
+                                          File root) throws MojoExecutionException {
+        try {
+            return pluginEngine
+                    .with(poolStrategy)
+                    .with(classFileLocator)
+                    .with(new TransformationLogger(getLog()))
+                    .withErrorHandlers(Plugin.Engine.ErrorHandler.Enforcing.ALL_TYPES_RESOLVED, failOnLiveInitializer
+                            ? Plugin.Engine.ErrorHandler.Enforcing.NO_LIVE_INITIALIZERS
+                            : Plugin.Engine.Listener.NoOp.INSTANCE, failFast
+                            ? Plugin.Engine.ErrorHandler.Failing.FAIL_FAST
+                            : Plugin.Engine.Listener.NoOp.INSTANCE)
+                    .with(threads == 0
+                            ? Plugin.Engine.Dispatcher.ForSerialTransformation.Factory.INSTANCE
+                            : new Plugin.Engine.Dispatcher.ForParallelTransformation.WithThrowawayExecutorService.Factory(threads))
+                    .apply(source, target, factories);
+        } catch (Throwable throwable) {
+            throw new MojoExecutionException("Failed to transform class files in " + root, throwable);
+        }
+    }
+
+    /**
+     * Creates a fingerprint of the class path of a class loader if it is a {@link URLClassLoader} by recording the location,
+     * modification time and size of each class path element.
+     *
+     * @param classLoader The class loader to represent or {@code null} if the boot loader is represented.
+     * @return A list of values that represent the class loader's class path.
+     */
+    private static List<String> fingerprint(ClassLoader classLoader) {
+        List<String> values = new ArrayList<String>();
+        if (classLoader instanceof URLClassLoader) {
+            for (URL url : ((URLClassLoader) classLoader).getURLs()) {
+                try {
+                    File file = new File(url.toURI());
+                    values.add(file.getAbsolutePath() + ":" + file.lastModified() + ":" + file.length());
+                } catch (URISyntaxException ignored) {
+                    values.add(url.toString());
+                } catch (IllegalArgumentException ignored) {
+                    values.add(url.toString());
+                }
+            }
+        }
+        return values;
+    }
+
     /**
      * Makes a best effort of locating the configured Java target version.
      *
@@ -413,6 +690,288 @@ public abstract class ByteBuddyMojo extends AbstractMojo {
         }
     }
 
+    /**
+     * <p>
+     * A Byte Buddy plugin that transforms the jar files of a project's dependencies and writes the transformed jar files to an output
+     * directory. Jar files are transformed in parallel where each jar file is transformed by a single thread. The types of the compile
+     * class path are described by a type pool that is shared by all jar files.
+     * </p>
+     * <p>
+     * For each transformed jar file, a fingerprint of the jar file, of the plugin configuration and of the jar files of the class path
+     * is stored next to the transformed jar file. If the fingerprint did not change since the last execution, the jar file is not
+     * transformed anew.
+     * </p>
+     */
+    @Mojo(name = "transform-dependencies",
+            defaultPhase = LifecyclePhase.PROCESS_CLASSES,
+            threadSafe = true,
+            requiresDependencyResolution = ResolutionScope.COMPILE)
+    public static class ForDependencies extends ByteBuddyMojo {
+
+        /**
+         * The file extension of a jar file's fingerprint.
+         */
+        private static final String FINGERPRINT = ".fingerprint";
+
+        /**
+         * The current build's production output directory.
+         */
+        @Parameter(defaultValue = "${project.build.outputDirectory}", required = true, readonly = true)
+        public String outputDirectory;
+
+        /**
+         * The production class path.
+         */
+        @Parameter(defaultValue = "${project.compileClasspathElements}", required = true, readonly = true)
+        public List<String> compileClasspathElements;
+
+        /**
+         * The resolved dependencies of the built project.
+         */
+        @Parameter(defaultValue = "${project.artifacts}", required = true, readonly = true)
+        public Set<Artifact> artifacts;
+
+        /**
+         * <p>
+         * The dependencies to transform, each given as a {@code groupId} or as a {@code groupId:artifactId}. If this list is empty or
+         * is not supplied at all, all jar files of the project's compile dependencies are transformed.
+         * </p>
+         * <blockquote><pre>{@code
+         * <dependencies>
+         *   <dependency>foo:bar< /dependency>
+         * < /dependencies>
+         * }</pre></blockquote>
+         */
+        @Parameter
+        public List<String> dependencies;
+
+        /**
+         * The directory to which the transformed jar files are written.
+         */
+        @Parameter(defaultValue = "${project.build.directory}/byte-buddy-dependencies", required = true)
+        public String dependencyOutputDirectory;
+
+        /**
+         * The amount of jar files that are transformed in parallel or {@code 0} for transforming as many jar files in parallel as
+         * processors are available.
+         */
+        @Parameter(defaultValue = "0", required = true)
+        public int dependencyThreads;
+
+        @Override
+        protected String getOutputDirectory() {
+            return outputDirectory;
+        }
+
+        @Override
+        protected List<String> getClassPathElements() {
+            return compileClasspathElements;
+        }
+
+        @Override
+        protected void transform() throws MojoExecutionException, MojoFailureException, IOException {
+            List<File> jars = new ArrayList<File>();
+            Set<String> names = new HashSet<String>();
+            for (Artifact artifact : artifacts) {
+                File jar = artifact.getFile();
+                if (jar == null || !jar.isFile() || !isIncluded(artifact)) {
+                    continue;
+                } else if (!names.add(jar.getName())) {
+                    throw new MojoExecutionException("Cannot transform several dependencies with the same file name: " + jar.getName());
+                }
+                jars.add(jar);
+            }
+            if (jars.isEmpty()) {
+                getLog().warn("No dependencies were found for transformation");
+                return;
+            }
+            File folder = new File(dependencyOutputDirectory);
+            if (!folder.isDirectory() && !folder.mkdirs()) {
+                throw new MojoExecutionException("Could not create directory: " + folder);
+            }
+            ClassLoaderResolver classLoaderResolver = toClassLoaderResolver();
+            try {
+                List<String> configuration = new ArrayList<String>();
+                toFactories(classLoaderResolver, folder, configuration);
+                EntryPoint entryPoint = toEntryPoint(classLoaderResolver);
+                addConfiguration(configuration, entryPoint);
+                List<File> classPath = new ArrayList<File>(compileClasspathElements.size());
+                for (String element : compileClasspathElements) {
+                    File artifact = new File(element);
+                    if (artifact.isFile()) {
+                        configuration.add(artifact.getAbsolutePath() + ":" + artifact.lastModified() + ":" + artifact.length());
+                        classPath.add(artifact);
+                    }
+                }
+                Map<File, String> fingerprints = new LinkedHashMap<File, String>();
+                Map<File, List<Plugin.Factory>> factories = new HashMap<File, List<Plugin.Factory>>();
+                for (File jar : jars) {
+                    List<String> values = new ArrayList<String>(configuration);
+                    values.add(jar.getAbsolutePath() + ":" + jar.lastModified() + ":" + jar.length());
+                    String fingerprint = ClassFileIndex.fingerprint(values);
+                    if (new File(folder, jar.getName()).isFile() && fingerprint.equals(read(new File(folder, jar.getName() + FINGERPRINT)))) {
+                        getLog().info("Skipping transformation of unchanged dependency: " + jar);
+                    } else {
+                        fingerprints.put(jar, fingerprint);
+                        factories.put(jar, toFactories(classLoaderResolver, jar, new ArrayList<String>()));
+                    }
+                }
+                if (fingerprints.isEmpty()) {
+                    getLog().info("Skipping transformation as no dependencies were changed since the last execution");
+                    return;
+                }
+                final Plugin.Engine pluginEngine = toPluginEngine(entryPoint, toClassFileVersion());
+                final Plugin.Engine.PoolStrategy.Hierarchical poolStrategy = toPoolStrategy();
+                List<ClassFileLocator> classFileLocators = new ArrayList<ClassFileLocator>(classPath.size());
+                for (File jar : classPath) {
+                    classFileLocators.add(cacheClassPath
+                            ? ClassPathCache.getInstance().locate(jar)
+                            : ClassFileLocator.ForJarFile.of(jar));
+                }
+                final ClassFileLocator classFileLocator = new ClassFileLocator.Compound(classFileLocators);
+                try {
+                    final Plugin.Engine.PoolStrategy sharedPoolStrategy = new ClassPathCache.WithParent(poolStrategy, cacheClassPath
+                            ? ClassPathCache.getInstance().typePool(classPath, poolStrategy)
+                            : poolStrategy.typePool(classFileLocator));
+                    ExecutorService executorService = Executors.newFixedThreadPool(Math.min(fingerprints.size(), dependencyThreads == 0
+                            ? Runtime.getRuntime().availableProcessors()
+                            : dependencyThreads));
+                    try {
+                        List<Future<Integer>> futures = new ArrayList<Future<Integer>>(fingerprints.size());
+                        for (final Map.Entry<File, String> entry : fingerprints.entrySet()) {
+                            final File jar = entry.getKey(), target = new File(folder, jar.getName());
+                            final List<Plugin.Factory> jarFactories = factories.get(jar);
+                            futures.add(executorService.submit(new Callable<Integer>() {
+                                public Integer call() throws MojoExecutionException, IOException {
+                                    return transform(pluginEngine, sharedPoolStrategy, classFileLocator, jarFactories, jar, target, entry.getValue());
+                                }
+                            }));
+                        }
+                        int transformed = 0;
+                        for (Future<Integer> future : futures) {
+                            try {
+                                transformed += future.get();
+                            } catch (ExecutionException exception) {
+                                Throwable cause = exception.getCause();
+                                if (cause instanceof MojoExecutionException) {
+                                    throw (MojoExecutionException) cause;
+                                } else if (cause instanceof IOException) {
+                                    throw (IOException) cause;
+                                } else {
+                                    throw new MojoExecutionException("Failed to transform dependency", cause);
+                                }
+                            } catch (InterruptedException exception) {
+                                Thread.currentThread().interrupt();
+                                throw new MojoExecutionException("Interrupted while transforming dependencies", exception);
+                            }
+                        }
+                        getLog().info("Transformed " + transformed + " types in " + fingerprints.size() + " of " + jars.size() + " dependencies");
+                    } finally {
+                        executorService.shutdownNow();
+                    }
+                } finally {
+                    classFileLocator.close();
+                }
+            } finally {
+                classLoaderResolver.close();
+            }
+        }
+
+        /**
+         * Checks if an artifact is included for transformation.
+         *
+         * @param artifact The artifact to check.
+         * @return {@code true} if the artifact should be transformed.
+         */
+        private boolean isIncluded(Artifact artifact) {
+            if (dependencies == null || dependencies.isEmpty()) {
+                return true;
+            }
+            for (String dependency : dependencies) {
+                if (dependency.equals(artifact.getGroupId()) || dependency.equals(artifact.getGroupId() + ":" + artifact.getArtifactId())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Transforms a single jar file and records its fingerprint once the transformed jar file is written.
+         *
+         * @param pluginEngine     The plugin engine to use.
+         * @param poolStrategy     The pool strategy to use.
+         * @param classFileLocator The class file locator of the class path.
+         * @param factories        The plugin factories to apply.
+         * @param jar              The jar file to transform.
+         * @param target           The file to write the transformed jar file to.
+         * @param fingerprint      The fingerprint of the jar file and of the transformation's configuration.
+         * @return The number of transformed types.
+         * @throws MojoExecutionException If the transformation fails.
+         * @throws IOException            If an I/O exception occurs.
+         */
+        private int transform(Plugin.Engine pluginEngine,
+                              Plugin.Engine.PoolStrategy poolStrategy,
+                              ClassFileLocator classFileLocator,
+                              List<Plugin.Factory> factories,
+                              File jar,
+                              File target,
+                              String fingerprint) throws MojoExecutionException, IOException {
+            File fingerprintFile = new File(target.getParentFile(), target.getName() + FINGERPRINT);
+            if (fingerprintFile.exists() && !fingerprintFile.delete()) {
+                throw new MojoExecutionException("Could not delete fingerprint: " + fingerprintFile);
+            }
+            File temporary = new File(target.getParentFile(), target.getName() + ".tmp");
+            getLog().info("Transforming dependency: " + jar);
+            Plugin.Engine.Summary summary;
+            try {
+                summary = apply(pluginEngine,
+                        poolStrategy,
+                        classFileLocator,
+                        new Plugin.Engine.Source.ForJarFile(jar),
+                        new Plugin.Engine.Target.ForJarFile(temporary),
+                        factories,
+                        jar);
+                if (!summary.getFailed().isEmpty()) {
+                    throw new MojoExecutionException(summary.getFailed() + " type transformations have failed in " + jar);
+                } else if (target.exists() && !target.delete()) {
+                    throw new MojoExecutionException("Could not delete previous transformation: " + target);
+                } else if (!temporary.renameTo(target)) {
+                    throw new MojoExecutionException("Could not write transformed dependency: " + target);
+                }
+            } finally {
+                if (temporary.exists() && !temporary.delete()) {
+                    getLog().warn("Could not delete temporary file: " + temporary);
+                }
+            }
+            OutputStream outputStream = new FileOutputStream(fingerprintFile);
+            try {
+                outputStream.write(fingerprint.getBytes("UTF-8"));
+            } finally {
+                outputStream.close();
+            }
+            return summary.getTransformed().size();
+        }
+
+        /**
+         * Reads a previously recorded fingerprint.
+         *
+         * @param file The file containing the fingerprint.
+         * @return The recorded fingerprint or {@code null} if no fingerprint was recorded.
+         * @throws IOException If an I/O exception occurs.
+         */
+        private static String read(File file) throws IOException {
+            if (!file.isFile()) {
+                return null;
+            }
+            InputStream inputStream = new FileInputStream(file);
+            try {
+                return new String(StreamDrainer.DEFAULT.drain(inputStream), "UTF-8");
+            } finally {
+                inputStream.close();
+            }
+        }
+    }
+
     /**
      * A {@link BuildLogger} implementation for a Maven {@link Log}.
      */
@@ -0,0 +1,724 @@
+/*
+ * Copyright 2014 - 2020 Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.build.maven;
+
+import net.bytebuddy.build.Plugin;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.jar.asm.ClassReader;
+import net.bytebuddy.utility.StreamDrainer;
+
+import java.io.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.Manifest;
+
+/**
+ * <p>
+ * An index of the class files of an output folder that allows for detecting class files that were changed since a previous
+ * transformation. For each class file, the index records the last modification time, the file size and a digest of the file's
+ * content after the last transformation, as well as the internal names of the type's super class and interfaces. A class file
+ * is considered changed if it was not indexed previously or if its modification time or size differ from the recorded values
+ * while its digest does not match the recorded digest either. Class files that were generated by a transformation, such as
+ * auxiliary types, are recorded together with the type that caused their creation. They are not considered for detecting
+ * changes but are deleted once this type is transformed again or removed.
+ * </p>
+ * <p>
+ * Any index is bound to a fingerprint of the configuration that was used for the transformation. If this fingerprint changes,
+ * a previously written index is discarded and all class files are considered changed.
+ * </p>
+ */
+public class ClassFileIndex {
+
+    /**
+     * The format version of a persisted index.
+     */
+    private static final int FORMAT = 2;
+
+    /**
+     * The file extension of a class file.
+     */
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    /**
+     * The digest algorithm being used.
+     */
+    private static final String ALGORITHM = "SHA-256";
+
+    /**
+     * The fingerprint of the configuration that this index represents.
+     */
+    private final String fingerprint;
+
+    /**
+     * A mapping of internal type names to their index entries.
+     */
+    private final Map<String, Entry> entries;
+
+    /**
+     * Creates a new, empty class file index.
+     *
+     * @param fingerprint The fingerprint of the configuration that this index represents.
+     */
+    public ClassFileIndex(String fingerprint) {
+        this(fingerprint, Collections.<String, Entry>emptyMap());
+    }
+
+    /**
+     * Creates a new class file index.
+     *
+     * @param fingerprint The fingerprint of the configuration that this index represents.
+     * @param entries     A mapping of internal type names to their index entries.
+     */
+    protected ClassFileIndex(String fingerprint, Map<String, Entry> entries) {
+        this.fingerprint = fingerprint;
+        this.entries = entries;
+    }
+
+    /**
+     * Computes a fingerprint of a list of configuration values.
+     *
+     * @param values The configuration values to represent.
+     * @return A fingerprint of the supplied values.
+     */
+    public static String fingerprint(List<String> values) {
+        MessageDigest messageDigest = digest();
+        for (String value : values) {
+            try {
+                messageDigest.update(value.getBytes("UTF-8"));
+            } catch (UnsupportedEncodingException exception) {
+                throw new IllegalStateException("Could not find UTF-8 encoding", exception);
+            }
+            messageDigest.update((byte) 0);
+        }
+        StringBuilder stringBuilder = new StringBuilder();
+        for (byte value : messageDigest.digest()) {
+            stringBuilder.append(String.format("%02x", value & 0xFF));
+        }
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Reads a class file index from a file. If the file does not exist, cannot be read or represents another
+     * configuration, an empty index is returned.
+     *
+     * @param file        The file that contains the persisted index.
+     * @param fingerprint The fingerprint of the current configuration.
+     * @return The class file index that is represented by the supplied file or an empty index.
+     */
+    public static ClassFileIndex read(File file, String fingerprint) {
+        if (!file.isFile()) {
+            return new ClassFileIndex(fingerprint);
+        }
+        try {
+            DataInputStream inputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            try {
+                if (inputStream.readInt() != FORMAT || !inputStream.readUTF().equals(fingerprint)) {
+                    return new ClassFileIndex(fingerprint);
+                }
+                int size = inputStream.readInt();
+                Map<String, Entry> entries = new HashMap<String, Entry>();
+                for (int index = 0; index < size; index++) {
+                    String internalName = inputStream.readUTF();
+                    long lastModified = inputStream.readLong(), length = inputStream.readLong();
+                    byte[] digest = new byte[inputStream.readInt()];
+                    inputStream.readFully(digest);
+                    String superClass = inputStream.readBoolean()
+                            ? inputStream.readUTF()
+                            : null;
+                    String[] interfaces = new String[inputStream.readInt()];
+                    for (int interfaceIndex = 0; interfaceIndex < interfaces.length; interfaceIndex++) {
+                        interfaces[interfaceIndex] = inputStream.readUTF();
+                    }
+                    String owner = inputStream.readBoolean()
+                            ? inputStream.readUTF()
+                            : null;
+                    entries.put(internalName, new Entry(lastModified, length, digest, superClass, interfaces, owner));
+                }
+                return new ClassFileIndex(fingerprint, entries);
+            } finally {
+                inputStream.close();
+            }
+        } catch (IOException ignored) {
+            return new ClassFileIndex(fingerprint);
+        }
+    }
+
+    /**
+     * Creates a new message digest for the used algorithm.
+     *
+     * @return A new message digest.
+     */
+    private static MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("Could not find digest algorithm " + ALGORITHM, exception);
+        }
+    }
+
+    /**
+     * Reads a file's content.
+     *
+     * @param file The file to read.
+     * @return The file's content.
+     * @throws IOException If an I/O exception occurs.
+     */
+    private static byte[] content(File file) throws IOException {
+        InputStream inputStream = new FileInputStream(file);
+        try {
+            return StreamDrainer.DEFAULT.drain(inputStream);
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    /**
+     * Returns {@code true} if this index does not contain any entries.
+     *
+     * @return {@code true} if this index does not contain any entries.
+     */
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Returns the internal names of all indexed types.
+     *
+     * @return The internal names of all indexed types.
+     */
+    public Set<String> getTypes() {
+        return entries.keySet();
+    }
+
+    /**
+     * Writes this index to the supplied file. The index is first written to a temporary file which is then renamed
+     * such that an interrupted write never leaves a corrupted index.
+     *
+     * @param file The file to write this index to.
+     * @throws IOException If an I/O exception occurs.
+     */
+    public void write(File file) throws IOException {
+        File folder = file.getAbsoluteFile().getParentFile();
+        if (!folder.isDirectory() && !folder.mkdirs()) {
+            throw new IOException("Could not create directory: " + folder);
+        }
+        File temporary = File.createTempFile(file.getName(), ".tmp", folder);
+        try {
+            DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)));
+            try {
+                outputStream.writeInt(FORMAT);
+                outputStream.writeUTF(fingerprint);
+                outputStream.writeInt(entries.size());
+                for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                    outputStream.writeUTF(entry.getKey());
+                    outputStream.writeLong(entry.getValue().lastModified);
+                    outputStream.writeLong(entry.getValue().length);
+                    outputStream.writeInt(entry.getValue().digest.length);
+                    outputStream.write(entry.getValue().digest);
+                    outputStream.writeBoolean(entry.getValue().superClass != null);
+                    if (entry.getValue().superClass != null) {
+                        outputStream.writeUTF(entry.getValue().superClass);
+                    }
+                    outputStream.writeInt(entry.getValue().interfaces.length);
+                    for (String interfaceType : entry.getValue().interfaces) {
+                        outputStream.writeUTF(interfaceType);
+                    }
+                    outputStream.writeBoolean(entry.getValue().owner != null);
+                    if (entry.getValue().owner != null) {
+                        outputStream.writeUTF(entry.getValue().owner);
+                    }
+                }
+            } finally {
+                outputStream.close();
+            }
+            if (file.exists() && !file.delete() || !temporary.renameTo(file)) {
+                throw new IOException("Could not write index to " + file);
+            }
+        } finally {
+            if (temporary.exists() && !temporary.delete()) {
+                temporary.deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * Scans a folder for class files and compares them to this index. Class files that were generated by a previous transformation
+     * are never considered added, changed or removed.
+     *
+     * @param root The folder to scan.
+     * @return A delta of this index and the supplied folder.
+     * @throws IOException If an I/O exception occurs.
+     */
+    public Delta scan(File root) throws IOException {
+        Map<String, Entry> entries = new HashMap<String, Entry>();
+        Set<String> changed = new HashSet<String>();
+        LinkedList<File> folders = new LinkedList<File>(Collections.singleton(root));
+        String prefix = root.getAbsolutePath() + File.separatorChar;
+        while (!folders.isEmpty()) {
+            File[] file = folders.removeFirst().listFiles();
+            if (file == null) {
+                continue;
+            }
+            for (File candidate : file) {
+                if (candidate.isDirectory()) {
+                    folders.add(candidate);
+                } else if (candidate.getName().endsWith(CLASS_FILE_EXTENSION)) {
+                    String path = candidate.getAbsolutePath().substring(prefix.length()).replace(File.separatorChar, '/');
+                    String internalName = path.substring(0, path.length() - CLASS_FILE_EXTENSION.length());
+                    Entry entry = this.entries.get(internalName);
+                    if (entry != null && (entry.owner != null || entry.isUnmodified(candidate))) {
+                        entries.put(internalName, entry);
+                    } else {
+                        byte[] binaryRepresentation = content(candidate);
+                        Entry current = Entry.of(candidate, binaryRepresentation);
+                        entries.put(internalName, current);
+                        if (entry == null || !Arrays.equals(entry.digest, current.digest)) {
+                            changed.add(internalName);
+                        }
+                    }
+                }
+            }
+        }
+        Set<String> removed = new HashSet<String>();
+        for (Map.Entry<String, Entry> entry : this.entries.entrySet()) {
+            if (entry.getValue().owner == null && !entries.containsKey(entry.getKey())) {
+                removed.add(entry.getKey());
+            }
+        }
+        return new Delta(fingerprint, entries, changed, removed);
+    }
+
+    /**
+     * An entry of a class file index.
+     */
+    protected static class Entry {
+
+        /**
+         * The class file's last modification time.
+         */
+        private final long lastModified;
+
+        /**
+         * The class file's length.
+         */
+        private final long length;
+
+        /**
+         * A digest of the class file's content.
+         */
+        private final byte[] digest;
+
+        /**
+         * The internal name of the type's super class or {@code null} if the type does not define a super class.
+         */
+        private final String superClass;
+
+        /**
+         * The internal names of the type's interfaces.
+         */
+        private final String[] interfaces;
+
+        /**
+         * The internal name of the type whose transformation generated this class file or {@code null} if this class file
+         * was not generated by a transformation.
+         */
+        private final String owner;
+
+        /**
+         * Creates a new entry.
+         *
+         * @param lastModified The class file's last modification time.
+         * @param length       The class file's length.
+         * @param digest       A digest of the class file's content.
+         * @param superClass   The internal name of the type's super class or {@code null} if the type does not define a super class.
+         * @param interfaces   The internal names of the type's interfaces.
+         * @param owner        The internal name of the type whose transformation generated this class file or {@code null} if this
+         *                     class file was not generated by a transformation.
+         */
+        protected Entry(long lastModified, long length, byte[] digest, String superClass, String[] interfaces, String owner) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.digest = digest;
+            this.superClass = superClass;
+            this.interfaces = interfaces;
+            this.owner = owner;
+        }
+
+        /**
+         * Creates an entry for a class file that was not generated by a transformation.
+         *
+         * @param file                 The class file.
+         * @param binaryRepresentation The class file's content.
+         * @return An entry that represents the supplied class file.
+         */
+        protected static Entry of(File file, byte[] binaryRepresentation) {
+            return of(file, binaryRepresentation, null);
+        }
+
+        /**
+         * Creates an entry for a class file.
+         *
+         * @param file                 The class file.
+         * @param binaryRepresentation The class file's content.
+         * @param owner                The internal name of the type whose transformation generated this class file or {@code null}
+         *                             if this class file was not generated by a transformation.
+         * @return An entry that represents the supplied class file.
+         */
+        protected static Entry of(File file, byte[] binaryRepresentation, String owner) {
+            String superClass;
+            String[] interfaces;
+            try {
+                ClassReader classReader = new ClassReader(binaryRepresentation);
+                superClass = classReader.getSuperName();
+                interfaces = classReader.getInterfaces();
+            } catch (RuntimeException ignored) {
+                superClass = null;
+                interfaces = new String[0];
+            }
+            return new Entry(file.lastModified(), file.length(), digest().digest(binaryRepresentation), superClass, interfaces, owner);
+        }
+
+        /**
+         * Returns {@code true} if the supplied file's modification time and length match this entry.
+         *
+         * @param file The file to check.
+         * @return {@code true} if the supplied file's modification time and length match this entry.
+         */
+        protected boolean isUnmodified(File file) {
+            return file.lastModified() == lastModified && file.length() == length;
+        }
+    }
+
+    /**
+     * A delta between a class file index and the current state of a folder.
+     */
+    public static class Delta {
+
+        /**
+         * The fingerprint of the configuration that this delta represents.
+         */
+        private final String fingerprint;
+
+        /**
+         * A mapping of internal type names to the index entries of the folder's current state.
+         */
+        private final Map<String, Entry> entries;
+
+        /**
+         * The internal names of all types which were added or changed.
+         */
+        private final Set<String> changed;
+
+        /**
+         * The internal names of all types which were removed.
+         */
+        private final Set<String> removed;
+
+        /**
+         * Creates a new delta.
+         *
+         * @param fingerprint The fingerprint of the configuration that this delta represents.
+         * @param entries     A mapping of internal type names to the index entries of the folder's current state.
+         * @param changed     The internal names of all types which were added or changed.
+         * @param removed     The internal names of all types which were removed.
+         */
+        protected Delta(String fingerprint, Map<String, Entry> entries, Set<String> changed, Set<String> removed) {
+            this.fingerprint = fingerprint;
+            this.entries = entries;
+            this.changed = changed;
+            this.removed = removed;
+        }
+
+        /**
+         * Returns {@code true} if no class file was added, changed or removed.
+         *
+         * @return {@code true} if no class file was added, changed or removed.
+         */
+        public boolean isEmpty() {
+            return changed.isEmpty() && removed.isEmpty();
+        }
+
+        /**
+         * Returns the internal names of all types which were added or changed.
+         *
+         * @return The internal names of all types which were added or changed.
+         */
+        public Set<String> getChanged() {
+            return changed;
+        }
+
+        /**
+         * Returns the internal names of all types which were removed.
+         *
+         * @return The internal names of all types which were removed.
+         */
+        public Set<String> getRemoved() {
+            return removed;
+        }
+
+        /**
+         * Returns the internal names of all types which require a transformation. These are all added or changed types
+         * and any type that directly or indirectly extends or implements an added, changed or removed type.
+         *
+         * @return The internal names of all types which require a transformation.
+         */
+        public Set<String> getAffected() {
+            Map<String, List<String>> subtypes = new HashMap<String, List<String>>();
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                if (entry.getValue().owner != null) {
+                    continue;
+                }
+                List<String> superTypes = new ArrayList<String>(Arrays.asList(entry.getValue().interfaces));
+                if (entry.getValue().superClass != null) {
+                    superTypes.add(entry.getValue().superClass);
+                }
+                for (String superType : superTypes) {
+                    List<String> types = subtypes.get(superType);
+                    if (types == null) {
+                        types = new ArrayList<String>();
+                        subtypes.put(superType, types);
+                    }
+                    types.add(entry.getKey());
+                }
+            }
+            Set<String> affected = new HashSet<String>(changed);
+            LinkedList<String> queue = new LinkedList<String>(changed);
+            queue.addAll(removed);
+            while (!queue.isEmpty()) {
+                List<String> types = subtypes.get(queue.removeFirst());
+                if (types != null) {
+                    for (String type : types) {
+                        if (affected.add(type)) {
+                            queue.add(type);
+                        }
+                    }
+                }
+            }
+            return affected;
+        }
+
+        /**
+         * Resolves the untransformed class files of the supplied types. Class files that were added or changed were written by
+         * the compiler and are copied to the folder of original class files. The class files of any other type were already
+         * transformed during a previous execution such that their original is read from this folder instead. Originals of
+         * removed types are deleted, as well as any class file that a previous transformation of a removed or resolved type generated.
+         *
+         * @param root      The folder that contains the class files.
+         * @param originals The folder that contains the untransformed class files.
+         * @param types     The internal names of the types to resolve.
+         * @return A mapping of resource names to the untransformed class files of the supplied types.
+         * @throws IOException If an I/O exception occurs or if an original class file is not available.
+         */
+        public Map<String, byte[]> resolve(File root, File originals, Collection<String> types) throws IOException {
+            for (String type : removed) {
+                File file = new File(originals, type + CLASS_FILE_EXTENSION);
+                if (file.exists() && !file.delete()) {
+                    throw new IOException("Could not delete " + file);
+                }
+            }
+            Set<String> owners = new HashSet<String>(types);
+            owners.addAll(removed);
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                if (entry.getValue().owner != null && owners.contains(entry.getValue().owner)) {
+                    File file = new File(root, entry.getKey() + CLASS_FILE_EXTENSION);
+                    if (file.exists() && !file.delete()) {
+                        throw new IOException("Could not delete " + file);
+                    }
+                }
+            }
+            Map<String, byte[]> binaryRepresentations = new HashMap<String, byte[]>();
+            for (String type : types) {
+                File original = new File(originals, type + CLASS_FILE_EXTENSION);
+                byte[] binaryRepresentation;
+                if (changed.contains(type)) {
+                    binaryRepresentation = content(new File(root, type + CLASS_FILE_EXTENSION));
+                    if (!original.getParentFile().isDirectory() && !original.getParentFile().mkdirs()) {
+                        throw new IOException("Could not create directory: " + original.getParent());
+                    }
+                    OutputStream outputStream = new FileOutputStream(original);
+                    try {
+                        outputStream.write(binaryRepresentation);
+                    } finally {
+                        outputStream.close();
+                    }
+                } else if (original.isFile()) {
+                    binaryRepresentation = content(original);
+                } else {
+                    throw new IOException("Could not locate untransformed class file of " + type + " in " + originals + ", a clean build is required");
+                }
+                binaryRepresentations.put(type + CLASS_FILE_EXTENSION, binaryRepresentation);
+            }
+            return binaryRepresentations;
+        }
+
+        /**
+         * Creates a class file index that reflects the current state of the folder after the supplied types were rewritten
+         * without generating any additional class files.
+         *
+         * @param root  The folder that contains the class files.
+         * @param types The internal names of the types that were rewritten.
+         * @return A class file index of the folder's current state.
+         * @throws IOException If an I/O exception occurs.
+         */
+        public ClassFileIndex update(File root, Collection<String> types) throws IOException {
+            return update(root, types, Collections.<String, String>emptyMap());
+        }
+
+        /**
+         * Creates a class file index that reflects the current state of the folder after the supplied types were rewritten.
+         *
+         * @param root      The folder that contains the class files.
+         * @param types     The internal names of the types that were rewritten.
+         * @param generated A mapping of the internal names of all additional class files that were written during the transformation
+         *                  to the internal name of the type whose transformation generated them.
+         * @return A class file index of the folder's current state.
+         * @throws IOException If an I/O exception occurs.
+         */
+        public ClassFileIndex update(File root, Collection<String> types, Map<String, String> generated) throws IOException {
+            Set<String> owners = new HashSet<String>(types);
+            owners.addAll(removed);
+            Map<String, Entry> entries = new HashMap<String, Entry>();
+            for (Map.Entry<String, Entry> entry : this.entries.entrySet()) {
+                if (entry.getValue().owner == null || !owners.contains(entry.getValue().owner)) {
+                    entries.put(entry.getKey(), entry.getValue());
+                }
+            }
+            for (String type : types) {
+                File file = new File(root, type + CLASS_FILE_EXTENSION);
+                if (file.isFile()) {
+                    entries.put(type, Entry.of(file, content(file)));
+                } else {
+                    entries.remove(type);
+                }
+            }
+            for (Map.Entry<String, String> entry : generated.entrySet()) {
+                File file = new File(root, entry.getKey() + CLASS_FILE_EXTENSION);
+                if (!types.contains(entry.getKey()) && file.isFile()) {
+                    entries.put(entry.getKey(), Entry.of(file, content(file), entry.getValue()));
+                }
+            }
+            return new ClassFileIndex(fingerprint, entries);
+        }
+    }
+
+    /**
+     * A target that records all class files that are written in addition to the types being transformed, such as auxiliary types.
+     */
+    public static class RecordingTarget implements Plugin.Engine.Target {
+
+        /**
+         * The target to write to.
+         */
+        private final Plugin.Engine.Target delegate;
+
+        /**
+         * The internal names of the types being transformed.
+         */
+        private final Collection<String> types;
+
+        /**
+         * A mapping of the internal names of all additionally written class files to the internal name of the type whose
+         * transformation generated them.
+         */
+        private final Map<String, String> generated;
+
+        /**
+         * Creates a new recording target.
+         *
+         * @param delegate The target to write to.
+         * @param types    The internal names of the types being transformed.
+         */
+        public RecordingTarget(Plugin.Engine.Target delegate, Collection<String> types) {
+            this.delegate = delegate;
+            this.types = types;
+            generated = new ConcurrentHashMap<String, String>();
+        }
+
+        /**
+         * Returns a mapping of the internal names of all additionally written class files to the internal name of the type whose
+         * transformation generated them.
+         *
+         * @return A mapping of the internal names of all additionally written class files to the internal name of their owner.
+         */
+        public Map<String, String> getGenerated() {
+            return generated;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Sink write(Manifest manifest) throws IOException {
+            return new RecordingSink(delegate.write(manifest));
+        }
+
+        /**
+         * A sink that records all class files that are written in addition to the types being transformed.
+         */
+        protected class RecordingSink implements Sink {
+
+            /**
+             * The sink to write to.
+             */
+            private final Sink delegate;
+
+            /**
+             * Creates a new recording sink.
+             *
+             * @param delegate The sink to write to.
+             */
+            protected RecordingSink(Sink delegate) {
+                this.delegate = delegate;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void store(Map<TypeDescription, byte[]> binaryRepresentations) throws IOException {
+                String owner = null;
+                for (TypeDescription typeDescription : binaryRepresentations.keySet()) {
+                    if (types.contains(typeDescription.getInternalName())) {
+                        owner = typeDescription.getInternalName();
+                        break;
+                    }
+                }
+                if (owner != null) {
+                    for (TypeDescription typeDescription : binaryRepresentations.keySet()) {
+                        if (!typeDescription.getInternalName().equals(owner)) {
+                            generated.put(typeDescription.getInternalName(), owner);
+                        }
+                    }
+                }
+                delegate.store(binaryRepresentations);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void retain(Plugin.Engine.Source.Element element) throws IOException {
+                delegate.retain(element);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void close() throws IOException {
+                delegate.close();
+            }
+        }
+    }
+}
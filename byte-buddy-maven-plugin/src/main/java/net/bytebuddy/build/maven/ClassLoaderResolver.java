@@ -16,6 +16,7 @@
 package net.bytebuddy.build.maven;
 
 import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.build.ClassPathCache;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugin.logging.Log;
@@ -32,6 +33,7 @@ import org.eclipse.aether.resolution.DependencyResolutionException;
 import org.eclipse.aether.util.graph.visitor.PreorderNodeListGenerator;
 
 import java.io.Closeable;
+import java.io.File;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -71,6 +73,11 @@ public class ClassLoaderResolver implements Closeable {
      */
     private final Map<MavenCoordinate, ClassLoader> classLoaders;
 
+    /**
+     * The class path cache that retains the resolved class loaders or {@code null} if class loaders are not cached.
+     */
+    private final ClassPathCache classPathCache;
+
     /**
      * Creates a new class loader resolver.
      *
@@ -80,10 +87,29 @@ public class ClassLoaderResolver implements Closeable {
      * @param remoteRepositories      A list of remote repositories available.
      */
     public ClassLoaderResolver(Log log, RepositorySystem repositorySystem, RepositorySystemSession repositorySystemSession, List<RemoteRepository> remoteRepositories) {
+        this(log, repositorySystem, repositorySystemSession, remoteRepositories, null);
+    }
+
+    /**
+     * Creates a new class loader resolver.
+     *
+     * @param log                     The Maven log dispatcher.
+     * @param repositorySystem        The repository system to use.
+     * @param repositorySystemSession The repository system session to use.
+     * @param remoteRepositories      A list of remote repositories available.
+     * @param classPathCache          The class path cache that retains the resolved class loaders or {@code null} if class loaders
+     *                                should be created for this resolver and be closed together with it.
+     */
+    public ClassLoaderResolver(Log log,
+                               RepositorySystem repositorySystem,
+                               RepositorySystemSession repositorySystemSession,
+                               List<RemoteRepository> remoteRepositories,
+                               ClassPathCache classPathCache) {
         this.log = log;
         this.repositorySystem = repositorySystem;
         this.repositorySystemSession = repositorySystemSession;
         this.remoteRepositories = remoteRepositories;
+        this.classPathCache = classPathCache;
         classLoaders = new HashMap<MavenCoordinate, ClassLoader>();
     }
 
@@ -115,7 +141,7 @@ public class ClassLoaderResolver implements Closeable {
      * @throws MojoFailureException   If the plugin application raises an error.
      */
     private ClassLoader doResolve(MavenCoordinate mavenCoordinate) throws MojoExecutionException, MojoFailureException {
-        List<URL> urls = new ArrayList<URL>();
+        List<File> artifacts = new ArrayList<File>();
         log.info("Resolving transformer dependency: " + mavenCoordinate);
         try {
             DependencyNode root = repositorySystem.collectDependencies(repositorySystemSession, new CollectRequest(new Dependency(mavenCoordinate.asArtifact(), "runtime"), remoteRepositories)).getRoot();
@@ -123,8 +149,16 @@ public class ClassLoaderResolver implements Closeable {
             PreorderNodeListGenerator preorderNodeListGenerator = new PreorderNodeListGenerator();
             root.accept(preorderNodeListGenerator);
             for (Artifact artifact : preorderNodeListGenerator.getArtifacts(false)) {
-                urls.add(artifact.getFile().toURI().toURL());
+                artifacts.add(artifact.getFile());
+            }
+            if (classPathCache != null) {
+                return classPathCache.classLoader(mavenCoordinate, artifacts);
             }
+            List<URL> urls = new ArrayList<URL>(artifacts.size());
+            for (File artifact : artifacts) {
+                urls.add(artifact.toURI().toURL());
+            }
+            return new URLClassLoader(urls.toArray(new URL[0]), ByteBuddy.class.getClassLoader());
         } catch (DependencyCollectionException exception) {
             throw new MojoExecutionException("Could not collect dependencies for " + mavenCoordinate, exception);
         } catch (DependencyResolutionException exception) {
@@ -132,13 +166,15 @@ public class ClassLoaderResolver implements Closeable {
         } catch (MalformedURLException exception) {
             throw new MojoFailureException("Could not resolve file as URL for " + mavenCoordinate, exception);
         }
-        return new URLClassLoader(urls.toArray(new URL[0]), ByteBuddy.class.getClassLoader());
     }
 
     /**
-     * {@inheritDoc}
+     * Closes all class loaders that were created by this resolver. Class loaders that are retained by a class path cache are not closed.
      */
     public void close() throws IOException {
+        if (classPathCache != null) {
+            return;
+        }
         for (ClassLoader classLoader : classLoaders.values()) {
             if (classLoader instanceof Closeable) { // URLClassLoaders are only closeable since Java 1.7.
                 ((Closeable) classLoader).close();
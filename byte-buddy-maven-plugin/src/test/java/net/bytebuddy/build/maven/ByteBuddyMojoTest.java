@@ -4,6 +4,9 @@ import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.description.modifier.Visibility;
 import net.bytebuddy.implementation.FixedValue;
 import net.bytebuddy.test.utility.MockitoRule;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
 import org.apache.maven.plugin.Mojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.testing.MojoRule;
@@ -54,6 +57,8 @@ public class ByteBuddyMojoTest {
 
     private File project;
 
+    private Set<Artifact> artifacts;
+
     @Before
     public void setUp() throws Exception {
         when(repositorySystem.collectDependencies(Mockito.<RepositorySystemSession>any(), Mockito.<CollectRequest>any())).thenReturn(new CollectResult(new CollectRequest()).setRoot(root));
@@ -133,6 +138,100 @@ public class ByteBuddyMojoTest {
         }
     }
 
+    @Test
+    public void testIncrementalTransformation() throws Exception {
+        File incremental = File.createTempFile(BAR, TEMP);
+        assertThat(incremental.delete(), is(true));
+        Set<File> files = new HashSet<File>();
+        files.addAll(addClass("foo.Bar"));
+        files.addAll(addClass("foo.Qux"));
+        try {
+            execute("transform", "incremental", incremental);
+            assertMethod(new URLClassLoader(new URL[]{project.toURI().toURL()}).loadClass("foo.Bar"), FOO, QUX);
+            File file = new File(project, "foo/Bar.class");
+            assertThat(file.setLastModified(1577836800000L), is(true));
+            execute("transform", "incremental", incremental);
+            assertThat(file.lastModified(), is(1577836800000L));
+            addClass("foo.Bar");
+            assertMethod(new URLClassLoader(new URL[]{project.toURI().toURL()}).loadClass("foo.Bar"), FOO, FOO);
+            execute("transform", "incremental", incremental);
+            assertMethod(new URLClassLoader(new URL[]{project.toURI().toURL()}).loadClass("foo.Bar"), FOO, QUX);
+            assertMethod(new URLClassLoader(new URL[]{project.toURI().toURL()}).loadClass("foo.Qux"), FOO, FOO);
+        } finally {
+            for (File file : files) {
+                assertThat(file.delete(), is(true));
+            }
+            assertThat(new File(project, FOO).delete(), is(true));
+            assertThat(new File(incremental, project.getName() + "/" + FOO + "/Bar.class").delete(), is(true));
+            assertThat(new File(incremental, project.getName() + "/" + FOO + "/Qux.class").delete(), is(true));
+            assertThat(new File(incremental, project.getName() + "/" + FOO).delete(), is(true));
+            assertThat(new File(incremental, project.getName()).delete(), is(true));
+            assertThat(new File(incremental, project.getName() + ".index").delete(), is(true));
+            assertThat(incremental.delete(), is(true));
+        }
+    }
+
+    @Test
+    public void testIncrementalTransformationWithAuxiliaryType() throws Exception {
+        File incremental = File.createTempFile(BAR, TEMP);
+        assertThat(incremental.delete(), is(true));
+        Set<File> files = new HashSet<File>();
+        files.addAll(addClass("foo.Bar"));
+        files.addAll(addClass("foo.Qux"));
+        File auxiliary = new File(project, "foo/Bar$Auxiliary.class");
+        try {
+            execute("transform", "incremental.auxiliary", incremental);
+            assertThat(auxiliary.isFile(), is(true));
+            assertThat(auxiliary.setLastModified(1577836800000L), is(true));
+            execute("transform", "incremental.auxiliary", incremental);
+            assertThat(auxiliary.lastModified(), is(1577836800000L));
+            File file = new File(project, "foo/Bar.class");
+            assertThat(file.delete(), is(true));
+            files.remove(file);
+            execute("transform", "incremental.auxiliary", incremental);
+            assertThat(auxiliary.exists(), is(false));
+        } finally {
+            for (File file : files) {
+                assertThat(file.delete(), is(true));
+            }
+            assertThat(new File(project, FOO).delete(), is(true));
+            assertThat(new File(incremental, project.getName() + "/" + FOO + "/Qux.class").delete(), is(true));
+            assertThat(new File(incremental, project.getName() + "/" + FOO).delete(), is(true));
+            assertThat(new File(incremental, project.getName()).delete(), is(true));
+            assertThat(new File(incremental, project.getName() + ".index").delete(), is(true));
+            assertThat(incremental.delete(), is(true));
+        }
+    }
+
+    @Test
+    public void testDependencyTransformation() throws Exception {
+        File jar = File.createTempFile(BAR, "." + JAR);
+        assertThat(jar.delete(), is(true));
+        new ByteBuddy()
+                .subclass(Object.class)
+                .name("foo.Bar")
+                .defineMethod(FOO, String.class, Visibility.PUBLIC).intercept(FixedValue.value(FOO))
+                .defineMethod(BAR, String.class, Visibility.PUBLIC).intercept(FixedValue.value(BAR))
+                .make()
+                .toJar(jar);
+        Artifact artifact = new DefaultArtifact(FOO, BAR, QUX, Artifact.SCOPE_COMPILE, JAR, null, new DefaultArtifactHandler(JAR));
+        artifact.setFile(jar);
+        artifacts = Collections.singleton(artifact);
+        File transformed = new File(project, jar.getName());
+        try {
+            execute("transform-dependencies", "dependencies");
+            assertMethod(new URLClassLoader(new URL[]{transformed.toURI().toURL()}, null).loadClass("foo.Bar"), FOO, QUX);
+            assertThat(transformed.setLastModified(1577836800000L), is(true));
+            execute("transform-dependencies", "dependencies");
+            assertThat(transformed.lastModified(), is(1577836800000L));
+            assertMethod(new URLClassLoader(new URL[]{transformed.toURI().toURL()}, null).loadClass("foo.Bar"), FOO, QUX);
+        } finally {
+            assertThat(transformed.delete(), is(true));
+            assertThat(new File(project, jar.getName() + ".fingerprint").delete(), is(true));
+            assertThat(jar.delete(), is(true));
+        }
+    }
+
     @Test(expected = MojoExecutionException.class)
     public void testLiveInitializer() throws Exception {
         Set<File> files = new HashSet<File>(addClass("foo.Bar"));
@@ -275,6 +374,10 @@ public class ByteBuddyMojoTest {
     }
 
     private void execute(String goal, String target) throws Exception {
+        execute(goal, target, null);
+    }
+
+    private void execute(String goal, String target, File incremental) throws Exception {
         InputStream in = ByteBuddyMojoTest.class.getResourceAsStream("/net/bytebuddy/test/" + target + ".pom.xml");
         if (in == null) {
             throw new AssertionError("Cannot find resource for: " + target);
@@ -298,6 +401,11 @@ public class ByteBuddyMojoTest {
             } else if (goal.equals("transform-test")) {
                 mojoRule.setVariableValueToObject(mojo, "testOutputDirectory", project.getAbsolutePath());
                 mojoRule.setVariableValueToObject(mojo, "testClasspathElements", Collections.emptyList());
+            } else if (goal.equals("transform-dependencies")) {
+                mojoRule.setVariableValueToObject(mojo, "outputDirectory", project.getAbsolutePath());
+                mojoRule.setVariableValueToObject(mojo, "compileClasspathElements", Collections.emptyList());
+                mojoRule.setVariableValueToObject(mojo, "artifacts", artifacts);
+                mojoRule.setVariableValueToObject(mojo, "dependencyOutputDirectory", project.getAbsolutePath());
             } else {
                 throw new AssertionError("Unknown goal: " + goal);
             }
@@ -306,6 +414,9 @@ public class ByteBuddyMojoTest {
             mojoRule.setVariableValueToObject(mojo, "artifactId", BAR);
             mojoRule.setVariableValueToObject(mojo, "version", QUX);
             mojoRule.setVariableValueToObject(mojo, "packaging", JAR);
+            if (incremental != null) {
+                mojoRule.setVariableValueToObject(mojo, "incrementalDirectory", incremental.getAbsolutePath());
+            }
             mojo.setLog(new SilentLog());
             mojo.execute();
         } finally {
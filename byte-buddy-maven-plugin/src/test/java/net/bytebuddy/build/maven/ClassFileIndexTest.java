@@ -0,0 +1,230 @@
+package net.bytebuddy.build.maven;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.build.Plugin;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ClassFileIndexTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
+
+    private File root, folder;
+
+    @Before
+    public void setUp() throws Exception {
+        root = File.createTempFile(FOO, BAR);
+        assertThat(root.delete(), is(true));
+        assertThat(root.mkdir(), is(true));
+        folder = File.createTempFile(QUX, BAR);
+        assertThat(folder.delete(), is(true));
+        assertThat(folder.mkdir(), is(true));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        delete(root);
+        delete(folder);
+    }
+
+    @Test
+    public void testFingerprint() throws Exception {
+        assertThat(ClassFileIndex.fingerprint(Arrays.asList(FOO, BAR)), is(ClassFileIndex.fingerprint(Arrays.asList(FOO, BAR))));
+        assertThat(ClassFileIndex.fingerprint(Arrays.asList(FOO, BAR)), not(ClassFileIndex.fingerprint(Arrays.asList(FOO + BAR))));
+    }
+
+    @Test
+    public void testEmpty() throws Exception {
+        ClassFileIndex.Delta delta = ClassFileIndex.read(new File(folder, FOO), FOO).scan(root);
+        assertThat(delta.isEmpty(), is(true));
+        assertThat(delta.getAffected().isEmpty(), is(true));
+    }
+
+    @Test
+    public void testAllChangedWithoutIndex() throws Exception {
+        save(new ByteBuddy().subclass(Object.class).name(FOO + "." + BAR).make());
+        ClassFileIndex.Delta delta = new ClassFileIndex(FOO).scan(root);
+        assertThat(delta.isEmpty(), is(false));
+        assertThat(delta.getChanged(), is(Collections.singleton(FOO + "/" + BAR)));
+        assertThat(delta.getRemoved().isEmpty(), is(true));
+        assertThat(delta.getAffected(), is(Collections.singleton(FOO + "/" + BAR)));
+    }
+
+    @Test
+    public void testPersistence() throws Exception {
+        save(new ByteBuddy().subclass(Object.class).name(FOO + "." + BAR).make());
+        File index = new File(folder, FOO);
+        ClassFileIndex.Delta delta = new ClassFileIndex(FOO).scan(root);
+        delta.update(root, delta.getAffected()).write(index);
+        ClassFileIndex classFileIndex = ClassFileIndex.read(index, FOO);
+        assertThat(classFileIndex.getTypes(), is(Collections.singleton(FOO + "/" + BAR)));
+        assertThat(classFileIndex.scan(root).isEmpty(), is(true));
+        assertThat(ClassFileIndex.read(index, BAR).isEmpty(), is(true));
+    }
+
+    @Test
+    public void testTouchedButUnchanged() throws Exception {
+        File file = save(new ByteBuddy().subclass(Object.class).name(FOO + "." + BAR).make());
+        ClassFileIndex.Delta delta = new ClassFileIndex(FOO).scan(root);
+        ClassFileIndex classFileIndex = delta.update(root, delta.getAffected());
+        assertThat(file.setLastModified(file.lastModified() - 10000L), is(true));
+        assertThat(classFileIndex.scan(root).isEmpty(), is(true));
+    }
+
+    @Test
+    public void testChangedAndDependent() throws Exception {
+        DynamicType.Unloaded<?> base = new ByteBuddy().subclass(Object.class).name(FOO + "." + BAR).make();
+        save(base);
+        save(new ByteBuddy().subclass(base.getTypeDescription()).name(FOO + "." + QUX).make());
+        save(new ByteBuddy().subclass(Object.class).implement(Serializable.class).name(FOO + "." + FOO).make());
+        ClassFileIndex.Delta delta = new ClassFileIndex(FOO).scan(root);
+        ClassFileIndex classFileIndex = delta.update(root, delta.getAffected());
+        File file = save(new ByteBuddy().subclass(Object.class).name(FOO + "." + BAR).defineField(FOO, Object.class).make());
+        assertThat(file.setLastModified(file.lastModified() + 10000L), is(true));
+        delta = classFileIndex.scan(root);
+        assertThat(delta.getChanged(), is(Collections.singleton(FOO + "/" + BAR)));
+        assertThat(delta.getAffected().size(), is(2));
+        assertThat(delta.getAffected().contains(FOO + "/" + BAR), is(true));
+        assertThat(delta.getAffected().contains(FOO + "/" + QUX), is(true));
+    }
+
+    @Test
+    public void testRemovedAndDependent() throws Exception {
+        DynamicType.Unloaded<?> base = new ByteBuddy().subclass(Object.class).name(FOO + "." + BAR).make();
+        File file = save(base);
+        save(new ByteBuddy().subclass(base.getTypeDescription()).name(FOO + "." + QUX).make());
+        ClassFileIndex.Delta delta = new ClassFileIndex(FOO).scan(root);
+        ClassFileIndex classFileIndex = delta.update(root, delta.getAffected());
+        assertThat(file.delete(), is(true));
+        delta = classFileIndex.scan(root);
+        assertThat(delta.getChanged().isEmpty(), is(true));
+        assertThat(delta.getRemoved(), is(Collections.singleton(FOO + "/" + BAR)));
+        assertThat(delta.getAffected(), is(Collections.singleton(FOO + "/" + QUX)));
+    }
+
+    @Test
+    public void testResolveOriginals() throws Exception {
+        DynamicType.Unloaded<?> base = new ByteBuddy().subclass(Object.class).name(FOO + "." + BAR).make();
+        File file = save(base);
+        File dependent = save(new ByteBuddy().subclass(base.getTypeDescription()).name(FOO + "." + QUX).make());
+        ClassFileIndex.Delta delta = new ClassFileIndex(FOO).scan(root);
+        Map<String, byte[]> binaryRepresentations = delta.resolve(root, folder, delta.getAffected());
+        assertThat(binaryRepresentations.size(), is(2));
+        assertThat(binaryRepresentations.get(FOO + "/" + BAR + ".class"), is(base.getBytes()));
+        assertThat(new File(folder, FOO + "/" + BAR + ".class").isFile(), is(true));
+        assertThat(new File(folder, FOO + "/" + QUX + ".class").isFile(), is(true));
+        write(dependent, new byte[]{1, 2, 3});
+        ClassFileIndex classFileIndex = delta.update(root, delta.getAffected());
+        write(file, new ByteBuddy().subclass(Object.class).name(FOO + "." + BAR).defineField(FOO, Object.class).make().getBytes());
+        assertThat(file.setLastModified(file.lastModified() + 10000L), is(true));
+        delta = classFileIndex.scan(root);
+        assertThat(delta.getChanged(), is(Collections.singleton(FOO + "/" + BAR)));
+        binaryRepresentations = delta.resolve(root, folder, Collections.singleton(FOO + "/" + QUX));
+        assertThat(binaryRepresentations.get(FOO + "/" + QUX + ".class")[0], is((byte) 0xCA));
+    }
+
+    @Test
+    public void testGeneratedClassFilesAreRecorded() throws Exception {
+        DynamicType.Unloaded<?> type = new ByteBuddy().subclass(Object.class).name(FOO + "." + BAR).make();
+        save(type);
+        File index = new File(folder, BAR);
+        ClassFileIndex.Delta delta = new ClassFileIndex(FOO).scan(root);
+        Map<String, String> generated = transform(delta, type);
+        assertThat(generated, is(Collections.singletonMap(FOO + "/" + BAR + "$" + QUX, FOO + "/" + BAR)));
+        delta.update(root, delta.getAffected(), generated).write(index);
+        assertThat(new File(root, FOO + "/" + BAR + "$" + QUX + ".class").isFile(), is(true));
+        assertThat(ClassFileIndex.read(index, FOO).getTypes().size(), is(2));
+        assertThat(ClassFileIndex.read(index, FOO).scan(root).isEmpty(), is(true));
+    }
+
+    @Test
+    public void testGeneratedClassFilesAreDeletedWithOwner() throws Exception {
+        DynamicType.Unloaded<?> type = new ByteBuddy().subclass(Object.class).name(FOO + "." + BAR).make();
+        File file = save(type);
+        ClassFileIndex.Delta delta = new ClassFileIndex(FOO).scan(root);
+        ClassFileIndex classFileIndex = delta.update(root, delta.getAffected(), transform(delta, type));
+        assertThat(file.delete(), is(true));
+        delta = classFileIndex.scan(root);
+        assertThat(delta.getRemoved(), is(Collections.singleton(FOO + "/" + BAR)));
+        assertThat(delta.getAffected().isEmpty(), is(true));
+        delta.resolve(root, folder, delta.getAffected());
+        assertThat(new File(root, FOO + "/" + BAR + "$" + QUX + ".class").exists(), is(false));
+        assertThat(delta.update(root, delta.getAffected()).isEmpty(), is(true));
+    }
+
+    @Test(expected = IOException.class)
+    public void testResolveOriginalMissing() throws Exception {
+        File file = save(new ByteBuddy().subclass(Object.class).name(FOO + "." + BAR).make());
+        ClassFileIndex.Delta delta = new ClassFileIndex(FOO).scan(root);
+        ClassFileIndex classFileIndex = delta.update(root, delta.getAffected());
+        assertThat(file.delete(), is(true));
+        classFileIndex.scan(root).resolve(root, folder, Collections.singleton(FOO + "/" + BAR));
+    }
+
+    private Map<String, String> transform(ClassFileIndex.Delta delta, DynamicType.Unloaded<?> type) throws IOException {
+        delta.resolve(root, folder, delta.getAffected());
+        ClassFileIndex.RecordingTarget target = new ClassFileIndex.RecordingTarget(new Plugin.Engine.Target.ForFolder(root), delta.getAffected());
+        Plugin.Engine.Target.Sink sink = target.write(null);
+        try {
+            sink.store(auxiliary(type).getAllTypes());
+        } finally {
+            sink.close();
+        }
+        return target.getGenerated();
+    }
+
+    private static DynamicType.Unloaded<?> auxiliary(DynamicType.Unloaded<?> type) {
+        return new ByteBuddy()
+                .redefine(type.getTypeDescription(), ClassFileLocator.Simple.of(type.getTypeDescription().getName(), type.getBytes()))
+                .require(new ByteBuddy().subclass(Object.class).name(type.getTypeDescription().getName() + "$" + QUX).make())
+                .make();
+    }
+
+    private File save(DynamicType.Unloaded<?> dynamicType) throws IOException {
+        return dynamicType.saveIn(root).get(dynamicType.getTypeDescription());
+    }
+
+    private static void write(File file, byte[] binaryRepresentation) throws IOException {
+        OutputStream outputStream = new FileOutputStream(file);
+        try {
+            outputStream.write(binaryRepresentation);
+        } finally {
+            outputStream.close();
+        }
+    }
+
+    private static void delete(File root) {
+        LinkedList<File> files = new LinkedList<File>(Collections.singleton(root));
+        LinkedList<File> folders = new LinkedList<File>();
+        while (!files.isEmpty()) {
+            File file = files.removeFirst();
+            File[] children = file.listFiles();
+            if (children != null) {
+                files.addAll(Arrays.asList(children));
+                folders.addFirst(file);
+            } else {
+                assertThat(file.delete(), is(true));
+            }
+        }
+        for (File folder : folders) {
+            assertThat(folder.delete(), is(true));
+        }
+    }
+}
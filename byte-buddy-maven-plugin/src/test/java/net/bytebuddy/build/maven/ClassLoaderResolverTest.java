@@ -1,5 +1,6 @@
 package net.bytebuddy.build.maven;
 
+import net.bytebuddy.build.ClassPathCache;
 import net.bytebuddy.test.utility.MockitoRule;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.logging.Log;
@@ -28,6 +29,7 @@ import org.mockito.stubbing.Answer;
 import java.io.File;
 import java.util.Collections;
 
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.*;
@@ -94,6 +96,21 @@ public class ClassLoaderResolverTest {
         classLoaderResolver.resolve(new MavenCoordinate(FOO, BAR, QUX, JAR));
     }
 
+    @Test
+    public void testCachedResolution() throws Exception {
+        ClassPathCache classPathCache = new ClassPathCache();
+        ClassLoaderResolver first = new ClassLoaderResolver(log, repositorySystem, repositorySystemSession, Collections.<RemoteRepository>emptyList(), classPathCache);
+        ClassLoader classLoader = first.resolve(new MavenCoordinate(FOO, BAR, QUX, JAR));
+        first.close();
+        ClassLoaderResolver second = new ClassLoaderResolver(log, repositorySystem, repositorySystemSession, Collections.<RemoteRepository>emptyList(), classPathCache);
+        try {
+            assertThat(second.resolve(new MavenCoordinate(FOO, BAR, QUX, JAR)), sameInstance(classLoader));
+            assertThat(second.resolve(new MavenCoordinate(BAR, FOO, QUX, JAR)), not(sameInstance(classLoader)));
+        } finally {
+            second.close();
+        }
+    }
+
     @Test
     public void testClose() throws Exception {
         classLoaderResolver.resolve(new MavenCoordinate(FOO, BAR, QUX, JAR));
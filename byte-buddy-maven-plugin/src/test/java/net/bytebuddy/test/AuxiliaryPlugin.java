@@ -0,0 +1,22 @@
+package net.bytebuddy.test;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.build.Plugin;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
+
+public class AuxiliaryPlugin implements Plugin {
+
+    public boolean matches(TypeDescription target) {
+        return target.getName().equals("foo.Bar");
+    }
+
+    public DynamicType.Builder<?> apply(DynamicType.Builder<?> builder, TypeDescription typeDescription, ClassFileLocator classFileLocator) {
+        return builder.require(new ByteBuddy().subclass(Object.class).name(typeDescription.getName() + "$Auxiliary").make());
+    }
+
+    public void close() {
+        /* do nothing */
+    }
+}